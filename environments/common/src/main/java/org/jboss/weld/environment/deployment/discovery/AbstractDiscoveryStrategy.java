@@ -22,8 +22,11 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
 import org.jboss.logging.Logger;
 import org.jboss.weld.bootstrap.api.Bootstrap;
@@ -42,6 +45,12 @@ import org.jboss.weld.resources.spi.ResourceLoader;
  */
 public abstract class AbstractDiscoveryStrategy implements DiscoveryStrategy {
 
+    /**
+     * If set to <code>true</code>, the beans.xml descriptors are parsed and the bean archives are handled and processed concurrently. Registered
+     * {@link BeanArchiveHandler}s must be thread-safe then. Disabled by default.
+     */
+    public static final String PARALLEL_DISCOVERY_SYSTEM_PROPERTY = "org.jboss.weld.environment.discovery.parallel";
+
     private static final Logger log = Logger.getLogger(AbstractDiscoveryStrategy.class);
 
     protected final ResourceLoader resourceLoader;
@@ -54,6 +63,8 @@ public abstract class AbstractDiscoveryStrategy implements DiscoveryStrategy {
 
     private final List<BeanArchiveHandler> handlers;
 
+    private final boolean parallel;
+
     /**
      *
      * @param resourceLoader
@@ -65,6 +76,7 @@ public abstract class AbstractDiscoveryStrategy implements DiscoveryStrategy {
         this.bootstrap = bootstrap;
         this.handlers = new LinkedList<BeanArchiveHandler>();
         this.initialBeanDefiningAnnotations = initialBeanDefiningAnnotations;
+        this.parallel = DiscoveryTasks.isParallelEnabled();
     }
 
     @Override
@@ -79,47 +91,68 @@ public abstract class AbstractDiscoveryStrategy implements DiscoveryStrategy {
             scanner = new DefaultBeanArchiveScanner(resourceLoader, bootstrap);
         }
 
-        final Collection<BeanArchiveBuilder> beanArchiveBuilders = new ArrayList<BeanArchiveBuilder>();
-        for (Entry<BeansXml, String> entry : scanner.scan().entrySet()) {
-            String ref = entry.getValue();
-            BeanArchiveBuilder builder = null;
-            for (BeanArchiveHandler handler : handlers) {
-                builder = handler.handle(ref);
+        final Map<BeansXml, String> references = scanner.scan();
+        final ExecutorService executor = DiscoveryTasks.createExecutor(parallel, references.size());
+        final Set<WeldBeanDeploymentArchive> archives = new HashSet<WeldBeanDeploymentArchive>();
+
+        try {
+            final List<Callable<BeanArchiveBuilder>> handleTasks = new ArrayList<Callable<BeanArchiveBuilder>>(references.size());
+            for (Entry<BeansXml, String> entry : references.entrySet()) {
+                handleTasks.add(() -> handle(entry.getKey(), entry.getValue()));
+            }
+            final Collection<BeanArchiveBuilder> beanArchiveBuilders = new ArrayList<BeanArchiveBuilder>();
+            for (BeanArchiveBuilder builder : DiscoveryTasks.execute(handleTasks, executor)) {
                 if (builder != null) {
-                    builder.setId(ref);
-                    builder.setBeansXml(entry.getKey());
                     beanArchiveBuilders.add(builder);
-                    break;
                 }
             }
-            if (builder == null) {
-                log.warnv("The bean archive reference {0} cannot be handled by any BeanArchiveHandler: {1}", ref, handlers);
-            }
-        }
 
-        beforeDiscovery(beanArchiveBuilders);
-        Set<WeldBeanDeploymentArchive> archives = new HashSet<WeldBeanDeploymentArchive>();
-
-        for (BeanArchiveBuilder builder : beanArchiveBuilders) {
-            BeansXml beansXml = builder.getBeansXml();
-            switch (beansXml.getBeanDiscoveryMode()) {
-                case ALL:
-                    addToArchives(archives, processAllDiscovery(builder));
-                    break;
-                case ANNOTATED:
-                    addToArchives(archives, processAnnotatedDiscovery(builder));
-                    break;
-                case NONE:
-                    addToArchives(archives, processNoneDiscovery(builder));
-                    break;
-                default:
-                    CommonLogger.LOG.undefinedBeanDiscoveryValue(beansXml.getBeanDiscoveryMode());
+            beforeDiscovery(beanArchiveBuilders);
+
+            final List<Callable<WeldBeanDeploymentArchive>> processTasks = new ArrayList<Callable<WeldBeanDeploymentArchive>>(beanArchiveBuilders.size());
+            for (BeanArchiveBuilder builder : beanArchiveBuilders) {
+                processTasks.add(() -> process(builder));
+            }
+            for (WeldBeanDeploymentArchive archive : DiscoveryTasks.execute(processTasks, executor)) {
+                addToArchives(archives, archive);
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
             }
         }
         afterDiscovery(archives);
         return archives;
     }
 
+    private BeanArchiveBuilder handle(BeansXml beansXml, String ref) {
+        for (BeanArchiveHandler handler : handlers) {
+            BeanArchiveBuilder builder = handler.handle(ref);
+            if (builder != null) {
+                builder.setId(ref);
+                builder.setBeansXml(beansXml);
+                return builder;
+            }
+        }
+        log.warnv("The bean archive reference {0} cannot be handled by any BeanArchiveHandler: {1}", ref, handlers);
+        return null;
+    }
+
+    private WeldBeanDeploymentArchive process(BeanArchiveBuilder builder) {
+        BeansXml beansXml = builder.getBeansXml();
+        switch (beansXml.getBeanDiscoveryMode()) {
+            case ALL:
+                return processAllDiscovery(builder);
+            case ANNOTATED:
+                return processAnnotatedDiscovery(builder);
+            case NONE:
+                return processNoneDiscovery(builder);
+            default:
+                CommonLogger.LOG.undefinedBeanDiscoveryValue(beansXml.getBeanDiscoveryMode());
+                return null;
+        }
+    }
+
     @Override
     public ClassFileServices getClassFileServices() {
         // By default no bytecode scanning facility available
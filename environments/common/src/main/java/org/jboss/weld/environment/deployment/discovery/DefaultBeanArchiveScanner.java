@@ -29,8 +29,12 @@ import java.lang.reflect.Method;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 import java.util.zip.ZipFile;
 
 import org.jboss.logging.Logger;
@@ -43,7 +47,10 @@ import org.jboss.weld.environment.logging.CommonLogger;
 import org.jboss.weld.resources.spi.ResourceLoader;
 
 /**
- * Scans the classpath and tries to process all "META-INF/beans.xml" resources.
+ * Scans the classpath and tries to process all "META-INF/beans.xml" resources. The resources are parsed concurrently if the parallel discovery is
+ * enabled.
+ *
+ * @see AbstractDiscoveryStrategy#PARALLEL_DISCOVERY_SYSTEM_PROPERTY
  *
  * @author Martin Kouba
  */
@@ -55,6 +62,8 @@ public class DefaultBeanArchiveScanner implements BeanArchiveScanner {
 
     protected final Bootstrap bootstrap;
 
+    private final boolean parallel;
+
     /**
      *
      * @param resourceLoader
@@ -63,6 +72,7 @@ public class DefaultBeanArchiveScanner implements BeanArchiveScanner {
     public DefaultBeanArchiveScanner(ResourceLoader resourceLoader, Bootstrap bootstrap) {
         this.resourceLoader = resourceLoader;
         this.bootstrap = bootstrap;
+        this.parallel = DiscoveryTasks.isParallelEnabled();
     }
 
     @Override
@@ -72,12 +82,31 @@ public class DefaultBeanArchiveScanner implements BeanArchiveScanner {
         String[] resources = AbstractWeldDeployment.RESOURCES;
 
         // Find all beans.xml files
+        final List<URL> beansXmlUrls = new ArrayList<URL>();
         for (String resourceName : resources) {
             for (URL beansXmlUrl : resourceLoader.getResources(resourceName)) {
-                BeansXml beansXml = bootstrap.parse(beansXmlUrl);
-                if (accept(beansXml)) {
-                    beansXmlMap.put(beansXml, getBeanArchiveReference(beansXmlUrl));
-                }
+                beansXmlUrls.add(beansXmlUrl);
+            }
+        }
+
+        // Parse the files - the parsing is independent for each bean archive
+        final List<Callable<BeansXml>> parseTasks = new ArrayList<Callable<BeansXml>>(beansXmlUrls.size());
+        for (URL beansXmlUrl : beansXmlUrls) {
+            parseTasks.add(() -> bootstrap.parse(beansXmlUrl));
+        }
+        final ExecutorService executor = DiscoveryTasks.createExecutor(parallel, parseTasks.size());
+        final List<BeansXml> parsed;
+        try {
+            parsed = DiscoveryTasks.execute(parseTasks, executor);
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+        for (int i = 0; i < parsed.size(); i++) {
+            BeansXml beansXml = parsed.get(i);
+            if (accept(beansXml)) {
+                beansXmlMap.put(beansXml, getBeanArchiveReference(beansXmlUrls.get(i)));
             }
         }
         return beansXmlMap;
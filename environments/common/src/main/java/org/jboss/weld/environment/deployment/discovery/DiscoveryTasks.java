@@ -0,0 +1,102 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery;
+
+import java.security.AccessController;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jboss.weld.exceptions.WeldException;
+import org.jboss.weld.executor.DaemonThreadFactory;
+import org.jboss.weld.security.GetSystemPropertyAction;
+
+/**
+ * Executes the per-archive discovery tasks, concurrently if the parallel discovery is enabled.
+ *
+ * @see AbstractDiscoveryStrategy#PARALLEL_DISCOVERY_SYSTEM_PROPERTY
+ */
+final class DiscoveryTasks {
+
+    private DiscoveryTasks() {
+    }
+
+    /**
+     *
+     * @return <code>true</code> if the parallel discovery is enabled, <code>false</code> otherwise
+     */
+    static boolean isParallelEnabled() {
+        return Boolean.valueOf(AccessController.doPrivileged(new GetSystemPropertyAction(AbstractDiscoveryStrategy.PARALLEL_DISCOVERY_SYSTEM_PROPERTY)));
+    }
+
+    /**
+     *
+     * @param parallel
+     * @param tasks
+     * @return the executor to be shut down by the caller or <code>null</code> if the tasks should be executed in the current thread
+     */
+    static ExecutorService createExecutor(boolean parallel, int tasks) {
+        if (!parallel || tasks < 2) {
+            return null;
+        }
+        // The threads are created lazily by the discovery thread and thus inherit its context class loader
+        return Executors.newFixedThreadPool(Math.min(tasks, Runtime.getRuntime().availableProcessors()),
+                new DaemonThreadFactory(new ThreadGroup("weld-discovery"), "weld-discovery-"));
+    }
+
+    /**
+     * Executes the tasks using the given executor or in the current thread if no executor is given. The results are returned in the order of the
+     * tasks.
+     */
+    static <T> List<T> execute(List<Callable<T>> tasks, ExecutorService executor) {
+        final List<T> results = new ArrayList<T>(tasks.size());
+        try {
+            if (executor == null) {
+                for (Callable<T> task : tasks) {
+                    results.add(task.call());
+                }
+            } else {
+                for (Future<T> future : executor.invokeAll(tasks)) {
+                    results.add(future.get());
+                }
+            }
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WeldException(e);
+        } catch (Exception e) {
+            throw unwrap(e);
+        }
+        return results;
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new WeldException(cause);
+    }
+
+}
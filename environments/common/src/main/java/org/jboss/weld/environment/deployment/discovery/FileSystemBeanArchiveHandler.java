@@ -22,6 +22,13 @@ import java.io.File;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.EnumSet;
 import java.util.Enumeration;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
@@ -89,29 +96,29 @@ public class FileSystemBeanArchiveHandler implements BeanArchiveHandler {
 
         log.debugv("Handle directory: {0}", entry.getFile());
 
-        File[] files = entry.getFile().listFiles();
+        final Path root = entry.getFile().toPath();
+        final String rootPath = entry.getName();
 
-        if(files == null) {
-            log.warnv("Unable to list directory files: {0}", entry.getFile());
-        }
-        String parentPath = entry.getName();
-
-        for (File child : files) {
+        // Follow symbolic links just like File.isDirectory() does, cycles are reported to visitFileFailed()
+        Files.walkFileTree(root, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
 
-            if(entry.getName() != null ) {
-                entry.setPath(entry.getName() + "/" + child.getName());
-            } else {
-                entry.setPath(child.getName());
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                String relativePath = root.relativize(file).toString().replace(File.separatorChar, '/');
+                entry.setPath(rootPath != null ? rootPath + "/" + relativePath : relativePath);
+                entry.setFile(file.toFile());
+                add(entry, builder);
+                return FileVisitResult.CONTINUE;
             }
-            entry.setFile(child);
 
-            if (child.isDirectory()) {
-                handleDirectory(entry, builder);
-            } else {
-                add(entry, builder);
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) throws IOException {
+                log.warnv("Unable to list directory files: {0}", file);
+                return FileVisitResult.CONTINUE;
             }
-            entry.setPath(parentPath);
-        }
+
+        });
+        entry.setPath(rootPath);
     }
 
     protected void add(Entry entry, BeanArchiveBuilder builder) throws MalformedURLException {
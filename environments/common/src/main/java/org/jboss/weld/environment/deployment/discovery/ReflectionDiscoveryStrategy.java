@@ -19,6 +19,7 @@ package org.jboss.weld.environment.deployment.discovery;
 import static org.jboss.weld.environment.util.Reflections.hasBeanDefiningMetaAnnotationSpecified;
 
 import java.lang.annotation.Annotation;
+import java.security.AccessController;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
@@ -28,24 +29,71 @@ import javax.enterprise.inject.Stereotype;
 
 import org.jboss.weld.bootstrap.api.Bootstrap;
 import org.jboss.weld.environment.deployment.WeldBeanDeploymentArchive;
+import org.jboss.weld.environment.deployment.discovery.classfile.BytecodeClassFileServices;
+import org.jboss.weld.environment.deployment.discovery.classfile.ClassFile;
 import org.jboss.weld.environment.logging.CommonLogger;
+import org.jboss.weld.resources.spi.ClassFileInfoException;
+import org.jboss.weld.resources.spi.ClassFileServices;
 import org.jboss.weld.resources.spi.ResourceLoader;
+import org.jboss.weld.security.GetSystemPropertyAction;
 import org.jboss.weld.util.collections.ImmutableList;
+import org.jboss.weld.util.collections.ImmutableSet;
 import org.jboss.weld.util.reflection.Reflections;
 
 /**
  * This implementation supports bean-discovery-mode="annotated" and makes use of reflection to detect a class with a bean defining annotation.
+ * <p>
+ * The class files are read directly by {@link BytecodeClassFileServices} so that the classes without a bean defining annotation are not loaded at
+ * all. A class is only loaded if its class file is not available or cannot be read.
+ * </p>
+ * <p>
+ * The same {@link ClassFileServices} are only provided to the container if {@link #CLASS_FILE_SERVICES_SYSTEM_PROPERTY} is set to <code>true</code>.
+ * Note that this switches the container to the bytecode-based resolution of {@link javax.enterprise.inject.spi.ProcessAnnotatedType} observers
+ * (the same one used with Jandex). Otherwise the parsed class files are discarded once the discovery is finished.
+ * </p>
  *
  * @author Matej Briškár
  * @author Martin Kouba
  */
 public class ReflectionDiscoveryStrategy extends AbstractDiscoveryStrategy {
 
+    /**
+     * If set to <code>true</code>, the class file services used to discover the bean classes are also used by the container, i.e. the types are
+     * filtered without loading the classes, as with Jandex. Disabled by default.
+     */
+    public static final String CLASS_FILE_SERVICES_SYSTEM_PROPERTY = "org.jboss.weld.environment.discovery.classFileServices";
+
     private final List<Class<? extends Annotation>> metaAnnotations;
 
+    private final Set<String> initialBeanDefiningAnnotationNames;
+
+    private final BytecodeClassFileServices classFileServices;
+
+    private final boolean classFileServicesProvided;
+
     public ReflectionDiscoveryStrategy(ResourceLoader resourceLoader, Bootstrap bootstrap, Set<Class<? extends Annotation>> initialBeanDefiningAnnotations) {
+        this(resourceLoader, bootstrap, initialBeanDefiningAnnotations,
+                Boolean.valueOf(AccessController.doPrivileged(new GetSystemPropertyAction(CLASS_FILE_SERVICES_SYSTEM_PROPERTY))));
+    }
+
+    /**
+     *
+     * @param resourceLoader
+     * @param bootstrap
+     * @param initialBeanDefiningAnnotations
+     * @param classFileServicesProvided whether {@link #getClassFileServices()} provides the class file services to the container
+     */
+    public ReflectionDiscoveryStrategy(ResourceLoader resourceLoader, Bootstrap bootstrap, Set<Class<? extends Annotation>> initialBeanDefiningAnnotations,
+            boolean classFileServicesProvided) {
         super(resourceLoader, bootstrap, initialBeanDefiningAnnotations);
+        this.classFileServicesProvided = classFileServicesProvided;
         this.metaAnnotations = ImmutableList.of(Stereotype.class, NormalScope.class);
+        ImmutableSet.Builder<String> names = ImmutableSet.builder();
+        for (Class<? extends Annotation> beanDefiningAnnotation : initialBeanDefiningAnnotations) {
+            names.add(beanDefiningAnnotation.getName());
+        }
+        this.initialBeanDefiningAnnotationNames = names.build();
+        this.classFileServices = new BytecodeClassFileServices(resourceLoader);
         registerHandler(new FileSystemBeanArchiveHandler());
     }
 
@@ -55,14 +103,55 @@ public class ReflectionDiscoveryStrategy extends AbstractDiscoveryStrategy {
         Iterator<String> classIterator = builder.getClassIterator();
         while (classIterator.hasNext()) {
             String className = classIterator.next();
-            Class<?> clazz = Reflections.loadClass(className, resourceLoader);
-            if (!hasBeanDefiningAnnotation(clazz, initialBeanDefiningAnnotations)) {
+            if (!hasBeanDefiningAnnotation(className)) {
                 classIterator.remove();
             }
         }
         return builder.build();
     }
 
+    @Override
+    protected void afterDiscovery(Set<WeldBeanDeploymentArchive> archives) {
+        super.afterDiscovery(archives);
+        if (!classFileServicesProvided) {
+            classFileServices.cleanupAfterBoot();
+        }
+    }
+
+    @Override
+    public ClassFileServices getClassFileServices() {
+        return classFileServicesProvided ? classFileServices : null;
+    }
+
+    private boolean hasBeanDefiningAnnotation(String className) {
+        try {
+            ClassFile classFile = classFileServices.getClassFile(className);
+            if (classFile != null) {
+                return hasBeanDefiningAnnotation(classFile);
+            }
+        } catch (ClassFileInfoException e) {
+            // Fall back to reflection
+        }
+        Class<?> clazz = Reflections.loadClass(className, resourceLoader);
+        return clazz != null && hasBeanDefiningAnnotation(clazz, initialBeanDefiningAnnotations);
+    }
+
+    private boolean hasBeanDefiningAnnotation(ClassFile classFile) {
+        for (String annotationName : classFileServices.getAnnotationNames(classFile)) {
+            if (initialBeanDefiningAnnotationNames.contains(annotationName)) {
+                return true;
+            }
+            // The check is not perfomed recursively as bean defining annotations must be declared directly on a bean class
+            Set<String> annotationClassAnnotations = classFileServices.getAnnotationClassAnnotations(annotationName);
+            for (Class<? extends Annotation> metaAnnotation : metaAnnotations) {
+                if (annotationClassAnnotations.contains(metaAnnotation.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     private boolean hasBeanDefiningAnnotation(Class<?> clazz, Set<Class<? extends Annotation>> initialBeanDefiningAnnotations) {
         for (Class<? extends Annotation> beanDefiningAnnotation : initialBeanDefiningAnnotations) {
             if (clazz.isAnnotationPresent(beanDefiningAnnotation)) {
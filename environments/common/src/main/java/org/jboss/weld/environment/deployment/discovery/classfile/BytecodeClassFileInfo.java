@@ -0,0 +1,200 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery.classfile;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Inherited;
+import java.util.Set;
+
+import javax.enterprise.inject.Vetoed;
+
+import org.jboss.weld.environment.util.Reflections;
+import org.jboss.weld.resources.spi.ClassFileInfo;
+
+/**
+ * A Java class representation backed by a {@link ClassFile}. Classes whose class files are not available (e.g. classes defined at
+ * runtime) are loaded and inspected using reflection.
+ *
+ * @see BytecodeClassFileServices
+ */
+public class BytecodeClassFileInfo implements ClassFileInfo {
+
+    private static final String OBJECT_NAME = Object.class.getName();
+
+    private static final String VETOED_NAME = Vetoed.class.getName();
+
+    private static final String PACKAGE_INFO_NAME = "package-info";
+
+    private final ClassFile classFile;
+
+    private final BytecodeClassFileServices services;
+
+    private final boolean isVetoed;
+
+    BytecodeClassFileInfo(ClassFile classFile, BytecodeClassFileServices services) {
+        this.classFile = classFile;
+        this.services = services;
+        this.isVetoed = isVetoedTypeOrPackage();
+    }
+
+    @Override
+    public String getClassName() {
+        return classFile.getName();
+    }
+
+    @Override
+    public String getSuperclassName() {
+        return classFile.getSuperclassName();
+    }
+
+    @Override
+    public boolean isAnnotationDeclared(Class<? extends Annotation> annotation) {
+        return classFile.getAnnotationNames().contains(annotation.getName());
+    }
+
+    @Override
+    public boolean containsAnnotation(Class<? extends Annotation> annotation) {
+        return containsAnnotation(classFile, annotation.getName(), annotation, true);
+    }
+
+    @Override
+    public int getModifiers() {
+        return classFile.getModifiers();
+    }
+
+    @Override
+    public boolean hasCdiConstructor() {
+        return classFile.hasNoArgsConstructor() || classFile.hasInjectConstructor();
+    }
+
+    @Override
+    public boolean isAssignableFrom(Class<?> fromClass) {
+        return isAssignableFrom(getClassName(), fromClass);
+    }
+
+    @Override
+    public boolean isAssignableTo(Class<?> toClass) {
+        return isAssignableTo(getClassName(), toClass);
+    }
+
+    @Override
+    public boolean isVetoed() {
+        return isVetoed;
+    }
+
+    @Override
+    public boolean isTopLevelClass() {
+        return classFile.isTopLevelClass();
+    }
+
+    private boolean isVetoedTypeOrPackage() {
+        if (classFile.getAnnotationNames().contains(VETOED_NAME)) {
+            return true;
+        }
+        final int lastIndex = getClassName().lastIndexOf('.');
+        final String packageInfoName = lastIndex == -1 ? PACKAGE_INFO_NAME : getClassName().substring(0, lastIndex + 1) + PACKAGE_INFO_NAME;
+        ClassFile packageInfo = services.getClassFile(packageInfoName);
+        return packageInfo != null && packageInfo.getAnnotationNames().contains(VETOED_NAME);
+    }
+
+    private boolean isAssignableFrom(String className, Class<?> fromClass) {
+        if (className.equals(fromClass.getName())) {
+            return true;
+        }
+        if (Object.class.equals(fromClass)) {
+            return false; // there's nothing assignable from Object.class except for Object.class
+        }
+        Class<?> superClass = fromClass.getSuperclass();
+        if (superClass != null && isAssignableFrom(className, superClass)) {
+            return true;
+        }
+        for (Class<?> interfaceClass : fromClass.getInterfaces()) {
+            if (isAssignableFrom(className, interfaceClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param name
+     * @param to
+     * @return <code>true</code> if the name is equal to the name of the given class, or if the name represents a subclass or
+     *         subinterface of the given class, <code>false</code> otherwise
+     */
+    private boolean isAssignableTo(String name, Class<?> to) {
+        if (to.getName().equals(name)) {
+            return true;
+        }
+        if (OBJECT_NAME.equals(name)) {
+            return false; // there's nothing assignable from Object.class except for Object.class
+        }
+        ClassFile fromClassFile = services.getClassFile(name);
+        if (fromClassFile == null) {
+            // The class file is not available. Let's use reflection.
+            return to.isAssignableFrom(services.loadClass(name));
+        }
+        String superName = fromClassFile.getSuperclassName();
+        if (superName != null && isAssignableTo(superName, to)) {
+            return true;
+        }
+        for (String interfaceName : fromClassFile.getInterfaceNames()) {
+            if (isAssignableTo(interfaceName, to)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean containsAnnotation(ClassFile classFile, String requiredAnnotationName, Class<? extends Annotation> requiredAnnotation,
+            boolean checkType) {
+        // Type (superclasses only if the annotation is inherited) and members
+        if ((checkType && containsAnnotation(classFile.getAnnotationNames(), requiredAnnotationName))
+                || containsAnnotation(classFile.getMemberAnnotationNames(), requiredAnnotationName)) {
+            return true;
+        }
+        // Superclass
+        final String superName = classFile.getSuperclassName();
+        if (superName != null && !OBJECT_NAME.equals(superName)) {
+            final ClassFile superClassFile = services.getClassFile(superName);
+            if (superClassFile == null) {
+                // The class file is not available, fallback to using reflection
+                return Reflections.containsAnnotation(services.loadClass(superName), requiredAnnotation);
+            }
+            return containsAnnotation(superClassFile, requiredAnnotationName, requiredAnnotation, requiredAnnotation.isAnnotationPresent(Inherited.class));
+        }
+        return false;
+    }
+
+    private boolean containsAnnotation(Set<String> annotationNames, String requiredAnnotationName) {
+        if (annotationNames.contains(requiredAnnotationName)) {
+            return true;
+        }
+        // Meta-annotations
+        for (String annotationName : annotationNames) {
+            if (services.getAnnotationClassAnnotations(annotationName).contains(requiredAnnotationName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return classFile.toString();
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery.classfile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Inherited;
+import java.net.URL;
+import java.util.Optional;
+import java.util.Set;
+
+import org.jboss.weld.environment.logging.CommonLogger;
+import org.jboss.weld.resources.spi.ClassFileInfo;
+import org.jboss.weld.resources.spi.ClassFileServices;
+import org.jboss.weld.resources.spi.ResourceLoader;
+import org.jboss.weld.resources.spi.ResourceLoadingException;
+import org.jboss.weld.util.cache.ComputingCache;
+import org.jboss.weld.util.cache.ComputingCacheBuilder;
+import org.jboss.weld.util.collections.ImmutableSet;
+
+/**
+ * {@link ClassFileServices} implementation which reads the class files directly using the {@link ResourceLoader}. Unlike the Jandex
+ * implementation it does not require any index and may be used whenever Jandex is not available.
+ *
+ * <p>
+ * The parsed class files are cached during bootstrap so that both the bean discovery and the container read each class file only once.
+ * </p>
+ */
+public class BytecodeClassFileServices implements ClassFileServices {
+
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    private static final String OBJECT_NAME = Object.class.getName();
+
+    private static final String INHERITED_NAME = Inherited.class.getName();
+
+    private final ResourceLoader resourceLoader;
+
+    private final ComputingCache<String, Optional<ClassFile>> classFileCache;
+
+    private final ComputingCache<String, Set<String>> annotationClassAnnotationsCache;
+
+    public BytecodeClassFileServices(ResourceLoader resourceLoader) {
+        this.resourceLoader = resourceLoader;
+        this.classFileCache = ComputingCacheBuilder.newBuilder().build(this::readClassFile);
+        this.annotationClassAnnotationsCache = ComputingCacheBuilder.newBuilder().build(this::loadAnnotationClassAnnotations);
+    }
+
+    @Override
+    public ClassFileInfo getClassFileInfo(String className) {
+        ClassFile classFile = getClassFile(className);
+        if (classFile == null) {
+            throw CommonLogger.LOG.classFileNotFound(className);
+        }
+        return new BytecodeClassFileInfo(classFile, this);
+    }
+
+    /**
+     *
+     * @param className
+     * @return the class file or <code>null</code> if no such class file is available
+     * @throws org.jboss.weld.resources.spi.ClassFileInfoException if the class file cannot be read
+     */
+    public ClassFile getClassFile(String className) {
+        return classFileCache.getValue(className).orElse(null);
+    }
+
+    /**
+     * The class file counterpart of {@link Class#getAnnotations()}, i.e. the annotations declared on the class together with the
+     * {@link Inherited} annotations declared on its superclasses.
+     *
+     * @param classFile
+     * @return the names of the annotations present on the class
+     * @throws org.jboss.weld.resources.spi.ClassFileInfoException if a superclass is not available
+     */
+    public Set<String> getAnnotationNames(ClassFile classFile) {
+        String superclassName = classFile.getSuperclassName();
+        if (superclassName == null || OBJECT_NAME.equals(superclassName)) {
+            return classFile.getAnnotationNames();
+        }
+        ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+        builder.addAll(classFile.getAnnotationNames());
+        while (superclassName != null && !OBJECT_NAME.equals(superclassName)) {
+            ClassFile superclass = getClassFile(superclassName);
+            if (superclass == null) {
+                throw CommonLogger.LOG.classFileNotFound(superclassName);
+            }
+            for (String annotationName : superclass.getAnnotationNames()) {
+                if (getAnnotationClassAnnotations(annotationName).contains(INHERITED_NAME)) {
+                    builder.add(annotationName);
+                }
+            }
+            superclassName = superclass.getSuperclassName();
+        }
+        return builder.build();
+    }
+
+    /**
+     *
+     * @param annotationName
+     * @return the names of the annotations declared on the given annotation type, an empty set if the annotation type is not available
+     */
+    public Set<String> getAnnotationClassAnnotations(String annotationName) {
+        return annotationClassAnnotationsCache.getValue(annotationName);
+    }
+
+    Class<?> loadClass(String className) {
+        try {
+            return resourceLoader.classForName(className);
+        } catch (ResourceLoadingException e) {
+            throw CommonLogger.LOG.unableToLoadClass(className);
+        }
+    }
+
+    private Optional<ClassFile> readClassFile(String className) {
+        URL url = resourceLoader.getResource(className.replace('.', '/') + CLASS_FILE_EXTENSION);
+        if (url == null) {
+            return Optional.empty();
+        }
+        try (InputStream in = url.openStream()) {
+            return Optional.of(ClassFileReader.read(in));
+        } catch (IOException | RuntimeException e) {
+            throw CommonLogger.LOG.unableToReadClassFile(className, e);
+        }
+    }
+
+    private Set<String> loadAnnotationClassAnnotations(String annotationName) {
+        ClassFile classFile = getClassFile(annotationName);
+        if (classFile != null) {
+            return classFile.getAnnotationNames();
+        }
+        ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+        try {
+            for (Annotation annotation : resourceLoader.classForName(annotationName).getDeclaredAnnotations()) {
+                builder.add(annotation.annotationType().getName());
+            }
+        } catch (ResourceLoadingException e) {
+            // Just like reflection we ignore annotations which are not available
+            CommonLogger.LOG.debugv("Unable to load annotation {0}: {1}", annotationName, e);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public void cleanupAfterBoot() {
+        classFileCache.clear();
+        annotationClassAnnotationsCache.clear();
+    }
+
+    @Override
+    public void cleanup() {
+        cleanupAfterBoot();
+    }
+
+}
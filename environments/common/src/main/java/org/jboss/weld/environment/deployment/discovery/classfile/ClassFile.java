@@ -0,0 +1,115 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery.classfile;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The subset of a class file needed for bean discovery, obtained without loading the class. All the names are binary names, e.g.
+ * <code>com.acme.Foo$Bar</code>. Only runtime-visible annotations are considered.
+ *
+ * @see ClassFileReader
+ */
+public final class ClassFile {
+
+    private final String name;
+
+    private final String superclassName;
+
+    private final List<String> interfaceNames;
+
+    private final int modifiers;
+
+    private final boolean topLevelClass;
+
+    private final Set<String> annotationNames;
+
+    private final Set<String> memberAnnotationNames;
+
+    private final boolean noArgsConstructor;
+
+    private final boolean injectConstructor;
+
+    ClassFile(String name, String superclassName, List<String> interfaceNames, int modifiers, boolean topLevelClass, Set<String> annotationNames,
+            Set<String> memberAnnotationNames, boolean noArgsConstructor, boolean injectConstructor) {
+        this.name = name;
+        this.superclassName = superclassName;
+        this.interfaceNames = interfaceNames;
+        this.modifiers = modifiers;
+        this.topLevelClass = topLevelClass;
+        this.annotationNames = annotationNames;
+        this.memberAnnotationNames = memberAnnotationNames;
+        this.noArgsConstructor = noArgsConstructor;
+        this.injectConstructor = injectConstructor;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the name of the superclass or <code>null</code> for {@link Object}
+     */
+    public String getSuperclassName() {
+        return superclassName;
+    }
+
+    public List<String> getInterfaceNames() {
+        return interfaceNames;
+    }
+
+    /**
+     * @return the modifiers as returned by {@link Class#getModifiers()}, i.e. the modifiers of a nested class are taken from the
+     *         <code>InnerClasses</code> attribute
+     */
+    public int getModifiers() {
+        return modifiers;
+    }
+
+    public boolean isTopLevelClass() {
+        return topLevelClass;
+    }
+
+    /**
+     * @return the names of the annotations declared on the class
+     */
+    public Set<String> getAnnotationNames() {
+        return annotationNames;
+    }
+
+    /**
+     * @return the names of the annotations declared on fields, methods, constructors and their parameters
+     */
+    public Set<String> getMemberAnnotationNames() {
+        return memberAnnotationNames;
+    }
+
+    public boolean hasNoArgsConstructor() {
+        return noArgsConstructor;
+    }
+
+    public boolean hasInjectConstructor() {
+        return injectConstructor;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassFile [name=" + name + ", superclassName=" + superclassName + ", annotationNames=" + annotationNames + "]";
+    }
+
+}
@@ -0,0 +1,299 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery.classfile;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.jboss.weld.util.collections.ImmutableList;
+import org.jboss.weld.util.collections.ImmutableSet;
+
+/**
+ * A minimal class file parser. Only the constant pool, the access flags, the type hierarchy, the runtime-visible annotations of the
+ * class and its members, the constructor descriptors and the <code>InnerClasses</code> attribute are read, everything else is skipped.
+ *
+ * @see <a href="https://docs.oracle.com/javase/specs/jvms/se8/html/jvms-4.html">The class File Format</a>
+ */
+final class ClassFileReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    // ACC_SUPER shares the value with Modifier.SYNCHRONIZED and is not a modifier
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+    private static final String RUNTIME_VISIBLE_PARAMETER_ANNOTATIONS = "RuntimeVisibleParameterAnnotations";
+    private static final String INNER_CLASSES = "InnerClasses";
+
+    private static final String CONSTRUCTOR_METHOD_NAME = "<init>";
+    private static final String NO_ARGS_CONSTRUCTOR_DESCRIPTOR = "()V";
+    private static final String INJECT_NAME = Inject.class.getName();
+
+    private final DataInputStream in;
+
+    private String[] utf8Entries;
+
+    private int[] classEntries;
+
+    private ClassFileReader(InputStream in) {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+    }
+
+    /**
+     * Parses the given class file. The stream is not closed.
+     *
+     * @param in
+     * @return the parsed class file
+     * @throws IOException if the stream cannot be read or does not contain a valid class file
+     */
+    static ClassFile read(InputStream in) throws IOException {
+        return new ClassFileReader(in).read();
+    }
+
+    private ClassFile read() throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        // minor and major version
+        skip(4);
+        readConstantPool();
+
+        int modifiers = in.readUnsignedShort() & ~ACC_SUPER;
+        int thisClassIndex = in.readUnsignedShort();
+        String name = className(thisClassIndex);
+        int superClassIndex = in.readUnsignedShort();
+        String superclassName = superClassIndex == 0 ? null : className(superClassIndex);
+        int interfacesCount = in.readUnsignedShort();
+        ImmutableList.Builder<String> interfaceNames = ImmutableList.builder();
+        for (int i = 0; i < interfacesCount; i++) {
+            interfaceNames.add(className(in.readUnsignedShort()));
+        }
+
+        Set<String> memberAnnotationNames = new HashSet<String>();
+        // fields
+        int fieldsCount = in.readUnsignedShort();
+        for (int i = 0; i < fieldsCount; i++) {
+            // access flags, name and descriptor
+            skip(6);
+            readMemberAttributes(memberAnnotationNames);
+        }
+        // methods and constructors
+        boolean noArgsConstructor = false;
+        boolean injectConstructor = false;
+        Set<String> methodAnnotationNames = new HashSet<String>();
+        int methodsCount = in.readUnsignedShort();
+        for (int i = 0; i < methodsCount; i++) {
+            skip(2);
+            String methodName = utf8(in.readUnsignedShort());
+            String descriptor = utf8(in.readUnsignedShort());
+            methodAnnotationNames.clear();
+            readMemberAttributes(methodAnnotationNames);
+            if (CONSTRUCTOR_METHOD_NAME.equals(methodName)) {
+                noArgsConstructor |= NO_ARGS_CONSTRUCTOR_DESCRIPTOR.equals(descriptor);
+                injectConstructor |= methodAnnotationNames.contains(INJECT_NAME);
+            }
+            memberAnnotationNames.addAll(methodAnnotationNames);
+        }
+
+        // class attributes
+        boolean topLevelClass = true;
+        Set<String> annotationNames = Collections.emptySet();
+        int attributesCount = in.readUnsignedShort();
+        for (int i = 0; i < attributesCount; i++) {
+            String attributeName = utf8(in.readUnsignedShort());
+            int length = in.readInt();
+            if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+                annotationNames = new HashSet<String>();
+                readAnnotations(annotationNames);
+            } else if (INNER_CLASSES.equals(attributeName)) {
+                int classesCount = in.readUnsignedShort();
+                for (int j = 0; j < classesCount; j++) {
+                    int innerClassIndex = in.readUnsignedShort();
+                    // outer class and simple name
+                    skip(4);
+                    int innerClassModifiers = in.readUnsignedShort();
+                    if (innerClassIndex == thisClassIndex) {
+                        // member, local and anonymous classes are all listed in their own InnerClasses attribute
+                        topLevelClass = false;
+                        modifiers = innerClassModifiers;
+                    }
+                }
+            } else {
+                skip(length);
+            }
+        }
+        return new ClassFile(name, superclassName, interfaceNames.build(), modifiers, topLevelClass, ImmutableSet.copyOf(annotationNames),
+                ImmutableSet.copyOf(memberAnnotationNames), noArgsConstructor, injectConstructor);
+    }
+
+    private void readConstantPool() throws IOException {
+        int count = in.readUnsignedShort();
+        utf8Entries = new String[count];
+        classEntries = new int[count];
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    utf8Entries[i] = in.readUTF();
+                    break;
+                case CONSTANT_CLASS:
+                    classEntries[i] = in.readUnsignedShort();
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    skip(8);
+                    // takes up two entries
+                    i++;
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACE_METHODREF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    skip(4);
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    skip(3);
+                    break;
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    skip(2);
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag + " at index " + i);
+            }
+        }
+    }
+
+    private void readMemberAttributes(Set<String> annotationNames) throws IOException {
+        int attributesCount = in.readUnsignedShort();
+        for (int i = 0; i < attributesCount; i++) {
+            String attributeName = utf8(in.readUnsignedShort());
+            int length = in.readInt();
+            if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+                readAnnotations(annotationNames);
+            } else if (RUNTIME_VISIBLE_PARAMETER_ANNOTATIONS.equals(attributeName)) {
+                int parametersCount = in.readUnsignedByte();
+                for (int j = 0; j < parametersCount; j++) {
+                    readAnnotations(annotationNames);
+                }
+            } else {
+                skip(length);
+            }
+        }
+    }
+
+    private void readAnnotations(Set<String> annotationNames) throws IOException {
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            annotationNames.add(readAnnotation());
+        }
+    }
+
+    private String readAnnotation() throws IOException {
+        String descriptor = utf8(in.readUnsignedShort());
+        int pairsCount = in.readUnsignedShort();
+        for (int i = 0; i < pairsCount; i++) {
+            // element name
+            skip(2);
+            skipElementValue();
+        }
+        // Lcom/acme/Foo;
+        return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+    }
+
+    private void skipElementValue() throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case 'e':
+                // type name and constant name
+                skip(4);
+                break;
+            case '@':
+                readAnnotation();
+                break;
+            case '[':
+                int count = in.readUnsignedShort();
+                for (int i = 0; i < count; i++) {
+                    skipElementValue();
+                }
+                break;
+            default:
+                // constant value or class info
+                skip(2);
+                break;
+        }
+    }
+
+    private String utf8(int index) throws IOException {
+        String value = index < utf8Entries.length ? utf8Entries[index] : null;
+        if (value == null) {
+            throw new IOException("Invalid constant pool index " + index);
+        }
+        return value;
+    }
+
+    private String className(int index) throws IOException {
+        if (index >= classEntries.length || classEntries[index] == 0) {
+            throw new IOException("Invalid class constant pool index " + index);
+        }
+        return utf8(classEntries[index]).replace('/', '.');
+    }
+
+    private void skip(int bytes) throws IOException {
+        int remaining = bytes;
+        while (remaining > 0) {
+            int skipped = in.skipBytes(remaining);
+            if (skipped <= 0) {
+                throw new EOFException();
+            }
+            remaining -= skipped;
+        }
+    }
+
+}
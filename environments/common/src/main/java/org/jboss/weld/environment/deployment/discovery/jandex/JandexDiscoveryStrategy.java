@@ -47,6 +47,12 @@ import org.jboss.weld.util.collections.ImmutableSet;
  */
 public class JandexDiscoveryStrategy extends AbstractDiscoveryStrategy {
 
+    /**
+     * The directory where the Jandex indexes built for JAR files without <code>META-INF/jandex.idx</code> are stored and reused by subsequent starts. If
+     * not set, the indexes are not persisted.
+     */
+    public static final String INDEX_CACHE_DIR_SYSTEM_PROPERTY = "org.jboss.weld.environment.jandex.indexCacheDir";
+
     static final String INDEX_ATTRIBUTE_NAME = JandexDiscoveryStrategy.class.getPackage().getName() + ".index";
 
     private static final int ANNOTATION= 0x00002000;
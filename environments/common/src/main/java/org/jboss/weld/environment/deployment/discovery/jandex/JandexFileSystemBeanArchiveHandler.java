@@ -16,11 +16,13 @@
  */
 package org.jboss.weld.environment.deployment.discovery.jandex;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 
+import org.jboss.jandex.ClassInfo;
 import org.jboss.jandex.Index;
 import org.jboss.jandex.Indexer;
 import org.jboss.weld.environment.deployment.discovery.BeanArchiveBuilder;
@@ -28,19 +30,40 @@ import org.jboss.weld.environment.deployment.discovery.FileSystemBeanArchiveHand
 import org.jboss.weld.environment.logging.CommonLogger;
 
 /**
- * Builds and attaches a jandex index to each bean archive.
+ * Builds and attaches a jandex index to each bean archive. The indexes of JAR files may be persisted, see
+ * {@link JandexDiscoveryStrategy#INDEX_CACHE_DIR_SYSTEM_PROPERTY}.
  *
  * @author Matej Briškár
  * @author Martin Kouba
  */
 public class JandexFileSystemBeanArchiveHandler extends FileSystemBeanArchiveHandler {
 
-    private final Indexer indexer = new Indexer();
+    private static final String INDEXER_ATTRIBUTE_NAME = JandexFileSystemBeanArchiveHandler.class.getName() + ".indexer";
+
+    private final JandexIndexCache indexCache = JandexIndexCache.create();
 
     @Override
     public BeanArchiveBuilder handle(String path) {
+        final File archive = indexCache != null ? new File(path) : null;
+        final boolean cacheable = archive != null && archive.isFile();
+        if (cacheable) {
+            Index index = indexCache.get(archive);
+            if (index != null) {
+                BeanArchiveBuilder builder = new BeanArchiveBuilder().setAttribute(JandexDiscoveryStrategy.INDEX_ATTRIBUTE_NAME, index);
+                for (ClassInfo classInfo : index.getKnownClasses()) {
+                    builder.addClass(classInfo.name().toString());
+                }
+                return builder;
+            }
+        }
         BeanArchiveBuilder builder = super.handle(path);
-        builder.setAttribute(JandexDiscoveryStrategy.INDEX_ATTRIBUTE_NAME, buildIndex());
+        if (builder != null) {
+            Index index = buildIndex(builder);
+            builder.setAttribute(JandexDiscoveryStrategy.INDEX_ATTRIBUTE_NAME, index);
+            if (cacheable) {
+                indexCache.put(archive, index);
+            }
+        }
         return builder;
     }
 
@@ -48,11 +71,23 @@ public class JandexFileSystemBeanArchiveHandler extends FileSystemBeanArchiveHan
     protected void add(Entry entry, BeanArchiveBuilder builder) throws MalformedURLException {
         super.add(entry, builder);
         if (isClass(entry.getName())) {
-            addToIndex(entry.getUrl());
+            addToIndex(entry.getUrl(), getIndexer(builder));
+        }
+    }
+
+    /**
+     * Each bean archive has its own indexer so that multiple archives may be handled concurrently.
+     */
+    private Indexer getIndexer(BeanArchiveBuilder builder) {
+        Indexer indexer = (Indexer) builder.getAttribute(INDEXER_ATTRIBUTE_NAME);
+        if (indexer == null) {
+            indexer = new Indexer();
+            builder.setAttribute(INDEXER_ATTRIBUTE_NAME, indexer);
         }
+        return indexer;
     }
 
-    private void addToIndex(URL url) {
+    private void addToIndex(URL url, Indexer indexer) {
         InputStream fs = null;
         try {
             fs = url.openStream();
@@ -70,7 +105,9 @@ public class JandexFileSystemBeanArchiveHandler extends FileSystemBeanArchiveHan
         }
     }
 
-    private Index buildIndex() {
-        return indexer.complete();
+    private Index buildIndex(BeanArchiveBuilder builder) {
+        Index index = getIndexer(builder).complete();
+        builder.setAttribute(INDEXER_ATTRIBUTE_NAME, null);
+        return index;
     }
 }
@@ -46,8 +46,8 @@ public class JandexIndexBeanArchiveHandler implements BeanArchiveHandler {
     private static final String FILE_URL_PREFIX = "file:";
     private static final String SEPARATOR = "!/";
 
-    private Index indexCache = null;
-    private String indexCacheUrlPath = null;
+    // The last loaded index, the handler may be used by multiple threads concurrently
+    private volatile CachedIndex indexCache = null;
 
     public boolean canHandle(String urlPath) {
         return getIndex(urlPath) != null;
@@ -68,13 +68,13 @@ public class JandexIndexBeanArchiveHandler implements BeanArchiveHandler {
     private Index getIndex(final String urlPath) {
         Preconditions.checkArgumentNotNull(urlPath, "urlPath");
 
-        if (indexCacheUrlPath == null || !indexCacheUrlPath.equals(urlPath)) {
-            Index newIndex = loadJandexIndex(urlPath);
-            indexCache = newIndex;
-            indexCacheUrlPath = urlPath;
+        CachedIndex cached = indexCache;
+        if (cached == null || !cached.urlPath.equals(urlPath)) {
+            cached = new CachedIndex(urlPath, loadJandexIndex(urlPath));
+            indexCache = cached;
         }
 
-        return indexCache;
+        return cached.index;
     }
 
     private Index loadJandexIndex(final String urlPath) {
@@ -131,4 +131,17 @@ public class JandexIndexBeanArchiveHandler implements BeanArchiveHandler {
             builder.addClass(classInfo.name().toString());
         }
     }
+
+    private static class CachedIndex {
+
+        private final String urlPath;
+
+        private final Index index;
+
+        CachedIndex(String urlPath, Index index) {
+            this.urlPath = urlPath;
+            this.index = index;
+        }
+
+    }
 }
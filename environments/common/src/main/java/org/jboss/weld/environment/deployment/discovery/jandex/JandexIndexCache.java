@@ -0,0 +1,148 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery.jandex;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.jandex.UnsupportedVersion;
+import org.jboss.weld.environment.logging.CommonLogger;
+import org.jboss.weld.security.GetSystemPropertyAction;
+
+/**
+ * Persists the Jandex indexes built for archives which do not contain <code>META-INF/jandex.idx</code> so that subsequent starts do not have to read all
+ * the class files again.
+ *
+ * <p>
+ * Only JAR files are cached. The cache entry of an archive is keyed by its absolute path, size and last modification time so that a modified archive is
+ * indexed again. Stale entries are never removed - the cache directory may be deleted at any time.
+ * </p>
+ *
+ * @see JandexDiscoveryStrategy#INDEX_CACHE_DIR_SYSTEM_PROPERTY
+ */
+final class JandexIndexCache {
+
+    private static final String INDEX_FILE_EXTENSION = ".idx";
+
+    private static final String DIGEST_ALGORITHM = "SHA-1";
+
+    private final Path directory;
+
+    private JandexIndexCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     *
+     * @return the cache or <code>null</code> if no cache directory is configured
+     */
+    static JandexIndexCache create() {
+        String directory = AccessController.doPrivileged(new GetSystemPropertyAction(JandexDiscoveryStrategy.INDEX_CACHE_DIR_SYSTEM_PROPERTY));
+        if (directory == null || directory.isEmpty()) {
+            return null;
+        }
+        return new JandexIndexCache(Paths.get(directory));
+    }
+
+    /**
+     *
+     * @param archive
+     * @return the cached index of the given archive or <code>null</code> if there is no valid cache entry
+     */
+    Index get(File archive) {
+        Path indexFile = getIndexFile(archive);
+        if (indexFile == null || !Files.isRegularFile(indexFile)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(indexFile)) {
+            Index index = new IndexReader(in).read();
+            CommonLogger.LOG.debugv("Jandex index of {0} loaded from {1}", archive, indexFile);
+            return index;
+        } catch (IOException | IllegalArgumentException | UnsupportedVersion e) {
+            // Corrupted or written by an incompatible Jandex version - the archive will be indexed again
+            CommonLogger.LOG.debugv("Unable to read the cached Jandex index {0}: {1}", indexFile, e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the index of the given archive. The index is written to a temporary file first and then moved so that concurrently starting applications
+     * never read an incomplete index.
+     *
+     * @param archive
+     * @param index
+     */
+    void put(File archive, Index index) {
+        Path indexFile = getIndexFile(archive);
+        if (indexFile == null) {
+            return;
+        }
+        Path tempFile = null;
+        try {
+            Files.createDirectories(directory);
+            tempFile = Files.createTempFile(directory, indexFile.getFileName().toString(), null);
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                new IndexWriter(out).write(index);
+            }
+            try {
+                Files.move(tempFile, indexFile, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            CommonLogger.LOG.debugv("Jandex index of {0} stored in {1}", archive, indexFile);
+        } catch (IOException e) {
+            CommonLogger.LOG.warnv("Unable to store the Jandex index of {0} in {1}: {2}", archive, directory, e);
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                    // Nothing to do
+                }
+            }
+        }
+    }
+
+    private Path getIndexFile(File archive) {
+        String key = archive.getAbsolutePath() + '|' + archive.length() + '|' + archive.lastModified();
+        try {
+            byte[] digest = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder(digest.length * 2 + INDEX_FILE_EXTENSION.length());
+            for (byte b : digest) {
+                name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return directory.resolve(name.append(INDEX_FILE_EXTENSION).toString());
+        } catch (NoSuchAlgorithmException e) {
+            CommonLogger.LOG.debugv("Jandex index cache disabled: {0}", e);
+            return null;
+        }
+    }
+
+}
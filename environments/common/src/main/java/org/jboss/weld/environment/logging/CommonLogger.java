@@ -115,4 +115,10 @@ public interface CommonLogger extends WeldEnvironmentLogger {
     @LogMessage(level = Level.INFO)
     @Message(id = 28, value = "Weld initialization skipped - no bean archive found")
     void initSkippedNoBeanArchiveFound();
+
+    @Message(id = 29, value = "Unable to read the class file of {0}", format = Format.MESSAGE_FORMAT)
+    ClassFileInfoException unableToReadClassFile(Object param1, @Cause Throwable cause);
+
+    @Message(id = 30, value = "Class file of {0} not found", format = Format.MESSAGE_FORMAT)
+    ClassFileInfoException classFileNotFound(Object param1);
 }
@@ -0,0 +1,141 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.jboss.weld.bootstrap.WeldBootstrap;
+import org.jboss.weld.bootstrap.spi.BeanDiscoveryMode;
+import org.jboss.weld.bootstrap.spi.BeansXml;
+import org.jboss.weld.bootstrap.spi.Metadata;
+import org.jboss.weld.bootstrap.spi.Scanning;
+import org.jboss.weld.environment.deployment.AbstractWeldDeployment;
+import org.jboss.weld.environment.deployment.WeldBeanDeploymentArchive;
+import org.jboss.weld.environment.deployment.WeldResourceLoader;
+import org.jboss.weld.metadata.BeansXmlImpl;
+import org.jboss.weld.resources.spi.ResourceLoader;
+import org.jboss.weld.util.collections.ImmutableSet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ParallelDiscoveryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSerialDiscovery() throws IOException {
+        testDiscovery(false);
+    }
+
+    @Test
+    public void testParallelDiscovery() throws IOException {
+        testDiscovery(true);
+    }
+
+    @Test
+    public void testParallelBeansXmlParsing() throws IOException {
+        final List<URL> urls = new ArrayList<URL>();
+        for (String name : new String[] { "alpha", "bravo", "charlie", "delta" }) {
+            File metaInf = new File(folder.newFolder(name), "META-INF");
+            metaInf.mkdir();
+            File beansXml = new File(metaInf, "beans.xml");
+            String mode = "delta".equals(name) ? "none" : "annotated";
+            Files.write(beansXml.toPath(), ("<beans bean-discovery-mode=\"" + mode + "\"/>").getBytes(StandardCharsets.UTF_8));
+            urls.add(beansXml.toURI().toURL());
+        }
+        ResourceLoader resourceLoader = new WeldResourceLoader() {
+            @Override
+            public Collection<URL> getResources(String name) {
+                return AbstractWeldDeployment.BEANS_XML.equals(name) ? urls : Collections.<URL> emptyList();
+            }
+        };
+        System.setProperty(AbstractDiscoveryStrategy.PARALLEL_DISCOVERY_SYSTEM_PROPERTY, Boolean.TRUE.toString());
+        try {
+            Map<BeansXml, String> references = new DefaultBeanArchiveScanner(resourceLoader, new WeldBootstrap()).scan();
+            assertEquals(3, references.size());
+            for (Entry<BeansXml, String> entry : references.entrySet()) {
+                assertEquals(BeanDiscoveryMode.ANNOTATED, entry.getKey().getBeanDiscoveryMode());
+                assertEquals(new File(entry.getKey().getUrl().getFile()).getParentFile().getParent(), entry.getValue());
+            }
+        } finally {
+            System.clearProperty(AbstractDiscoveryStrategy.PARALLEL_DISCOVERY_SYSTEM_PROPERTY);
+        }
+    }
+
+    private void testDiscovery(boolean parallel) throws IOException {
+        final Map<BeansXml, String> archives = new HashMap<BeansXml, String>();
+        archives.put(beansXml(), createArchive("alpha", "com/acme/Foo.class", "com/acme/nested/Bar.class", "META-INF/beans.xml"));
+        archives.put(beansXml(), createArchive("bravo", "org/Baz.class"));
+        archives.put(beansXml(), createArchive("charlie"));
+
+        System.setProperty(AbstractDiscoveryStrategy.PARALLEL_DISCOVERY_SYSTEM_PROPERTY, Boolean.toString(parallel));
+        try {
+            DiscoveryStrategy strategy = new ReflectionDiscoveryStrategy(new WeldResourceLoader(), null,
+                    Collections.<Class<? extends Annotation>> emptySet());
+            strategy.setScanner(() -> archives);
+            Set<WeldBeanDeploymentArchive> discovered = strategy.performDiscovery();
+            assertEquals(3, discovered.size());
+            for (WeldBeanDeploymentArchive archive : discovered) {
+                Set<String> classes = new HashSet<String>(archive.getBeanClasses());
+                if (archive.getId().endsWith("alpha")) {
+                    assertEquals(ImmutableSet.of("com.acme.Foo", "com.acme.nested.Bar"), classes);
+                } else if (archive.getId().endsWith("bravo")) {
+                    assertEquals(ImmutableSet.of("org.Baz"), classes);
+                } else {
+                    assertEquals(Collections.emptySet(), classes);
+                }
+            }
+        } finally {
+            System.clearProperty(AbstractDiscoveryStrategy.PARALLEL_DISCOVERY_SYSTEM_PROPERTY);
+        }
+    }
+
+    private String createArchive(String name, String... files) throws IOException {
+        File root = folder.newFolder(name);
+        for (String file : files) {
+            File child = new File(root, file);
+            child.getParentFile().mkdirs();
+            child.createNewFile();
+        }
+        return root.getPath();
+    }
+
+    private static BeansXml beansXml() {
+        return new BeansXmlImpl(Collections.<Metadata<String>> emptyList(), Collections.<Metadata<String>> emptyList(),
+                Collections.<Metadata<String>> emptyList(), Collections.<Metadata<String>> emptyList(), Scanning.EMPTY_SCANNING, null,
+                BeanDiscoveryMode.ALL, null);
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+
+import org.jboss.weld.environment.deployment.WeldResourceLoader;
+import org.junit.Test;
+
+/**
+ * Tests that {@link ReflectionDiscoveryStrategy} only provides its class file services to the container if enabled.
+ */
+public class ReflectionDiscoveryStrategyTest {
+
+    @Test
+    public void testClassFileServicesDisabledByDefault() {
+        assertNull(new ReflectionDiscoveryStrategy(new WeldResourceLoader(), null, Collections.<Class<? extends Annotation>> emptySet())
+                .getClassFileServices());
+    }
+
+    @Test
+    public void testClassFileServicesEnabled() {
+        System.setProperty(ReflectionDiscoveryStrategy.CLASS_FILE_SERVICES_SYSTEM_PROPERTY, Boolean.TRUE.toString());
+        try {
+            assertNotNull(new ReflectionDiscoveryStrategy(new WeldResourceLoader(), null, Collections.<Class<? extends Annotation>> emptySet())
+                    .getClassFileServices());
+        } finally {
+            System.clearProperty(ReflectionDiscoveryStrategy.CLASS_FILE_SERVICES_SYSTEM_PROPERTY);
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery.classfile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.lang.reflect.Modifier;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.NormalScope;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Produces;
+import javax.enterprise.inject.Vetoed;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.jboss.weld.environment.deployment.WeldResourceLoader;
+import org.jboss.weld.resources.spi.ClassFileInfo;
+import org.jboss.weld.resources.spi.ClassFileInfoException;
+import org.junit.Test;
+
+public class BytecodeClassFileServicesTest {
+
+    private final BytecodeClassFileServices services = new BytecodeClassFileServices(new WeldResourceLoader());
+
+    @Test
+    public void testClassFile() {
+        ClassFile classFile = services.getClassFile(Alpha.class.getName());
+        assertEquals(Alpha.class.getName(), classFile.getName());
+        assertEquals(Object.class.getName(), classFile.getSuperclassName());
+        assertEquals(1, classFile.getInterfaceNames().size());
+        assertEquals(Serializable.class.getName(), classFile.getInterfaceNames().get(0));
+        assertEquals(Alpha.class.getModifiers(), classFile.getModifiers());
+        assertFalse(classFile.isTopLevelClass());
+        assertEquals(2, classFile.getAnnotationNames().size());
+        assertTrue(classFile.getAnnotationNames().contains(RequestScoped.class.getName()));
+        assertTrue(classFile.getAnnotationNames().contains(Named.class.getName()));
+        assertTrue(classFile.getMemberAnnotationNames().contains(Produces.class.getName()));
+        assertTrue(classFile.getMemberAnnotationNames().contains(Observes.class.getName()));
+        assertTrue(classFile.hasNoArgsConstructor());
+        assertFalse(classFile.hasInjectConstructor());
+
+        ClassFile top = services.getClassFile(BytecodeClassFileServicesTest.class.getName());
+        assertTrue(top.isTopLevelClass());
+        assertEquals(Modifier.PUBLIC, top.getModifiers());
+        assertNull(services.getClassFile("org.jboss.weld.NonExistent"));
+    }
+
+    @Test
+    public void testClassFileInfo() {
+        ClassFileInfo alpha = services.getClassFileInfo(Alpha.class.getName());
+        assertTrue(alpha.isAnnotationDeclared(RequestScoped.class));
+        assertFalse(alpha.isAnnotationDeclared(Produces.class));
+        assertTrue(alpha.containsAnnotation(Produces.class));
+        // meta-annotation
+        assertTrue(alpha.containsAnnotation(NormalScope.class));
+        assertTrue(alpha.hasCdiConstructor());
+        assertTrue(alpha.isAssignableTo(Serializable.class));
+        assertFalse(alpha.isAssignableTo(Runnable.class));
+        assertFalse(alpha.isVetoed());
+
+        ClassFileInfo bravo = services.getClassFileInfo(Bravo.class.getName());
+        assertEquals(Alpha.class.getName(), bravo.getSuperclassName());
+        assertTrue(Modifier.isStatic(bravo.getModifiers()));
+        assertTrue(Modifier.isAbstract(bravo.getModifiers()));
+        assertTrue(bravo.hasCdiConstructor());
+        assertTrue(bravo.isAssignableTo(Serializable.class));
+        assertTrue(bravo.isAssignableTo(Runnable.class));
+        assertTrue(bravo.isVetoed());
+        // Produces declared on a member of the superclass
+        assertTrue(bravo.containsAnnotation(Produces.class));
+        // Named is not inherited
+        assertFalse(bravo.containsAnnotation(Named.class));
+
+        ClassFileInfo charlie = services.getClassFileInfo(Charlie.class.getName());
+        assertFalse(Modifier.isStatic(charlie.getModifiers()));
+        assertFalse(charlie.hasCdiConstructor());
+    }
+
+    @Test
+    public void testInheritedAnnotations() {
+        ClassFile bravo = services.getClassFile(Bravo.class.getName());
+        assertEquals(Bravo.class.getAnnotations().length, services.getAnnotationNames(bravo).size());
+        assertTrue(services.getAnnotationNames(bravo).contains(RequestScoped.class.getName()));
+        assertFalse(services.getAnnotationNames(bravo).contains(Named.class.getName()));
+        assertTrue(services.getAnnotationClassAnnotations(ApplicationScoped.class.getName()).contains(NormalScope.class.getName()));
+    }
+
+    @Test(expected = ClassFileInfoException.class)
+    public void testClassFileNotFound() {
+        services.getClassFileInfo("org.jboss.weld.NonExistent");
+    }
+
+    @RequestScoped
+    @Named
+    @SuppressWarnings("serial")
+    static class Alpha implements Serializable {
+
+        @Produces
+        String name;
+
+        void observe(@Observes String event) {
+        }
+
+    }
+
+    @Vetoed
+    abstract static class Bravo extends Alpha implements Runnable {
+
+        @Inject
+        Bravo(String name) {
+        }
+
+        Bravo() {
+        }
+
+    }
+
+    class Charlie {
+
+    }
+
+}
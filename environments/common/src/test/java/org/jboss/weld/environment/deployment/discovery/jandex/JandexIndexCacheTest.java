@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery.jandex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.weld.environment.deployment.discovery.BeanArchiveBuilder;
+import org.jboss.weld.util.collections.ImmutableSet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JandexIndexCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File cacheDir;
+
+    @Before
+    public void setUp() {
+        cacheDir = new File(folder.getRoot(), "cache");
+        System.setProperty(JandexDiscoveryStrategy.INDEX_CACHE_DIR_SYSTEM_PROPERTY, cacheDir.getPath());
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(JandexDiscoveryStrategy.INDEX_CACHE_DIR_SYSTEM_PROPERTY);
+    }
+
+    @Test
+    public void testIndexCached() throws IOException {
+        File jar = new File(folder.getRoot(), "test.jar");
+        createJar(jar, JandexIndexCacheTest.class);
+
+        BeanArchiveBuilder builder = new JandexFileSystemBeanArchiveHandler().handle(jar.getPath());
+        assertEquals(ImmutableSet.of(JandexIndexCacheTest.class.getName()), builder.getClasses());
+        assertEquals(1, cacheDir.list().length);
+
+        // A new handler reads the persisted index
+        builder = new JandexFileSystemBeanArchiveHandler().handle(jar.getPath());
+        assertEquals(ImmutableSet.of(JandexIndexCacheTest.class.getName()), builder.getClasses());
+        Index index = (Index) builder.getAttribute(JandexDiscoveryStrategy.INDEX_ATTRIBUTE_NAME);
+        assertNotNull(index.getClassByName(DotName.createSimple(JandexIndexCacheTest.class.getName())));
+        assertEquals(1, cacheDir.list().length);
+
+        // A modified archive is indexed again
+        assertTrue(jar.setLastModified(jar.lastModified() + 2000));
+        builder = new JandexFileSystemBeanArchiveHandler().handle(jar.getPath());
+        assertEquals(ImmutableSet.of(JandexIndexCacheTest.class.getName()), builder.getClasses());
+        assertEquals(2, cacheDir.list().length);
+    }
+
+    private static void createJar(File jar, Class<?> clazz) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            String name = clazz.getName().replace('.', '/') + ".class";
+            out.putNextEntry(new ZipEntry(name));
+            try (InputStream in = clazz.getClassLoader().getResourceAsStream(name)) {
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            }
+            out.closeEntry();
+        }
+    }
+
+}
@@ -17,11 +17,7 @@
 
 package org.jboss.weld.environment.servlet.inject;
 
-import java.util.Map;
-import java.util.WeakHashMap;
-
 import javax.enterprise.context.spi.CreationalContext;
-import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.InjectionTarget;
 
 import org.jboss.weld.manager.api.WeldManager;
@@ -36,30 +32,28 @@ import org.jboss.weld.util.Preconditions;
  */
 public abstract class AbstractInjector {
     private final WeldManager manager;
-    private final Map<Class<?>, InjectionTarget<?>> cache = new WeakHashMap<Class<?>, InjectionTarget<?>>();
+    private final InjectionTargetCache cache;
 
     protected AbstractInjector(WeldManager manager) {
         Preconditions.checkArgumentNotNull(manager, "manager");
         this.manager = manager;
+        this.cache = new InjectionTargetCache(manager);
     }
 
     protected void inject(Object instance) {
-        // not data-race safe, however doesn't matter, as the injection target created for class A is interchangeable for another injection target created for class A
-        // TODO Make this a concurrent cache when we switch to google collections
-        Class<?> clazz = instance.getClass();
-        if (!cache.containsKey(clazz)) {
-            cache.put(clazz, manager.createInjectionTarget(manager.createAnnotatedType(clazz)));
-        }
         CreationalContext<Object> cc = manager.createCreationalContext(null);
-        InjectionTarget<Object> it = (InjectionTarget<Object>) cache.get(clazz);
+        InjectionTarget<Object> it = getInjectionTarget(instance);
         it.inject(instance, cc);
     }
 
     public void destroy(Object instance) {
         if (instance != null) {
-            AnnotatedType type = manager.createAnnotatedType(instance.getClass());
-            InjectionTarget it = manager.createInjectionTarget(type);
-            it.dispose(instance);
+            getInjectionTarget(instance).dispose(instance);
         }
     }
+
+    @SuppressWarnings("unchecked")
+    private InjectionTarget<Object> getInjectionTarget(Object instance) {
+        return (InjectionTarget<Object>) cache.get(instance.getClass());
+    }
 }
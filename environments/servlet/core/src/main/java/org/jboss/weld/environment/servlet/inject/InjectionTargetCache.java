@@ -0,0 +1,106 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.weld.environment.servlet.inject;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.enterprise.inject.spi.InjectionTarget;
+
+import org.jboss.weld.manager.api.WeldManager;
+
+/**
+ * A thread-safe cache of {@link InjectionTarget}s for servlets, filters, listeners, tag handlers etc.
+ * <p>
+ * The classes are only referenced weakly and the injection targets (which reference the class through the annotated type) only
+ * softly so that the cache does not prevent a class (e.g. a recompiled JSP) from being unloaded.
+ * </p>
+ */
+class InjectionTargetCache {
+
+    private final WeldManager manager;
+    private final ConcurrentMap<ClassKey, SoftReference<InjectionTarget<?>>> targets;
+    private final ReferenceQueue<Class<?>> staleKeys;
+
+    InjectionTargetCache(WeldManager manager) {
+        this.manager = manager;
+        this.targets = new ConcurrentHashMap<ClassKey, SoftReference<InjectionTarget<?>>>();
+        this.staleKeys = new ReferenceQueue<Class<?>>();
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> InjectionTarget<T> get(Class<T> clazz) {
+        expungeStaleEntries();
+        SoftReference<InjectionTarget<?>> reference = targets.get(new ClassKey(clazz, null));
+        InjectionTarget<?> target = reference != null ? reference.get() : null;
+        if (target == null) {
+            // not data-race safe, however doesn't matter, as the injection target created for class A is interchangeable for another injection target created for class A
+            target = manager.createInjectionTarget(manager.createAnnotatedType(clazz));
+            targets.put(new ClassKey(clazz, staleKeys), new SoftReference<InjectionTarget<?>>(target));
+        }
+        return (InjectionTarget<T>) target;
+    }
+
+    /**
+     * @return the number of cached classes, including the ones which were unloaded but not expunged yet
+     */
+    int size() {
+        return targets.size();
+    }
+
+    /**
+     * Removes the entries of the classes which were unloaded.
+     */
+    void expungeStaleEntries() {
+        Reference<? extends Class<?>> key;
+        while ((key = staleKeys.poll()) != null) {
+            targets.remove(key);
+        }
+    }
+
+    private static class ClassKey extends WeakReference<Class<?>> {
+
+        private final int hashCode;
+
+        ClassKey(Class<?> clazz, ReferenceQueue<Class<?>> queue) {
+            super(clazz, queue);
+            this.hashCode = System.identityHashCode(clazz);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ClassKey)) {
+                return false;
+            }
+            Class<?> clazz = get();
+            return clazz != null && clazz == ((ClassKey) obj).get();
+        }
+    }
+}
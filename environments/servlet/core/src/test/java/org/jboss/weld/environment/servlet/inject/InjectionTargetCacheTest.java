@@ -0,0 +1,161 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.servlet.inject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.inject.spi.InjectionTarget;
+
+import org.jboss.weld.manager.api.WeldManager;
+import org.junit.Test;
+
+/**
+ * Tests that {@link InjectionTargetCache} reuses the injection targets and does not prevent the classes from being unloaded.
+ */
+public class InjectionTargetCacheTest {
+
+    private final AtomicInteger created = new AtomicInteger();
+
+    @Test
+    public void testCacheHit() {
+        InjectionTargetCache cache = new InjectionTargetCache(createManager());
+        InjectionTarget<Managed> target = cache.get(Managed.class);
+        assertNotNull(target);
+        assertSame(target, cache.get(Managed.class));
+        assertEquals(1, created.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testRedeployedClass() throws Exception {
+        InjectionTargetCache cache = new InjectionTargetCache(createManager());
+        // the same class loaded by two class loaders, e.g. a recompiled JSP
+        Class<?> first = new ManagedClassLoader().loadClass(Managed.class.getName());
+        Class<?> second = new ManagedClassLoader().loadClass(Managed.class.getName());
+        assertNotSame(first, second);
+        assertNotSame(cache.get(first), cache.get(second));
+        assertEquals(2, created.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testUnloadedClassExpunged() throws Exception {
+        InjectionTargetCache cache = new InjectionTargetCache(createManager());
+        cache.get(Managed.class);
+        WeakReference<Class<?>> unloaded = loadAndCache(cache);
+        assertEquals(2, cache.size());
+
+        for (int i = 0; unloaded.get() != null; i++) {
+            if (i == 50) {
+                fail("The class was not unloaded");
+            }
+            System.gc();
+            Thread.sleep(10);
+        }
+        cache.expungeStaleEntries();
+        assertEquals(1, cache.size());
+        // the remaining entry still hits
+        cache.get(Managed.class);
+        assertEquals(2, created.get());
+    }
+
+    private static WeakReference<Class<?>> loadAndCache(InjectionTargetCache cache) throws ClassNotFoundException {
+        Class<?> clazz = new ManagedClassLoader().loadClass(Managed.class.getName());
+        cache.get(clazz);
+        return new WeakReference<Class<?>>(clazz);
+    }
+
+    private WeldManager createManager() {
+        return (WeldManager) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { WeldManager.class }, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if ("createInjectionTarget".equals(method.getName())) {
+                    created.incrementAndGet();
+                    return createInjectionTarget();
+                }
+                // createAnnotatedType()
+                return null;
+            }
+        });
+    }
+
+    private static InjectionTarget<?> createInjectionTarget() {
+        return (InjectionTarget<?>) Proxy.newProxyInstance(InjectionTargetCacheTest.class.getClassLoader(), new Class<?>[] { InjectionTarget.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        return null;
+                    }
+                });
+    }
+
+    public static class Managed {
+    }
+
+    /**
+     * Defines its own copy of {@link Managed}, everything else is delegated to the parent.
+     */
+    private static class ManagedClassLoader extends ClassLoader {
+
+        ManagedClassLoader() {
+            super(InjectionTargetCacheTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!Managed.class.getName().equals(name)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> clazz = findLoadedClass(name);
+                if (clazz == null) {
+                    byte[] bytes = readClass(name);
+                    clazz = defineClass(name, bytes, 0, bytes.length);
+                }
+                return clazz;
+            }
+        }
+
+        private byte[] readClass(String name) throws ClassNotFoundException {
+            try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[1024];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+                return out.toByteArray();
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+
+}
@@ -18,8 +18,12 @@ package org.jboss.weld;
 
 import java.io.File;
 import java.security.AccessController;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.jboss.weld.logging.BeanLogger;
+import org.jboss.weld.logging.BootstrapLogger;
+import org.jboss.weld.logging.ContextLogger;
 import org.jboss.weld.security.GetBooleanSystemPropertyAction;
 import org.jboss.weld.security.GetSystemPropertyAction;
 
@@ -37,6 +41,34 @@ public final class SystemPropertiesConfiguration {
 
     public static final String INJECTABLE_REFERENCE_OPTIMIZATION = "org.jboss.weld.injectableReferenceOptimization";
 
+    public static final String SESSION_DIRTY_TRACKING = "org.jboss.weld.context.session.dirtyTracking";
+
+    public static final String SESSION_SINGLE_ATTRIBUTE = "org.jboss.weld.context.session.singleAttribute";
+
+    public static final String CONVERSATION_REAPER_INTERVAL = "org.jboss.weld.conversation.reaperInterval";
+
+    public static final String LAZY_REQUEST_CONTEXT = "org.jboss.weld.context.request.lazy";
+
+    public static final String SESSION_DESTRUCTION_THREAD_POOL_SIZE = "org.jboss.weld.context.session.destructionThreadPoolSize";
+
+    public static final String REQUEST_BEAN_STORE_POOL_SIZE = "org.jboss.weld.context.request.beanStorePoolSize";
+
+    public static final String CONVERSATION_FAIR_LOCKING = "org.jboss.weld.conversation.fairLocking";
+
+    public static final String CONVERSATION_MAX_WAITING_REQUESTS = "org.jboss.weld.conversation.maxWaitingRequests";
+
+    public static final String BOOTSTRAP_TIMELINE = "org.jboss.weld.bootstrap.timeline";
+
+    public static final String BOOTSTRAP_TIMELINE_DUMP_PATH = "org.jboss.weld.bootstrap.timeline.dump";
+
+    public static final String BOOTSTRAP_TIMELINE_TOP_BEANS = "org.jboss.weld.bootstrap.timeline.topBeans";
+
+    public static final String SERVICE_LOADER_PARALLEL = "org.jboss.weld.serviceLoader.parallel";
+
+    public static final String BOOTSTRAP_WARM_UP = "org.jboss.weld.bootstrap.warmUp";
+
+    public static final String BOOTSTRAP_EAGER_INITIALIZATION = "org.jboss.weld.bootstrap.eagerInitialization";
+
     public static final SystemPropertiesConfiguration INSTANCE = new SystemPropertiesConfiguration();
 
     private final boolean xmlValidationDisabled;
@@ -47,10 +79,66 @@ public final class SystemPropertiesConfiguration {
 
     private final boolean injectableReferenceOptimization;
 
+    private final boolean sessionDirtyTracking;
+
+    private final boolean sessionSingleAttribute;
+
+    private final long conversationReaperInterval;
+
+    private final boolean lazyRequestContext;
+
+    private final int sessionDestructionThreadPoolSize;
+
+    private final int requestBeanStorePoolSize;
+
+    private final boolean conversationFairLocking;
+
+    private final int conversationMaxWaitingRequests;
+
+    private final boolean bootstrapTimeline;
+
+    private final File bootstrapTimelineDumpPath;
+
+    private final int bootstrapTimelineTopBeans;
+
+    private final boolean serviceLoaderParallel;
+
+    private final boolean bootstrapWarmUp;
+
+    private final Pattern bootstrapEagerInitializationPattern;
+
     private SystemPropertiesConfiguration() {
         xmlValidationDisabled = initBooleanSystemProperty(DISABLE_XML_VALIDATION_KEY, false);
         nonPortableModeEnabled = initBooleanSystemProperty(NON_PORTABLE_MODE_KEY, false);
         injectableReferenceOptimization = initBooleanSystemProperty(INJECTABLE_REFERENCE_OPTIMIZATION, false);
+        sessionDirtyTracking = initBooleanSystemProperty(SESSION_DIRTY_TRACKING, false);
+        if (initBooleanSystemProperty(SESSION_SINGLE_ATTRIBUTE, false) && sessionDirtyTracking) {
+            // the single attribute is replicated as a whole
+            ContextLogger.LOG.sessionSingleAttributeIgnored(SESSION_SINGLE_ATTRIBUTE, SESSION_DIRTY_TRACKING);
+            sessionSingleAttribute = false;
+        } else {
+            sessionSingleAttribute = initBooleanSystemProperty(SESSION_SINGLE_ATTRIBUTE, false);
+        }
+        conversationReaperInterval = initLongSystemProperty(CONVERSATION_REAPER_INTERVAL, 0L);
+        lazyRequestContext = initBooleanSystemProperty(LAZY_REQUEST_CONTEXT, false);
+        sessionDestructionThreadPoolSize = (int) initLongSystemProperty(SESSION_DESTRUCTION_THREAD_POOL_SIZE, 0L);
+        requestBeanStorePoolSize = (int) initLongSystemProperty(REQUEST_BEAN_STORE_POOL_SIZE, 0L);
+        conversationFairLocking = initBooleanSystemProperty(CONVERSATION_FAIR_LOCKING, false);
+        conversationMaxWaitingRequests = (int) initLongSystemProperty(CONVERSATION_MAX_WAITING_REQUESTS, 0L);
+        bootstrapTimelineTopBeans = (int) initLongSystemProperty(BOOTSTRAP_TIMELINE_TOP_BEANS, 10L);
+        serviceLoaderParallel = initBooleanSystemProperty(SERVICE_LOADER_PARALLEL, false);
+        bootstrapWarmUp = initBooleanSystemProperty(BOOTSTRAP_WARM_UP, false);
+
+        String eagerInitializationPattern = AccessController.doPrivileged(new GetSystemPropertyAction(BOOTSTRAP_EAGER_INITIALIZATION));
+        Pattern pattern = null;
+        if (eagerInitializationPattern != null && !eagerInitializationPattern.isEmpty()) {
+            try {
+                pattern = Pattern.compile(eagerInitializationPattern);
+            } catch (PatternSyntaxException e) {
+                BootstrapLogger.LOG.invalidEagerInitializationPattern(BOOTSTRAP_EAGER_INITIALIZATION, eagerInitializationPattern, e.getDescription());
+            }
+        }
+        bootstrapEagerInitializationPattern = pattern;
 
         String dumpPathString = AccessController.doPrivileged(new GetSystemPropertyAction(CLIENT_PROXY_DUMP_PATH));
         if (dumpPathString != null && !dumpPathString.isEmpty()) {
@@ -64,6 +152,9 @@ public final class SystemPropertiesConfiguration {
         } else {
             proxyDumpPath = null;
         }
+
+        bootstrapTimelineDumpPath = initDirectorySystemProperty(BOOTSTRAP_TIMELINE_DUMP_PATH);
+        bootstrapTimeline = initBooleanSystemProperty(BOOTSTRAP_TIMELINE, false) || bootstrapTimelineDumpPath != null;
     }
 
     /**
@@ -105,6 +196,157 @@ public final class SystemPropertiesConfiguration {
         return injectableReferenceOptimization;
     }
 
+    /**
+     * Session dirty tracking is disabled by default.
+     *
+     * @return <code>true</code> if only created and explicitly modified session beans should be written to the HTTP session,
+     *         <code>false</code> otherwise
+     * @see org.jboss.weld.context.DirtyTrackingContext
+     */
+    public boolean isSessionDirtyTrackingEnabled() {
+        return sessionDirtyTracking;
+    }
+
+    /**
+     * The single attribute mode is disabled by default. It is mutually exclusive with {@link #isSessionDirtyTrackingEnabled()
+     * dirty tracking} and ignored if both are enabled.
+     *
+     * @return <code>true</code> if all session and conversation scoped instances should be stored in a single HTTP session
+     *         attribute, <code>false</code> otherwise
+     */
+    public boolean isSessionSingleAttributeEnabled() {
+        return sessionSingleAttribute;
+    }
+
+    /**
+     * The conversation reaper is disabled by default.
+     *
+     * @return the interval between two runs of the conversation reaper in milliseconds, or <code>0</code> if expired
+     *         conversations should be looked up on the request thread
+     */
+    public long getConversationReaperInterval() {
+        return conversationReaperInterval;
+    }
+
+    /**
+     * Lazy request context initialization is disabled by default.
+     *
+     * @return <code>true</code> if the HTTP request context should only create its bean store once a request scoped bean is
+     *         accessed, <code>false</code> otherwise
+     * @see org.jboss.weld.context.http.LazyHttpRequestContextImpl
+     */
+    public boolean isLazyRequestContextEnabled() {
+        return lazyRequestContext;
+    }
+
+    /**
+     * Asynchronous session destruction is disabled by default.
+     *
+     * @return the number of threads destroying the session scoped instances of sessions which timed out, or <code>0</code> if
+     *         the instances should be destroyed by the thread invalidating the session
+     * @see org.jboss.weld.servlet.SessionDestructionExecutor
+     */
+    public int getSessionDestructionThreadPoolSize() {
+        return sessionDestructionThreadPoolSize;
+    }
+
+    /**
+     * Bean store pooling is disabled by default.
+     *
+     * @return the maximum number of bean stores each request context keeps for reuse, or <code>0</code> if a new bean store
+     *         should be created for every association
+     * @see org.jboss.weld.context.beanstore.BeanStorePool
+     */
+    public int getRequestBeanStorePoolSize() {
+        return requestBeanStorePoolSize;
+    }
+
+    /**
+     * Fair conversation locking is disabled by default.
+     *
+     * @return <code>true</code> if concurrent requests for the same conversation should acquire the conversation in the order
+     *         of arrival, <code>false</code> otherwise
+     */
+    public boolean isConversationFairLockingEnabled() {
+        return conversationFairLocking;
+    }
+
+    /**
+     * The number of waiting requests is not limited by default.
+     *
+     * @return the maximum number of requests waiting for the same conversation, or <code>0</code> if not limited
+     */
+    public int getConversationMaxWaitingRequests() {
+        return conversationMaxWaitingRequests;
+    }
+
+    /**
+     * The bootstrap timeline is disabled by default. It is also enabled if {@link #BOOTSTRAP_TIMELINE_DUMP_PATH} is set.
+     *
+     * @return <code>true</code> if the bootstrap timeline should be recorded, <code>false</code> otherwise
+     * @see org.jboss.weld.bootstrap.timeline.BootstrapTimeline
+     */
+    public boolean isBootstrapTimelineEnabled() {
+        return bootstrapTimeline;
+    }
+
+    /**
+     * @return the directory the bootstrap timeline is written to at the end of the bootstrap, or <code>null</code> if the
+     *         timeline should not be written
+     */
+    public File getBootstrapTimelineDumpPath() {
+        return bootstrapTimelineDumpPath;
+    }
+
+    /**
+     * @return the number of the slowest beans reported by the bootstrap timeline for each operation, <code>10</code> by default
+     */
+    public int getBootstrapTimelineTopBeans() {
+        return bootstrapTimelineTopBeans;
+    }
+
+    /**
+     * If enabled, the provider-configuration files found by {@link org.jboss.weld.util.ServiceLoader} are read concurrently. Disabled by default.
+     *
+     * @return <code>true</code> if the provider-configuration files should be read concurrently, <code>false</code> otherwise
+     */
+    public boolean isServiceLoaderParallel() {
+        return serviceLoaderParallel;
+    }
+
+    /**
+     * If enabled, the caches used at runtime, e.g. the bean resolution of injection points or client proxies, are populated at the end of the bootstrap.
+     * Disabled by default.
+     *
+     * @return <code>true</code> if the runtime caches should be populated at the end of the bootstrap, <code>false</code> otherwise
+     */
+    public boolean isBootstrapWarmUpEnabled() {
+        return bootstrapWarmUp;
+    }
+
+    /**
+     * The {@link javax.enterprise.context.ApplicationScoped} and {@link javax.inject.Singleton} beans whose bean class name matches this pattern are
+     * initialized eagerly, just like the beans annotated with {@link org.jboss.weld.bootstrap.Eager}. Not set by default.
+     *
+     * @return the pattern or <code>null</code> if not set
+     */
+    public Pattern getBootstrapEagerInitializationPattern() {
+        return bootstrapEagerInitializationPattern;
+    }
+
+    private File initDirectorySystemProperty(String key) {
+        String path = AccessController.doPrivileged(new GetSystemPropertyAction(key));
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+        File directory = new File(path);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            BeanLogger.LOG.directoryCannotBeCreated(directory.toString());
+            return null;
+        }
+        return directory;
+    }
+
     private boolean initBooleanSystemProperty(String key, boolean defaultValue) {
         try {
             return AccessController.doPrivileged(new GetBooleanSystemPropertyAction(key));
@@ -113,4 +355,13 @@ public final class SystemPropertiesConfiguration {
         }
     }
 
+    private long initLongSystemProperty(String key, long defaultValue) {
+        try {
+            String value = AccessController.doPrivileged(new GetSystemPropertyAction(key));
+            return value == null ? defaultValue : Long.parseLong(value.trim());
+        } catch (Throwable ignore) {
+            return defaultValue;
+        }
+    }
+
 }
@@ -184,6 +184,11 @@ public abstract class AbstractProducerBean<X, T, S extends Member> extends Abstr
         return instance;
     }
 
+    @Override
+    protected boolean computeDestructionRequired() {
+        return Beans.isDestructionRequired(getProducer());
+    }
+
     public void destroy(T instance, CreationalContext<T> creationalContext) {
         try {
             getProducer().dispose(instance);
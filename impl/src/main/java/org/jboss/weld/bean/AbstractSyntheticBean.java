@@ -51,5 +51,10 @@ public abstract class AbstractSyntheticBean<T> extends CommonBean<T> {
         return getProducer().getInjectionPoints();
     }
 
+    @Override
+    protected boolean computeDestructionRequired() {
+        return Beans.isDestructionRequired(getProducer());
+    }
+
     protected abstract Producer<T> getProducer();
 }
@@ -16,6 +16,7 @@
  */
 package org.jboss.weld.bean;
 
+import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanAttributes;
 
@@ -36,6 +37,8 @@ public abstract class CommonBean<T> extends ForwardingBeanAttributes<T> implemen
 
     private final BeanIdentifier identifier;
 
+    private boolean destructionRequired = true;
+
     protected CommonBean(BeanAttributes<T> attributes, BeanIdentifier identifier) {
         this.attributes = attributes;
         this.identifier = identifier;
@@ -75,6 +78,27 @@ public abstract class CommonBean<T> extends ForwardingBeanAttributes<T> implemen
         this.attributes = attributes;
     }
 
+    /**
+     * Indicates whether a dependent instance of this bean needs to be destroyed even if its {@link CreationalContext} holds no
+     * dependent instances. If false, destroying such an instance has no observable effect and the dependent context does not
+     * need to keep a reference to it. The flag is conservatively true until {@link #initializeDestructionRequired()} is called.
+     */
+    public boolean isDestructionRequired() {
+        return destructionRequired;
+    }
+
+    /**
+     * Computes the {@link #isDestructionRequired()} flag. Called once all the beans are deployed and validated, i.e. once the
+     * producer of the bean cannot change anymore.
+     */
+    public void initializeDestructionRequired() {
+        this.destructionRequired = computeDestructionRequired();
+    }
+
+    protected boolean computeDestructionRequired() {
+        return true;
+    }
+
     @Override
     public boolean isNullable() {
         /*
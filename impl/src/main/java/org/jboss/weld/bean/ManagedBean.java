@@ -38,6 +38,7 @@ import org.jboss.weld.interceptor.spi.metadata.InterceptorClassMetadata;
 import org.jboss.weld.logging.BeanLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.jboss.weld.util.Beans;
 import org.jboss.weld.util.Decorators;
 import org.jboss.weld.util.Proxies;
 import org.jboss.weld.util.reflection.Formats;
@@ -168,6 +169,11 @@ public class ManagedBean<T> extends AbstractClassBean<T> {
         return instance;
     }
 
+    @Override
+    protected boolean computeDestructionRequired() {
+        return Beans.isDestructionRequired(getProducer());
+    }
+
     /**
      * Destroys an instance of the bean
      *
@@ -62,6 +62,12 @@ public abstract class AbstractBuiltInBean<T> extends RIBean<T> {
         // No-op
     }
 
+    @Override
+    protected boolean computeDestructionRequired() {
+        // destroying a built-in bean instance does nothing but releasing its creational context
+        return false;
+    }
+
     @Override
     public Set<InjectionPoint> getInjectionPoints() {
         return Collections.emptySet();
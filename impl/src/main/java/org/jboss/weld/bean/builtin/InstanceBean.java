@@ -56,6 +56,12 @@ public class InstanceBean extends AbstractFacadeBean<Instance<?>> {
         return InstanceImpl.of(injectionPoint, creationalContext, getBeanManager());
     }
 
+    @Override
+    protected boolean computeDestructionRequired() {
+        // dependent instances obtained through Instance.get() are destroyed together with the Instance
+        return true;
+    }
+
     @Override
     public String toString() {
         return "Implicit Bean [javax.enterprise.inject.Instance] with qualifiers [@Default]";
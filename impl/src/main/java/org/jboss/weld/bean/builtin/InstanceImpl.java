@@ -34,6 +34,8 @@ import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.InjectionPoint;
 import javax.enterprise.util.TypeLiteral;
 
+import org.jboss.weld.Container;
+import org.jboss.weld.ContainerState;
 import org.jboss.weld.bean.proxy.ProxyMethodHandler;
 import org.jboss.weld.bean.proxy.ProxyObject;
 import org.jboss.weld.context.WeldCreationalContext;
@@ -45,7 +47,10 @@ import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.resolution.Resolvable;
 import org.jboss.weld.resolution.ResolvableBuilder;
 import org.jboss.weld.resolution.TypeSafeBeanResolver;
+import org.jboss.weld.util.Beans;
 import org.jboss.weld.util.Preconditions;
+import org.jboss.weld.util.cache.ComputingCache;
+import org.jboss.weld.util.cache.ComputingCacheBuilder;
 import org.jboss.weld.util.collections.WeldCollections;
 import org.jboss.weld.util.reflection.Formats;
 import org.jboss.weld.util.reflection.Reflections;
@@ -61,27 +66,53 @@ public class InstanceImpl<T> extends AbstractFacade<T, Instance<T>> implements I
 
     private static final long serialVersionUID = -376721889693284887L;
 
-    private final Set<Bean<?>> beans;
+    private static final long RESOLVED_BEANS_CACHE_SIZE = 64;
+
+    /*
+     * Shared by all the Instance objects derived from the same injected Instance through select().
+     */
+    private final ResolvedBeansCache resolvedBeans;
+
+    // resolved lazily
+    private volatile Set<Bean<?>> beans;
 
     public static <I> Instance<I> of(InjectionPoint injectionPoint, CreationalContext<I> creationalContext,
             BeanManagerImpl beanManager) {
-        return new InstanceImpl<I>(injectionPoint, creationalContext, beanManager);
+        return new InstanceImpl<I>(injectionPoint, creationalContext, beanManager, new ResolvedBeansCache(injectionPoint.getBean(), beanManager));
     }
 
-    private InstanceImpl(InjectionPoint injectionPoint, CreationalContext<? super T> creationalContext, BeanManagerImpl beanManager) {
+    private InstanceImpl(InjectionPoint injectionPoint, CreationalContext<? super T> creationalContext, BeanManagerImpl beanManager,
+            ResolvedBeansCache resolvedBeans) {
         super(injectionPoint, creationalContext, beanManager);
+        this.resolvedBeans = resolvedBeans;
+    }
 
+    private static Set<Bean<?>> resolve(Type type, Set<Annotation> qualifiers, Bean<?> declaringBean, BeanManagerImpl beanManager) {
         // Perform typesafe resolution, and possibly attempt to resolve the ambiguity
-        Resolvable resolvable = new ResolvableBuilder(getType(), getBeanManager()).addQualifiers(getQualifiers())
-                .setDeclaringBean(getInjectionPoint().getBean()).create();
-        TypeSafeBeanResolver beanResolver = getBeanManager().getBeanResolver();
-        this.beans = beanResolver.resolve(beanResolver.resolve(resolvable, Reflections.isCacheable(getQualifiers())));
+        Resolvable resolvable = new ResolvableBuilder(type, beanManager).addQualifiers(qualifiers).setDeclaringBean(declaringBean).create();
+        TypeSafeBeanResolver beanResolver = beanManager.getBeanResolver();
+        return beanResolver.resolve(beanResolver.resolve(resolvable, Reflections.isCacheable(qualifiers)));
+    }
+
+    private Set<Bean<?>> getBeans() {
+        Set<Bean<?>> beans = this.beans;
+        if (beans == null) {
+            ComputingCache<ResolutionKey, Set<Bean<?>>> cache = resolvedBeans.get();
+            if (cache != null && Reflections.isCacheable(getQualifiers())) {
+                beans = cache.getValue(new ResolutionKey(getType(), getQualifiers()));
+            } else {
+                beans = resolve(getType(), getQualifiers(), getInjectionPoint().getBean(), getBeanManager());
+            }
+            this.beans = beans;
+        }
+        return beans;
     }
 
     public T get() {
-        if (isUnsatisfied()) {
+        Set<Bean<?>> beans = getBeans();
+        if (beans.isEmpty()) {
             throw BeanManagerLogger.LOG.unresolvableElement("Type: " + getType() + "; Qualifiers: " + getQualifiers());
-        } else if (isAmbiguous()) {
+        } else if (beans.size() > 1) {
             throw BeanManagerLogger.LOG.ambiguousBeansForDependency(WeldCollections.toMultiRowString(beans));
         } else {
             return getBeanInstance(beans.iterator().next());
@@ -99,15 +130,15 @@ public class InstanceImpl<T> extends AbstractFacade<T, Instance<T>> implements I
     }
 
     public Iterator<T> iterator() {
-        return new InstanceImplIterator(beans);
+        return new InstanceImplIterator(getBeans());
     }
 
     public boolean isAmbiguous() {
-        return beans.size() > 1;
+        return getBeans().size() > 1;
     }
 
     public boolean isUnsatisfied() {
-        return beans.isEmpty();
+        return getBeans().isEmpty();
     }
 
     public Instance<T> select(Annotation... qualifiers) {
@@ -125,7 +156,7 @@ public class InstanceImpl<T> extends AbstractFacade<T, Instance<T>> implements I
     private <U extends T> Instance<U> selectInstance(Type subtype, Annotation[] newQualifiers) {
         InjectionPoint modifiedInjectionPoint = new FacadeInjectionPoint(getBeanManager(), getInjectionPoint(), subtype, getQualifiers(),
                 newQualifiers);
-        return new InstanceImpl<U>(modifiedInjectionPoint, getCreationalContext(), getBeanManager());
+        return new InstanceImpl<U>(modifiedInjectionPoint, getCreationalContext(), getBeanManager(), resolvedBeans);
     }
 
     @Override
@@ -158,6 +189,10 @@ public class InstanceImpl<T> extends AbstractFacade<T, Instance<T>> implements I
     }
 
     private T getBeanInstance(Bean<?> bean) {
+        if (Beans.isProxyRequired(bean, getBeanManager())) {
+            // the client proxy depends neither on the injection point nor on the creational context
+            return Reflections.<T> cast(getBeanManager().getClientProxyProvider().getClientProxy(bean, getType()));
+        }
         // Generate a correct injection point for the bean, we do this by taking the original injection point and adjusting the
         // qualifiers and type
         InjectionPoint ip = new DynamicLookupInjectionPoint(getInjectionPoint(), getType(), getQualifiers());
@@ -194,6 +229,76 @@ public class InstanceImpl<T> extends AbstractFacade<T, Instance<T>> implements I
 
     }
 
+    /**
+     * The cache is only created once the container is initialized - until then beans may still be added or the resolver cleared. An
+     * {@link Instance} obtained during the bootstrap, e.g. injected into an eager bean, starts caching afterwards.
+     */
+    private static final class ResolvedBeansCache {
+
+        private final Bean<?> declaringBean;
+
+        private final BeanManagerImpl beanManager;
+
+        private volatile ComputingCache<ResolutionKey, Set<Bean<?>>> cache;
+
+        private ResolvedBeansCache(Bean<?> declaringBean, BeanManagerImpl beanManager) {
+            this.declaringBean = declaringBean;
+            this.beanManager = beanManager;
+        }
+
+        /**
+         *
+         * @return the cache or <code>null</code> if the container is not initialized yet
+         */
+        private ComputingCache<ResolutionKey, Set<Bean<?>>> get() {
+            ComputingCache<ResolutionKey, Set<Bean<?>>> cache = this.cache;
+            if (cache == null) {
+                if (Container.instance(beanManager).getState() != ContainerState.INITIALIZED) {
+                    return null;
+                }
+                synchronized (this) {
+                    cache = this.cache;
+                    if (cache == null) {
+                        cache = ComputingCacheBuilder.newBuilder().setMaxSize(RESOLVED_BEANS_CACHE_SIZE)
+                                .build((key) -> resolve(key.type, key.qualifiers, declaringBean, beanManager));
+                        this.cache = cache;
+                    }
+                }
+            }
+            return cache;
+        }
+    }
+
+    private static final class ResolutionKey {
+
+        private final Type type;
+        private final Set<Annotation> qualifiers;
+        private final int hashCode;
+
+        private ResolutionKey(Type type, Set<Annotation> qualifiers) {
+            this.type = type;
+            this.qualifiers = qualifiers;
+            this.hashCode = 31 * type.hashCode() + qualifiers.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj instanceof ResolutionKey) {
+                ResolutionKey that = (ResolutionKey) obj;
+                return type.equals(that.type) && qualifiers.equals(that.qualifiers);
+            }
+            return false;
+        }
+    }
+
     final class InstanceImplIterator implements Iterator<T> {
 
         private final Iterator<Bean<?>> delegate;
@@ -52,6 +52,9 @@ import org.jboss.classfilewriter.util.Boxing;
 import org.jboss.classfilewriter.util.DescriptorUtils;
 import org.jboss.weld.Container;
 import org.jboss.weld.SystemPropertiesConfiguration;
+import org.jboss.weld.bootstrap.timeline.BootstrapTimeline;
+import org.jboss.weld.bootstrap.timeline.BootstrapTimeline.BeanOperation;
+import org.jboss.weld.bootstrap.timeline.Measurement;
 import org.jboss.weld.exceptions.DefinitionException;
 import org.jboss.weld.exceptions.WeldException;
 import org.jboss.weld.interceptor.proxy.LifecycleMixin;
@@ -343,8 +346,13 @@ public class ProxyFactory<T> {
             proxyClass = cast(classLoader.loadClass(proxyClassName));
         } catch (ClassNotFoundException e) {
             // Create the proxy class for this instance
+            BootstrapTimeline timeline = Container.instance(contextId).services().get(BootstrapTimeline.class);
+            Measurement measurement = timeline != null ? timeline.start() : null;
             try {
                 proxyClass = createProxyClass(proxyClassName);
+                if (measurement != null) {
+                    timeline.recordBean(BeanOperation.PROXY, proxyClassName, measurement);
+                }
             } catch (Throwable e1) {
                 //attempt to load the class again, just in case another thread
                 //defined it between the check and the create method
@@ -44,6 +44,9 @@ import org.jboss.weld.bean.interceptor.InterceptorBindingsAdapter;
 import org.jboss.weld.bootstrap.api.ServiceRegistry;
 import org.jboss.weld.bootstrap.enablement.GlobalEnablementBuilder;
 import org.jboss.weld.bootstrap.events.ProcessAnnotatedTypeImpl;
+import org.jboss.weld.bootstrap.timeline.BootstrapTimeline;
+import org.jboss.weld.bootstrap.timeline.BootstrapTimeline.BeanOperation;
+import org.jboss.weld.bootstrap.timeline.Measurement;
 import org.jboss.weld.ejb.EjbDescriptors;
 import org.jboss.weld.ejb.InternalEjbDescriptor;
 import org.jboss.weld.ejb.spi.EjbServices;
@@ -72,6 +75,7 @@ public class BeanDeployer extends AbstractBeanDeployer<BeanDeployerEnvironment>
     private final GlobalEnablementBuilder globalEnablementBuilder;
     private final AnnotationApiAbstraction annotationApi;
     private final ClassFileServices classFileServices;
+    private final BootstrapTimeline timeline;
 
     public BeanDeployer(BeanManagerImpl manager, EjbDescriptors ejbDescriptors, ServiceRegistry services) {
         this(manager, ejbDescriptors, services, BeanDeployerEnvironmentFactory.newEnvironment(ejbDescriptors, manager));
@@ -84,6 +88,7 @@ public class BeanDeployer extends AbstractBeanDeployer<BeanDeployerEnvironment>
         this.globalEnablementBuilder = manager.getServices().get(GlobalEnablementBuilder.class);
         this.annotationApi = manager.getServices().get(AnnotationApiAbstraction.class);
         this.classFileServices = manager.getServices().get(ClassFileServices.class);
+        this.timeline = manager.getServices().get(BootstrapTimeline.class);
     }
 
     /**
@@ -150,30 +155,35 @@ public class BeanDeployer extends AbstractBeanDeployer<BeanDeployerEnvironment>
         Set<SlimAnnotatedTypeContext<?>> classesToBeRemoved = new HashSet<SlimAnnotatedTypeContext<?>>();
 
         for (SlimAnnotatedTypeContext<?> annotatedTypeContext : getEnvironment().getAnnotatedTypes()) {
-            SlimAnnotatedType<?> annotatedType = annotatedTypeContext.getAnnotatedType();
-            final ProcessAnnotatedTypeImpl<?> event = containerLifecycleEvents.fireProcessAnnotatedType(getManager(), annotatedTypeContext);
-
-            // process the result
-            if (event != null) {
-                if (event.isVeto()) {
-                    getEnvironment().vetoJavaClass(annotatedType.getJavaClass());
-                    classesToBeRemoved.add(annotatedTypeContext);
-                } else {
-                    boolean dirty = event.isDirty();
-                    if (dirty) {
-                        classesToBeRemoved.add(annotatedTypeContext); // remove the original class
-                        classesToBeAdded.add(SlimAnnotatedTypeContext.of(event.getResultingAnnotatedType(), classTransformer, annotatedTypeContext.getExtension()));
-                    }
-                    processPriority(event.getResultingAnnotatedType());
-                }
-            } else {
-                processPriority(annotatedType);
-            }
+            processAnnotatedType(annotatedTypeContext, classesToBeAdded, classesToBeRemoved);
         }
         getEnvironment().removeAnnotatedTypes(classesToBeRemoved);
         getEnvironment().addAnnotatedTypes(classesToBeAdded);
     }
 
+    protected void processAnnotatedType(SlimAnnotatedTypeContext<?> annotatedTypeContext, Set<SlimAnnotatedTypeContext<?>> classesToBeAdded,
+            Set<SlimAnnotatedTypeContext<?>> classesToBeRemoved) {
+        SlimAnnotatedType<?> annotatedType = annotatedTypeContext.getAnnotatedType();
+        final ProcessAnnotatedTypeImpl<?> event = containerLifecycleEvents.fireProcessAnnotatedType(getManager(), annotatedTypeContext);
+
+        // process the result
+        if (event != null) {
+            if (event.isVeto()) {
+                getEnvironment().vetoJavaClass(annotatedType.getJavaClass());
+                classesToBeRemoved.add(annotatedTypeContext);
+            } else {
+                boolean dirty = event.isDirty();
+                if (dirty) {
+                    classesToBeRemoved.add(annotatedTypeContext); // remove the original class
+                    classesToBeAdded.add(SlimAnnotatedTypeContext.of(event.getResultingAnnotatedType(), classTransformer, annotatedTypeContext.getExtension()));
+                }
+                processPriority(event.getResultingAnnotatedType());
+            }
+        } else {
+            processPriority(annotatedType);
+        }
+    }
+
     public void registerAnnotatedTypes() {
         for (SlimAnnotatedTypeContext<?> ctx : getEnvironment().getAnnotatedTypes()) {
             annotatedTypeStore.put(ctx.getAnnotatedType());
@@ -208,6 +218,7 @@ public class BeanDeployer extends AbstractBeanDeployer<BeanDeployerEnvironment>
     protected void createClassBean(SlimAnnotatedType<?> annotatedType, SetMultimap<Class<?>, SlimAnnotatedType<?>> otherWeldClasses) {
         boolean managedBeanOrDecorator = !getEnvironment().getEjbDescriptors().contains(annotatedType.getJavaClass()) && Beans.isTypeManagedBeanOrDecoratorOrInterceptor(annotatedType);
         if (managedBeanOrDecorator) {
+            Measurement measurement = timeline != null ? timeline.start() : null;
             containerLifecycleEvents.preloadProcessInjectionTarget(annotatedType.getJavaClass());
             containerLifecycleEvents.preloadProcessBeanAttributes(annotatedType.getJavaClass());
             EnhancedAnnotatedType<?> weldClass = classTransformer.getEnhancedAnnotatedType(annotatedType);
@@ -223,6 +234,9 @@ public class BeanDeployer extends AbstractBeanDeployer<BeanDeployerEnvironment>
                 containerLifecycleEvents.preloadProcessBean(ProcessManagedBean.class, annotatedType.getJavaClass());
                 createManagedBean(weldClass);
             }
+            if (measurement != null) {
+                timeline.recordBean(BeanOperation.CREATE, annotatedType.getJavaClass().getName(), measurement);
+            }
         } else {
             otherWeldClasses.put(annotatedType.getJavaClass(), annotatedType);
         }
@@ -260,15 +274,8 @@ public class BeanDeployer extends AbstractBeanDeployer<BeanDeployerEnvironment>
             return; // exit recursion
         }
 
-        Collection<AbstractBean<?, ?>> vetoedBeans = new HashSet<AbstractBean<?, ?>>();
+        Collection<AbstractBean<?, ?>> vetoedBeans = fireProcessBeanAttributes(beans);
         Collection<AbstractBean<?, ?>> previouslySpecializedBeans = new HashSet<AbstractBean<?, ?>>();
-        for (AbstractBean<?, ?> bean : beans) {
-            // fire ProcessBeanAttributes for class beans
-            boolean vetoed = fireProcessBeanAttributes(bean);
-            if (vetoed) {
-                vetoedBeans.add(bean);
-            }
-        }
 
         // remove vetoed class beans
         for (AbstractBean<?, ?> bean : vetoedBeans) {
@@ -282,6 +289,23 @@ public class BeanDeployer extends AbstractBeanDeployer<BeanDeployerEnvironment>
         processBeanAttributes(previouslySpecializedBeans);
     }
 
+    /**
+     * Fires {@link ProcessBeanAttributes} for the given beans.
+     *
+     * @return the vetoed beans
+     */
+    protected Collection<AbstractBean<?, ?>> fireProcessBeanAttributes(Iterable<? extends AbstractBean<?, ?>> beans) {
+        Collection<AbstractBean<?, ?>> vetoedBeans = new HashSet<AbstractBean<?, ?>>();
+        for (AbstractBean<?, ?> bean : beans) {
+            // fire ProcessBeanAttributes for class beans
+            boolean vetoed = fireProcessBeanAttributes(bean);
+            if (vetoed) {
+                vetoedBeans.add(bean);
+            }
+        }
+        return vetoedBeans;
+    }
+
     protected void searchForNewBeanDeclarations(Iterable<? extends AbstractBean<?, ?>> beans) {
         for (AbstractBean<?, ?> bean : beans) {
             getEnvironment().addNewBeansFromInjectionPoints(bean);
@@ -56,6 +56,7 @@ import org.jboss.weld.ejb.EjbDescriptors;
 import org.jboss.weld.ejb.InternalEjbDescriptor;
 import org.jboss.weld.injection.attributes.WeldInjectionPointAttributes;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.resolution.AssignabilityCache;
 import org.jboss.weld.resolution.ResolvableBuilder;
 import org.jboss.weld.resolution.TypeSafeDisposerResolver;
 import org.jboss.weld.resources.ClassTransformer;
@@ -130,7 +131,7 @@ public class BeanDeployerEnvironment {
         this.decorators = decorators;
         this.interceptors = interceptors;
         this.ejbDescriptors = ejbDescriptors;
-        this.disposalMethodResolver = new TypeSafeDisposerResolver(allDisposalBeans);
+        this.disposalMethodResolver = new TypeSafeDisposerResolver(allDisposalBeans, manager.getServices().get(AssignabilityCache.class));
         this.classTransformer = manager.getServices().get(ClassTransformer.class);
         this.newManagedBeanClasses = newManagedBeanClasses;
         this.newSessionBeanDescriptorsFromInjectionPoint = newSessionBeanDescriptorsFromInjectionPoint;
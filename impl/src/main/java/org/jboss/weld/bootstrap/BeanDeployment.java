@@ -31,6 +31,7 @@ import org.jboss.weld.bean.builtin.BeanManagerImplBean;
 import org.jboss.weld.bean.builtin.BeanMetadataBean;
 import org.jboss.weld.bean.builtin.ContextBean;
 import org.jboss.weld.bean.builtin.ConversationBean;
+import org.jboss.weld.bean.builtin.ConversationStatisticsBean;
 import org.jboss.weld.bean.builtin.DecoratedBeanMetadataBean;
 import org.jboss.weld.bean.builtin.DecoratorMetadataBean;
 import org.jboss.weld.bean.builtin.EventBean;
@@ -234,6 +235,7 @@ public class BeanDeployment {
         beanDeployer.addBuiltInBean(new EventBean(beanManager));
         beanDeployer.addBuiltInBean(new InstanceBean(beanManager));
         beanDeployer.addBuiltInBean(new ConversationBean(beanManager));
+        beanDeployer.addBuiltInBean(new ConversationStatisticsBean(beanManager));
         beanDeployer.addBuiltInBean(new BeanMetadataBean(beanManager));
         beanDeployer.addBuiltInBean(new InterceptedBeanMetadataBean(beanManager));
         beanDeployer.addBuiltInBean(new DecoratedBeanMetadataBean(beanManager));
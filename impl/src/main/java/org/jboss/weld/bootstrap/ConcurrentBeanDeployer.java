@@ -16,14 +16,18 @@
  */
 package org.jboss.weld.bootstrap;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.enterprise.inject.spi.Bean;
 
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedType;
 import org.jboss.weld.annotated.slim.SlimAnnotatedType;
 import org.jboss.weld.annotated.slim.SlimAnnotatedTypeContext;
+import org.jboss.weld.bean.AbstractBean;
 import org.jboss.weld.bean.AbstractClassBean;
 import org.jboss.weld.bean.RIBean;
 import org.jboss.weld.bootstrap.api.ServiceRegistry;
@@ -64,6 +68,42 @@ public class ConcurrentBeanDeployer extends BeanDeployer {
         return this;
     }
 
+    @Override
+    public void processAnnotatedTypes() {
+        if (!containerLifecycleEvents.isProcessAnnotatedTypeDeliveryConcurrent()) {
+            super.processAnnotatedTypes();
+            return;
+        }
+        final Set<SlimAnnotatedTypeContext<?>> classesToBeAdded = Collections.newSetFromMap(new ConcurrentHashMap<SlimAnnotatedTypeContext<?>, Boolean>());
+        final Set<SlimAnnotatedTypeContext<?>> classesToBeRemoved = Collections.newSetFromMap(new ConcurrentHashMap<SlimAnnotatedTypeContext<?>, Boolean>());
+
+        executor.invokeAllAndCheckForExceptions(new IterativeWorkerTaskFactory<SlimAnnotatedTypeContext<?>>(getEnvironment().getAnnotatedTypes()) {
+            @Override
+            protected void doWork(SlimAnnotatedTypeContext<?> ctx) {
+                processAnnotatedType(ctx, classesToBeAdded, classesToBeRemoved);
+            }
+        });
+        getEnvironment().removeAnnotatedTypes(classesToBeRemoved);
+        getEnvironment().addAnnotatedTypes(classesToBeAdded);
+    }
+
+    @Override
+    protected Collection<AbstractBean<?, ?>> fireProcessBeanAttributes(Iterable<? extends AbstractBean<?, ?>> beans) {
+        if (!containerLifecycleEvents.isProcessBeanAttributesDeliveryConcurrent()) {
+            return super.fireProcessBeanAttributes(beans);
+        }
+        final Set<AbstractBean<?, ?>> vetoedBeans = Collections.newSetFromMap(new ConcurrentHashMap<AbstractBean<?, ?>, Boolean>());
+        executor.invokeAllAndCheckForExceptions(new IterativeWorkerTaskFactory<AbstractBean<?, ?>>(beans) {
+            @Override
+            protected void doWork(AbstractBean<?, ?> bean) {
+                if (fireProcessBeanAttributes(bean)) {
+                    vetoedBeans.add(bean);
+                }
+            }
+        });
+        return vetoedBeans;
+    }
+
     @Override
     public void createClassBeans() {
         final SetMultimap<Class<?>, SlimAnnotatedType<?>> otherWeldClasses = SetMultimap.newConcurrentSetMultimap();
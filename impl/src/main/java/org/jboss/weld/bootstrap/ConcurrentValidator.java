@@ -32,16 +32,18 @@ import javax.enterprise.inject.spi.Producer;
 
 import org.jboss.weld.bean.CommonBean;
 import org.jboss.weld.exceptions.DeploymentException;
+import org.jboss.weld.executor.CompositeTaskFactory;
 import org.jboss.weld.executor.IterativeWorkerTaskFactory;
 import org.jboss.weld.logging.ValidatorLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.manager.api.ExecutorServices;
+import org.jboss.weld.manager.api.ExecutorServices.TaskFactory;
 import org.jboss.weld.util.Beans;
 import org.jboss.weld.util.collections.SetMultimap;
 import org.jboss.weld.util.collections.WeldCollections;
 
 /**
- * Processes validation of beans, decorators and interceptors in parallel.
+ * Processes validation of beans, decorators and interceptors in parallel. Independent validation phases are executed together.
  *
  * @author Jozef Hartinger
  *
@@ -54,49 +56,79 @@ public class ConcurrentValidator extends Validator {
         this.executor = executor;
     }
 
+    /**
+     * Decorators, interceptors and beans do not depend on each other and so they are validated without any barrier in between. The same applies to
+     * observer methods and bean names. Problems are reported in the same order as if the phases were executed one after another.
+     */
+    @Override
+    public void validateDeployment(BeanManagerImpl manager, BeanDeployment deployment) {
+        final List<RuntimeException> problems = new CopyOnWriteArrayList<RuntimeException>();
+        executor.invokeAllAndCheckForExceptions(new CompositeTaskFactory<Void>(createDecoratorValidationTasks(manager.getDecorators(), manager),
+                createInterceptorValidationTasks(manager.getInterceptors(), manager), createBeanValidationTasks(manager.getBeans(), manager, problems)));
+        reportProblems(problems);
+        validateEnablementAndSpecialization(manager, deployment);
+        executor.invokeAllAndCheckForExceptions(new CompositeTaskFactory<Void>(
+                createObserverMethodValidationTasks(deployment.getBeanDeployer().getEnvironment().getObservers(), manager),
+                createBeanNameValidationTasks(manager)));
+    }
+
     @Override
     public void validateBeans(Collection<? extends Bean<?>> beans, final BeanManagerImpl manager) {
         final List<RuntimeException> problems = new CopyOnWriteArrayList<RuntimeException>();
-        final Set<CommonBean<?>> specializedBeans = Collections.newSetFromMap(new ConcurrentHashMap<CommonBean<?>, Boolean>());
+        executor.invokeAllAndCheckForExceptions(createBeanValidationTasks(beans, manager, problems));
+        reportProblems(problems);
+    }
+
+    @Override
+    public void validateInterceptors(Collection<? extends Interceptor<?>> interceptors, final BeanManagerImpl manager) {
+        executor.invokeAllAndCheckForExceptions(createInterceptorValidationTasks(interceptors, manager));
+    }
+
+    @Override
+    public void validateDecorators(Collection<? extends Decorator<?>> decorators, final BeanManagerImpl manager) {
+        executor.invokeAllAndCheckForExceptions(createDecoratorValidationTasks(decorators, manager));
+    }
 
-        executor.invokeAllAndCheckForExceptions(new IterativeWorkerTaskFactory<Bean<?>>(beans) {
+    @Override
+    protected void validateObserverMethods(Iterable<ObserverInitializationContext<?, ?>> observers, final BeanManagerImpl beanManager) {
+        executor.invokeAllAndCheckForExceptions(createObserverMethodValidationTasks(observers, beanManager));
+    }
+
+    @Override
+    public void validateBeanNames(final BeanManagerImpl beanManager) {
+        executor.invokeAllAndCheckForExceptions(createBeanNameValidationTasks(beanManager));
+    }
+
+    private TaskFactory<Void> createBeanValidationTasks(Collection<? extends Bean<?>> beans, final BeanManagerImpl manager,
+            final List<RuntimeException> problems) {
+        final Set<CommonBean<?>> specializedBeans = Collections.newSetFromMap(new ConcurrentHashMap<CommonBean<?>, Boolean>());
+        return new IterativeWorkerTaskFactory<Bean<?>>(beans) {
             protected void doWork(Bean<?> bean) {
                 validateBean(bean, specializedBeans, manager, problems);
             }
-        });
-
-        if (!problems.isEmpty()) {
-            if (problems.size() == 1) {
-                throw problems.get(0);
-            } else {
-                throw new DeploymentException(problems);
-            }
-        }
+        };
     }
 
-    @Override
-    public void validateInterceptors(Collection<? extends Interceptor<?>> interceptors, final BeanManagerImpl manager) {
-        executor.invokeAllAndCheckForExceptions(new IterativeWorkerTaskFactory<Interceptor<?>>(interceptors) {
+    private TaskFactory<Void> createInterceptorValidationTasks(Collection<? extends Interceptor<?>> interceptors, final BeanManagerImpl manager) {
+        return new IterativeWorkerTaskFactory<Interceptor<?>>(interceptors) {
             protected void doWork(Interceptor<?> interceptor) {
                 validateInterceptor(interceptor, manager);
             }
-        });
+        };
     }
 
-    @Override
-    public void validateDecorators(Collection<? extends Decorator<?>> decorators, final BeanManagerImpl manager) {
+    private TaskFactory<Void> createDecoratorValidationTasks(Collection<? extends Decorator<?>> decorators, final BeanManagerImpl manager) {
         final Set<CommonBean<?>> specializedBeans = Collections.newSetFromMap(new ConcurrentHashMap<CommonBean<?>, Boolean>());
-
-        executor.invokeAllAndCheckForExceptions(new IterativeWorkerTaskFactory<Decorator<?>>(decorators) {
+        return new IterativeWorkerTaskFactory<Decorator<?>>(decorators) {
             protected void doWork(Decorator<?> decorator) {
                 validateDecorator(decorator, specializedBeans, manager);
             }
-        });
+        };
     }
 
-    @Override
-    protected void validateObserverMethods(Iterable<ObserverInitializationContext<?, ?>> observers, final BeanManagerImpl beanManager) {
-        executor.invokeAllAndCheckForExceptions(new IterativeWorkerTaskFactory<ObserverInitializationContext<?, ?>>(observers) {
+    private TaskFactory<Void> createObserverMethodValidationTasks(Iterable<ObserverInitializationContext<?, ?>> observers,
+            final BeanManagerImpl beanManager) {
+        return new IterativeWorkerTaskFactory<ObserverInitializationContext<?, ?>>(observers) {
             protected void doWork(ObserverInitializationContext<?, ?> observerMethod) {
                 for (InjectionPoint ip : observerMethod.getObserver().getInjectionPoints()) {
                     validateInjectionPointForDefinitionErrors(ip, ip.getBean(), beanManager);
@@ -104,11 +136,10 @@ public class ConcurrentValidator extends Validator {
                     validateInjectionPointForDeploymentProblems(ip, ip.getBean(), beanManager);
                 }
             }
-        });
+        };
     }
 
-    @Override
-    public void validateBeanNames(final BeanManagerImpl beanManager) {
+    private TaskFactory<Void> createBeanNameValidationTasks(final BeanManagerImpl beanManager) {
         final SetMultimap<String, Bean<?>> namedAccessibleBeans = SetMultimap.newSetMultimap();
 
         for (Bean<?> bean : beanManager.getAccessibleBeans()) {
@@ -123,7 +154,7 @@ public class ConcurrentValidator extends Validator {
         }
 
         final SpecializationAndEnablementRegistry registry = beanManager.getServices().get(SpecializationAndEnablementRegistry.class);
-        executor.invokeAllAndCheckForExceptions(new IterativeWorkerTaskFactory<String>(namedAccessibleBeans.keySet()) {
+        return new IterativeWorkerTaskFactory<String>(namedAccessibleBeans.keySet()) {
             protected void doWork(String name) {
                 Set<Bean<?>> resolvedBeans = beanManager.getBeanResolver().<Object>resolve(Beans.removeDisabledBeans(namedAccessibleBeans.get(name), beanManager, registry));
                 if (resolvedBeans.size() > 1) {
@@ -133,7 +164,17 @@ public class ConcurrentValidator extends Validator {
                     throw ValidatorLogger.LOG.beanNameIsPrefix(name);
                 }
             }
-        });
+        };
+    }
+
+    private static void reportProblems(List<RuntimeException> problems) {
+        if (!problems.isEmpty()) {
+            if (problems.size() == 1) {
+                throw problems.get(0);
+            } else {
+                throw new DeploymentException(problems);
+            }
+        }
     }
 
     @Override
@@ -0,0 +1,56 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Declares that the contextual instance of an {@link javax.enterprise.context.ApplicationScoped} or {@link javax.inject.Singleton} bean should be
+ * created during the bootstrap instead of on first use. The annotation may be applied to a bean class, a producer method or a producer field.
+ *
+ * <p>
+ * The eager beans are instantiated once the {@link javax.enterprise.inject.spi.AfterDeploymentValidation} event is fired. An eager bean is only
+ * instantiated after the eager beans it injects, either directly or through its dependent objects. The beans which do not depend on each other are
+ * instantiated concurrently if concurrent deployment is enabled. If the instantiation of any eager bean fails, the deployment fails.
+ * </p>
+ *
+ * <pre>
+ * &#064;Eager
+ * &#064;ApplicationScoped
+ * public class ConnectionPool {
+ *
+ *     &#064;PostConstruct
+ *     void init() {
+ *         // Open the connections
+ *     }
+ * }
+ * </pre>
+ *
+ * @see org.jboss.weld.SystemPropertiesConfiguration#BOOTSTRAP_EAGER_INITIALIZATION
+ */
+@Documented
+@Target({ TYPE, METHOD, FIELD })
+@Retention(RUNTIME)
+public @interface Eager {
+}
@@ -0,0 +1,246 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.inject.Singleton;
+
+import org.jboss.weld.bean.AbstractBean;
+import org.jboss.weld.bootstrap.timeline.BootstrapTimeline;
+import org.jboss.weld.bootstrap.timeline.BootstrapTimeline.BeanOperation;
+import org.jboss.weld.bootstrap.timeline.Measurement;
+import org.jboss.weld.logging.BootstrapLogger;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.manager.api.ExecutorServices;
+
+/**
+ * Creates the contextual instances of the beans annotated with {@link Eager} or matching the
+ * {@link org.jboss.weld.SystemPropertiesConfiguration#BOOTSTRAP_EAGER_INITIALIZATION} pattern.
+ *
+ * <p>
+ * The eager beans are instantiated in waves. A wave consists of the beans whose eager dependencies, i.e. the eager beans injected either directly or
+ * through the dependent objects, were instantiated in the previous waves. The beans of a wave are instantiated concurrently if {@link ExecutorServices}
+ * are available. The beans which depend on each other in a cycle are instantiated one at a time in the last wave.
+ * </p>
+ *
+ * <p>
+ * The first failure stops the instantiation of the remaining beans and fails the deployment.
+ * </p>
+ */
+public final class EagerInitialization {
+
+    private final BeanManagerImpl deploymentManager;
+
+    private final Map<Bean<?>, BeanManagerImpl> beans;
+
+    /**
+     *
+     * @param deploymentManager the bean manager of the deployment
+     * @param beanManagers the bean managers whose beans should be inspected
+     * @param pattern the bean class name pattern, may be <code>null</code>
+     */
+    public EagerInitialization(BeanManagerImpl deploymentManager, Iterable<BeanManagerImpl> beanManagers, Pattern pattern) {
+        this.deploymentManager = deploymentManager;
+        this.beans = new LinkedHashMap<Bean<?>, BeanManagerImpl>();
+        for (BeanManagerImpl beanManager : beanManagers) {
+            for (Bean<?> bean : beanManager.getBeans()) {
+                if (!beans.containsKey(bean) && isEager(bean, pattern)) {
+                    if (ApplicationScoped.class.equals(bean.getScope()) || Singleton.class.equals(bean.getScope())) {
+                        beans.put(bean, beanManager);
+                    } else {
+                        BootstrapLogger.LOG.eagerInitializationIgnored(bean);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * @return <code>true</code> if there are no beans to initialize, <code>false</code> otherwise
+     */
+    public boolean isEmpty() {
+        return beans.isEmpty();
+    }
+
+    /**
+     *
+     * @throws org.jboss.weld.exceptions.DeploymentException if the instantiation of any bean fails
+     */
+    public void run() {
+        final Map<Bean<?>, Set<Bean<?>>> dependencies = new HashMap<Bean<?>, Set<Bean<?>>>();
+        for (Map.Entry<Bean<?>, BeanManagerImpl> entry : beans.entrySet()) {
+            dependencies.put(entry.getKey(), getEagerDependencies(entry.getKey(), entry.getValue()));
+        }
+        final ExecutorServices executor = deploymentManager.getServices().get(ExecutorServices.class);
+        final AtomicReference<InitializationTask> failure = new AtomicReference<InitializationTask>();
+        final Set<Bean<?>> remaining = new HashSet<Bean<?>>(beans.keySet());
+
+        while (!remaining.isEmpty()) {
+            List<InitializationTask> wave = new ArrayList<InitializationTask>();
+            for (Bean<?> bean : beans.keySet()) {
+                if (remaining.contains(bean) && !containsAny(remaining, dependencies.get(bean), bean)) {
+                    wave.add(new InitializationTask(bean, beans.get(bean), failure));
+                }
+            }
+            if (wave.isEmpty()) {
+                // Cyclic dependencies - initialize the rest one at a time
+                for (Bean<?> bean : beans.keySet()) {
+                    if (remaining.contains(bean)) {
+                        new InitializationTask(bean, beans.get(bean), failure).call();
+                        checkForFailure(failure);
+                    }
+                }
+                break;
+            }
+            if (executor != null && wave.size() > 1) {
+                executor.invokeAllAndCheckForExceptions(wave);
+            } else {
+                for (InitializationTask task : wave) {
+                    task.call();
+                }
+            }
+            checkForFailure(failure);
+            for (InitializationTask task : wave) {
+                remaining.remove(task.bean);
+            }
+        }
+    }
+
+    private Set<Bean<?>> getEagerDependencies(Bean<?> bean, BeanManagerImpl beanManager) {
+        Set<Bean<?>> eagerDependencies = new HashSet<Bean<?>>();
+        Set<Bean<?>> visited = new HashSet<Bean<?>>();
+        Deque<Bean<?>> queue = new ArrayDeque<Bean<?>>();
+        queue.add(bean);
+        while (!queue.isEmpty()) {
+            Bean<?> current = queue.poll();
+            if (!visited.add(current)) {
+                continue;
+            }
+            for (InjectionPoint injectionPoint : current.getInjectionPoints()) {
+                if (injectionPoint.isDelegate()) {
+                    continue;
+                }
+                Bean<?> resolved = beanManager.resolve(beanManager.getBeans(injectionPoint));
+                if (resolved == null) {
+                    continue;
+                }
+                if (beans.containsKey(resolved)) {
+                    eagerDependencies.add(resolved);
+                } else if (Dependent.class.equals(resolved.getScope())) {
+                    // Dependent objects are created together with the bean
+                    queue.add(resolved);
+                }
+            }
+        }
+        eagerDependencies.remove(bean);
+        return eagerDependencies;
+    }
+
+    private static boolean isEager(Bean<?> bean, Pattern pattern) {
+        if (bean instanceof AbstractBean<?, ?> && ((AbstractBean<?, ?>) bean).getAnnotated().isAnnotationPresent(Eager.class)) {
+            return true;
+        }
+        return pattern != null && pattern.matcher(bean.getBeanClass().getName()).matches();
+    }
+
+    private static boolean containsAny(Set<Bean<?>> remaining, Collection<Bean<?>> dependencies, Bean<?> bean) {
+        for (Bean<?> dependency : dependencies) {
+            if (!dependency.equals(bean) && remaining.contains(dependency)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void checkForFailure(AtomicReference<InitializationTask> failure) {
+        InitializationTask failed = failure.get();
+        if (failed != null) {
+            throw BootstrapLogger.LOG.eagerInitializationFailed(failed.bean, failed.cause);
+        }
+    }
+
+    private static class InitializationTask implements Callable<Void> {
+
+        private final Bean<?> bean;
+
+        private final BeanManagerImpl beanManager;
+
+        private final AtomicReference<InitializationTask> failure;
+
+        private volatile Throwable cause;
+
+        InitializationTask(Bean<?> bean, BeanManagerImpl beanManager, AtomicReference<InitializationTask> failure) {
+            this.bean = bean;
+            this.beanManager = beanManager;
+            this.failure = failure;
+        }
+
+        @Override
+        public Void call() {
+            if (failure.get() != null) {
+                // Fail fast
+                return null;
+            }
+            BootstrapTimeline timeline = beanManager.getServices().get(BootstrapTimeline.class);
+            Measurement measurement = timeline != null ? timeline.start() : null;
+            long start = System.nanoTime();
+            try {
+                initialize(bean);
+            } catch (RuntimeException e) {
+                fail(e);
+                return null;
+            } catch (LinkageError e) {
+                fail(e);
+                return null;
+            }
+            BootstrapLogger.LOG.debugv("Eager initialization of {0} took {1} ms", bean, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            if (measurement != null) {
+                timeline.recordBean(BeanOperation.INITIALIZE, bean.toString(), measurement);
+            }
+            return null;
+        }
+
+        private <T> void initialize(Bean<T> bean) {
+            beanManager.getContext(bean.getScope()).get(bean, beanManager.createCreationalContext(bean));
+        }
+
+        private void fail(Throwable cause) {
+            this.cause = cause;
+            failure.compareAndSet(null, this);
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Declares that the observer methods of a portable extension are thread-safe, i.e. they may be notified of container lifecycle events
+ * concurrently.
+ *
+ * <p>
+ * By default, Weld delivers the container lifecycle events to extension observer methods one at a time. If concurrent deployment is
+ * enabled and all the extension observer methods of {@link javax.enterprise.inject.spi.ProcessAnnotatedType} or
+ * {@link javax.enterprise.inject.spi.ProcessBeanAttributes} belong to thread-safe extensions, these events are delivered to the
+ * extensions from the bootstrap executor. {@link javax.enterprise.inject.spi.ProcessInjectionPoint} and other events fired while beans
+ * are created concurrently are delivered to thread-safe extensions without synchronization.
+ * </p>
+ *
+ * <pre>
+ * &#064;ThreadSafeExtension
+ * public class MyExtension implements Extension {
+ *
+ *     private final Set&lt;Class&lt;?&gt;&gt; types = Collections.newSetFromMap(new ConcurrentHashMap&lt;Class&lt;?&gt;, Boolean&gt;());
+ *
+ *     void processAnnotatedType(&#064;Observes ProcessAnnotatedType&lt;?&gt; event) {
+ *         types.add(event.getAnnotatedType().getJavaClass());
+ *     }
+ * }
+ * </pre>
+ */
+@Documented
+@Target(TYPE)
+@Retention(RUNTIME)
+public @interface ThreadSafeExtension {
+}
@@ -84,6 +84,9 @@ import org.jboss.weld.bean.interceptor.CdiInterceptorFactory;
 import org.jboss.weld.bootstrap.api.Service;
 import org.jboss.weld.bootstrap.spi.BeansXml;
 import org.jboss.weld.bootstrap.spi.Metadata;
+import org.jboss.weld.bootstrap.timeline.BootstrapTimeline;
+import org.jboss.weld.bootstrap.timeline.BootstrapTimeline.BeanOperation;
+import org.jboss.weld.bootstrap.timeline.Measurement;
 import org.jboss.weld.ejb.EJBApiAbstraction;
 import org.jboss.weld.exceptions.DefinitionException;
 import org.jboss.weld.exceptions.DeploymentException;
@@ -496,14 +499,21 @@ public class Validator implements Service {
         validateDecorators(manager.getDecorators(), manager);
         validateInterceptors(manager.getInterceptors(), manager);
         validateBeans(manager.getBeans(), manager);
+        validateEnablementAndSpecialization(manager, deployment);
+        validateObserverMethods(deployment.getBeanDeployer().getEnvironment().getObservers(), manager);
+        validateBeanNames(manager);
+    }
+
+    /**
+     * Validates the enabled decorators, interceptors and alternatives of the given deployment, the specialization and the disposal methods.
+     */
+    protected void validateEnablementAndSpecialization(BeanManagerImpl manager, BeanDeployment deployment) {
         validateEnabledDecoratorClasses(manager, deployment);
         validateEnabledInterceptorClasses(manager, deployment);
         validateEnabledAlternativeStereotypes(manager, deployment);
         validateEnabledAlternativeClasses(manager, deployment);
         validateSpecialization(manager);
         validateDisposalMethods(deployment.getBeanDeployer().getEnvironment());
-        validateObserverMethods(deployment.getBeanDeployer().getEnvironment().getObservers(), manager);
-        validateBeanNames(manager);
     }
 
     public void validateSpecialization(BeanManagerImpl manager) {
@@ -532,6 +542,8 @@ public class Validator implements Service {
     }
 
     protected void validateBean(Bean<?> bean, Collection<CommonBean<?>> specializedBeans, BeanManagerImpl manager, List<RuntimeException> problems) {
+        BootstrapTimeline timeline = manager.getServices().get(BootstrapTimeline.class);
+        Measurement measurement = timeline != null ? timeline.start() : null;
         try {
             if (bean instanceof CommonBean<?>) {
                 validateRIBean((CommonBean<?>) bean, manager, specializedBeans);
@@ -541,6 +553,9 @@ public class Validator implements Service {
         } catch (RuntimeException e) {
             problems.add(e);
         }
+        if (measurement != null) {
+            timeline.recordBean(BeanOperation.VALIDATE, bean.toString(), measurement);
+        }
     }
 
     public void validateInterceptors(Collection<? extends Interceptor<?>> interceptors, BeanManagerImpl manager) {
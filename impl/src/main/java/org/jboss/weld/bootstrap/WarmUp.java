@@ -0,0 +1,148 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.enterprise.inject.spi.ObserverMethod;
+
+import org.jboss.weld.event.GlobalObserverNotifierService;
+import org.jboss.weld.event.ObserverNotifier;
+import org.jboss.weld.logging.BootstrapLogger;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.manager.api.ExecutorServices;
+import org.jboss.weld.metadata.cache.MetaAnnotationStore;
+import org.jboss.weld.util.Observers;
+import org.jboss.weld.util.Proxies;
+import org.jboss.weld.util.Types;
+
+/**
+ * Populates the caches used at runtime once the container is initialized so that the first requests do not have to pay for it:
+ *
+ * <ul>
+ * <li>the bean resolution of every injection point,</li>
+ * <li>the observer resolution of every event type observed in the deployment,</li>
+ * <li>the client proxy of every normal-scoped bean,</li>
+ * <li>the scope and qualifier models of every bean.</li>
+ * </ul>
+ *
+ * <p>
+ * Just like the {@link org.jboss.weld.bootstrap.events.ContainerLifecycleEventPreloader} the warm-up never fails the deployment - a failed task is only
+ * logged. The tasks are executed concurrently if {@link ExecutorServices} are available.
+ * </p>
+ *
+ * @see org.jboss.weld.SystemPropertiesConfiguration#BOOTSTRAP_WARM_UP
+ */
+public final class WarmUp {
+
+    private final BeanManagerImpl deploymentManager;
+
+    private final Iterable<BeanManagerImpl> beanManagers;
+
+    /**
+     *
+     * @param deploymentManager the bean manager of the deployment
+     * @param beanManagers the bean managers whose beans should be warmed up
+     */
+    public WarmUp(BeanManagerImpl deploymentManager, Iterable<BeanManagerImpl> beanManagers) {
+        this.deploymentManager = deploymentManager;
+        this.beanManagers = beanManagers;
+    }
+
+    public void run() {
+        final List<WarmUpTask> tasks = new ArrayList<WarmUpTask>();
+        for (BeanManagerImpl beanManager : beanManagers) {
+            for (Bean<?> bean : beanManager.getBeans()) {
+                tasks.add(new WarmUpTask(bean, () -> warmUpBean(beanManager, bean)));
+            }
+            for (Bean<?> decorator : beanManager.getDecorators()) {
+                tasks.add(new WarmUpTask(decorator, () -> warmUpInjectionPoints(beanManager, decorator)));
+            }
+            for (Bean<?> interceptor : beanManager.getInterceptors()) {
+                tasks.add(new WarmUpTask(interceptor, () -> warmUpInjectionPoints(beanManager, interceptor)));
+            }
+        }
+        final ObserverNotifier notifier = deploymentManager.getGlobalStrictObserverNotifier();
+        for (ObserverMethod<?> observer : deploymentManager.getServices().get(GlobalObserverNotifierService.class).getAllObserverMethods()) {
+            if (!Observers.isContainerLifecycleObserverMethod(observer) && !Types.containsUnresolvedTypeVariableOrWildcard(observer.getObservedType())) {
+                tasks.add(new WarmUpTask(observer, () -> notifier.resolveObserverMethods(observer.getObservedType(), observer.getObservedQualifiers())));
+            }
+        }
+
+        final ExecutorServices executor = deploymentManager.getServices().get(ExecutorServices.class);
+        if (executor != null) {
+            executor.invokeAllAndCheckForExceptions(tasks);
+        } else {
+            for (WarmUpTask task : tasks) {
+                task.call();
+            }
+        }
+        BootstrapLogger.LOG.debugv("Warm-up of {0} beans and observer methods finished", tasks.size());
+    }
+
+    private static void warmUpBean(BeanManagerImpl beanManager, Bean<?> bean) {
+        warmUpInjectionPoints(beanManager, bean);
+        MetaAnnotationStore store = beanManager.getServices().get(MetaAnnotationStore.class);
+        store.getScopeModel(bean.getScope());
+        for (Annotation qualifier : bean.getQualifiers()) {
+            store.getBindingTypeModel(qualifier.annotationType());
+        }
+        store.getQualifierInstances(bean);
+        if (beanManager.isNormalScope(bean.getScope()) && Proxies.isTypesProxyable(bean, beanManager.getServices())) {
+            beanManager.getClientProxyProvider().getClientProxy(bean);
+        }
+    }
+
+    private static void warmUpInjectionPoints(BeanManagerImpl beanManager, Bean<?> bean) {
+        for (InjectionPoint injectionPoint : bean.getInjectionPoints()) {
+            if (!injectionPoint.isDelegate()) {
+                beanManager.getBeans(injectionPoint);
+            }
+        }
+    }
+
+    private static class WarmUpTask implements Callable<Void> {
+
+        private final Object subject;
+
+        private final Runnable action;
+
+        WarmUpTask(Object subject, Runnable action) {
+            this.subject = subject;
+            this.action = action;
+        }
+
+        @Override
+        public Void call() {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                // The same problem will be reported once the cache is used
+                BootstrapLogger.LOG.debugv("Unable to warm up {0}: {1}", subject, e);
+            } catch (LinkageError e) {
+                BootstrapLogger.LOG.debugv("Unable to warm up {0}: {1}", subject, e);
+            }
+            return null;
+        }
+    }
+
+}
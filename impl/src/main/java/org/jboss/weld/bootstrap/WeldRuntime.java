@@ -25,6 +25,7 @@ import org.jboss.weld.bootstrap.spi.BeanDeploymentArchive;
 import org.jboss.weld.context.ApplicationContext;
 import org.jboss.weld.context.SingletonContext;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.xml.BeansXmlParser;
 
 /**
  * @author Pete Muir
@@ -60,6 +61,7 @@ public class WeldRuntime {
                 Container container = Container.instance(contextId);
                 container.setState(ContainerState.SHUTDOWN);
                 container.cleanup();
+                BeansXmlParser.clearCache();
             }
         }
     }
@@ -39,8 +39,10 @@ import javax.enterprise.inject.spi.Interceptor;
 
 import org.jboss.weld.Container;
 import org.jboss.weld.ContainerState;
+import org.jboss.weld.SystemPropertiesConfiguration;
 import org.jboss.weld.annotated.slim.SlimAnnotatedTypeStore;
 import org.jboss.weld.annotated.slim.SlimAnnotatedTypeStoreImpl;
+import org.jboss.weld.bean.CommonBean;
 import org.jboss.weld.bean.DecoratorImpl;
 import org.jboss.weld.bean.InterceptorImpl;
 import org.jboss.weld.bean.RIBean;
@@ -69,10 +71,14 @@ import org.jboss.weld.bootstrap.spi.CDI11Deployment;
 import org.jboss.weld.bootstrap.spi.Deployment;
 import org.jboss.weld.bootstrap.spi.Metadata;
 import org.jboss.weld.bootstrap.spi.helpers.FileBasedBootstrapConfiguration;
+import org.jboss.weld.bootstrap.timeline.BootstrapTimeline;
+import org.jboss.weld.bootstrap.timeline.Measurement;
 import org.jboss.weld.context.ApplicationContext;
 import org.jboss.weld.context.DependentContext;
 import org.jboss.weld.context.RequestContext;
 import org.jboss.weld.context.SingletonContext;
+import org.jboss.weld.context.conversation.ConversationReaper;
+import org.jboss.weld.context.conversation.ConversationStatistics;
 import org.jboss.weld.context.bound.BoundConversationContext;
 import org.jboss.weld.context.bound.BoundConversationContextImpl;
 import org.jboss.weld.context.bound.BoundLiteral;
@@ -91,11 +97,13 @@ import org.jboss.weld.context.http.HttpSessionContext;
 import org.jboss.weld.context.http.HttpSessionContextImpl;
 import org.jboss.weld.context.http.HttpSessionDestructionContext;
 import org.jboss.weld.context.http.LazyHttpConversationContextImpl;
+import org.jboss.weld.context.http.LazyHttpRequestContextImpl;
 import org.jboss.weld.context.unbound.ApplicationContextImpl;
 import org.jboss.weld.context.unbound.DependentContextImpl;
 import org.jboss.weld.context.unbound.RequestContextImpl;
 import org.jboss.weld.context.unbound.SingletonContextImpl;
 import org.jboss.weld.context.unbound.UnboundLiteral;
+import org.jboss.weld.ejb.EJBRequestScopeActivationSupport;
 import org.jboss.weld.ejb.spi.EjbServices;
 import org.jboss.weld.event.CurrentEventMetadata;
 import org.jboss.weld.event.GlobalObserverNotifierService;
@@ -110,6 +118,7 @@ import org.jboss.weld.manager.BeanManagerLookupService;
 import org.jboss.weld.manager.api.ExecutorServices;
 import org.jboss.weld.metadata.TypeStore;
 import org.jboss.weld.metadata.cache.MetaAnnotationStore;
+import org.jboss.weld.resolution.AssignabilityCache;
 import org.jboss.weld.resources.ClassTransformer;
 import org.jboss.weld.resources.DefaultResourceLoader;
 import org.jboss.weld.resources.MemberTransformer;
@@ -127,6 +136,7 @@ import org.jboss.weld.serialization.spi.ContextualStore;
 import org.jboss.weld.serialization.spi.ProxyServices;
 import org.jboss.weld.servlet.ServletApiAbstraction;
 import org.jboss.weld.servlet.ServletContextService;
+import org.jboss.weld.servlet.SessionDestructionExecutor;
 import org.jboss.weld.servlet.spi.HttpContextActivationFilter;
 import org.jboss.weld.servlet.spi.helpers.AcceptingHttpContextActivationFilter;
 import org.jboss.weld.transaction.spi.TransactionServices;
@@ -160,6 +170,7 @@ public class WeldStartup {
     private DeploymentVisitor deploymentVisitor;
     private final ServiceRegistry initialServices = new SimpleServiceRegistry();
     private String contextId;
+    private BootstrapTimeline timeline;
 
 
     public WeldStartup() {
@@ -212,6 +223,7 @@ public class WeldStartup {
         this.deployment = deployment;
         this.environment = environment;
         this.deploymentManager = BeanManagerImpl.newRootManager(contextId, "deployment", registry);
+        this.timeline = registry.get(BootstrapTimeline.class);
 
         Container.initialize(contextId, deploymentManager, ServiceRegistries.unmodifiableServiceRegistry(deployment.getServices()));
         getContainer().setState(ContainerState.STARTING);
@@ -267,6 +279,20 @@ public class WeldStartup {
         }
         services.add(MemberTransformer.class, new MemberTransformer(services.get(ClassTransformer.class)));
         services.add(MetaAnnotationStore.class, new MetaAnnotationStore(services.get(ClassTransformer.class)));
+        services.add(AssignabilityCache.class, new AssignabilityCache());
+        if (SystemPropertiesConfiguration.INSTANCE.isBootstrapTimelineEnabled()) {
+            services.add(BootstrapTimeline.class, new BootstrapTimeline(contextId, SystemPropertiesConfiguration.INSTANCE.getBootstrapTimelineTopBeans(),
+                    SystemPropertiesConfiguration.INSTANCE.getBootstrapTimelineDumpPath()));
+        }
+        services.add(ConversationStatistics.class, new ConversationStatistics());
+        long conversationReaperInterval = SystemPropertiesConfiguration.INSTANCE.getConversationReaperInterval();
+        if (conversationReaperInterval > 0) {
+            services.add(ConversationReaper.class, new ConversationReaper(services.get(ScheduledExecutorServiceFactory.class), conversationReaperInterval));
+        }
+        int sessionDestructionThreadPoolSize = SystemPropertiesConfiguration.INSTANCE.getSessionDestructionThreadPoolSize();
+        if (sessionDestructionThreadPoolSize > 0) {
+            services.add(SessionDestructionExecutor.class, new SessionDestructionExecutor(sessionDestructionThreadPoolSize));
+        }
         BeanIdentifierIndex beanIdentifierIndex = new BeanIdentifierIndex();
         services.add(BeanIdentifierIndex.class, beanIdentifierIndex);
         services.add(ContextualStore.class, new ContextualStoreImpl(contextId, beanIdentifierIndex));
@@ -340,6 +366,7 @@ public class WeldStartup {
         if (deploymentManager == null) {
             throw BootstrapLogger.LOG.managerNotInitialized();
         }
+        final Measurement measurement = startMeasurement();
 
         Set<BeanDeployment> physicalBeanDeploymentArchives = new HashSet<BeanDeployment>(getBeanDeployments());
 
@@ -379,10 +406,12 @@ public class WeldStartup {
         for (BeanDeployment beanDeployment : getBeanDeployments()) {
             beanDeployment.createEnablement();
         }
+        recordPhase("startInitialization", measurement);
     }
 
 
     public void deployBeans() {
+        final Measurement measurement = startMeasurement();
         for (BeanDeployment deployment : getBeanDeployments()) {
             deployment.createBeans(environment);
         }
@@ -426,21 +455,46 @@ public class WeldStartup {
         }
         getContainer().putBeanDeployments(bdaMapping);
         getContainer().setState(ContainerState.DEPLOYED);
+        recordPhase("deployBeans", measurement);
     }
 
     public void validateBeans() {
         BootstrapLogger.LOG.validatingBeans();
+        final Measurement measurement = startMeasurement();
         for (BeanDeployment beanDeployment : getBeanDeployments()) {
             BeanManagerImpl beanManager = beanDeployment.getBeanManager();
             beanManager.getBeanResolver().clear();
             deployment.getServices().get(Validator.class).validateDeployment(beanManager, beanDeployment);
             beanManager.getServices().get(InjectionTargetService.class).validate();
         }
+        for (BeanDeployment beanDeployment : getBeanDeployments()) {
+            initializeDestructionRequired(beanDeployment.getBeanManager());
+        }
         getContainer().setState(ContainerState.VALIDATED);
         AfterDeploymentValidationImpl.fire(deploymentManager);
+        recordPhase("validateBeans", measurement);
+        initializeEagerBeans();
+    }
+
+    /**
+     * Instantiates the beans annotated with {@link Eager} or matching the configured pattern.
+     */
+    private void initializeEagerBeans() {
+        final Measurement measurement = startMeasurement();
+        List<BeanManagerImpl> beanManagers = new ArrayList<BeanManagerImpl>();
+        for (BeanDeployment beanDeployment : getBeanDeployments()) {
+            beanManagers.add(beanDeployment.getBeanManager());
+        }
+        EagerInitialization eagerInitialization = new EagerInitialization(deploymentManager, beanManagers,
+                SystemPropertiesConfiguration.INSTANCE.getBootstrapEagerInitializationPattern());
+        if (!eagerInitialization.isEmpty()) {
+            eagerInitialization.run();
+            recordPhase("eagerInitialization", measurement);
+        }
     }
 
     public void endInitialization() {
+        final Measurement measurement = startMeasurement();
 
         // Build a special index of bean identifiers
         deploymentManager.getServices().get(BeanIdentifierIndex.class).build(getBeansForBeanIdentifierIndex());
@@ -480,8 +534,60 @@ public class WeldStartup {
         for (BeanDeployment beanDeployment : getBeanDeployments()) {
             beanDeployment.getBeanDeployer().cleanup();
         }
+        if (isEjbServicesRegistered()) {
+            // resolve the request contexts and events used by the EJB request scope activation interceptor upfront
+            deploymentManager.getServices().add(EJBRequestScopeActivationSupport.class, new EJBRequestScopeActivationSupport(deploymentManager));
+        }
+        recordPhase("endInitialization", measurement);
+
+        if (SystemPropertiesConfiguration.INSTANCE.isBootstrapWarmUpEnabled()) {
+            warmUp();
+        }
 
         getContainer().setState(ContainerState.INITIALIZED);
+        if (timeline != null) {
+            timeline.finish();
+        }
+    }
+
+    /**
+     * Populates the runtime caches so that the container reaches its steady-state performance before the first request.
+     */
+    private void warmUp() {
+        final Measurement measurement = startMeasurement();
+        List<BeanManagerImpl> beanManagers = new ArrayList<BeanManagerImpl>();
+        for (BeanDeployment beanDeployment : getBeanDeployments()) {
+            beanManagers.add(beanDeployment.getBeanManager());
+        }
+        new WarmUp(deploymentManager, beanManagers).run();
+        recordPhase("warmUp", measurement);
+    }
+
+    private Measurement startMeasurement() {
+        return timeline != null ? timeline.start() : null;
+    }
+
+    private void recordPhase(String phase, Measurement measurement) {
+        if (measurement != null) {
+            timeline.recordPhase(phase, measurement);
+        }
+    }
+
+    /**
+     * Computes the {@link CommonBean#isDestructionRequired()} flag for every bean so that the dependent context does not need
+     * to keep references to dependent instances whose destruction would be a no-op.
+     */
+    private void initializeDestructionRequired(BeanManagerImpl beanManager) {
+        for (Bean<?> bean : beanManager.getBeans()) {
+            if (bean instanceof CommonBean<?>) {
+                ((CommonBean<?>) bean).initializeDestructionRequired();
+            }
+        }
+        for (Decorator<?> decorator : beanManager.getDecorators()) {
+            if (decorator instanceof CommonBean<?>) {
+                ((CommonBean<?>) decorator).initializeDestructionRequired();
+            }
+        }
     }
 
     private void flushCaches() {
@@ -533,7 +639,9 @@ public class WeldStartup {
             contexts.add(new ContextHolder<HttpSessionContext>(new HttpSessionContextImpl(contextId, beanIdentifierIndex), HttpSessionContext.class, HttpLiteral.INSTANCE));
             contexts.add(new ContextHolder<HttpSessionDestructionContext>(new HttpSessionDestructionContext(contextId, beanIdentifierIndex), HttpSessionDestructionContext.class, HttpLiteral.INSTANCE));
             contexts.add(new ContextHolder<HttpConversationContext>(new LazyHttpConversationContextImpl(contextId, beanIdentifierIndex), HttpConversationContext.class, HttpLiteral.INSTANCE));
-            contexts.add(new ContextHolder<HttpRequestContext>(new HttpRequestContextImpl(contextId), HttpRequestContext.class, HttpLiteral.INSTANCE));
+            HttpRequestContext requestContext = SystemPropertiesConfiguration.INSTANCE.isLazyRequestContextEnabled() ? new LazyHttpRequestContextImpl(contextId)
+                    : new HttpRequestContextImpl(contextId);
+            contexts.add(new ContextHolder<HttpRequestContext>(requestContext, HttpRequestContext.class, HttpLiteral.INSTANCE));
         }
 
         if (isEjbServicesRegistered()) {
@@ -20,8 +20,11 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.jboss.weld.bootstrap.timeline.BootstrapTimeline;
+import org.jboss.weld.bootstrap.timeline.Measurement;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.util.reflection.ParameterizedTypeImpl;
+import org.jboss.weld.util.reflection.Reflections;
 
 public abstract class AbstractContainerEvent extends ContainerEvent {
 
@@ -50,11 +53,16 @@ public abstract class AbstractContainerEvent extends ContainerEvent {
 
     public void fire() {
         Type eventType = new ParameterizedTypeImpl(getRawType(), getActualTypeArguments(), null);
+        BootstrapTimeline timeline = beanManager.getServices().get(BootstrapTimeline.class);
+        Measurement measurement = timeline != null ? timeline.start() : null;
         try {
             beanManager.getGlobalLenientObserverNotifier().fireEvent(eventType, this);
         } catch (Exception e) {
             getErrors().add(e);
         }
+        if (measurement != null) {
+            timeline.recordContainerLifecycleEvent(Reflections.getRawType(getRawType()).getSimpleName(), measurement);
+        }
     }
 
     protected Type getRawType() {
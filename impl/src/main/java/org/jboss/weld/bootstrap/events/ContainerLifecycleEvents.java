@@ -49,6 +49,8 @@ import org.jboss.weld.bean.ProducerField;
 import org.jboss.weld.bean.ProducerMethod;
 import org.jboss.weld.bean.SessionBean;
 import org.jboss.weld.bootstrap.api.helpers.AbstractBootstrapService;
+import org.jboss.weld.bootstrap.timeline.BootstrapTimeline;
+import org.jboss.weld.bootstrap.timeline.Measurement;
 import org.jboss.weld.event.ExtensionObserverMethodImpl;
 import org.jboss.weld.event.ObserverMethodImpl;
 import org.jboss.weld.exceptions.DefinitionException;
@@ -69,6 +71,8 @@ public class ContainerLifecycleEvents extends AbstractBootstrapService {
     private boolean processInjectionTargetObserved;
     private boolean processProducerObserved;
     private boolean processObserverMethodObserved;
+    private boolean processAnnotatedTypeObservedByNonThreadSafeExtension;
+    private boolean processBeanAttributesObservedByNonThreadSafeExtension;
     private final RequiredAnnotationDiscovery discovery;
 
     private final ContainerLifecycleEventPreloader preloader;
@@ -81,6 +85,19 @@ public class ContainerLifecycleEvents extends AbstractBootstrapService {
     public void processObserverMethod(ObserverMethod<?> observer) {
         if (observer instanceof ExtensionObserverMethodImpl<?, ?>) {
             processObserverMethodType(observer.getObservedType());
+            if (!((ExtensionObserverMethodImpl<?, ?>) observer).isThreadSafe()) {
+                processNonThreadSafeObserverMethodType(observer.getObservedType());
+            }
+        }
+    }
+
+    protected void processNonThreadSafeObserverMethodType(Type observedType) {
+        Class<?> rawType = Reflections.getRawType(observedType);
+        if (rawType.isAssignableFrom(ProcessAnnotatedType.class) || ProcessAnnotatedType.class.isAssignableFrom(rawType)) {
+            processAnnotatedTypeObservedByNonThreadSafeExtension = true;
+        }
+        if (rawType.isAssignableFrom(ProcessBeanAttributes.class) || ProcessBeanAttributes.class.isAssignableFrom(rawType)) {
+            processBeanAttributesObservedByNonThreadSafeExtension = true;
         }
     }
 
@@ -144,6 +161,22 @@ public class ContainerLifecycleEvents extends AbstractBootstrapService {
         return processInjectionPointObserved;
     }
 
+    /**
+     * @return <code>true</code> if {@link ProcessAnnotatedType} is only observed by extensions annotated with
+     *         {@link org.jboss.weld.bootstrap.ThreadSafeExtension} and may therefore be fired for multiple types concurrently
+     */
+    public boolean isProcessAnnotatedTypeDeliveryConcurrent() {
+        return !processAnnotatedTypeObservedByNonThreadSafeExtension;
+    }
+
+    /**
+     * @return <code>true</code> if {@link ProcessBeanAttributes} is only observed by extensions annotated with
+     *         {@link org.jboss.weld.bootstrap.ThreadSafeExtension} and may therefore be fired for multiple beans concurrently
+     */
+    public boolean isProcessBeanAttributesDeliveryConcurrent() {
+        return !processBeanAttributesObservedByNonThreadSafeExtension;
+    }
+
     public <T> ProcessAnnotatedTypeImpl<T> fireProcessAnnotatedType(BeanManagerImpl beanManager, SlimAnnotatedTypeContext<T> annotatedTypeContext) {
         if (!isProcessAnnotatedTypeObserved()) {
             return null;
@@ -163,6 +196,8 @@ public class ContainerLifecycleEvents extends AbstractBootstrapService {
             event = new ProcessSyntheticAnnotatedTypeImpl<T>(beanManager, annotatedTypeContext);
         }
 
+        BootstrapTimeline timeline = beanManager.getServices().get(BootstrapTimeline.class);
+        Measurement measurement = timeline != null ? timeline.start() : null;
         if (observers == null) {
             BootstrapLogger.LOG.patDefaultResolver(annotatedType);
             fireProcessAnnotatedType(event, beanManager);
@@ -170,6 +205,10 @@ public class ContainerLifecycleEvents extends AbstractBootstrapService {
             BootstrapLogger.LOG.patFastResolver(annotatedType);
             fireProcessAnnotatedType(event, annotatedTypeContext.getResolvedProcessAnnotatedTypeObservers());
         }
+        if (measurement != null) {
+            timeline.recordContainerLifecycleEvent(annotatedTypeContext.getExtension() == null ? ProcessAnnotatedType.class.getSimpleName()
+                    : ProcessSyntheticAnnotatedType.class.getSimpleName(), measurement);
+        }
         return event;
     }
 
@@ -0,0 +1,305 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap.timeline;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.logging.BootstrapLogger;
+
+/**
+ * Records where the bootstrap time is spent. The timeline consists of:
+ *
+ * <ul>
+ * <li>the bootstrap phases in the order of execution,</li>
+ * <li>the container lifecycle events aggregated by event type, in the order of first delivery,</li>
+ * <li>the extension observer methods, the slowest first,</li>
+ * <li>the slowest beans to create, validate and proxy.</li>
+ * </ul>
+ *
+ * <p>
+ * The timeline is only registered if enabled by {@link org.jboss.weld.SystemPropertiesConfiguration#BOOTSTRAP_TIMELINE}. It stops
+ * recording at the end of the bootstrap and is available from the service registry afterwards. If a dump directory is configured,
+ * the timeline is also written to a JSON file.
+ * </p>
+ *
+ * <pre>
+ * BootstrapTimeline timeline = beanManagerImpl.getServices().get(BootstrapTimeline.class);
+ * </pre>
+ */
+public class BootstrapTimeline implements Service {
+
+    public enum BeanOperation {
+
+        /**
+         * Creation of a class bean, including the creation of the enhanced annotated type.
+         */
+        CREATE,
+        /**
+         * Validation of a bean.
+         */
+        VALIDATE,
+        /**
+         * Generation of a proxy class. The entry is named after the proxy class.
+         */
+        PROXY,
+        /**
+         * Eager initialization of a bean instance.
+         */
+        INITIALIZE,
+    }
+
+    private static final String DUMP_FILE_PREFIX = "weld-bootstrap-timeline-";
+
+    private static final String DUMP_FILE_SUFFIX = ".json";
+
+    private static final Comparator<TimelineEntry> SLOWEST_FIRST = new Comparator<TimelineEntry>() {
+        @Override
+        public int compare(TimelineEntry o1, TimelineEntry o2) {
+            return Long.compare(o2.getWallTime(), o1.getWallTime());
+        }
+    };
+
+    private final String contextId;
+
+    private final int topBeans;
+
+    private final File dumpPath;
+
+    private final Map<String, TimelineEntry> phases;
+
+    private final Map<String, TimelineEntry> containerLifecycleEvents;
+
+    private final ConcurrentMap<String, TimelineEntry> extensionObservers;
+
+    private final Map<BeanOperation, ConcurrentMap<String, TimelineEntry>> beans;
+
+    private volatile boolean recording;
+
+    /**
+     *
+     * @param contextId
+     * @param topBeans the number of the slowest beans reported for each {@link BeanOperation}
+     * @param dumpPath the directory the JSON dump is written to, may be <code>null</code>
+     */
+    public BootstrapTimeline(String contextId, int topBeans, File dumpPath) {
+        this.contextId = contextId;
+        this.topBeans = topBeans;
+        this.dumpPath = dumpPath;
+        // Insertion order matters
+        this.phases = Collections.synchronizedMap(new LinkedHashMap<String, TimelineEntry>());
+        this.containerLifecycleEvents = Collections.synchronizedMap(new LinkedHashMap<String, TimelineEntry>());
+        this.extensionObservers = new ConcurrentHashMap<String, TimelineEntry>();
+        this.beans = new EnumMap<BeanOperation, ConcurrentMap<String, TimelineEntry>>(BeanOperation.class);
+        for (BeanOperation operation : BeanOperation.values()) {
+            beans.put(operation, new ConcurrentHashMap<String, TimelineEntry>());
+        }
+        this.recording = true;
+    }
+
+    /**
+     * Starts a new measurement on the current thread.
+     *
+     * @return the measurement or <code>null</code> if the timeline does not record anymore
+     */
+    public Measurement start() {
+        return recording ? new Measurement() : null;
+    }
+
+    public void recordPhase(String phase, Measurement measurement) {
+        record(phases, phase, measurement);
+    }
+
+    public void recordContainerLifecycleEvent(String eventType, Measurement measurement) {
+        record(containerLifecycleEvents, eventType, measurement);
+    }
+
+    public void recordExtensionObserver(String observer, Measurement measurement) {
+        record(extensionObservers, observer, measurement);
+    }
+
+    public void recordBean(BeanOperation operation, String bean, Measurement measurement) {
+        record(beans.get(operation), bean, measurement);
+    }
+
+    /**
+     * Stops recording and writes the JSON dump if configured. Invoked at the end of the bootstrap.
+     */
+    public void finish() {
+        if (!recording) {
+            return;
+        }
+        recording = false;
+        if (dumpPath != null) {
+            File file = new File(dumpPath, DUMP_FILE_PREFIX + contextId.replaceAll("[^a-zA-Z0-9_.-]", "_") + DUMP_FILE_SUFFIX);
+            try (Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8)) {
+                writer.write(toJson());
+                BootstrapLogger.LOG.bootstrapTimelineWritten(file);
+            } catch (IOException e) {
+                BootstrapLogger.LOG.unableToWriteBootstrapTimeline(file, e);
+            }
+        }
+    }
+
+    /**
+     * @return the bootstrap phases in the order of execution
+     */
+    public List<TimelineEntry> getPhases() {
+        return copy(phases);
+    }
+
+    /**
+     * @return the container lifecycle events aggregated by event type, in the order of first delivery
+     */
+    public List<TimelineEntry> getContainerLifecycleEvents() {
+        return copy(containerLifecycleEvents);
+    }
+
+    /**
+     * @return the extension observer methods, the slowest first
+     */
+    public List<TimelineEntry> getExtensionObservers() {
+        return sort(extensionObservers.values(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param operation
+     * @return the slowest beans for the given operation, the slowest first
+     */
+    public List<TimelineEntry> getSlowestBeans(BeanOperation operation) {
+        return sort(beans.get(operation).values(), topBeans);
+    }
+
+    public String toJson() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\n  \"contextId\": ");
+        appendString(builder, contextId);
+        builder.append(",\n  \"phases\": ");
+        appendEntries(builder, getPhases(), "  ");
+        builder.append(",\n  \"containerLifecycleEvents\": ");
+        appendEntries(builder, getContainerLifecycleEvents(), "  ");
+        builder.append(",\n  \"extensionObservers\": ");
+        appendEntries(builder, getExtensionObservers(), "  ");
+        builder.append(",\n  \"slowestBeans\": {");
+        BeanOperation[] operations = BeanOperation.values();
+        for (int i = 0; i < operations.length; i++) {
+            builder.append(i == 0 ? "\n    " : ",\n    ");
+            appendString(builder, operations[i].name().toLowerCase(Locale.ENGLISH));
+            builder.append(": ");
+            appendEntries(builder, getSlowestBeans(operations[i]), "    ");
+        }
+        builder.append("\n  }\n}\n");
+        return builder.toString();
+    }
+
+    private static void record(Map<String, TimelineEntry> entries, String name, Measurement measurement) {
+        if (measurement == null) {
+            return;
+        }
+        entries.computeIfAbsent(name, TimelineEntry::new).record(measurement);
+    }
+
+    private static List<TimelineEntry> copy(Map<String, TimelineEntry> entries) {
+        synchronized (entries) {
+            return Collections.unmodifiableList(new ArrayList<TimelineEntry>(entries.values()));
+        }
+    }
+
+    private static List<TimelineEntry> sort(Collection<TimelineEntry> entries, int limit) {
+        List<TimelineEntry> sorted = new ArrayList<TimelineEntry>(entries);
+        Collections.sort(sorted, SLOWEST_FIRST);
+        return Collections.unmodifiableList(sorted.size() > limit ? sorted.subList(0, limit) : sorted);
+    }
+
+    private static void appendEntries(StringBuilder builder, List<TimelineEntry> entries, String indent) {
+        if (entries.isEmpty()) {
+            builder.append("[]");
+            return;
+        }
+        builder.append('[');
+        for (int i = 0; i < entries.size(); i++) {
+            TimelineEntry entry = entries.get(i);
+            builder.append(i == 0 ? "\n" : ",\n").append(indent).append("  { \"name\": ");
+            appendString(builder, entry.getName());
+            builder.append(", \"count\": ").append(entry.getCount());
+            builder.append(", \"wallTimeNanos\": ").append(entry.getWallTime());
+            builder.append(", \"cpuTimeNanos\": ").append(entry.getCpuTime());
+            builder.append(", \"allocatedBytes\": ").append(entry.getAllocatedBytes());
+            builder.append(" }");
+        }
+        builder.append('\n').append(indent).append(']');
+    }
+
+    private static void appendString(StringBuilder builder, String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        builder.append('"');
+    }
+
+    @Override
+    public void cleanup() {
+        recording = false;
+        phases.clear();
+        containerLifecycleEvents.clear();
+        extensionObservers.clear();
+        for (Map<String, TimelineEntry> entries : beans.values()) {
+            entries.clear();
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap.timeline;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+/**
+ * A measurement started by {@link BootstrapTimeline#start()}. The measurement captures the wall time, the CPU time and the
+ * allocated bytes of the current thread and must therefore be recorded by the same thread which started it.
+ *
+ * <p>
+ * If the JVM does not support CPU time or allocation measurement of the current thread, the corresponding values are
+ * reported as <code>-1</code>.
+ * </p>
+ *
+ * <p>
+ * The allocated bytes are read reflectively so that the class does not depend on <code>com.sun.management</code>, which is not
+ * available on every JVM and which an OSGi framework does not necessarily export.
+ * </p>
+ */
+public final class Measurement {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private static final String SUN_THREAD_MX_BEAN = "com.sun.management.ThreadMXBean";
+
+    private static final boolean CPU_TIME_SUPPORTED = initCpuTimeSupported();
+
+    private static final Method GET_THREAD_ALLOCATED_BYTES = initGetThreadAllocatedBytes();
+
+    private static final boolean ALLOCATED_BYTES_SUPPORTED = GET_THREAD_ALLOCATED_BYTES != null;
+
+    private final long wallTimeStart;
+
+    private final long cpuTimeStart;
+
+    private final long allocatedBytesStart;
+
+    Measurement() {
+        this.cpuTimeStart = currentThreadCpuTime();
+        this.allocatedBytesStart = currentThreadAllocatedBytes();
+        this.wallTimeStart = System.nanoTime();
+    }
+
+    long getWallTime() {
+        return System.nanoTime() - wallTimeStart;
+    }
+
+    long getCpuTime() {
+        return CPU_TIME_SUPPORTED ? currentThreadCpuTime() - cpuTimeStart : -1L;
+    }
+
+    long getAllocatedBytes() {
+        return ALLOCATED_BYTES_SUPPORTED ? currentThreadAllocatedBytes() - allocatedBytesStart : -1L;
+    }
+
+    private static long currentThreadCpuTime() {
+        return CPU_TIME_SUPPORTED ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0L;
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        if (!ALLOCATED_BYTES_SUPPORTED) {
+            return 0L;
+        }
+        try {
+            return (Long) GET_THREAD_ALLOCATED_BYTES.invoke(THREAD_MX_BEAN, Thread.currentThread().getId());
+        } catch (ReflectiveOperationException e) {
+            return 0L;
+        }
+    }
+
+    private static boolean initCpuTimeSupported() {
+        try {
+            return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled();
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    private static Method initGetThreadAllocatedBytes() {
+        try {
+            // com.sun.management is not available on every JVM, use the loader of the platform bean rather than the bundle class loader
+            Class<?> threadMXBeanClass = Class.forName(SUN_THREAD_MX_BEAN, false, THREAD_MX_BEAN.getClass().getClassLoader());
+            if (!threadMXBeanClass.isInstance(THREAD_MX_BEAN)) {
+                return null;
+            }
+            // look the methods up on the public interface, the implementation class is not accessible
+            if (!((Boolean) threadMXBeanClass.getMethod("isThreadAllocatedMemorySupported").invoke(THREAD_MX_BEAN))
+                    || !((Boolean) threadMXBeanClass.getMethod("isThreadAllocatedMemoryEnabled").invoke(THREAD_MX_BEAN))) {
+                return null;
+            }
+            return threadMXBeanClass.getMethod("getThreadAllocatedBytes", long.class);
+        } catch (ReflectiveOperationException | LinkageError | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap.timeline;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated measurements of a single item of the {@link BootstrapTimeline}, e.g. a bootstrap phase or an extension observer
+ * method. All the times are in nanoseconds. The CPU time and the allocated bytes are <code>-1</code> if not supported by the
+ * JVM.
+ *
+ * <p>
+ * The CPU time and the allocated bytes only cover the thread which performed the measured work. Work delegated to
+ * {@link org.jboss.weld.manager.api.ExecutorServices} is only reflected in the wall time of a bootstrap phase.
+ * </p>
+ */
+public class TimelineEntry {
+
+    private final String name;
+
+    private final LongAdder count;
+
+    private final LongAdder wallTime;
+
+    private final LongAdder cpuTime;
+
+    private final LongAdder allocatedBytes;
+
+    TimelineEntry(String name) {
+        this.name = name;
+        this.count = new LongAdder();
+        this.wallTime = new LongAdder();
+        this.cpuTime = new LongAdder();
+        this.allocatedBytes = new LongAdder();
+    }
+
+    void record(Measurement measurement) {
+        wallTime.add(measurement.getWallTime());
+        cpuTime.add(measurement.getCpuTime());
+        allocatedBytes.add(measurement.getAllocatedBytes());
+        count.increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the number of measurements aggregated in this entry
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getWallTime() {
+        return wallTime.sum();
+    }
+
+    public long getCpuTime() {
+        long value = cpuTime.sum();
+        return value < 0 ? -1L : value;
+    }
+
+    public long getAllocatedBytes() {
+        long value = allocatedBytes.sum();
+        return value < 0 ? -1L : value;
+    }
+
+    @Override
+    public String toString() {
+        return "TimelineEntry [name=" + name + ", count=" + getCount() + ", wallTime=" + getWallTime() + ", cpuTime=" + getCpuTime()
+                + ", allocatedBytes=" + getAllocatedBytes() + "]";
+    }
+
+}
@@ -27,8 +27,6 @@ import static org.jboss.weld.util.reflection.Reflections.cast;
 
 import java.lang.annotation.Annotation;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
@@ -44,6 +42,8 @@ import org.jboss.weld.context.beanstore.ConversationNamingScheme;
 import org.jboss.weld.context.beanstore.NamingScheme;
 import org.jboss.weld.context.conversation.ConversationIdGenerator;
 import org.jboss.weld.context.conversation.ConversationImpl;
+import org.jboss.weld.context.conversation.ConversationMap;
+import org.jboss.weld.context.conversation.ConversationReaper;
 import org.jboss.weld.literal.DestroyedLiteral;
 import org.jboss.weld.logging.ContextLogger;
 import org.jboss.weld.logging.ConversationLogger;
@@ -79,6 +79,9 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
 
     private final BeanIdentifierIndex beanIdentifierIndex;
 
+    // null if expired conversations should be looked up on the request thread
+    private final ConversationReaper reaper;
+
     public AbstractConversationContext(String contextId, BeanIdentifierIndex beanIdentifierIndex) {
         super(contextId, true);
         this.parameterName = new AtomicReference<String>(PARAMETER_NAME);
@@ -87,6 +90,7 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
         this.associated = new ThreadLocal<R>();
         this.manager = Container.instance(contextId).deploymentManager();
         this.beanIdentifierIndex = beanIdentifierIndex;
+        this.reaper = Container.instance(contextId).services().get(ConversationReaper.class);
     }
 
     @Override
@@ -147,7 +151,7 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
             }
 
             if (getSessionAttribute(request, CONVERSATIONS_ATTRIBUTE_NAME, false) == null) {
-                Map<String, ManagedConversation> conversations = Collections.synchronizedMap(new HashMap<String, ManagedConversation>());
+                Map<String, ManagedConversation> conversations = new ConversationMap();
                 setRequestAttribute(request, CONVERSATIONS_ATTRIBUTE_NAME, conversations);
                 setSessionAttribute(request, CONVERSATIONS_ATTRIBUTE_NAME, conversations, false);
             } else {
@@ -284,7 +288,9 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
                 } else {
                     // Update the conversation timestamp
                     getCurrentConversation().touch();
-                    if (!getBeanStore().isAttached()) {
+                    if (getBeanStore().isAttached()) {
+                        touched(getCurrentConversation());
+                    } else {
                         /*
                          * This was a transient conversation at the beginning of the request, so we need to update the CID it uses, and attach it. We also add
                          * it to the conversations the session knows about.
@@ -297,7 +303,7 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
 
                         try {
                             getBeanStore().attach();
-                            getConversationMap().put(getCurrentConversation().getId(), getCurrentConversation());
+                            putConversation(getCurrentConversation());
                         } catch (Exception e) {
                             // possible session not found error..
                             ContextLogger.LOG.destroyingContextAfterBeanStoreAttachError(this, getBeanStore());
@@ -311,7 +317,11 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
                 // WELD-1802
                 setBeanStore(null);
                 // Clean up any expired/ended conversations
-                cleanUpConversationMap();
+                if (isReaped(getConversationMap())) {
+                    destroyEndedConversations();
+                } else {
+                    cleanUpConversationMap();
+                }
                 // deactivate the context
                 super.setActive(false);
             }
@@ -334,14 +344,48 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
         }
     }
 
+    /*
+     * The reaper ends the expired conversations so only the current conversation and the ones ended by the reaper need to be
+     * destroyed, there's no need to walk the whole map.
+     */
+    private void destroyEndedConversations() {
+        for (String id : ((ConversationMap) getConversationMap()).pollEnded(getCurrentConversation())) {
+            destroyConversation(getSessionFromRequest(getRequest(), false), id);
+        }
+    }
+
+    private void touched(ManagedConversation conversation) {
+        Map<String, ManagedConversation> conversations = getConversationMap();
+        if (isReaped(conversations)) {
+            ((ConversationMap) conversations).touched(conversation);
+        }
+    }
+
+    private static boolean isReaped(Map<String, ManagedConversation> conversations) {
+        return conversations instanceof ConversationMap && ((ConversationMap) conversations).isReaped();
+    }
+
     public void conversationPromotedToLongRunning(ConversationImpl conversation) {
-        getConversationMap().put(conversation.getId(), conversation);
+        putConversation(conversation);
+    }
+
+    private void putConversation(ManagedConversation conversation) {
+        Map<String, ManagedConversation> conversations = getConversationMap();
+        conversations.put(conversation.getId(), conversation);
+        if (reaper != null) {
+            reaper.register(conversations);
+            touched(conversation);
+        }
     }
 
     @Override
     public void invalidate() {
         ManagedConversation currentConversation = getCurrentConversation();
         Map<String, ManagedConversation> conversations = getConversationMap();
+        if (isReaped(conversations)) {
+            // expired conversations are ended by the reaper
+            return;
+        }
         synchronized (conversations) {
             for (Entry<String, ManagedConversation> stringManagedConversationEntry : conversations.entrySet()) {
                 ManagedConversation conversation = stringManagedConversationEntry.getValue();
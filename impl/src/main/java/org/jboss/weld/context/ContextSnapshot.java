@@ -0,0 +1,356 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2008, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+import javax.enterprise.context.ConversationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.context.beanstore.AttributeBeanStore;
+import org.jboss.weld.context.beanstore.BeanStore;
+import org.jboss.weld.context.beanstore.BoundBeanStore;
+import org.jboss.weld.context.beanstore.HashMapBeanStore;
+import org.jboss.weld.context.beanstore.LockedBean;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.jboss.weld.util.reflection.Reflections;
+
+/**
+ * A snapshot of the contexts active on the current thread, which allows tasks executed by other threads to use the same
+ * contextual instances. For example:
+ *
+ * <pre>
+ * ContextSnapshot snapshot = ContextSnapshot.capture(beanManager);
+ * CompletableFuture.supplyAsync(snapshot.wrapSupplier(() -&gt; orderService.computeTotal()), executor);
+ * </pre>
+ *
+ * <p>
+ * The contextual instances which exist when the snapshot is captured are copied into an immutable map, the bean stores of the
+ * captured contexts are not accessed by other threads afterwards. While a wrapped task is running, the captured contexts are
+ * active on the executing thread and the copied instances are shared with the capturing thread and with all the other tasks.
+ * Instances which did not exist at capture time are created for the task only and are destroyed once the task completes.
+ * </p>
+ * <p>
+ * Only contexts built on {@link AbstractBoundContext} or {@link AbstractUnboundContext} can be captured, other active contexts
+ * are ignored. The snapshot should not be used after the captured contexts were deactivated (e.g. after the request ended) -
+ * the tasks would still see the captured instances, which may have been destroyed already. A captured bean store is never
+ * recycled for another association, see {@link org.jboss.weld.context.beanstore.BeanStorePool}.
+ * </p>
+ *
+ * @see #capture(BeanManager, Class...)
+ */
+public final class ContextSnapshot {
+
+    private final List<CapturedContext> contexts;
+
+    private ContextSnapshot(List<CapturedContext> contexts) {
+        this.contexts = contexts;
+    }
+
+    /**
+     * Captures the request, session and conversation contexts and the contexts for the given additional scopes, if active on
+     * the current thread.
+     *
+     * @param manager the bean manager
+     * @param additionalScopes e.g. {@code ThreadScoped.class}
+     * @return the snapshot
+     */
+    @SafeVarargs
+    public static ContextSnapshot capture(BeanManager manager, Class<? extends Annotation>... additionalScopes) {
+        BeanManagerImpl beanManager = BeanManagerProxy.unwrap(manager);
+        List<CapturedContext> contexts = new ArrayList<CapturedContext>(3 + additionalScopes.length);
+        capture(beanManager, RequestScoped.class, contexts);
+        capture(beanManager, SessionScoped.class, contexts);
+        capture(beanManager, ConversationScoped.class, contexts);
+        for (Class<? extends Annotation> scope : additionalScopes) {
+            capture(beanManager, scope, contexts);
+        }
+        return new ContextSnapshot(contexts);
+    }
+
+    private static void capture(BeanManagerImpl beanManager, Class<? extends Annotation> scope, List<CapturedContext> contexts) {
+        if (!beanManager.isContextActive(scope)) {
+            return;
+        }
+        Context context = beanManager.getUnwrappedContext(scope);
+        if (context instanceof AbstractBoundContext<?>) {
+            AbstractBoundContext<?> boundContext = (AbstractBoundContext<?>) context;
+            // lazily initialized contexts must not be initialized by the executing thread
+            boundContext.checkContextInitialized();
+            if (boundContext.getBeanStore() != null) {
+                if (boundContext.getBeanStore() instanceof AttributeBeanStore) {
+                    // the captured instances must not be replaced by the ones of the next association
+                    ((AttributeBeanStore) boundContext.getBeanStore()).disableRecycling();
+                }
+                contexts.add(new CapturedBoundContext(boundContext, copy(boundContext.getBeanStore())));
+            }
+        } else if (context instanceof AbstractUnboundContext) {
+            AbstractUnboundContext unboundContext = (AbstractUnboundContext) context;
+            if (unboundContext.getBeanStore() != null) {
+                contexts.add(new CapturedUnboundContext(unboundContext, copy(unboundContext.getBeanStore())));
+            }
+        }
+    }
+
+    /*
+     * The bean stores are not thread-safe - the instances are copied by the thread which owns the bean store.
+     */
+    private static Map<BeanIdentifier, ContextualInstance<?>> copy(BeanStore beanStore) {
+        Map<BeanIdentifier, ContextualInstance<?>> instances = new HashMap<BeanIdentifier, ContextualInstance<?>>();
+        for (BeanIdentifier id : beanStore) {
+            ContextualInstance<?> instance = beanStore.get(id);
+            if (instance != null) {
+                instances.put(id, instance);
+            }
+        }
+        return Collections.unmodifiableMap(instances);
+    }
+
+    /**
+     * @return <code>true</code> if no context was captured, <code>false</code> otherwise
+     */
+    public boolean isEmpty() {
+        return contexts.isEmpty();
+    }
+
+    public Runnable wrapRunnable(final Runnable task) {
+        return () -> {
+            List<AttachedContext> attached = attach();
+            try {
+                task.run();
+            } finally {
+                detach(attached);
+            }
+        };
+    }
+
+    public <V> Callable<V> wrapCallable(final Callable<V> task) {
+        return () -> {
+            List<AttachedContext> attached = attach();
+            try {
+                return task.call();
+            } finally {
+                detach(attached);
+            }
+        };
+    }
+
+    public <T> Supplier<T> wrapSupplier(final Supplier<T> task) {
+        return () -> {
+            List<AttachedContext> attached = attach();
+            try {
+                return task.get();
+            } finally {
+                detach(attached);
+            }
+        };
+    }
+
+    private List<AttachedContext> attach() {
+        List<AttachedContext> attached = new ArrayList<AttachedContext>(contexts.size());
+        for (CapturedContext context : contexts) {
+            attached.add(context.attach());
+        }
+        return attached;
+    }
+
+    private void detach(List<AttachedContext> attached) {
+        // detach in the reverse order
+        for (int i = attached.size() - 1; i >= 0; i--) {
+            attached.get(i).detach();
+        }
+    }
+
+    private abstract static class CapturedContext {
+
+        private final AbstractManagedContext context;
+
+        private final Map<BeanIdentifier, ContextualInstance<?>> instances;
+
+        CapturedContext(AbstractManagedContext context, Map<BeanIdentifier, ContextualInstance<?>> instances) {
+            this.context = context;
+            this.instances = instances;
+        }
+
+        AttachedContext attach() {
+            AttachedContext attached = new AttachedContext(this, getThreadBeanStore(), context.isActive());
+            setThreadBeanStore(new SnapshotBeanStore(instances));
+            context.setActive(true);
+            return attached;
+        }
+
+        abstract BeanStore getThreadBeanStore();
+
+        abstract void setThreadBeanStore(BeanStore beanStore);
+
+    }
+
+    private static class CapturedBoundContext extends CapturedContext {
+
+        private final AbstractBoundContext<?> context;
+
+        CapturedBoundContext(AbstractBoundContext<?> context, Map<BeanIdentifier, ContextualInstance<?>> instances) {
+            super(context, instances);
+            this.context = context;
+        }
+
+        @Override
+        BeanStore getThreadBeanStore() {
+            return context.getBeanStore();
+        }
+
+        @Override
+        void setThreadBeanStore(BeanStore beanStore) {
+            context.setBeanStore((BoundBeanStore) beanStore);
+        }
+    }
+
+    private static class CapturedUnboundContext extends CapturedContext {
+
+        private final AbstractUnboundContext context;
+
+        CapturedUnboundContext(AbstractUnboundContext context, Map<BeanIdentifier, ContextualInstance<?>> instances) {
+            super(context, instances);
+            this.context = context;
+        }
+
+        @Override
+        BeanStore getThreadBeanStore() {
+            return context.getBeanStore();
+        }
+
+        @Override
+        void setThreadBeanStore(BeanStore beanStore) {
+            context.setBeanStore(beanStore);
+        }
+    }
+
+    /**
+     * The state of a context on the executing thread before the snapshot was attached.
+     */
+    private static class AttachedContext {
+
+        private final CapturedContext captured;
+
+        private final BeanStore previousBeanStore;
+
+        private final boolean previouslyActive;
+
+        AttachedContext(CapturedContext captured, BeanStore previousBeanStore, boolean previouslyActive) {
+            this.captured = captured;
+            this.previousBeanStore = previousBeanStore;
+            this.previouslyActive = previouslyActive;
+        }
+
+        void detach() {
+            AbstractManagedContext context = captured.context;
+            try {
+                // destroy the instances created by the task
+                context.destroy();
+            } finally {
+                captured.setThreadBeanStore(previousBeanStore);
+                if (previousBeanStore == null && !previouslyActive) {
+                    context.cleanup();
+                } else {
+                    context.setActive(previouslyActive);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads through to the captured instances, new instances are only stored locally.
+     */
+    private static class SnapshotBeanStore implements BoundBeanStore {
+
+        private final Map<BeanIdentifier, ContextualInstance<?>> captured;
+
+        private final HashMapBeanStore local;
+
+        SnapshotBeanStore(Map<BeanIdentifier, ContextualInstance<?>> captured) {
+            this.captured = captured;
+            this.local = new HashMapBeanStore();
+        }
+
+        @Override
+        public <T> ContextualInstance<T> get(BeanIdentifier id) {
+            ContextualInstance<T> instance = local.get(id);
+            return instance != null ? instance : Reflections.<ContextualInstance<T>> cast(captured.get(id));
+        }
+
+        @Override
+        public boolean contains(BeanIdentifier id) {
+            return local.contains(id) || captured.containsKey(id);
+        }
+
+        @Override
+        public void clear() {
+            local.clear();
+        }
+
+        @Override
+        public Iterator<BeanIdentifier> iterator() {
+            return local.iterator();
+        }
+
+        @Override
+        public <T> void put(BeanIdentifier id, ContextualInstance<T> contextualInstance) {
+            local.put(id, contextualInstance);
+        }
+
+        @Override
+        public LockedBean lock(BeanIdentifier id) {
+            // the local instances are not shared with other threads
+            return null;
+        }
+
+        @Override
+        public <T> ContextualInstance<T> remove(BeanIdentifier id) {
+            return local.remove(id);
+        }
+
+        @Override
+        public boolean detach() {
+            return false;
+        }
+
+        @Override
+        public boolean attach() {
+            return false;
+        }
+
+        @Override
+        public boolean isAttached() {
+            return true;
+        }
+    }
+
+}
@@ -32,7 +32,7 @@ import javax.enterprise.context.spi.CreationalContext;
 import org.jboss.weld.construction.api.AroundConstructCallback;
 import org.jboss.weld.context.api.ContextualInstance;
 import org.jboss.weld.injection.spi.ResourceReference;
-import org.jboss.weld.util.collections.WeldCollections;
+import org.jboss.weld.util.collections.ImmutableList;
 import org.jboss.weld.util.reflection.Reflections;
 
 import edu.umd.cs.findbugs.annotations.SuppressWarnings;
@@ -53,9 +53,11 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
     @SuppressWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "Not needed after initial creation")
     private final transient Contextual<T> contextual;
 
-    private final List<ContextualInstance<?>> dependentInstances;
-
-    private final List<ContextualInstance<?>> parentDependentInstances;
+    /*
+     * Guarded by this. Most creational contexts never hold a dependent instance so the list is only allocated once the first
+     * dependent instance is added.
+     */
+    private List<ContextualInstance<?>> dependentInstances;
 
     private final CreationalContextImpl<?> parentCreationalContext;
 
@@ -66,16 +68,13 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
     private transient List<AroundConstructCallback<T>> aroundConstructCallbacks;
 
     public CreationalContextImpl(Contextual<T> contextual) {
-        this(contextual, null, Collections.synchronizedList(new ArrayList<ContextualInstance<?>>()), null);
+        this(contextual, null, null);
     }
 
-    private CreationalContextImpl(Contextual<T> contextual, Map<Contextual<?>, Object> incompleteInstances,
-            List<ContextualInstance<?>> parentDependentInstancesStore, CreationalContextImpl<?> parentCreationalContext) {
+    private CreationalContextImpl(Contextual<T> contextual, Map<Contextual<?>, Object> incompleteInstances, CreationalContextImpl<?> parentCreationalContext) {
         this.incompleteInstances = incompleteInstances;
         this.contextual = contextual;
         // this is direct ref by intention - to track dependencies hierarchy
-        this.dependentInstances = Collections.synchronizedList(new ArrayList<ContextualInstance<?>>());
-        this.parentDependentInstances = parentDependentInstancesStore;
         this.parentCreationalContext = parentCreationalContext;
         this.constructorInterceptionSuppressed = false;
     }
@@ -83,9 +82,6 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
     private CreationalContextImpl() {
         this.contextual = null;
         this.parentCreationalContext = null;
-        // We can't use immutable empty lists because of some rare scenarios with Instance.get()
-        this.dependentInstances = Collections.synchronizedList(new ArrayList<ContextualInstance<?>>());
-        this.parentDependentInstances = Collections.synchronizedList(new ArrayList<ContextualInstance<?>>());
     }
 
     public void push(T incompleteInstance) {
@@ -96,11 +92,11 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
     }
 
     public <S> CreationalContextImpl<S> getCreationalContext(Contextual<S> contextual) {
-        return new CreationalContextImpl<S>(contextual, incompleteInstances, dependentInstances, this);
+        return new CreationalContextImpl<S>(contextual, incompleteInstances, this);
     }
 
     public <S> CreationalContextImpl<S> getProducerReceiverCreationalContext(Contextual<S> contextual) {
-        return new CreationalContextImpl<S>(contextual, incompleteInstances != null ? new HashMap<Contextual<?>, Object>(incompleteInstances) : null, Collections.synchronizedList(new ArrayList<ContextualInstance<?>>()), null);
+        return new CreationalContextImpl<S>(contextual, incompleteInstances != null ? new HashMap<Contextual<?>, Object>(incompleteInstances) : null, null);
     }
 
     public <S> S getIncompleteInstance(Contextual<S> bean) {
@@ -112,7 +108,23 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
     }
 
     public void addDependentInstance(ContextualInstance<?> contextualInstance) {
-        parentDependentInstances.add(contextualInstance);
+        // a dependent instance is always destroyed together with the instance it was injected into
+        // if there is no parent creational context, there is nothing that would destroy the dependent instance
+        if (parentCreationalContext != null) {
+            parentCreationalContext.addOwnDependentInstance(contextualInstance);
+        }
+    }
+
+    private synchronized void addOwnDependentInstance(ContextualInstance<?> contextualInstance) {
+        if (dependentInstances == null) {
+            dependentInstances = new ArrayList<ContextualInstance<?>>(4);
+        }
+        dependentInstances.add(contextualInstance);
+    }
+
+    @Override
+    public synchronized boolean hasDependencies() {
+        return (dependentInstances != null && !dependentInstances.isEmpty()) || (resourceReferences != null && !resourceReferences.isEmpty());
     }
 
     public void release() {
@@ -121,11 +133,13 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
 
     // should not be public
     public void release(Contextual<T> contextual, T instance) {
-        synchronized (dependentInstances) {
-            for (ContextualInstance<?> dependentInstance : dependentInstances) {
-                // do not destroy contextual again, since it's just being destroyed
-                if (contextual == null || !(dependentInstance.getContextual().equals(contextual))) {
-                    destroy(dependentInstance);
+        synchronized (this) {
+            if (dependentInstances != null) {
+                for (ContextualInstance<?> dependentInstance : dependentInstances) {
+                    // do not destroy contextual again, since it's just being destroyed
+                    if (contextual == null || !(dependentInstance.getContextual().equals(contextual))) {
+                        destroy(dependentInstance);
+                    }
                 }
             }
         }
@@ -150,13 +164,16 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
     /**
      * Returns an unmodifiable list of dependent instances.
      */
-    public List<ContextualInstance<?>> getDependentInstances() {
-        return WeldCollections.immutableListView(dependentInstances);
+    public synchronized List<ContextualInstance<?>> getDependentInstances() {
+        if (dependentInstances == null) {
+            return Collections.emptyList();
+        }
+        return ImmutableList.copyOf(dependentInstances);
     }
 
     // Serialization
-    protected Object writeReplace() throws ObjectStreamException {
-        synchronized (dependentInstances) {
+    protected synchronized Object writeReplace() throws ObjectStreamException {
+        if (dependentInstances != null) {
             for (Iterator<ContextualInstance<?>> iterator = dependentInstances.iterator(); iterator.hasNext();) {
                 ContextualInstance<?> instance = iterator.next();
                 if (!(instance.getInstance() instanceof Serializable)) {
@@ -183,7 +200,7 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
             }
         }
         // Return a serialization proxy for an "empty" instance
-        if (parentCreationalContext == null && dependentInstances.isEmpty() && (parentDependentInstances == null || parentDependentInstances.isEmpty())) {
+        if (parentCreationalContext == null && (dependentInstances == null || dependentInstances.isEmpty())) {
             return SERIALIZATION_PROXY;
         }
         return this;
@@ -207,7 +224,10 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
      * @return true if the instance was destroyed, false otherwise
      */
     public boolean destroyDependentInstance(T instance) {
-        synchronized (dependentInstances) {
+        synchronized (this) {
+            if (dependentInstances == null) {
+                return false;
+            }
             for (Iterator<ContextualInstance<?>> iterator = dependentInstances.iterator(); iterator.hasNext();) {
                 ContextualInstance<?> contextualInstance = iterator.next();
                 if (contextualInstance.getInstance().equals(instance)) {
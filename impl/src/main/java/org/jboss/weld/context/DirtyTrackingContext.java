@@ -0,0 +1,45 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2008, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context;
+
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.context.spi.Contextual;
+
+/**
+ * A context backed by a storage which is expensive to update, e.g. a replicated HTTP session. If dirty tracking is
+ * enabled, only instances created during the current request and instances explicitly marked as modified are written to
+ * the storage.
+ * <p>
+ * The context returned by {@link javax.enterprise.inject.spi.BeanManager#getContext(Class)} for {@link javax.enterprise.context.SessionScoped}
+ * implements this interface if the HTTP session context is active.
+ * </p>
+ *
+ * @see org.jboss.weld.SystemPropertiesConfiguration#isSessionDirtyTrackingEnabled()
+ */
+public interface DirtyTrackingContext extends Context {
+
+    /**
+     * Marks the contextual instance of the given contextual as modified so that it's written to the underlying storage
+     * at the end of the current request. This method has no effect if there is no such contextual instance or if dirty
+     * tracking is disabled.
+     *
+     * @param contextual
+     * @throws javax.enterprise.context.ContextNotActiveException if the context is not active
+     */
+    void markModified(Contextual<?> contextual);
+
+}
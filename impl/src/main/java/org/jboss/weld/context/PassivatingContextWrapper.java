@@ -27,7 +27,9 @@ import org.jboss.weld.util.ForwardingContext;
 
 /**
  * Wraps a passivating context with a wrapper that guarantees that each call to the context is done with serializable
- * {@link Contextual}. The wrapper uses {@link SerializableContextual} if necessary.
+ * {@link Contextual}. The wrapper uses {@link SerializableContextual} if necessary. A {@link DirtyTrackingContext} is wrapped
+ * with a wrapper implementing {@link DirtyTrackingContext} so that applications may call it through
+ * {@link javax.enterprise.inject.spi.BeanManager#getContext(Class)}.
  *
  * @author Jozef Hartinger
  *
@@ -38,7 +40,9 @@ public class PassivatingContextWrapper {
     }
 
     public static Context wrap(Context context, ContextualStore store) {
-        if (context instanceof AlterableContext) {
+        if (context instanceof DirtyTrackingContext && context instanceof AlterableContext) {
+            return new DirtyTrackingContextWrapper((AlterableContext) context, store);
+        } else if (context instanceof AlterableContext) {
             return new AlterableContextWrapper((AlterableContext) context, store);
         } else {
             return new ContextWrapper(context, store);
@@ -101,4 +105,17 @@ public class PassivatingContextWrapper {
             delegate().destroy(contextual);
         }
     }
+
+    private static class DirtyTrackingContextWrapper extends AlterableContextWrapper implements DirtyTrackingContext {
+
+        public DirtyTrackingContextWrapper(AlterableContext context, ContextualStore store) {
+            super(context, store);
+        }
+
+        @Override
+        public void markModified(Contextual<?> contextual) {
+            contextual = store.getSerializableContextual(contextual);
+            ((DirtyTrackingContext) delegate()).markModified(contextual);
+        }
+    }
 }
@@ -62,6 +62,12 @@ public interface WeldCreationalContext<T> extends org.jboss.weld.construction.ap
      */
     Contextual<T> getContextual();
 
+    /**
+     * @return true if this {@link CreationalContext} holds a dependent instance or a {@link ResourceReference} which needs to be
+     *         released together with it, false otherwise
+     */
+    boolean hasDependencies();
+
     /**
      * Returns an unmodifiable list of dependent instances.
      */
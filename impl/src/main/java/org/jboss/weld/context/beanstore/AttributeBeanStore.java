@@ -17,7 +17,9 @@
 package org.jboss.weld.context.beanstore;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Set;
 
 import org.jboss.weld.context.api.ContextualInstance;
 import org.jboss.weld.logging.ContextLogger;
@@ -33,6 +35,15 @@ import org.jboss.weld.serialization.spi.BeanIdentifier;
  * </p>
  * <p/>
  * <p>
+ * If dirty tracking is enabled, reattaching the bean store only writes the
+ * instances added while detached, not the whole local store. Moreover,
+ * instances {@link #markModified(BeanIdentifier) marked as modified} are
+ * written to the underlying store once the bean store is detached, so that
+ * the underlying store (e.g. a replicated session) is only notified about
+ * instances which actually changed.
+ * </p>
+ * <p/>
+ * <p>
  * This construct is not thread safe.
  * </p>
  *
@@ -44,12 +55,22 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
 
     private final HashMapBeanStore beanStore;
     private final NamingScheme namingScheme;
+    // Instances which need to be written to the underlying store, null if dirty tracking is disabled
+    private final Set<BeanIdentifier> dirty;
 
     private boolean attached;
 
+    // Set once the bean store is referenced outside of its context, e.g. by a ContextSnapshot
+    private boolean recyclingDisabled;
+
     public AttributeBeanStore(NamingScheme namingScheme) {
+        this(namingScheme, false);
+    }
+
+    public AttributeBeanStore(NamingScheme namingScheme, boolean dirtyTracking) {
         this.namingScheme = namingScheme;
         this.beanStore = new HashMapBeanStore();
+        this.dirty = dirtyTracking ? new HashSet<BeanIdentifier>() : null;
     }
 
     /**
@@ -59,6 +80,17 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
     public boolean detach() {
         if (attached) {
             attached = false;
+            if (dirty != null && !dirty.isEmpty()) {
+                // write the instances marked as modified
+                for (BeanIdentifier id : dirty) {
+                    ContextualInstance<?> instance = beanStore.get(id);
+                    if (instance != null) {
+                        ContextLogger.LOG.updatingStoreWithContextualUnderId(instance, id);
+                        setAttribute(namingScheme.prefix(id), instance);
+                    }
+                }
+                dirty.clear();
+            }
             ContextLogger.LOG.beanStoreDetached(this);
             return true;
         } else {
@@ -80,13 +112,16 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
     public boolean attach() {
         if (!attached) {
             attached = true;
-            // beanStore is authoritative, so copy everything to the backing store
-            for (BeanIdentifier id : beanStore) {
+            // beanStore is authoritative, so copy everything (or only the instances added while detached) to the backing store
+            for (BeanIdentifier id : dirty != null ? dirty : beanStore) {
                 ContextualInstance<?> instance = beanStore.get(id);
                 String prefixedId = getNamingScheme().prefix(id);
                 ContextLogger.LOG.updatingStoreWithContextualUnderId(instance, id);
                 setAttribute(prefixedId, instance);
             }
+            if (dirty != null) {
+                dirty.clear();
+            }
 
             /*
             * Additionally copy anything not in the bean store but in the session
@@ -110,6 +145,67 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
         return attached;
     }
 
+    /**
+     * Indicates whether the bean store may be reused for another storage, i.e. it is detached, does not hold any contextual
+     * instance and {@link #disableRecycling() recycling was not disabled}.
+     *
+     * @return <code>true</code> if the bean store can be recycled, <code>false</code> otherwise
+     * @see BeanStorePool
+     */
+    public boolean isRecyclable() {
+        return !recyclingDisabled && !attached && beanStore.delegate().isEmpty() && (dirty == null || dirty.isEmpty());
+    }
+
+    /**
+     * Prevents the bean store from being recycled. Must be called if the bean store may be accessed after the association
+     * ended, otherwise the holder could see the instances of the next association.
+     *
+     * @see BeanStorePool
+     */
+    public void disableRecycling() {
+        this.recyclingDisabled = true;
+    }
+
+    /**
+     * Indicates whether dirty tracking is enabled for this bean store.
+     *
+     * @return <code>true</code> if dirty tracking is enabled, <code>false</code> otherwise
+     */
+    public boolean isDirtyTrackingEnabled() {
+        return dirty != null;
+    }
+
+    /**
+     * Marks the instance with the given id as modified. If dirty tracking is enabled, the instance is written to the
+     * underlying store when the bean store is detached. If dirty tracking is disabled, this is a no-op as every instance
+     * is written through.
+     * <p>
+     * If the bean store is not attached, the instance is read from the underlying store and written once the bean store is
+     * attached.
+     * </p>
+     *
+     * @param id The id of the instance
+     * @return <code>true</code> if the instance exists and was marked, <code>false</code> otherwise
+     */
+    public boolean markModified(BeanIdentifier id) {
+        if (dirty == null) {
+            return false;
+        }
+        ContextualInstance<?> instance = get(id);
+        if (instance == null && !attached) {
+            instance = (ContextualInstance<?>) getAttribute(namingScheme.prefix(id));
+        }
+        if (instance == null) {
+            return false;
+        }
+        if (!beanStore.contains(id)) {
+            // the instance was lazily fetched from the underlying store
+            beanStore.put(id, instance);
+        }
+        dirty.add(id);
+        return true;
+    }
+
     @Override
     public <T> ContextualInstance<T> get(BeanIdentifier id) {
         ContextualInstance<T> instance = beanStore.get(id);
@@ -123,6 +219,8 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
         if (isAttached()) {
             String prefixedId = namingScheme.prefix(id);
             setAttribute(prefixedId, instance);
+        } else if (dirty != null) {
+            dirty.add(id);
         }
         ContextLogger.LOG.contextualInstanceAdded(instance.getContextual(), id, this);
     }
@@ -130,6 +228,9 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
     @Override
     public <T> ContextualInstance<T> remove(BeanIdentifier id) {
         ContextualInstance<T> instance = beanStore.remove(id);
+        if (dirty != null) {
+            dirty.remove(id);
+        }
         if (instance != null) {
             if (isAttached()) {
                 removeAttribute(namingScheme.prefix(id));
@@ -150,6 +251,9 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
             it.remove();
             ContextLogger.LOG.contextualInstanceRemoved(id, this);
         }
+        if (dirty != null) {
+            dirty.clear();
+        }
         ContextLogger.LOG.contextCleared(this);
     }
 
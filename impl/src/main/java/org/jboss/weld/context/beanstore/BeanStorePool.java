@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2008, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.beanstore;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A bounded pool of detached {@link AttributeBeanStore}s which allows request-like contexts to reuse a bean store (and its
+ * backing map) for the next association instead of allocating a new one.
+ * <p>
+ * A bean store is only pooled if it is {@link AttributeBeanStore#isRecyclable() recyclable}, i.e. no contextual instance leaked
+ * from the previous association. If the pool is disabled or empty, {@link #acquire()} returns <code>null</code> and the
+ * context is expected to create a new bean store.
+ * </p>
+ *
+ * @param <S> the bean store type
+ * @see org.jboss.weld.SystemPropertiesConfiguration#getRequestBeanStorePoolSize()
+ */
+public class BeanStorePool<S extends AttributeBeanStore> {
+
+    private final BlockingQueue<S> stores;
+
+    /**
+     *
+     * @param capacity the maximum number of pooled bean stores, <code>0</code> disables pooling
+     */
+    public BeanStorePool(int capacity) {
+        this.stores = capacity > 0 ? new ArrayBlockingQueue<S>(capacity) : null;
+    }
+
+    /**
+     * @return a recycled bean store or <code>null</code> if there is none available
+     */
+    public S acquire() {
+        return stores != null ? stores.poll() : null;
+    }
+
+    /**
+     * Returns the bean store to the pool. The bean store must be already unbound from its storage. The bean store is silently
+     * discarded if it still holds contextual instances or the pool is full.
+     *
+     * @param store the bean store
+     * @return <code>true</code> if the bean store was pooled, <code>false</code> otherwise
+     */
+    public boolean release(S store) {
+        return stores != null && store.isRecyclable() && stores.offer(store);
+    }
+
+    public boolean isEnabled() {
+        return stores != null;
+    }
+
+}
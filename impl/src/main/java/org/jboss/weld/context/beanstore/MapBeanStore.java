@@ -7,13 +7,24 @@ public class MapBeanStore extends AttributeBeanStore {
 
     protected transient volatile LockStore lockStore;
 
-    private final Map<String, Object> delegate;
+    private Map<String, Object> delegate;
 
     public MapBeanStore(NamingScheme namingScheme, Map<String, Object> delegate) {
         super(namingScheme);
         this.delegate = delegate;
     }
 
+    /**
+     * Binds the recycled bean store to another storage.
+     *
+     * @param delegate the new storage, may be <code>null</code> if the bean store is being released
+     * @see BeanStorePool
+     */
+    public void reset(Map<String, Object> delegate) {
+        this.delegate = delegate;
+        this.lockStore = null;
+    }
+
     @Override
     protected Object getAttribute(String prefixedId) {
         return delegate.get(prefixedId);
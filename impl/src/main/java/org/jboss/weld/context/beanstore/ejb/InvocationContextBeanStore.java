@@ -10,13 +10,23 @@ import org.jboss.weld.context.beanstore.NamingScheme;
 
 public class InvocationContextBeanStore extends AttributeBeanStore {
 
-    private final InvocationContext ctx;
+    private InvocationContext ctx;
 
     public InvocationContextBeanStore(NamingScheme namingScheme, InvocationContext ctx) {
         super(namingScheme);
         this.ctx = ctx;
     }
 
+    /**
+     * Binds the recycled bean store to another invocation.
+     *
+     * @param ctx the new invocation context, may be <code>null</code> if the bean store is being released
+     * @see org.jboss.weld.context.beanstore.BeanStorePool
+     */
+    public void reset(InvocationContext ctx) {
+        this.ctx = ctx;
+    }
+
     @Override
     protected Object getAttribute(String prefixedId) {
         return ctx.getContextData().get(prefixedId);
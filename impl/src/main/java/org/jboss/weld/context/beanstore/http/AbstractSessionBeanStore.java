@@ -3,11 +3,15 @@ package org.jboss.weld.context.beanstore.http;
 import static java.util.Collections.emptyList;
 import static org.jboss.weld.util.reflection.Reflections.cast;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.servlet.http.HttpSession;
 
+import org.jboss.weld.SystemPropertiesConfiguration;
 import org.jboss.weld.context.api.ContextualInstance;
 import org.jboss.weld.context.beanstore.AttributeBeanStore;
 import org.jboss.weld.context.beanstore.LockStore;
@@ -19,6 +23,13 @@ import org.jboss.weld.util.reflection.Reflections;
 
 /**
  * Base class providing an HttpSession backed, bound bean store.
+ * <p>
+ * By default, each contextual instance is stored in a separate session attribute. If the single attribute mode is enabled,
+ * all contextual instances are stored in a single container attribute instead. Attaching the bean store then only needs to
+ * read one attribute regardless of the size of the session. The container is set on the session again when the bean store is
+ * detached, if modified, so that replicating servlet containers notice the change. Since the whole container is replicated
+ * then, the single attribute mode and dirty tracking are mutually exclusive.
+ * </p>
  *
  * @author Pete Muir
  * @author David Allen
@@ -30,6 +41,13 @@ public abstract class AbstractSessionBeanStore extends AttributeBeanStore {
 
     private static final String SESSION_KEY = "org.jboss.weld.context.beanstore.http.LockStore";
 
+    private static final String CONTAINER_SESSION_KEY = "org.jboss.weld.context.beanstore.http.Container";
+
+    private final boolean singleAttribute;
+
+    // The container was modified since the bean store was attached
+    private boolean containerModified;
+
     private transient volatile LockStore lockStore;
 
     private static final ThreadLocal<LockStore> CURRENT_LOCK_STORE = new ThreadLocal<LockStore>();
@@ -37,13 +55,48 @@ public abstract class AbstractSessionBeanStore extends AttributeBeanStore {
     protected abstract HttpSession getSession(boolean create);
 
     public AbstractSessionBeanStore(NamingScheme namingScheme) {
-        super(namingScheme);
+        this(namingScheme, false);
+    }
+
+    public AbstractSessionBeanStore(NamingScheme namingScheme, boolean dirtyTracking) {
+        this(namingScheme, dirtyTracking, SystemPropertiesConfiguration.INSTANCE.isSessionSingleAttributeEnabled());
+    }
+
+    /**
+     * @param namingScheme the naming scheme
+     * @param dirtyTracking whether dirty tracking is enabled
+     * @param singleAttribute whether the single attribute mode is enabled, ignored if dirty tracking is enabled
+     */
+    public AbstractSessionBeanStore(NamingScheme namingScheme, boolean dirtyTracking, boolean singleAttribute) {
+        super(namingScheme, dirtyTracking);
+        // the container is replicated as a whole which defeats dirty tracking
+        this.singleAttribute = singleAttribute && !dirtyTracking;
+    }
+
+    @Override
+    public boolean detach() {
+        boolean detached = super.detach();
+        if (containerModified) {
+            containerModified = false;
+            HttpSession session = getSession(false);
+            if (session != null) {
+                ConcurrentMap<String, Object> container = getContainer(session, false);
+                if (container != null) {
+                    // notify the servlet container that the attribute value changed
+                    session.setAttribute(CONTAINER_SESSION_KEY, container);
+                }
+            }
+        }
+        return detached;
     }
 
     protected Collection<String> getAttributeNames() {
         HttpSession session = getSession(false);
         if (session == null) {
             return emptyList();
+        } else if (singleAttribute) {
+            ConcurrentMap<String, Object> container = getContainer(session, false);
+            return container == null ? emptyList() : new ArrayList<String>(container.keySet());
         } else {
             return new EnumerationList<>(Reflections.<Enumeration<String>>cast(session.getAttributeNames()));
         }
@@ -53,7 +106,14 @@ public abstract class AbstractSessionBeanStore extends AttributeBeanStore {
     protected void removeAttribute(String key) {
         HttpSession session = getSession(false);
         if (session != null) {
-            session.removeAttribute(key);
+            if (singleAttribute) {
+                ConcurrentMap<String, Object> container = getContainer(session, false);
+                if (container != null && container.remove(key) != null) {
+                    containerModified = true;
+                }
+            } else {
+                session.removeAttribute(key);
+            }
             ContextLogger.LOG.removedKeyFromSession(key, this.getSession(false).getId());
         } else {
             ContextLogger.LOG.unableToRemoveKeyFromSession(key);
@@ -64,7 +124,13 @@ public abstract class AbstractSessionBeanStore extends AttributeBeanStore {
     protected void setAttribute(String key, Object instance) {
         HttpSession session = getSession(true);
         if (session != null) {
-            session.setAttribute(key, instance);
+            if (singleAttribute) {
+                ConcurrentMap<String, Object> container = getContainer(session, true);
+                container.put(key, instance);
+                containerModified = true;
+            } else {
+                session.setAttribute(key, instance);
+            }
             ContextLogger.LOG.addedKeyToSession(key, this.getSession(false).getId());
         } else {
             ContextLogger.LOG.unableToAddKeyToSession(key);
@@ -85,11 +151,32 @@ public abstract class AbstractSessionBeanStore extends AttributeBeanStore {
     protected Object getAttribute(String prefixedId) {
         HttpSession session = getSession(false);
         if (session != null) {
+            if (singleAttribute) {
+                ConcurrentMap<String, Object> container = getContainer(session, false);
+                return container == null ? null : container.get(prefixedId);
+            }
             return session.getAttribute(prefixedId);
         }
         return null;
     }
 
+    private static ConcurrentMap<String, Object> getContainer(HttpSession session, boolean create) {
+        ConcurrentMap<String, Object> container = cast(session.getAttribute(CONTAINER_SESSION_KEY));
+        if (container == null && create) {
+            // concurrent requests of the same session may attempt to create the container
+            // some servlet containers return a different session object for each request so there is nothing else to lock on
+            // the global lock is only taken once per session, see also getLockStore()
+            synchronized (AbstractSessionBeanStore.class) {
+                container = cast(session.getAttribute(CONTAINER_SESSION_KEY));
+                if (container == null) {
+                    container = new ConcurrentHashMap<String, Object>();
+                    session.setAttribute(CONTAINER_SESSION_KEY, container);
+                }
+            }
+        }
+        return container;
+    }
+
     @Override
     protected LockStore getLockStore() {
         LockStore lockStore = this.lockStore;
@@ -49,7 +49,17 @@ public class LazySessionBeanStore extends AbstractSessionBeanStore {
     private final HttpServletRequest request;
 
     public LazySessionBeanStore(HttpServletRequest request, NamingScheme namingScheme) {
-        super(namingScheme);
+        this(request, namingScheme, false);
+    }
+
+    public LazySessionBeanStore(HttpServletRequest request, NamingScheme namingScheme, boolean dirtyTracking) {
+        super(namingScheme, dirtyTracking);
+        this.request = request;
+        ContextLogger.LOG.loadingBeanStoreMapFromSession(this, getSession(false));
+    }
+
+    public LazySessionBeanStore(HttpServletRequest request, NamingScheme namingScheme, boolean dirtyTracking, boolean singleAttribute) {
+        super(namingScheme, dirtyTracking, singleAttribute);
         this.request = request;
         ContextLogger.LOG.loadingBeanStoreMapFromSession(this, getSession(false));
     }
@@ -26,13 +26,23 @@ import org.jboss.weld.util.reflection.Reflections;
  */
 public class RequestBeanStore extends AttributeBeanStore {
 
-    private final HttpServletRequest request;
+    private HttpServletRequest request;
 
     public RequestBeanStore(HttpServletRequest request, NamingScheme namingScheme) {
         super(namingScheme);
         this.request = request;
     }
 
+    /**
+     * Binds the recycled bean store to another request.
+     *
+     * @param request the new request, may be <code>null</code> if the bean store is being released
+     * @see org.jboss.weld.context.beanstore.BeanStorePool
+     */
+    public void reset(HttpServletRequest request) {
+        this.request = request;
+    }
+
     @Override
     protected Object getAttribute(String key) {
         return request.getAttribute(key);
@@ -1,6 +1,9 @@
 package org.jboss.weld.context.bound;
 
+import org.jboss.weld.SystemPropertiesConfiguration;
 import org.jboss.weld.context.AbstractBoundContext;
+import org.jboss.weld.context.beanstore.BeanStorePool;
+import org.jboss.weld.context.beanstore.BoundBeanStore;
 import org.jboss.weld.context.beanstore.MapBeanStore;
 import org.jboss.weld.context.beanstore.NamingScheme;
 import org.jboss.weld.context.beanstore.SimpleNamingScheme;
@@ -13,10 +16,21 @@ import java.util.Map;
 public class BoundRequestContextImpl extends AbstractBoundContext<Map<String, Object>> implements BoundRequestContext {
 
     private final NamingScheme namingScheme;
+    private final BeanStorePool<MapBeanStore> beanStorePool;
 
     public BoundRequestContextImpl(String contextId) {
+        this(contextId, SystemPropertiesConfiguration.INSTANCE.getRequestBeanStorePoolSize());
+    }
+
+    /**
+     *
+     * @param contextId
+     * @param beanStorePoolSize the maximum number of recycled bean stores, <code>0</code> disables recycling
+     */
+    public BoundRequestContextImpl(String contextId, int beanStorePoolSize) {
         super(contextId, false);
         this.namingScheme = new SimpleNamingScheme(BoundRequestContext.class.getName());
+        this.beanStorePool = new BeanStorePool<MapBeanStore>(beanStorePoolSize);
     }
 
     public Class<? extends Annotation> getScope() {
@@ -25,7 +39,13 @@ public class BoundRequestContextImpl extends AbstractBoundContext<Map<String, Ob
 
     public boolean associate(Map<String, Object> storage) {
         if (getBeanStore() == null) {
-            setBeanStore(new MapBeanStore(namingScheme, storage));
+            MapBeanStore beanStore = beanStorePool.acquire();
+            if (beanStore != null) {
+                beanStore.reset(storage);
+            } else {
+                beanStore = new MapBeanStore(namingScheme, storage);
+            }
+            setBeanStore(beanStore);
             getBeanStore().attach();
             return true;
         } else {
@@ -33,6 +53,20 @@ public class BoundRequestContextImpl extends AbstractBoundContext<Map<String, Ob
         }
     }
 
+    @Override
+    public boolean dissociate(Map<String, Object> storage) {
+        BoundBeanStore beanStore = getBeanStore();
+        if (super.dissociate(storage)) {
+            if (beanStorePool.isEnabled() && beanStore instanceof MapBeanStore) {
+                ((MapBeanStore) beanStore).reset(null);
+                beanStorePool.release((MapBeanStore) beanStore);
+            }
+            return true;
+        } else {
+            return false;
+        }
+    }
+
     @Override
     public void activate() {
         super.activate();
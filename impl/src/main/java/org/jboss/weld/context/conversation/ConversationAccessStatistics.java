@@ -0,0 +1,120 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2008, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.conversation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Access statistics of a single conversation, i.e. how often and how long the requests waited to acquire the conversation and
+ * how many requests failed to acquire it. The statistics are not replicated with the conversation.
+ *
+ * @see ConversationStatistics
+ */
+public class ConversationAccessStatistics {
+
+    private final LongAdder acquisitions = new LongAdder();
+
+    private final LongAdder totalWaitTime = new LongAdder();
+
+    private final AtomicLong maxWaitTime = new AtomicLong();
+
+    private final LongAdder timeouts = new LongAdder();
+
+    private final LongAdder rejections = new LongAdder();
+
+    // the aggregated statistics the counters are also added to, may be null
+    private final ConversationAccessStatistics totals;
+
+    ConversationAccessStatistics() {
+        this(null);
+    }
+
+    ConversationAccessStatistics(ConversationAccessStatistics totals) {
+        this.totals = totals;
+    }
+
+    void acquired(long waitTime) {
+        acquisitions.increment();
+        totalWaitTime.add(waitTime);
+        long max = maxWaitTime.get();
+        while (waitTime > max && !maxWaitTime.compareAndSet(max, waitTime)) {
+            max = maxWaitTime.get();
+        }
+        if (totals != null) {
+            totals.acquired(waitTime);
+        }
+    }
+
+    void timedOut() {
+        timeouts.increment();
+        if (totals != null) {
+            totals.timedOut();
+        }
+    }
+
+    void rejected() {
+        rejections.increment();
+        if (totals != null) {
+            totals.rejected();
+        }
+    }
+
+    /**
+     * @return the number of times the conversation was acquired
+     */
+    public long getAcquisitionCount() {
+        return acquisitions.sum();
+    }
+
+    /**
+     * @return the total time spent waiting for the conversation by the requests which acquired it, in milliseconds
+     */
+    public long getTotalWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitTime.sum());
+    }
+
+    /**
+     * @return the longest time a request waited before it acquired the conversation, in milliseconds
+     */
+    public long getMaxWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitTime.get());
+    }
+
+    /**
+     * @return the number of requests which did not acquire the conversation within the concurrent access timeout
+     */
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    /**
+     * @return the number of requests rejected immediately because too many requests were already waiting
+     * @see org.jboss.weld.SystemPropertiesConfiguration#getConversationMaxWaitingRequests()
+     */
+    public long getRejectionCount() {
+        return rejections.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "acquisitions: " + getAcquisitionCount() + ", total wait time: " + getTotalWaitTime() + " ms, max wait time: " + getMaxWaitTime()
+                + " ms, timeouts: " + getTimeoutCount() + ", rejections: " + getRejectionCount();
+    }
+
+}
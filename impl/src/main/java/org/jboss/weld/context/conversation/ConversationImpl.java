@@ -25,6 +25,7 @@ import javax.enterprise.context.ContextNotActiveException;
 import javax.enterprise.context.ConversationScoped;
 import javax.inject.Inject;
 
+import org.jboss.weld.SystemPropertiesConfiguration;
 import org.jboss.weld.context.AbstractConversationContext;
 import org.jboss.weld.context.ConversationContext;
 import org.jboss.weld.context.ManagedConversation;
@@ -41,22 +42,43 @@ public class ConversationImpl implements ManagedConversation, Serializable {
 
     private String id;
 
-    private boolean _transient;
+    private volatile boolean _transient;
 
-    private long timeout;
+    private volatile long timeout;
 
     private transient ReentrantLock concurrencyLock;
 
-    private long lastUsed;
+    private transient ConversationAccessStatistics accessStatistics;
+
+    private volatile long lastUsed;
 
     private BeanManagerImpl manager;
 
+    private final boolean fairLocking;
+
+    private final int maxWaitingRequests;
+
     @Inject
     public ConversationImpl(BeanManagerImpl manager) {
+        this(manager, SystemPropertiesConfiguration.INSTANCE.isConversationFairLockingEnabled(), SystemPropertiesConfiguration.INSTANCE
+                .getConversationMaxWaitingRequests());
+    }
+
+    /**
+     *
+     * @param manager
+     * @param fairLocking whether the waiting requests acquire the conversation in the order they arrived
+     * @param maxWaitingRequests the number of waiting requests from which further requests are rejected immediately, <code>0</code>
+     *        means unlimited
+     */
+    public ConversationImpl(BeanManagerImpl manager, boolean fairLocking, int maxWaitingRequests) {
         this.manager = manager;
+        this.fairLocking = fairLocking;
+        this.maxWaitingRequests = maxWaitingRequests;
         this._transient = true;
         this.timeout = isContextActive() ? getActiveConversationContext().getDefaultTimeout() : 0;
-        this.concurrencyLock = new ReentrantLock();
+        this.concurrencyLock = newConcurrencyLock();
+        this.accessStatistics = newAccessStatistics();
         touch();
     }
 
@@ -72,6 +94,7 @@ public class ConversationImpl implements ManagedConversation, Serializable {
             this.id = getActiveConversationContext().generateConversationId();
         }
         notifyConversationContext();
+        registerStatistics();
         ConversationLogger.LOG.promotedTransient(id);
     }
 
@@ -87,6 +110,7 @@ public class ConversationImpl implements ManagedConversation, Serializable {
         _transient = false;
         this.id = id;
         notifyConversationContext();
+        registerStatistics();
         ConversationLogger.LOG.promotedTransient(id);
     }
 
@@ -161,7 +185,16 @@ public class ConversationImpl implements ManagedConversation, Serializable {
     @Override
     public boolean lock(long timeout) {
         verifyConversationContextActive();
+        if (maxWaitingRequests > 0 && concurrencyLock.isLocked() && !concurrencyLock.isHeldByCurrentThread()) {
+            int waiting = concurrencyLock.getQueueLength();
+            if (waiting >= maxWaitingRequests) {
+                accessStatistics.rejected();
+                ConversationLogger.LOG.conversationQueueFull(waiting, this, accessStatistics.getRejectionCount());
+                return false;
+            }
+        }
         boolean success;
+        long start = System.nanoTime();
         try {
             success = concurrencyLock.tryLock(timeout, TimeUnit.MILLISECONDS);
         } catch (InterruptedException e) {
@@ -169,8 +202,12 @@ public class ConversationImpl implements ManagedConversation, Serializable {
             success = false;
         }
         if (success) {
+            accessStatistics.acquired(System.nanoTime() - start);
             ConversationLogger.LOG.conversationLocked(this);
         } else {
+            if (timeout > 0) {
+                accessStatistics.timedOut();
+            }
             ConversationLogger.LOG.conversationUnavailable(timeout, this);
         }
         return success;
@@ -191,6 +228,91 @@ public class ConversationImpl implements ManagedConversation, Serializable {
         return !concurrencyLock.isLocked();
     }
 
+    /**
+     * Ends this conversation if it's long-running, expired and not currently in use. Unlike other methods, this one may
+     * be called when the conversation context is not active - it's used by {@link ConversationReaper}.
+     *
+     * @param now the current time in milliseconds
+     * @return <code>true</code> if the conversation was ended, <code>false</code> otherwise
+     */
+    boolean endIfExpired(long now) {
+        if (_transient || now <= lastUsed + timeout) {
+            return false;
+        }
+        if (!concurrencyLock.tryLock()) {
+            // the conversation is in use
+            return false;
+        }
+        try {
+            if (_transient || now <= lastUsed + timeout) {
+                return false;
+            }
+            ConversationLogger.LOG.demotedLrc(id);
+            _transient = true;
+            return true;
+        } finally {
+            concurrencyLock.unlock();
+        }
+    }
+
+    /*
+     * The following methods may be called when the conversation context is not active - they're used by ConversationMap.
+     */
+
+    String getIdInternal() {
+        return id;
+    }
+
+    boolean isTransientInternal() {
+        return _transient;
+    }
+
+    /**
+     * @return the time in milliseconds after which this conversation expires unless it's touched again
+     */
+    long getExpiryTime() {
+        return lastUsed + timeout;
+    }
+
+    /**
+     * Unlike other methods, this one may be called when the conversation context is not active, e.g. by a management tool.
+     *
+     * @return the access statistics of this conversation
+     * @see ConversationStatistics
+     */
+    public ConversationAccessStatistics getAccessStatistics() {
+        return accessStatistics;
+    }
+
+    /**
+     * Unlike other methods, this one may be called when the conversation context is not active, e.g. by a management tool.
+     *
+     * @return the estimated number of requests waiting to acquire this conversation
+     */
+    public int getWaitingRequestCount() {
+        return concurrencyLock.getQueueLength();
+    }
+
+    private ConversationAccessStatistics newAccessStatistics() {
+        ConversationStatistics statistics = getStatistics();
+        return new ConversationAccessStatistics(statistics != null ? statistics.getTotals() : null);
+    }
+
+    private void registerStatistics() {
+        ConversationStatistics statistics = getStatistics();
+        if (statistics != null) {
+            statistics.register(this);
+        }
+    }
+
+    private ConversationStatistics getStatistics() {
+        return manager.getServices().get(ConversationStatistics.class);
+    }
+
+    private ReentrantLock newConcurrencyLock() {
+        return new ReentrantLock(fairLocking);
+    }
+
     private void verifyConversationContextActive() {
         if (!isContextActive()) {
             throw new ContextNotActiveException("Conversation Context not active when method called on conversation " + this);
@@ -206,7 +328,11 @@ public class ConversationImpl implements ManagedConversation, Serializable {
     }
 
     private Object readResolve() throws ObjectStreamException {
-        this.concurrencyLock = new ReentrantLock();
+        this.concurrencyLock = newConcurrencyLock();
+        this.accessStatistics = newAccessStatistics();
+        if (!_transient) {
+            registerStatistics();
+        }
         return this;
     }
 
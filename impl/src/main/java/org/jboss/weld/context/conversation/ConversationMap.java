@@ -0,0 +1,225 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2008, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.conversation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.jboss.weld.context.ManagedConversation;
+
+/**
+ * Conversations of a session, keyed by conversation id.
+ *
+ * <p>
+ * If the map is {@link #isReaped() reaped}, the long-running conversations are also indexed by their expiry time, i.e. the time
+ * they were last used plus their timeout, so that a {@link ConversationReaper} run only visits the conversations which expired.
+ * The index is updated when a conversation is {@link #touched(ManagedConversation) touched} at the end of a request. A
+ * conversation whose timeout was changed or which was touched by the application is reindexed by the reaper once its old
+ * expiry time is reached.
+ * </p>
+ *
+ * <p>
+ * The conversations ended by the reaper are queued and destroyed during the next request of the session, see
+ * {@link #pollEnded(ManagedConversation)}.
+ * </p>
+ *
+ * @see ConversationReaper
+ */
+public class ConversationMap extends ConcurrentHashMap<String, ManagedConversation> {
+
+    private static final long serialVersionUID = 1L;
+
+    // Set once the map is registered with a reaper in this JVM
+    private transient volatile boolean reaped;
+
+    // The expiry index and the ids of the conversations ended by the reaper, only used if reaped
+    private transient ConcurrentSkipListSet<Expiry> expiries;
+    private transient Map<String, Expiry> expiriesById;
+    private transient Queue<String> ended;
+
+    boolean markReaped() {
+        if (reaped) {
+            return false;
+        }
+        synchronized (this) {
+            if (reaped) {
+                return false;
+            }
+            initIndex();
+            reaped = true;
+            return true;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if expired conversations of this map are ended by a {@link ConversationReaper}
+     */
+    public boolean isReaped() {
+        return reaped;
+    }
+
+    /**
+     * Updates the expiry time of the given conversation. Must be called whenever a long-running conversation is added to the
+     * map or used by a request.
+     *
+     * @param conversation
+     */
+    public void touched(ManagedConversation conversation) {
+        if (isReaped() && conversation instanceof ConversationImpl) {
+            ConversationImpl conversationImpl = (ConversationImpl) conversation;
+            String id = conversationImpl.getIdInternal();
+            if (id != null && !conversationImpl.isTransientInternal()) {
+                index(id, conversationImpl.getExpiryTime());
+            }
+        }
+    }
+
+    /**
+     * Removes the conversations which were ended and not destroyed yet, i.e. the conversations ended by the reaper and the given
+     * current conversation if it was ended during the current request. Each conversation is only returned once, even if several
+     * requests of the session call this method concurrently.
+     *
+     * @param current the current conversation, may be <code>null</code>
+     * @return the ids of the conversations to destroy
+     */
+    public List<String> pollEnded(ManagedConversation current) {
+        List<String> ids = new ArrayList<String>();
+        if (current instanceof ConversationImpl) {
+            String id = ((ConversationImpl) current).getIdInternal();
+            if (id != null && ((ConversationImpl) current).isTransientInternal() && remove(id, current)) {
+                ids.add(id);
+            }
+        }
+        if (isReaped()) {
+            String id;
+            while ((id = ended.poll()) != null) {
+                ManagedConversation conversation = get(id);
+                if (conversation instanceof ConversationImpl && ((ConversationImpl) conversation).isTransientInternal() && remove(id, conversation)) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Ends the long-running conversations which expired and are not in use, in the order of their expiry time.
+     *
+     * @param now the current time in milliseconds
+     * @return the number of conversations ended
+     */
+    int endExpired(long now) {
+        if (!isReaped()) {
+            return 0;
+        }
+        int count = 0;
+        Expiry expiry;
+        while ((expiry = expiries.pollFirst()) != null) {
+            if (expiry.time >= now) {
+                // not expired yet, neither are the following ones
+                expiries.add(expiry);
+                break;
+            }
+            if (!expiriesById.remove(expiry.id, expiry)) {
+                // reindexed in the meantime
+                continue;
+            }
+            ManagedConversation conversation = get(expiry.id);
+            if (!(conversation instanceof ConversationImpl)) {
+                continue;
+            }
+            ConversationImpl conversationImpl = (ConversationImpl) conversation;
+            if (conversationImpl.endIfExpired(now)) {
+                ended.add(expiry.id);
+                count++;
+            } else if (!conversationImpl.isTransientInternal()) {
+                // touched, given a longer timeout or in use - check again later
+                index(expiry.id, Math.max(conversationImpl.getExpiryTime(), now));
+            }
+        }
+        return count;
+    }
+
+    private void index(String id, long time) {
+        Expiry expiry = new Expiry(id, time);
+        Expiry previous = expiriesById.put(id, expiry);
+        if (previous != null) {
+            expiries.remove(previous);
+        }
+        expiries.add(expiry);
+    }
+
+    /*
+     * The index is transient - it is rebuilt once a deserialized map is registered with a reaper.
+     */
+    private void initIndex() {
+        this.expiries = new ConcurrentSkipListSet<Expiry>();
+        this.expiriesById = new ConcurrentHashMap<String, Expiry>();
+        this.ended = new ConcurrentLinkedQueue<String>();
+        for (Map.Entry<String, ManagedConversation> entry : entrySet()) {
+            if (entry.getValue() instanceof ConversationImpl) {
+                ConversationImpl conversation = (ConversationImpl) entry.getValue();
+                if (conversation.isTransientInternal()) {
+                    ended.add(entry.getKey());
+                } else {
+                    index(entry.getKey(), conversation.getExpiryTime());
+                }
+            }
+        }
+    }
+
+    private static final class Expiry implements Comparable<Expiry> {
+
+        private final String id;
+
+        private final long time;
+
+        private Expiry(String id, long time) {
+            this.id = id;
+            this.time = time;
+        }
+
+        @Override
+        public int compareTo(Expiry other) {
+            int result = Long.compare(time, other.time);
+            return result != 0 ? result : id.compareTo(other.id);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Expiry)) {
+                return false;
+            }
+            Expiry other = (Expiry) obj;
+            return time == other.time && id.equals(other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * id.hashCode() + Long.hashCode(time);
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2008, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.conversation;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.context.ManagedConversation;
+import org.jboss.weld.logging.ConversationLogger;
+import org.jboss.weld.resources.spi.ScheduledExecutorServiceFactory;
+
+/**
+ * Periodically ends expired long-running conversations so that the expiry check does not have to be performed on the
+ * request thread. Ended conversations are destroyed during the next request of the session (or when the session is
+ * destroyed), just like conversations ended by the application.
+ * <p>
+ * A run only visits the conversations which expired, see {@link ConversationMap#endExpired(long)}.
+ * <p>
+ * The reaper only keeps weak references to the conversation maps and starts the periodic task lazily, once the first map
+ * is registered.
+ */
+public class ConversationReaper implements Service, Runnable {
+
+    private final ScheduledExecutorServiceFactory executorServiceFactory;
+
+    private final long interval;
+
+    private final Queue<WeakReference<ConversationMap>> maps;
+
+    private volatile ScheduledFuture<?> future;
+
+    /**
+     *
+     * @param executorServiceFactory
+     * @param interval the interval between two runs, in milliseconds
+     */
+    public ConversationReaper(ScheduledExecutorServiceFactory executorServiceFactory, long interval) {
+        this.executorServiceFactory = executorServiceFactory;
+        this.interval = interval;
+        this.maps = new ConcurrentLinkedQueue<WeakReference<ConversationMap>>();
+    }
+
+    /**
+     * Registers the given map. The map is ignored if it's already registered or if it's not a {@link ConversationMap},
+     * e.g. a map deserialized from a session created by a previous version.
+     *
+     * @param conversations
+     */
+    public void register(Map<String, ManagedConversation> conversations) {
+        if (conversations instanceof ConversationMap && ((ConversationMap) conversations).markReaped()) {
+            maps.add(new WeakReference<ConversationMap>((ConversationMap) conversations));
+            if (future == null) {
+                start();
+            }
+        }
+    }
+
+    private synchronized void start() {
+        if (future == null) {
+            future = executorServiceFactory.get().scheduleWithFixedDelay(this, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            long now = System.currentTimeMillis();
+            for (Iterator<WeakReference<ConversationMap>> iterator = maps.iterator(); iterator.hasNext();) {
+                ConversationMap conversations = iterator.next().get();
+                if (conversations == null) {
+                    iterator.remove();
+                    continue;
+                }
+                conversations.endExpired(now);
+            }
+        } catch (Exception e) {
+            // never let an exception cancel the periodic task
+            ConversationLogger.LOG.catchingDebug(e);
+        }
+    }
+
+    @Override
+    public synchronized void cleanup() {
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+        maps.clear();
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.conversation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+
+import org.jboss.weld.bootstrap.api.Service;
+
+/**
+ * Access statistics of the conversations of all the sessions, keyed by conversation id. An application obtains the statistics by
+ * injection:
+ *
+ * <pre>
+ * &#064;Inject
+ * ConversationStatistics statistics;
+ * </pre>
+ *
+ * <p>
+ * The long-running conversations are enumerated by {@link #getConversationIds()}. Since a conversation id is only unique within a
+ * session, several conversations of different sessions may share the same id. The conversations are held weakly so that the
+ * registry does not prevent the sessions from being garbage collected.
+ * </p>
+ *
+ * @see ConversationAccessStatistics
+ */
+public class ConversationStatistics implements Service {
+
+    private final ConversationAccessStatistics totals;
+
+    private final Map<ConversationImpl, Boolean> conversations;
+
+    public ConversationStatistics() {
+        this.totals = new ConversationAccessStatistics();
+        this.conversations = Collections.synchronizedMap(new WeakHashMap<ConversationImpl, Boolean>());
+    }
+
+    /**
+     * Called whenever a conversation becomes long-running in this JVM, i.e. when it's begun or deserialized.
+     *
+     * @param conversation
+     */
+    void register(ConversationImpl conversation) {
+        conversations.put(conversation, Boolean.TRUE);
+    }
+
+    /**
+     * The statistics of every conversation are also added to the totals.
+     *
+     * @return the aggregated statistics of all the conversations since the container started, including the transient and ended
+     *         conversations
+     */
+    public ConversationAccessStatistics getTotals() {
+        return totals;
+    }
+
+    /**
+     * @return the ids of the long-running conversations
+     */
+    public Set<String> getConversationIds() {
+        Set<String> ids = new TreeSet<String>();
+        for (ConversationImpl conversation : getLongRunningConversations()) {
+            ids.add(conversation.getIdInternal());
+        }
+        return ids;
+    }
+
+    /**
+     * @param id the conversation id
+     * @return the access statistics of the long-running conversations with the given id, an empty list if there is no such
+     *         conversation
+     */
+    public List<ConversationAccessStatistics> getAccessStatistics(String id) {
+        List<ConversationAccessStatistics> statistics = new ArrayList<ConversationAccessStatistics>();
+        for (ConversationImpl conversation : getLongRunningConversations()) {
+            if (id.equals(conversation.getIdInternal())) {
+                statistics.add(conversation.getAccessStatistics());
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * @param id the conversation id
+     * @return the estimated number of requests waiting to acquire a long-running conversation with the given id
+     */
+    public int getWaitingRequestCount(String id) {
+        int count = 0;
+        for (ConversationImpl conversation : getLongRunningConversations()) {
+            if (id.equals(conversation.getIdInternal())) {
+                count += conversation.getWaitingRequestCount();
+            }
+        }
+        return count;
+    }
+
+    private List<ConversationImpl> getLongRunningConversations() {
+        List<ConversationImpl> longRunning = new ArrayList<ConversationImpl>();
+        synchronized (conversations) {
+            for (ConversationImpl conversation : conversations.keySet()) {
+                // ended conversations are transient
+                if (conversation.getIdInternal() != null && !conversation.isTransientInternal()) {
+                    longRunning.add(conversation);
+                }
+            }
+        }
+        return longRunning;
+    }
+
+    @Override
+    public void cleanup() {
+        conversations.clear();
+    }
+
+}
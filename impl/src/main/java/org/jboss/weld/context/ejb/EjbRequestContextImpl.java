@@ -1,6 +1,9 @@
 package org.jboss.weld.context.ejb;
 
+import org.jboss.weld.SystemPropertiesConfiguration;
 import org.jboss.weld.context.AbstractBoundContext;
+import org.jboss.weld.context.beanstore.BeanStorePool;
+import org.jboss.weld.context.beanstore.BoundBeanStore;
 import org.jboss.weld.context.beanstore.NamingScheme;
 import org.jboss.weld.context.beanstore.SimpleNamingScheme;
 import org.jboss.weld.context.beanstore.ejb.InvocationContextBeanStore;
@@ -12,10 +15,12 @@ import java.lang.annotation.Annotation;
 public class EjbRequestContextImpl extends AbstractBoundContext<InvocationContext> implements EjbRequestContext {
 
     private final NamingScheme namingScheme;
+    private final BeanStorePool<InvocationContextBeanStore> beanStorePool;
 
     public EjbRequestContextImpl(String contextId) {
         super(contextId, false);
         this.namingScheme = new SimpleNamingScheme(EjbRequestContext.class.getName());
+        this.beanStorePool = new BeanStorePool<InvocationContextBeanStore>(SystemPropertiesConfiguration.INSTANCE.getRequestBeanStorePoolSize());
     }
 
     public Class<? extends Annotation> getScope() {
@@ -25,7 +30,27 @@ public class EjbRequestContextImpl extends AbstractBoundContext<InvocationContex
     public boolean associate(InvocationContext ctx) {
         if (getBeanStore() == null) {
             // Don't reassociate
-            setBeanStore(new InvocationContextBeanStore(namingScheme, ctx));
+            InvocationContextBeanStore beanStore = beanStorePool.acquire();
+            if (beanStore != null) {
+                beanStore.reset(ctx);
+            } else {
+                beanStore = new InvocationContextBeanStore(namingScheme, ctx);
+            }
+            setBeanStore(beanStore);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean dissociate(InvocationContext ctx) {
+        BoundBeanStore beanStore = getBeanStore();
+        if (super.dissociate(ctx)) {
+            if (beanStorePool.isEnabled() && beanStore instanceof InvocationContextBeanStore) {
+                ((InvocationContextBeanStore) beanStore).reset(null);
+                beanStorePool.release((InvocationContextBeanStore) beanStore);
+            }
             return true;
         } else {
             return false;
@@ -27,7 +27,10 @@ import java.lang.annotation.Annotation;
 import javax.enterprise.context.RequestScoped;
 import javax.servlet.http.HttpServletRequest;
 
+import org.jboss.weld.SystemPropertiesConfiguration;
 import org.jboss.weld.context.AbstractBoundContext;
+import org.jboss.weld.context.beanstore.BeanStorePool;
+import org.jboss.weld.context.beanstore.BoundBeanStore;
 import org.jboss.weld.context.beanstore.NamingScheme;
 import org.jboss.weld.context.beanstore.SimpleNamingScheme;
 import org.jboss.weld.context.beanstore.http.RequestBeanStore;
@@ -38,6 +41,7 @@ import org.jboss.weld.util.reflection.Reflections;
 public class HttpRequestContextImpl extends AbstractBoundContext<HttpServletRequest> implements HttpRequestContext {
 
     private final NamingScheme namingScheme;
+    private final BeanStorePool<RequestBeanStore> beanStorePool;
 
     /**
      * Constructor
@@ -45,6 +49,7 @@ public class HttpRequestContextImpl extends AbstractBoundContext<HttpServletRequ
     public HttpRequestContextImpl(String contextId) {
         super(contextId, false);
         this.namingScheme = new SimpleNamingScheme(HttpRequestContext.class.getName());
+        this.beanStorePool = new BeanStorePool<RequestBeanStore>(SystemPropertiesConfiguration.INSTANCE.getRequestBeanStorePoolSize());
     }
 
     public boolean associate(HttpServletRequest request) {
@@ -53,11 +58,40 @@ public class HttpRequestContextImpl extends AbstractBoundContext<HttpServletRequ
             ContextLogger.LOG.beanStoreLeakDuringAssociation(this.getClass().getName(), request);
         }
         // We always associate a new bean store to avoid possible leaks (security threats)
-        setBeanStore(new RequestBeanStore(request, namingScheme));
+        setBeanStore(createBeanStore(request));
         getBeanStore().attach();
         return true;
     }
 
+    /**
+     * Creates a new bean store for the given request or reuses a pooled one.
+     *
+     * @param request
+     * @return the bean store, not attached yet
+     */
+    protected RequestBeanStore createBeanStore(HttpServletRequest request) {
+        RequestBeanStore beanStore = beanStorePool.acquire();
+        if (beanStore != null) {
+            beanStore.reset(request);
+            return beanStore;
+        }
+        return new RequestBeanStore(request, namingScheme);
+    }
+
+    @Override
+    public boolean dissociate(HttpServletRequest request) {
+        BoundBeanStore beanStore = getBeanStore();
+        if (super.dissociate(request)) {
+            if (beanStorePool.isEnabled() && beanStore instanceof RequestBeanStore) {
+                ((RequestBeanStore) beanStore).reset(null);
+                beanStorePool.release((RequestBeanStore) beanStore);
+            }
+            return true;
+        } else {
+            return false;
+        }
+    }
+
     @Override
     public void activate() {
         super.activate();
@@ -2,13 +2,19 @@ package org.jboss.weld.context.http;
 
 import java.lang.annotation.Annotation;
 
+import javax.enterprise.context.ContextNotActiveException;
 import javax.enterprise.context.Conversation;
 import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.spi.Contextual;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 
 import org.jboss.weld.Container;
+import org.jboss.weld.SystemPropertiesConfiguration;
 import org.jboss.weld.context.AbstractBoundContext;
+import org.jboss.weld.context.DirtyTrackingContext;
+import org.jboss.weld.context.beanstore.AttributeBeanStore;
+import org.jboss.weld.context.beanstore.BoundBeanStore;
 import org.jboss.weld.context.beanstore.NamingScheme;
 import org.jboss.weld.context.beanstore.SimpleBeanIdentifierIndexNamingScheme;
 import org.jboss.weld.context.beanstore.http.EagerSessionBeanStore;
@@ -16,18 +22,24 @@ import org.jboss.weld.context.beanstore.http.LazySessionBeanStore;
 import org.jboss.weld.logging.ContextLogger;
 import org.jboss.weld.serialization.BeanIdentifierIndex;
 
-public class HttpSessionContextImpl extends AbstractBoundContext<HttpServletRequest> implements HttpSessionContext {
+public class HttpSessionContextImpl extends AbstractBoundContext<HttpServletRequest> implements HttpSessionContext, DirtyTrackingContext {
 
     // There is no need to store FQCN in a session key
     static final String NAMING_SCHEME_PREFIX = "WELD_S";
 
     private final NamingScheme namingScheme;
     private final String contextId;
+    private final boolean dirtyTracking;
 
     public HttpSessionContextImpl(String contextId, BeanIdentifierIndex index) {
+        this(contextId, index, SystemPropertiesConfiguration.INSTANCE.isSessionDirtyTrackingEnabled());
+    }
+
+    public HttpSessionContextImpl(String contextId, BeanIdentifierIndex index, boolean dirtyTracking) {
         super(contextId, true);
         this.namingScheme = new SimpleBeanIdentifierIndexNamingScheme(NAMING_SCHEME_PREFIX, index);
         this.contextId = contextId;
+        this.dirtyTracking = dirtyTracking;
     }
 
     public boolean associate(HttpServletRequest request) {
@@ -36,10 +48,21 @@ public class HttpSessionContextImpl extends AbstractBoundContext<HttpServletRequ
             ContextLogger.LOG.beanStoreLeakDuringAssociation(this.getClass().getName(), request);
         }
         // We always associate a new bean store to avoid possible leaks (security threats)
-        setBeanStore(new LazySessionBeanStore(request, namingScheme));
+        setBeanStore(new LazySessionBeanStore(request, namingScheme, dirtyTracking));
         return true;
     }
 
+    @Override
+    public void markModified(Contextual<?> contextual) {
+        if (!isActive()) {
+            throw new ContextNotActiveException();
+        }
+        BoundBeanStore beanStore = getBeanStore();
+        if (beanStore instanceof AttributeBeanStore) {
+            ((AttributeBeanStore) beanStore).markModified(getId(contextual));
+        }
+    }
+
     public boolean destroy(HttpSession session) {
         if (getBeanStore() == null) {
             try {
@@ -62,6 +85,50 @@ public class HttpSessionContextImpl extends AbstractBoundContext<HttpServletRequ
         }
     }
 
+    /**
+     * Same as {@link #destroy(HttpSession)} except that if the session is destroyed outside of a request, the session scoped
+     * instances are only loaded from the session and the returned task destroys them. Conversations are still destroyed
+     * immediately as their state cannot be read once the session is invalidated. The task does not access the session and
+     * may be executed by any thread.
+     *
+     * @param session the session being destroyed
+     * @return the task destroying the session scoped instances, or <code>null</code> if the session is destroyed within a request
+     *         in which case the instances are destroyed at the end of the request
+     */
+    public Runnable detachForDestruction(HttpSession session) {
+        if (getBeanStore() == null) {
+            try {
+                HttpConversationContext conversationContext = getConversationContext();
+                final BoundBeanStore beanStore = new EagerSessionBeanStore(namingScheme, session);
+                setBeanStore(beanStore);
+                // attaching loads all the instances from the session
+                activate();
+                conversationContext.destroy(session);
+                beanStore.detach();
+                setBeanStore(null);
+                return () -> destroyDetached(beanStore);
+            } finally {
+                cleanup();
+            }
+        } else {
+            destroy(session);
+            return null;
+        }
+    }
+
+    private void destroyDetached(BoundBeanStore beanStore) {
+        try {
+            setBeanStore(beanStore);
+            setActive(true);
+            invalidate();
+            // the bean store is already detached so that the instances are only removed from the bean store
+            deactivate();
+            setBeanStore(null);
+        } finally {
+            cleanup();
+        }
+    }
+
     public Class<? extends Annotation> getScope() {
         return SessionScoped.class;
     }
@@ -116,7 +116,8 @@ public class LazyHttpConversationContextImpl extends HttpConversationContextImpl
 
     @Override
     protected void checkContextInitialized() {
-        if (!isInitialized()) {
+        // the context is not associated if active on a thread executing a task submitted with a ContextSnapshot
+        if (!isInitialized() && isAssociated()) {
             HttpServletRequest request = getRequest();
             String cid = ConversationContextActivator.determineConversationId(request, getParameterName());
             initialize(cid);
@@ -0,0 +1,106 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.http;
+
+import javax.enterprise.context.RequestScoped;
+import javax.servlet.http.HttpServletRequest;
+
+import org.jboss.weld.context.beanstore.http.RequestBeanStore;
+import org.jboss.weld.context.cache.RequestScopedCache;
+import org.jboss.weld.logging.ContextLogger;
+
+/**
+ * An implementation of {@link HttpRequestContext} that is capable of lazy initialization. The context is associated with a request and the active flag is set
+ * to true in the beginning of the request processing but the {@link RequestBeanStore} is not created (and the request attributes are not read) until the
+ * context is first accessed. If no {@link RequestScoped} bean is used during the request, deactivation and dissociation do not touch the request at all.
+ *
+ * @see org.jboss.weld.SystemPropertiesConfiguration#isLazyRequestContextEnabled()
+ */
+public class LazyHttpRequestContextImpl extends HttpRequestContextImpl {
+
+    private final ThreadLocal<HttpServletRequest> request;
+
+    public LazyHttpRequestContextImpl(String contextId) {
+        super(contextId);
+        this.request = new ThreadLocal<HttpServletRequest>();
+    }
+
+    @Override
+    public boolean associate(HttpServletRequest request) {
+        // At this point the bean store should never be set - see also HttpContextLifecycle#nestedInvocationGuard
+        if (getBeanStore() != null) {
+            ContextLogger.LOG.beanStoreLeakDuringAssociation(this.getClass().getName(), request);
+            setBeanStore(null);
+        }
+        this.request.set(request);
+        return true;
+    }
+
+    @Override
+    public void activate() {
+        setActive(true);
+    }
+
+    public boolean isInitialized() {
+        return getBeanStore() != null;
+    }
+
+    @Override
+    protected void checkContextInitialized() {
+        if (!isInitialized()) {
+            HttpServletRequest request = this.request.get();
+            if (request != null) {
+                setBeanStore(createBeanStore(request));
+                getBeanStore().attach();
+                RequestScopedCache.beginRequest();
+            }
+        }
+    }
+
+    @Override
+    public void deactivate() {
+        if (isInitialized()) {
+            super.deactivate();
+        } else {
+            // Nothing was stored in the context - only deactivate it
+            setActive(false);
+        }
+    }
+
+    @Override
+    public boolean dissociate(HttpServletRequest request) {
+        if (isInitialized()) {
+            return super.dissociate(request);
+        }
+        if (this.request.get() != null) {
+            cleanup();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void cleanup() {
+        super.cleanup();
+        request.remove();
+    }
+
+    @Override
+    public HttpServletRequest getHttpServletRequest() {
+        return request.get();
+    }
+}
@@ -28,18 +28,13 @@ import javax.enterprise.context.ContextNotActiveException;
 import javax.enterprise.context.Dependent;
 import javax.enterprise.context.spi.Contextual;
 import javax.enterprise.context.spi.CreationalContext;
-import javax.enterprise.inject.spi.Decorator;
-import javax.enterprise.inject.spi.Interceptor;
 
-import org.jboss.weld.bean.AbstractProducerBean;
-import org.jboss.weld.bean.ManagedBean;
+import org.jboss.weld.bean.CommonBean;
 import org.jboss.weld.context.DependentContext;
 import org.jboss.weld.context.SerializableContextualInstanceImpl;
 import org.jboss.weld.context.WeldCreationalContext;
 import org.jboss.weld.context.api.ContextualInstance;
 import org.jboss.weld.exceptions.UnsupportedOperationException;
-import org.jboss.weld.injection.producer.AbstractMemberProducer;
-import org.jboss.weld.injection.producer.BasicInjectionTarget;
 import org.jboss.weld.serialization.spi.ContextualStore;
 
 /**
@@ -78,29 +73,10 @@ public class DependentContextImpl implements DependentContext {
 
     protected <T> void addDependentInstance(T instance, Contextual<T> contextual, WeldCreationalContext<T> creationalContext) {
         // by this we are making sure that the dependent instance has no transitive dependency with @PreDestroy / disposal method
-        if (creationalContext.getDependentInstances().isEmpty()) {
-            if (contextual instanceof ManagedBean<?> && ! isInterceptorOrDecorator(contextual)) {
-                ManagedBean<?> managedBean = (ManagedBean<?>) contextual;
-                if (managedBean.getProducer() instanceof BasicInjectionTarget<?>) {
-                    BasicInjectionTarget<?> injectionTarget = (BasicInjectionTarget<?>) managedBean.getProducer();
-                    if (!injectionTarget.getLifecycleCallbackInvoker().hasPreDestroyMethods() && !injectionTarget.hasInterceptors()) {
-                        // there is no @PreDestroy callback to call when destroying this dependent instance
-                        // therefore, we do not need to keep the reference
-                        return;
-                    }
-                }
-            }
-            if (contextual instanceof AbstractProducerBean<?, ?, ?>) {
-                AbstractProducerBean<?, ?, ?> producerBean = (AbstractProducerBean<?, ?, ?>) contextual;
-                if (producerBean.getProducer() instanceof AbstractMemberProducer<?, ?>) {
-                    AbstractMemberProducer<?, ?> producer = (AbstractMemberProducer<?, ?>) producerBean.getProducer();
-                    if (producer.getDisposalMethod() == null) {
-                        // there is no disposal method to call when destroying this dependent instance
-                        // therefore, we do not need to keep the reference
-                        return;
-                    }
-                }
-            }
+        if (!creationalContext.hasDependencies() && contextual instanceof CommonBean<?> && !((CommonBean<?>) contextual).isDestructionRequired()) {
+            // there is no @PreDestroy callback, interceptor or disposal method to call when destroying this dependent instance
+            // therefore, we do not need to keep the reference
+            return;
         }
 
         // Only add the dependent instance if none of the conditions above is met
@@ -108,10 +84,6 @@ public class DependentContextImpl implements DependentContext {
         creationalContext.addDependentInstance(beanInstance);
     }
 
-    private boolean isInterceptorOrDecorator(Contextual<?> contextual) {
-        return contextual instanceof Interceptor<?> || contextual instanceof Decorator<?>;
-    }
-
     public <T> T get(Contextual<T> contextual) {
         return get(contextual, null);
     }
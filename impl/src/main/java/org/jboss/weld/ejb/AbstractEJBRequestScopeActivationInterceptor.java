@@ -20,6 +20,8 @@ import java.io.Serializable;
 
 import javax.interceptor.InvocationContext;
 
+import org.jboss.weld.Container;
+import org.jboss.weld.ContainerState;
 import org.jboss.weld.context.RequestContext;
 import org.jboss.weld.context.ejb.EjbRequestContext;
 import org.jboss.weld.literal.DestroyedLiteral;
@@ -40,6 +42,11 @@ import org.jboss.weld.manager.BeanManagerImpl;
 public abstract class AbstractEJBRequestScopeActivationInterceptor implements Serializable {
     private static final long serialVersionUID = 7327757031821596782L;
 
+    private transient volatile EJBRequestScopeActivationSupport activationSupport;
+
+    // Set once the result of the support lookup is final, i.e. also if the support is not available
+    private transient volatile boolean activationSupportResolved;
+
     public Object aroundInvoke(InvocationContext invocation) throws Exception {
 
         if (isRequestContextActive()) {
@@ -51,7 +58,7 @@ public abstract class AbstractEJBRequestScopeActivationInterceptor implements Se
                 requestContext.activate();
                 try {
                     // An event with qualifier @Initialized(RequestScoped.class) is fired when the request context is initialized
-                    getBeanManager().getGlobalLenientObserverNotifier().fireEvent(new Object(), InitializedLiteral.REQUEST);
+                    fireRequestContextInitialized();
                     return invocation.proceed();
                 } finally {
                     requestContext.invalidate();
@@ -60,12 +67,16 @@ public abstract class AbstractEJBRequestScopeActivationInterceptor implements Se
             } finally {
                 requestContext.dissociate(invocation);
                 // An event with qualifier @Destroyed(RequestScoped.class) when the request context is destroyed
-                getBeanManager().getGlobalLenientObserverNotifier().fireEvent(new Object(), DestroyedLiteral.REQUEST);
+                fireRequestContextDestroyed();
             }
         }
     }
 
     protected boolean isRequestContextActive() {
+        EJBRequestScopeActivationSupport support = getActivationSupport();
+        if (support != null) {
+            return support.isRequestContextActive();
+        }
         for (RequestContext requestContext : getBeanManager().instance().select(RequestContext.class)) {
             if (requestContext.isActive()) {
                 return true;
@@ -75,9 +86,48 @@ public abstract class AbstractEJBRequestScopeActivationInterceptor implements Se
     }
 
     protected EjbRequestContext getEjbRequestContext() {
+        EJBRequestScopeActivationSupport support = getActivationSupport();
+        if (support != null) {
+            return support.getEjbRequestContext();
+        }
         return getBeanManager().instance().select(EjbRequestContext.class).get();
     }
 
+    private void fireRequestContextInitialized() {
+        EJBRequestScopeActivationSupport support = getActivationSupport();
+        if (support != null) {
+            support.fireRequestContextInitialized(new Object());
+        } else {
+            getBeanManager().getGlobalLenientObserverNotifier().fireEvent(new Object(), InitializedLiteral.REQUEST);
+        }
+    }
+
+    private void fireRequestContextDestroyed() {
+        EJBRequestScopeActivationSupport support = getActivationSupport();
+        if (support != null) {
+            support.fireRequestContextDestroyed(new Object());
+        } else {
+            getBeanManager().getGlobalLenientObserverNotifier().fireEvent(new Object(), DestroyedLiteral.REQUEST);
+        }
+    }
+
+    /**
+     * The support is only available once the deployment is initialized. The result of the lookup is cached once the support is
+     * found or the container is initialized, i.e. a missing support is not looked up again on every invocation.
+     */
+    private EJBRequestScopeActivationSupport getActivationSupport() {
+        if (activationSupportResolved) {
+            return activationSupport;
+        }
+        BeanManagerImpl manager = getBeanManager();
+        EJBRequestScopeActivationSupport support = manager.getServices().get(EJBRequestScopeActivationSupport.class);
+        if (support != null || Container.instance(manager).getState() == ContainerState.INITIALIZED) {
+            this.activationSupport = support;
+            this.activationSupportResolved = true;
+        }
+        return support;
+    }
+
     protected abstract BeanManagerImpl getBeanManager();
 }
 
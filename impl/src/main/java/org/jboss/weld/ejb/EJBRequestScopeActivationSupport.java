@@ -0,0 +1,92 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2008, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.ejb;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.context.RequestContext;
+import org.jboss.weld.context.ejb.EjbRequestContext;
+import org.jboss.weld.event.FastEvent;
+import org.jboss.weld.literal.DestroyedLiteral;
+import org.jboss.weld.literal.InitializedLiteral;
+import org.jboss.weld.manager.BeanManagerImpl;
+
+/**
+ * Holds the request contexts and the request context lifecycle events resolved once the deployment is validated so that
+ * {@link AbstractEJBRequestScopeActivationInterceptor} does not need to perform any lookup during an EJB invocation.
+ */
+public class EJBRequestScopeActivationSupport implements Service {
+
+    private final RequestContext[] requestContexts;
+    private final EjbRequestContext ejbRequestContext;
+    private final FastEvent<Object> requestInitializedEvent;
+    private final FastEvent<Object> requestDestroyedEvent;
+
+    public EJBRequestScopeActivationSupport(BeanManagerImpl deploymentManager) {
+        this(deploymentManager, deploymentManager.instance().select(RequestContext.class), deploymentManager.instance().select(EjbRequestContext.class).get());
+    }
+
+    /**
+     *
+     * @param deploymentManager
+     * @param requestContexts the request contexts checked by {@link #isRequestContextActive()}
+     * @param ejbRequestContext
+     */
+    public EJBRequestScopeActivationSupport(BeanManagerImpl deploymentManager, Iterable<RequestContext> requestContexts, EjbRequestContext ejbRequestContext) {
+        List<RequestContext> contexts = new ArrayList<RequestContext>();
+        for (RequestContext requestContext : requestContexts) {
+            contexts.add(requestContext);
+        }
+        this.requestContexts = contexts.toArray(new RequestContext[contexts.size()]);
+        this.ejbRequestContext = ejbRequestContext;
+        this.requestInitializedEvent = FastEvent.of(Object.class, deploymentManager, deploymentManager.getGlobalLenientObserverNotifier(),
+                InitializedLiteral.REQUEST);
+        this.requestDestroyedEvent = FastEvent.of(Object.class, deploymentManager, deploymentManager.getGlobalLenientObserverNotifier(),
+                DestroyedLiteral.REQUEST);
+    }
+
+    /**
+     * @return <code>true</code> if any request context is active on the current thread
+     */
+    public boolean isRequestContextActive() {
+        for (RequestContext requestContext : requestContexts) {
+            if (requestContext.isActive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public EjbRequestContext getEjbRequestContext() {
+        return ejbRequestContext;
+    }
+
+    public void fireRequestContextInitialized(Object payload) {
+        requestInitializedEvent.fire(payload);
+    }
+
+    public void fireRequestContextDestroyed(Object payload) {
+        requestDestroyedEvent.fire(payload);
+    }
+
+    @Override
+    public void cleanup() {
+    }
+
+}
@@ -34,7 +34,10 @@ import org.jboss.weld.Container;
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedMethod;
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedParameter;
 import org.jboss.weld.bean.RIBean;
+import org.jboss.weld.bootstrap.ThreadSafeExtension;
 import org.jboss.weld.bootstrap.events.NotificationListener;
+import org.jboss.weld.bootstrap.timeline.BootstrapTimeline;
+import org.jboss.weld.bootstrap.timeline.Measurement;
 import org.jboss.weld.injection.MethodInjectionPoint;
 import org.jboss.weld.injection.InjectionPointFactory;
 import org.jboss.weld.logging.EventLogger;
@@ -52,13 +55,20 @@ import org.jboss.weld.util.reflection.Reflections;
 public class ExtensionObserverMethodImpl<T, X> extends ObserverMethodImpl<T, X> {
 
     private final Container containerLifecycleEventDeliveryLock;
+    private final boolean threadSafe;
     private final Set<Class<? extends Annotation>> requiredTypeAnnotations;
     private volatile Set<Class<? extends Annotation>> requiredScopeTypeAnnotations;
+    private final BootstrapTimeline timeline;
+    private final String timelineName;
 
     protected ExtensionObserverMethodImpl(EnhancedAnnotatedMethod<T, ? super X> observer, RIBean<X> declaringBean, BeanManagerImpl manager) {
         super(observer, declaringBean, manager);
         this.containerLifecycleEventDeliveryLock = Container.instance(manager);
+        this.threadSafe = declaringBean.getBeanClass().isAnnotationPresent(ThreadSafeExtension.class);
         this.requiredTypeAnnotations = initRequiredTypeAnnotations(observer);
+        this.timeline = manager.getServices().get(BootstrapTimeline.class);
+        this.timelineName = timeline != null ? observer.getDeclaringType().getJavaClass().getName() + "." + observer.getName() + "("
+                + Reflections.getRawType(getObservedType()).getSimpleName() + ")" : null;
     }
 
     protected Set<Class<? extends Annotation>> initRequiredTypeAnnotations(EnhancedAnnotatedMethod<T, ? super X> observer) {
@@ -114,13 +124,35 @@ public class ExtensionObserverMethodImpl<T, X> extends ObserverMethodImpl<T, X>
         return getDeclaringBean().create(null);
     }
 
+    /*
+     * Observer methods of extensions which are not thread-safe are notified one at a time.
+     */
     @Override
     protected void sendEvent(T event, Object receiver, CreationalContext<?> creationalContext) {
-        synchronized (containerLifecycleEventDeliveryLock) {
-            super.sendEvent(event, receiver, creationalContext);
+        if (threadSafe) {
+            doSendEvent(event, receiver, creationalContext);
+        } else {
+            synchronized (containerLifecycleEventDeliveryLock) {
+                doSendEvent(event, receiver, creationalContext);
+            }
         }
     }
 
+    private void doSendEvent(T event, Object receiver, CreationalContext<?> creationalContext) {
+        Measurement measurement = timeline != null ? timeline.start() : null;
+        super.sendEvent(event, receiver, creationalContext);
+        if (measurement != null) {
+            timeline.recordExtensionObserver(timelineName, measurement);
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the declaring extension is annotated with {@link ThreadSafeExtension}, <code>false</code> otherwise
+     */
+    public boolean isThreadSafe() {
+        return threadSafe;
+    }
+
     public Collection<Class<? extends Annotation>> getRequiredAnnotations() {
         return requiredTypeAnnotations;
     }
@@ -0,0 +1,70 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.executor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.jboss.weld.manager.api.ExecutorServices;
+import org.jboss.weld.manager.api.ExecutorServices.TaskFactory;
+import org.jboss.weld.util.collections.ImmutableList;
+
+/**
+ * Combines the tasks of multiple independent factories so that they are submitted at once. There is no barrier between the individual factories and
+ * threads which finished the tasks of one factory may immediately pick up the tasks of another one.
+ *
+ * The tasks are created in the order of the factories. Since {@link ExecutorServices#invokeAllAndCheckForExceptions(TaskFactory)} rethrows the exception of
+ * the first failed task, a failure of an earlier factory takes precedence over a failure of a later one - just like if the factories were executed one
+ * after another.
+ *
+ * Per-item tasks are created by the factories which support them while the other factories create their usual tasks.
+ *
+ * @param <T> the result type
+ */
+public class CompositeTaskFactory<T> implements PerItemTaskFactory<T> {
+
+    private final List<TaskFactory<T>> factories;
+
+    @SafeVarargs
+    public CompositeTaskFactory(TaskFactory<T>... factories) {
+        this.factories = ImmutableList.copyOf(factories);
+    }
+
+    @Override
+    public List<Callable<T>> createTasks(int threadPoolSize) {
+        List<Callable<T>> tasks = new ArrayList<Callable<T>>();
+        for (TaskFactory<T> factory : factories) {
+            tasks.addAll(factory.createTasks(threadPoolSize));
+        }
+        return tasks;
+    }
+
+    @Override
+    public List<Callable<T>> createPerItemTasks(int threadPoolSize) {
+        List<Callable<T>> tasks = new ArrayList<Callable<T>>();
+        for (TaskFactory<T> factory : factories) {
+            if (factory instanceof PerItemTaskFactory) {
+                tasks.addAll(((PerItemTaskFactory<T>) factory).createPerItemTasks(threadPoolSize));
+            } else {
+                tasks.addAll(factory.createTasks(threadPoolSize));
+            }
+        }
+        return tasks;
+    }
+
+}
@@ -71,6 +71,7 @@ public class ExecutorServicesFactory {
             case NONE: return null;
             case SINGLE_THREAD: return new SingleThreadExecutorServices();
             case FIXED_TIMEOUT: return new TimingOutFixedThreadPoolExecutorServices(threadPoolSize, threadPoolKeepAliveTime);
+            case FORK_JOIN: return new ForkJoinPoolExecutorServices(threadPoolSize);
             default: return new FixedThreadPoolExecutorServices(threadPoolSize);
         }
     }
@@ -140,6 +141,6 @@ public class ExecutorServicesFactory {
      * @author Martin Kouba
      */
     public enum ThreadPoolType {
-        FIXED, FIXED_TIMEOUT, NONE, SINGLE_THREAD
+        FIXED, FIXED_TIMEOUT, FORK_JOIN, NONE, SINGLE_THREAD
     }
 }
@@ -0,0 +1,119 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.executor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.weld.exceptions.DeploymentException;
+import org.jboss.weld.logging.BootstrapLogger;
+
+/**
+ * Implementation of {@link org.jboss.weld.manager.api.ExecutorServices} that uses a work-stealing {@link ForkJoinPool}. A {@link PerItemTaskFactory}
+ * submits a separate task for each item so that idle workers steal the remaining items from busy ones, including the items of independent bootstrap
+ * phases submitted together.
+ */
+public class ForkJoinPoolExecutorServices extends AbstractExecutorServices {
+
+    private final int threadPoolSize;
+
+    private final ForkJoinPool executor;
+
+    public ForkJoinPoolExecutorServices(int threadPoolSize) {
+        this.threadPoolSize = threadPoolSize;
+        this.executor = new ForkJoinPool(threadPoolSize, new WorkerThreadFactory(), null, false);
+        BootstrapLogger.LOG.threadsInUse(threadPoolSize);
+    }
+
+    @Override
+    public <T> List<Future<T>> invokeAllAndCheckForExceptions(TaskFactory<T> factory) {
+        if (factory instanceof PerItemTaskFactory) {
+            return invokeAllAndCheckForExceptions(((PerItemTaskFactory<T>) factory).createPerItemTasks(threadPoolSize));
+        }
+        return super.invokeAllAndCheckForExceptions(factory);
+    }
+
+    /**
+     * A {@link java.util.concurrent.ForkJoinTask} may rethrow a new exception which wraps the one thrown by the task. The tasks are therefore
+     * wrapped in a {@link FutureTask} which keeps the original exception, e.g. a definition error with its message.
+     */
+    @Override
+    public <T> List<Future<T>> invokeAllAndCheckForExceptions(Collection<? extends Callable<T>> tasks) {
+        List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+        for (Callable<T> task : tasks) {
+            FutureTask<T> future = new FutureTask<T>(task);
+            futures.add(future);
+            executor.execute(future);
+        }
+        // wait for all the tasks like invokeAll() does
+        for (Future<T> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                for (Future<T> f : futures) {
+                    f.cancel(true);
+                }
+                Thread.currentThread().interrupt();
+                throw new DeploymentException(e);
+            } catch (ExecutionException ignored) {
+                // reported below
+            }
+        }
+        return checkForExceptions(futures);
+    }
+
+    @Override
+    public ExecutorService getTaskExecutor() {
+        return executor;
+    }
+
+    @Override
+    protected int getThreadPoolSize() {
+        return threadPoolSize;
+    }
+
+    @Override
+    public String toString() {
+        return "ForkJoinPoolExecutorServices [threadPoolSize=" + threadPoolSize + "]";
+    }
+
+    /**
+     * Creates daemon worker threads named consistently with the other thread pools.
+     */
+    private static class WorkerThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread thread = new ForkJoinWorkerThread(pool) {
+            };
+            thread.setName("weld-worker-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -16,26 +16,27 @@
  */
 package org.jboss.weld.executor;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
-import org.jboss.weld.manager.api.ExecutorServices;
 import org.jboss.weld.util.collections.Iterables;
 
 /**
  * Used for decomposition of loops in which independent tasks are processed sequentially.
  *
  * Based on the size of a thread pool, the factory creates an equal number of workers. Each worker iterates on a shared
- * concurrent queue. The queue is created from the source items (iterable).
+ * concurrent queue. The queue is created from the source items (iterable). Alternatively, {@link #createPerItemTasks(int)} creates
+ * a task for each item which a work-stealing thread pool can balance.
  *
  * @author Jozef Hartinger
  *
  * @param T the type of processed items
  */
-public abstract class IterativeWorkerTaskFactory<T> implements ExecutorServices.TaskFactory<Void> {
+public abstract class IterativeWorkerTaskFactory<T> implements PerItemTaskFactory<Void> {
 
     private final Queue<T> queue;
 
@@ -66,14 +67,36 @@ public abstract class IterativeWorkerTaskFactory<T> implements ExecutorServices.
         return tasks;
     }
 
+    @Override
+    public List<Callable<Void>> createPerItemTasks(int threadPoolSize) {
+        final int size = queue.size();
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(new Callable<Void>() {
+
+                @Override
+                public Void call() throws Exception {
+                    T item = queue.poll();
+                    if (item != null) {
+                        init();
+                        doWork(item);
+                        cleanup();
+                    }
+                    return null;
+                }
+            });
+        }
+        return tasks;
+    }
+
     /**
-     * Called before the compilation begins.
+     * Called before the compilation begins. Per-item tasks call this method for each item.
      */
     protected void init() {
     }
 
     /**
-     * Called after the computation finishes.
+     * Called after the computation finishes. Per-item tasks call this method for each item.
      */
     protected void cleanup() {
     }
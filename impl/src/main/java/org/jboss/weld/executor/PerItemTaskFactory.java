@@ -0,0 +1,39 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.executor;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.jboss.weld.manager.api.ExecutorServices;
+
+/**
+ * A {@link ExecutorServices.TaskFactory} which is also able to create a separate task for each processed item. A work-stealing
+ * thread pool balances such fine-grained tasks across its workers, whereas a worker created by
+ * {@link #createTasks(int)} processes items until the shared queue is drained and cannot be split.
+ *
+ * @param <T> the result type
+ */
+public interface PerItemTaskFactory<T> extends ExecutorServices.TaskFactory<T> {
+
+    /**
+     * @param threadPoolSize the size of the thread pool, used for the parts of the work which cannot be split per item
+     * @return the tasks
+     */
+    List<Callable<T>> createPerItemTasks(int threadPoolSize);
+
+}
@@ -16,6 +16,9 @@
  */
 package org.jboss.weld.injection.producer;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.util.List;
@@ -29,11 +32,14 @@ import org.jboss.weld.interceptor.util.InterceptionUtils;
 import org.jboss.weld.logging.BeanLogger;
 import org.jboss.weld.security.GetAccessibleCopyOfMember;
 import org.jboss.weld.util.BeanMethods;
-import org.jboss.weld.util.collections.ImmutableList;
 
 /**
  * If the component is not intercepted this implementation takes care of invoking its lifecycle callback methods. If the
  * component is interception, {@link PostConstruct} / {@link PreDestroy} invocation is delegated to the intercepting proxy.
+ * <p>
+ * The callback methods of the whole class hierarchy are compiled into a single {@link MethodHandle} when the invoker is
+ * created so that no reflection is involved when an instance is created or destroyed. If there are no callback methods of
+ * the given kind the invocation is skipped altogether.
  *
  * @author Jozef Hartinger
  *
@@ -41,20 +47,57 @@ import org.jboss.weld.util.collections.ImmutableList;
  */
 public class DefaultLifecycleCallbackInvoker<T> implements LifecycleCallbackInvoker<T> {
 
+    private static final MethodType CALLBACK_TYPE = MethodType.methodType(void.class, Object.class);
+    private static final MethodHandle INVOCATION_ERROR_HANDLER;
+
+    static {
+        try {
+            INVOCATION_ERROR_HANDLER = MethodHandles.lookup().findStatic(DefaultLifecycleCallbackInvoker.class, "invocationError",
+                    MethodType.methodType(void.class, Method.class, Throwable.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     public static <T> DefaultLifecycleCallbackInvoker<T> of(EnhancedAnnotatedType<T> type) {
         return new DefaultLifecycleCallbackInvoker<T>(type);
     }
 
-    private final List<Method> accessiblePostConstructMethods;
-    private final List<Method> accessiblePreDestroyMethods;
+    private final MethodHandle postConstructCallbacks;
+    private final MethodHandle preDestroyCallbacks;
 
     public DefaultLifecycleCallbackInvoker(EnhancedAnnotatedType<T> type) {
-        this.accessiblePostConstructMethods = initMethodList(BeanMethods.getPostConstructMethods(type));
-        this.accessiblePreDestroyMethods = initMethodList(BeanMethods.getPreDestroyMethods(type));
+        this.postConstructCallbacks = compile(BeanMethods.getPostConstructMethods(type));
+        this.preDestroyCallbacks = compile(BeanMethods.getPreDestroyMethods(type));
+    }
+
+    /**
+     * Composes the given callback methods into a single handle which invokes them in the given order. Returns null if there
+     * are no callback methods.
+     */
+    private static MethodHandle compile(List<? extends AnnotatedMethod<?>> methods) {
+        MethodHandle result = null;
+        // fold from the last callback backwards so that the superclass callbacks are invoked first
+        for (int i = methods.size() - 1; i >= 0; i--) {
+            MethodHandle callback = toMethodHandle(methods.get(i).getJavaMember());
+            result = (result == null) ? callback : MethodHandles.foldArguments(result, callback);
+        }
+        return result;
+    }
+
+    private static MethodHandle toMethodHandle(Method javaMethod) {
+        Method method = AccessController.doPrivileged(new GetAccessibleCopyOfMember<Method>(javaMethod));
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method).asType(CALLBACK_TYPE);
+            return MethodHandles.catchException(handle, Throwable.class, MethodHandles.insertArguments(INVOCATION_ERROR_HANDLER, 0, method));
+        } catch (IllegalAccessException e) {
+            throw BeanLogger.LOG.invocationError(method, method.getDeclaringClass(), e);
+        }
     }
 
-    private List<Method> initMethodList(List<? extends AnnotatedMethod<?>> methods) {
-        return methods.stream().map((method) -> AccessController.doPrivileged(new GetAccessibleCopyOfMember<Method>(method.getJavaMember()))).collect(ImmutableList.collector());
+    @SuppressWarnings("unused")
+    private static void invocationError(Method method, Throwable cause, Object instance) {
+        throw BeanLogger.LOG.invocationError(method, instance, cause);
     }
 
     @Override
@@ -62,8 +105,8 @@ public class DefaultLifecycleCallbackInvoker<T> implements LifecycleCallbackInvo
         // this may be null for NonProducibleInjectionTarget
         if (instantiator != null && instantiator.hasInterceptorSupport()) {
             InterceptionUtils.executePostConstruct(instance);
-        } else {
-            invokeMethods(accessiblePostConstructMethods, instance);
+        } else if (postConstructCallbacks != null) {
+            invoke(postConstructCallbacks, instance);
         }
     }
 
@@ -72,28 +115,31 @@ public class DefaultLifecycleCallbackInvoker<T> implements LifecycleCallbackInvo
         // this may be null for NonProducibleInjectionTarget
         if (instantiator != null && instantiator.hasInterceptorSupport()) {
             InterceptionUtils.executePredestroy(instance);
-        } else {
-            invokeMethods(accessiblePreDestroyMethods, instance);
+        } else if (preDestroyCallbacks != null) {
+            invoke(preDestroyCallbacks, instance);
         }
     }
 
-    private void invokeMethods(List<Method> methods, T instance) {
-        for (Method method : methods) {
-            try {
-                method.invoke(instance);
-            } catch (Exception e) {
-                throw BeanLogger.LOG.invocationError(method, instance, e);
-            }
+    private static void invoke(MethodHandle callbacks, Object instance) {
+        try {
+            callbacks.invokeExact(instance);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // not reachable - every callback is guarded by the invocation error handler
+            throw new IllegalStateException(e);
         }
     }
 
     @Override
     public boolean hasPreDestroyMethods() {
-        return !accessiblePreDestroyMethods.isEmpty();
+        return preDestroyCallbacks != null;
     }
 
     @Override
     public boolean hasPostConstructMethods() {
-        return !accessiblePostConstructMethods.isEmpty();
+        return postConstructCallbacks != null;
     }
-}
\ No newline at end of file
+}
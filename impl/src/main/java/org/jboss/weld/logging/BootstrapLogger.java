@@ -190,4 +190,23 @@ public interface BootstrapLogger extends WeldLogger {
 
     @Message(id = 144, value = "CDI API version mismatch. CDI 1.0 API detected on classpath. Weld requires version 1.1 or better.")
     IllegalStateException cdiApiVersionMismatch();
-}
\ No newline at end of file
+
+    @LogMessage(level = Logger.Level.INFO)
+    @Message(id = 145, value = "Bootstrap timeline written to {0}", format = Format.MESSAGE_FORMAT)
+    void bootstrapTimelineWritten(Object file);
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 146, value = "Unable to write the bootstrap timeline to {0}: {1}", format = Format.MESSAGE_FORMAT)
+    void unableToWriteBootstrapTimeline(Object file, Object cause);
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 147, value = "Eager initialization of {0} ignored - only @ApplicationScoped and @Singleton beans may be initialized eagerly", format = Format.MESSAGE_FORMAT)
+    void eagerInitializationIgnored(Object bean);
+
+    @Message(id = 148, value = "Eager initialization of {0} failed", format = Format.MESSAGE_FORMAT)
+    DeploymentException eagerInitializationFailed(Object bean, @Cause Throwable cause);
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 149, value = "The value of {0} is not a valid regular expression and is ignored: {1} ({2})", format = Format.MESSAGE_FORMAT)
+    void invalidEagerInitializationPattern(Object property, Object pattern, Object cause);
+}
@@ -114,4 +114,8 @@ public interface ContextLogger extends WeldLogger {
     @Message(id = 226, value = "Error caught in {0} when calling attach on {1} - destroying context, possible session not found error", format = Format.MESSAGE_FORMAT)
     void destroyingContextAfterBeanStoreAttachError(Object context, Object beanStore);
 
+    @LogMessage(level = Level.WARN)
+    @Message(id = 227, value = "{0} is ignored because {1} is enabled - the single session attribute would always be written as a whole", format = Format.MESSAGE_FORMAT)
+    void sessionSingleAttributeIgnored(Object singleAttributeProperty, Object dirtyTrackingProperty);
+
 }
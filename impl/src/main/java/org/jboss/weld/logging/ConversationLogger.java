@@ -127,4 +127,8 @@ public interface ConversationLogger extends WeldLogger {
     @LogMessage(level = Level.WARN)
     @Message(id = 342, value = "Going to end a locked conversation with id {0}", format = Format.MESSAGE_FORMAT)
     void endLockedConversation(String cid);
+
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 343, value = "Too many requests ({0}) waiting for conversation {1}, {2} requests rejected so far", format = Format.MESSAGE_FORMAT)
+    void conversationQueueFull(int waiting, Object conversation, long rejections);
 }
@@ -78,4 +78,11 @@ public interface ServletLogger extends WeldLogger {
     @Message(id = 716, value = "Running in Servlet 2.x environment. Asynchronous request support is disabled.")
     void servlet2Environment();
 
+    @LogMessage(level = Level.WARN)
+    @Message(id = 717, value = "Asynchronous destruction of session {0} failed", format = Format.MESSAGE_FORMAT)
+    void asyncSessionDestructionFailed(String sessionId, @Cause Throwable cause);
+
+    @Message(id = 718, value = "Session {0} has already been invalidated", format = Format.MESSAGE_FORMAT)
+    IllegalStateException sessionAlreadyInvalidated(String sessionId);
+
 }
\ No newline at end of file
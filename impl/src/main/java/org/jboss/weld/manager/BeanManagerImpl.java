@@ -77,7 +77,6 @@ import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedType;
 import org.jboss.weld.annotated.slim.SlimAnnotatedType;
 import org.jboss.weld.bean.AbstractProducerBean;
 import org.jboss.weld.bean.NewBean;
-import org.jboss.weld.bean.RIBean;
 import org.jboss.weld.bean.SessionBean;
 import org.jboss.weld.bean.SyntheticBeanFactory;
 import org.jboss.weld.bean.attributes.BeanAttributesFactory;
@@ -126,7 +125,7 @@ import org.jboss.weld.metadata.cache.InterceptorBindingModel;
 import org.jboss.weld.metadata.cache.MetaAnnotationStore;
 import org.jboss.weld.metadata.cache.ScopeModel;
 import org.jboss.weld.metadata.cache.StereotypeModel;
-import org.jboss.weld.resolution.BeanTypeAssignabilityRules;
+import org.jboss.weld.resolution.AssignabilityCache;
 import org.jboss.weld.resolution.DecoratorResolvableBuilder;
 import org.jboss.weld.resolution.InterceptorResolvable;
 import org.jboss.weld.resolution.InterceptorResolvableBuilder;
@@ -678,7 +677,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         if (creationalContext instanceof CreationalContextImpl<?>) {
             creationalContext = ((CreationalContextImpl<?>) creationalContext).getCreationalContext(bean);
         }
-        if (!noProxy && isProxyRequired(bean)) {
+        if (!noProxy && Beans.isProxyRequired(bean, this)) {
             if (creationalContext != null || getContext(bean.getScope()).get(bean) != null) {
                 if (requestedType == null) {
                     return clientProxyProvider.getClientProxy(bean);
@@ -693,20 +692,12 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         }
     }
 
-    private boolean isProxyRequired(Bean<?> bean) {
-        if (bean instanceof RIBean<?>) {
-            return ((RIBean<?>) bean).isProxyRequired();
-        } else {
-            return isNormalScope(bean.getScope());
-        }
-    }
-
     @Override
     public Object getReference(Bean<?> bean, Type requestedType, CreationalContext<?> creationalContext) {
         Preconditions.checkArgumentNotNull(bean, "bean");
         Preconditions.checkArgumentNotNull(requestedType, "requestedType");
         Preconditions.checkArgumentNotNull(creationalContext, CREATIONAL_CONTEXT);
-        if (!BeanTypeAssignabilityRules.instance().matches(requestedType, bean.getTypes())) {
+        if (!getServices().get(AssignabilityCache.class).getBeanTypeAssignabilityRules().matches(requestedType, bean.getTypes())) {
             throw BeanManagerLogger.LOG.specifiedTypeNotBeanType(requestedType, bean);
         }
         return getReference(bean, requestedType, creationalContext, false);
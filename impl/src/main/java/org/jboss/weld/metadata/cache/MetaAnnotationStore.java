@@ -32,6 +32,7 @@ import org.jboss.weld.resources.SharedObjectCache;
 import org.jboss.weld.util.cache.ComputingCache;
 import org.jboss.weld.util.cache.ComputingCacheBuilder;
 import org.jboss.weld.util.collections.ImmutableSet;
+import org.jboss.weld.util.reflection.Reflections;
 
 /**
  * Metadata singleton for holding EJB metadata, scope models etc.
@@ -40,6 +41,8 @@ import org.jboss.weld.util.collections.ImmutableSet;
  */
 public class MetaAnnotationStore implements Service {
 
+    private static final long DYNAMIC_QUALIFIER_INSTANCE_CACHE_SIZE = 1024L;
+
     private abstract static class AbstractMetaAnnotationFunction<M extends AnnotationModel<Annotation>> implements
             Function<Class<Annotation>, M> {
 
@@ -134,6 +137,9 @@ public class MetaAnnotationStore implements Service {
 
     private final ComputingCache<Annotation, QualifierInstance> qualifierInstanceCache;
 
+    // Interned qualifier instances for programmatic and runtime qualifiers and for annotations with an unbounded set of values, e.g. @Named
+    private final ComputingCache<Annotation, QualifierInstance> dynamicQualifierInstanceCache;
+
     private final SharedObjectCache sharedObjectCache;
 
     public MetaAnnotationStore(ClassTransformer classTransformer) {
@@ -143,6 +149,8 @@ public class MetaAnnotationStore implements Service {
         this.qualifiers = cacheBuilder.build(new QualifierFunction(classTransformer));
         this.interceptorBindings = cacheBuilder.build(new InterceptorBindingFunction(classTransformer));
         this.qualifierInstanceCache = cacheBuilder.build(new QualifierInstanceFunction(this));
+        this.dynamicQualifierInstanceCache = ComputingCacheBuilder.newBuilder().setMaxSize(DYNAMIC_QUALIFIER_INSTANCE_CACHE_SIZE)
+                .build(new QualifierInstanceFunction(this));
         this.sharedObjectCache = classTransformer.getSharedObjectCache();
     }
 
@@ -155,6 +163,9 @@ public class MetaAnnotationStore implements Service {
         scopes.invalidate(annotationClass);
         qualifiers.invalidate(annotationClass);
         interceptorBindings.invalidate(annotationClass);
+        // the set of binding members may have changed
+        qualifierInstanceCache.clear();
+        dynamicQualifierInstanceCache.clear();
     }
 
     /**
@@ -206,12 +217,15 @@ public class MetaAnnotationStore implements Service {
     }
 
     /**
+     * Intended for programmatic and runtime qualifiers, e.g. the qualifiers used in programmatic lookup, which may have an unbounded set of
+     * values. Only the bounded cache is used. Instances of a non-static inner class, e.g. an anonymous
+     * {@link javax.enterprise.util.AnnotationLiteral}, are never cached as they hold a reference to the enclosing instance.
      *
      * @param annotation
-     * @return the qualifier instance for the given annotation, uses cache if possible
+     * @return the qualifier instance for the given annotation
      */
     public QualifierInstance getQualifierInstance(final Annotation annotation) {
-        return isCacheAllowed(annotation) ? qualifierInstanceCache.getValue(annotation) : QualifierInstance.of(annotation, this);
+        return Reflections.isCacheable(annotation) ? dynamicQualifierInstanceCache.getValue(annotation) : QualifierInstance.of(annotation, this);
     }
 
     /**
@@ -241,10 +255,10 @@ public class MetaAnnotationStore implements Service {
         boolean useSharedCache = true;
 
         for (Annotation annotation : annotations) {
-            if (isCacheAllowed(annotation)) {
+            if (isCacheAllowed(annotation) && Reflections.isCacheable(annotation)) {
                 builder.add(qualifierInstanceCache.getValue(annotation));
             } else {
-                builder.add(QualifierInstance.of(annotation, this));
+                builder.add(getQualifierInstance(annotation));
                 // Don't use shared object cache if there's some qualifier instance which should not be cached
                 useSharedCache = false;
             }
@@ -277,6 +291,7 @@ public class MetaAnnotationStore implements Service {
         this.stereotypes.clear();
         this.interceptorBindings.clear();
         this.qualifierInstanceCache.clear();
+        this.dynamicQualifierInstanceCache.clear();
     }
 
 
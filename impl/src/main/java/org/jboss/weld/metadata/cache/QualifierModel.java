@@ -23,9 +23,15 @@ import static java.lang.annotation.ElementType.TYPE;
 
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Target;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
 import java.security.AccessController;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.enterprise.inject.spi.AnnotatedMethod;
@@ -36,8 +42,9 @@ import org.jboss.weld.annotated.enhanced.EnhancedAnnotation;
 import org.jboss.weld.exceptions.WeldException;
 import org.jboss.weld.logging.MetadataLogger;
 import org.jboss.weld.logging.ReflectionLogger;
-import org.jboss.weld.security.SetAccessibleAction;
+import org.jboss.weld.security.GetAccessibleCopyOfMember;
 import org.jboss.weld.util.collections.Arrays2;
+import org.jboss.weld.util.collections.ImmutableMap;
 import org.jboss.weld.util.reflection.Reflections;
 
 /**
@@ -49,6 +56,11 @@ public class QualifierModel<T extends Annotation> extends AbstractBindingModel<T
 
     private static final Set<Class<? extends Annotation>> META_ANNOTATIONS = Collections.<Class<? extends Annotation>>singleton(Qualifier.class);
 
+    private static final MethodType MEMBER_ACCESSOR_TYPE = MethodType.methodType(Object.class, Annotation.class);
+
+    // The binding members and their accessors, initialized lazily
+    private volatile BindingMembers bindingMembers;
+
     /**
      * Constructor
      *
@@ -112,23 +124,12 @@ public class QualifierModel<T extends Annotation> extends AbstractBindingModel<T
      */
     public boolean isEqual(Annotation instance, Annotation other) {
         if (instance.annotationType().equals(getRawType()) && other.annotationType().equals(getRawType())) {
-            for (AnnotatedMethod<?> annotatedMethod : getAnnotatedAnnotation().getMethods()) {
-                if (!getNonBindingMembers().contains(annotatedMethod)) {
-                    try {
-                        AccessController.doPrivileged(SetAccessibleAction.of(annotatedMethod.getJavaMember()));
-                        Object thisValue = annotatedMethod.getJavaMember().invoke(instance);
-                        Object thatValue = annotatedMethod.getJavaMember().invoke(other);
-                        if (!thisValue.equals(thatValue)) {
-                            return false;
-                        }
-                    } catch (IllegalArgumentException e) {
-                        throw new WeldException(e);
-                    } catch (IllegalAccessException e) {
-                        throw new WeldException(e);
-                    } catch (InvocationTargetException e) {
-                        throw new WeldException(e);
-                    }
-
+            BindingMembers members = getBindingMembers();
+            for (int i = 0; i < members.accessors.length; i++) {
+                Object thisValue = members.getValue(i, instance);
+                Object thatValue = members.getValue(i, other);
+                if (!thisValue.equals(thatValue)) {
+                    return false;
                 }
             }
             return true;
@@ -136,6 +137,34 @@ public class QualifierModel<T extends Annotation> extends AbstractBindingModel<T
         return false;
     }
 
+    /**
+     * Reads the values of all binding members of the given qualifier instance.
+     *
+     * @param instance The qualifier instance
+     * @return an immutable map of binding member values, or an empty map if there are no binding members
+     */
+    public Map<AnnotatedMethod<?>, Object> getBindingMemberValues(Annotation instance) {
+        BindingMembers members = getBindingMembers();
+        if (members.accessors.length == 0) {
+            return Collections.emptyMap();
+        }
+        ImmutableMap.Builder<AnnotatedMethod<?>, Object> builder = ImmutableMap.builder();
+        for (int i = 0; i < members.accessors.length; i++) {
+            builder.put(members.methods[i], members.getValue(i, instance));
+        }
+        return builder.build();
+    }
+
+    private BindingMembers getBindingMembers() {
+        BindingMembers members = this.bindingMembers;
+        if (members == null) {
+            // Racy initialization is fine - the result is always the same
+            members = new BindingMembers(getAnnotatedAnnotation().getMethods(), getNonBindingMembers());
+            this.bindingMembers = members;
+        }
+        return members;
+    }
+
     /**
      * Gets a string representation of the qualifier model
      *
@@ -146,4 +175,47 @@ public class QualifierModel<T extends Annotation> extends AbstractBindingModel<T
         return (isValid() ? "Valid" : "Invalid") + " qualifier model for " + getRawType() + " with non-binding members " + getNonBindingMembers();
     }
 
+    /**
+     * Binding members of a qualifier together with {@link MethodHandle}s used to read their values. The handles are
+     * created once per qualifier type so that reading member values does not require reflective access checks.
+     */
+    private static final class BindingMembers {
+
+        private final AnnotatedMethod<?>[] methods;
+        private final MethodHandle[] accessors;
+
+        private BindingMembers(Set<? extends AnnotatedMethod<?>> allMethods, Set<AnnotatedMethod<?>> nonBindingMembers) {
+            List<AnnotatedMethod<?>> bindingMethods = new ArrayList<AnnotatedMethod<?>>(allMethods.size());
+            for (AnnotatedMethod<?> method : allMethods) {
+                if (!nonBindingMembers.contains(method)) {
+                    bindingMethods.add(method);
+                }
+            }
+            this.methods = bindingMethods.toArray(new AnnotatedMethod<?>[bindingMethods.size()]);
+            this.accessors = new MethodHandle[methods.length];
+            for (int i = 0; i < methods.length; i++) {
+                accessors[i] = toMethodHandle(methods[i].getJavaMember());
+            }
+        }
+
+        private static MethodHandle toMethodHandle(Method javaMethod) {
+            Method method = AccessController.doPrivileged(new GetAccessibleCopyOfMember<Method>(javaMethod));
+            try {
+                return MethodHandles.lookup().unreflect(method).asType(MEMBER_ACCESSOR_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new WeldException(e);
+            }
+        }
+
+        private Object getValue(int index, Annotation instance) {
+            try {
+                return accessors[index].invokeExact(instance);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new WeldException(e);
+            }
+        }
+    }
+
 }
@@ -59,6 +59,7 @@ public abstract class AbstractTypeSafeBeanResolver<T extends Bean<?>, C extends
     private final ComputingCache<Set<Bean<?>>, Set<Bean<?>>> disambiguatedBeans;
     private final SpecializationAndEnablementRegistry registry;
     private final MetaAnnotationStore store;
+    private final AssignabilityCache assignabilityCache;
 
     private final LazyValueHolder<Map<Type, ArrayList<T>>> beansByType;
 
@@ -133,6 +134,7 @@ public abstract class AbstractTypeSafeBeanResolver<T extends Bean<?>, C extends
         this.registry = beanManager.getServices().get(SpecializationAndEnablementRegistry.class);
         this.disambiguatedBeans = ComputingCacheBuilder.newBuilder().build(new BeanDisambiguation());
         this.store = beanManager.getServices().get(MetaAnnotationStore.class);
+        this.assignabilityCache = beanManager.getServices().get(AssignabilityCache.class);
         // beansByType stores a map of a type to all beans that are assignable to
         // that type. This means that it most cases we do not need to loop through
         // every bean in the system when performing resolution
@@ -194,9 +196,9 @@ public abstract class AbstractTypeSafeBeanResolver<T extends Bean<?>, C extends
     protected boolean matches(Resolvable resolvable, T bean) {
         AssignabilityRules rules = null;
         if (resolvable.isDelegate()) {
-            rules = DelegateInjectionPointAssignabilityRules.instance();
+            rules = assignabilityCache.getDelegateInjectionPointAssignabilityRules();
         } else {
-            rules = BeanTypeAssignabilityRules.instance();
+            rules = assignabilityCache.getBeanTypeAssignabilityRules();
         }
         return rules.matches(resolvable.getTypes(), bean.getTypes())
                 && Beans.containsAllQualifiers(resolvable.getQualifiers(), QualifierInstance.of(bean, store));
@@ -0,0 +1,112 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.resolution;
+
+import java.lang.reflect.Type;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.util.cache.ComputingCache;
+import org.jboss.weld.util.cache.ComputingCacheBuilder;
+
+/**
+ * Holds memoizing variants of the bean type and delegate injection point {@link AssignabilityRules}. The result of
+ * checking a (required type, bean type) pair does not change during the lifetime of a deployment and computing it for
+ * generic types is expensive - each lookup may involve type variable bound resolution and covariant checks of type
+ * parameters.
+ * <p>
+ * The caches are bounded and are held per deployment so that the types (and thus class loaders) are not retained
+ * after the container is shut down.
+ */
+public class AssignabilityCache implements Service {
+
+    private static final long MAX_SIZE = 4096L;
+
+    private final CachingAssignabilityRules beanTypeRules;
+
+    private final CachingAssignabilityRules delegateInjectionPointRules;
+
+    public AssignabilityCache() {
+        this.beanTypeRules = new CachingAssignabilityRules(BeanTypeAssignabilityRules.instance());
+        this.delegateInjectionPointRules = new CachingAssignabilityRules(DelegateInjectionPointAssignabilityRules.instance());
+    }
+
+    /**
+     * @return memoizing variant of {@link BeanTypeAssignabilityRules}
+     */
+    public AssignabilityRules getBeanTypeAssignabilityRules() {
+        return beanTypeRules;
+    }
+
+    /**
+     * @return memoizing variant of {@link DelegateInjectionPointAssignabilityRules}
+     */
+    public AssignabilityRules getDelegateInjectionPointAssignabilityRules() {
+        return delegateInjectionPointRules;
+    }
+
+    @Override
+    public void cleanup() {
+        beanTypeRules.cache.clear();
+        delegateInjectionPointRules.cache.clear();
+    }
+
+    private static class CachingAssignabilityRules extends AbstractAssignabilityRules {
+
+        private final ComputingCache<TypePair, Boolean> cache;
+
+        private CachingAssignabilityRules(final AssignabilityRules delegate) {
+            this.cache = ComputingCacheBuilder.newBuilder().setMaxSize(MAX_SIZE).build((pair) -> delegate.matches(pair.requiredType, pair.beanType));
+        }
+
+        @Override
+        public boolean matches(Type requiredType, Type beanType) {
+            return cache.getValue(new TypePair(requiredType, beanType));
+        }
+    }
+
+    private static final class TypePair {
+
+        private final Type requiredType;
+
+        private final Type beanType;
+
+        private final int hashCode;
+
+        private TypePair(Type requiredType, Type beanType) {
+            this.requiredType = requiredType;
+            this.beanType = beanType;
+            this.hashCode = 31 * requiredType.hashCode() + beanType.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj instanceof TypePair) {
+                TypePair that = (TypePair) obj;
+                return hashCode == that.hashCode && requiredType.equals(that.requiredType) && beanType.equals(that.beanType);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
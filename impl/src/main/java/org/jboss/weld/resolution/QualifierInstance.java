@@ -17,8 +17,6 @@
 package org.jboss.weld.resolution;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationTargetException;
-import java.security.AccessController;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
@@ -30,11 +28,7 @@ import javax.enterprise.inject.spi.AnnotatedMethod;
 import javax.enterprise.inject.spi.Bean;
 
 import org.jboss.weld.bean.RIBean;
-import org.jboss.weld.exceptions.WeldException;
 import org.jboss.weld.metadata.cache.MetaAnnotationStore;
-import org.jboss.weld.metadata.cache.QualifierModel;
-import org.jboss.weld.security.SetAccessibleAction;
-import org.jboss.weld.util.collections.ImmutableMap;
 import org.jboss.weld.util.collections.ImmutableSet;
 
 /**
@@ -59,7 +53,7 @@ public class QualifierInstance {
         }
         final ImmutableSet.Builder<QualifierInstance> ret = ImmutableSet.builder();
         for (Annotation a : qualifiers) {
-            ret.add(QualifierInstance.of(a, store));
+            ret.add(store.getQualifierInstance(a));
         }
         return ret.build();
     }
@@ -75,6 +69,7 @@ public class QualifierInstance {
      * @param annotation
      * @param store
      * @return a new qualifier instance for the given annotation
+     * @see MetaAnnotationStore#getQualifierInstance(Annotation)
      */
     public static QualifierInstance of(Annotation annotation, MetaAnnotationStore store) {
         return new QualifierInstance(annotation.annotationType(), createValues(annotation, store));
@@ -91,33 +86,7 @@ public class QualifierInstance {
     }
 
     private static Map<AnnotatedMethod<?>, Object> createValues(final Annotation instance, final MetaAnnotationStore store) {
-
-        final Class<? extends Annotation> annotationClass = instance.annotationType();
-        final QualifierModel<? extends Annotation> model = store.getBindingTypeModel(annotationClass);
-
-        if(model.getAnnotatedAnnotation().getMethods().size() == 0) {
-            return Collections.emptyMap();
-        }
-
-        final ImmutableMap.Builder<AnnotatedMethod<?>, Object> builder = ImmutableMap.builder();
-
-        for (final AnnotatedMethod<?> method : model.getAnnotatedAnnotation().getMethods()) {
-            if(!model.getNonBindingMembers().contains(method)) {
-                try {
-                    if (System.getSecurityManager() != null) {
-                        AccessController.doPrivileged(SetAccessibleAction.of(method.getJavaMember()));
-                    } else {
-                        method.getJavaMember().setAccessible(true);
-                    }
-                    builder.put(method, method.getJavaMember().invoke(instance));
-                } catch (IllegalAccessException e) {
-                    throw new WeldException(e);
-                } catch (InvocationTargetException e) {
-                    throw new WeldException(e);
-                }
-            }
-        }
-        return builder.build();
+        return store.getBindingTypeModel(instance.annotationType()).getBindingMemberValues(instance);
     }
 
     @Override
@@ -91,7 +91,7 @@ public class ResolvableBuilder {
         addQualifiers(injectionPoint.getQualifiers());
         if (mappedQualifiers.containsKey(Named.class)) {
             Named named = (Named) mappedQualifiers.get(Named.class);
-            QualifierInstance qualifierInstance = QualifierInstance.of(named, store);
+            QualifierInstance qualifierInstance = store.getQualifierInstance(named);
             if (named.value().equals("")) {
                 qualifiers.remove(named);
                 qualifierInstances.remove(qualifierInstance);
@@ -110,7 +110,7 @@ public class ResolvableBuilder {
                     named = new NamedLiteral(injectionPoint.getMember().getName());
                 }
 
-                qualifierInstance = QualifierInstance.of(named, store);
+                qualifierInstance = store.getQualifierInstance(named);
                 qualifiers.add(named);
                 qualifierInstances.add(qualifierInstance);
                 mappedQualifiers.put(Named.class, named);
@@ -176,7 +176,7 @@ public class ResolvableBuilder {
 
     public ResolvableBuilder addQualifier(Annotation qualifier) {
         // Handle the @New qualifier special case
-        QualifierInstance qualifierInstance = QualifierInstance.of(qualifier, store);
+        QualifierInstance qualifierInstance = store.getQualifierInstance(qualifier);
         final Class<? extends Annotation> annotationType = qualifierInstance.getAnnotationClass();
         if (annotationType.equals(New.class)) {
             New newQualifier = New.class.cast(qualifier);
@@ -184,7 +184,7 @@ public class ResolvableBuilder {
                 throw new IllegalStateException("Cannot transform @New when there is no known raw type");
             } else if (newQualifier.value().equals(New.class)) {
                 qualifier = new NewLiteral(rawType);
-                qualifierInstance = QualifierInstance.of(qualifier, store);
+                qualifierInstance = store.getQualifierInstance(qualifier);
             }
         }
 
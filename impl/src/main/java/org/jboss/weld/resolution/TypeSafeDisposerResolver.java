@@ -28,9 +28,9 @@ public class TypeSafeDisposerResolver extends TypeSafeResolver<Resolvable, Dispo
 
     private final AssignabilityRules rules;
 
-    public TypeSafeDisposerResolver(Iterable<DisposalMethod<?, ?>> disposers) {
+    public TypeSafeDisposerResolver(Iterable<DisposalMethod<?, ?>> disposers, AssignabilityCache assignabilityCache) {
         super(disposers);
-        this.rules = BeanTypeAssignabilityRules.instance();
+        this.rules = assignabilityCache.getBeanTypeAssignabilityRules();
     }
 
     @Override
@@ -19,6 +19,13 @@ public class ClassLoaderResourceLoader extends AbstractClassLoaderResourceLoader
         return classLoader;
     }
 
+    /**
+     * @return the class loader used to load classes and resources, or <code>null</code> if this resource loader was cleaned up
+     */
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
     public void cleanup() {
         this.classLoader = null;
     }
@@ -0,0 +1,168 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.servlet;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpSession;
+import javax.servlet.http.HttpSessionContext;
+
+import org.jboss.weld.logging.ServletLogger;
+
+/**
+ * A read-only copy of an {@link HttpSession} which is being invalidated. It's used as the payload of the
+ * {@code @Destroyed(SessionScoped.class)} event fired by {@link SessionDestructionExecutor} after the container has already
+ * invalidated the session, i.e. when the session itself may not be accessed anymore.
+ * <p>
+ * The state is captured on the thread which received {@link javax.servlet.http.HttpSessionListener#sessionDestroyed}, while
+ * the session is still valid. Attribute values are not copied. Any attempt to modify the session results in an
+ * {@link IllegalStateException}, just like for an invalidated session.
+ */
+final class DestroyedHttpSession implements HttpSession {
+
+    private final String id;
+
+    private final long creationTime;
+
+    private final long lastAccessedTime;
+
+    private final int maxInactiveInterval;
+
+    private final boolean isNew;
+
+    private final ServletContext servletContext;
+
+    private final Map<String, Object> attributes;
+
+    DestroyedHttpSession(HttpSession session) {
+        this.id = session.getId();
+        this.creationTime = session.getCreationTime();
+        this.lastAccessedTime = session.getLastAccessedTime();
+        this.maxInactiveInterval = session.getMaxInactiveInterval();
+        this.isNew = session.isNew();
+        this.servletContext = session.getServletContext();
+        Map<String, Object> attributes = new HashMap<String, Object>();
+        for (Enumeration<String> names = session.getAttributeNames(); names.hasMoreElements();) {
+            String name = names.nextElement();
+            Object value = session.getAttribute(name);
+            if (value != null) {
+                attributes.put(name, value);
+            }
+        }
+        this.attributes = Collections.unmodifiableMap(attributes);
+    }
+
+    @Override
+    public long getCreationTime() {
+        return creationTime;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public long getLastAccessedTime() {
+        return lastAccessedTime;
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return servletContext;
+    }
+
+    @Override
+    public void setMaxInactiveInterval(int interval) {
+        throw ServletLogger.LOG.sessionAlreadyInvalidated(id);
+    }
+
+    @Override
+    public int getMaxInactiveInterval() {
+        return maxInactiveInterval;
+    }
+
+    @Override
+    @Deprecated
+    public HttpSessionContext getSessionContext() {
+        return null;
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    @Deprecated
+    public Object getValue(String name) {
+        return getAttribute(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    @Deprecated
+    public String[] getValueNames() {
+        return attributes.keySet().toArray(new String[attributes.size()]);
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        throw ServletLogger.LOG.sessionAlreadyInvalidated(id);
+    }
+
+    @Override
+    @Deprecated
+    public void putValue(String name, Object value) {
+        setAttribute(name, value);
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        throw ServletLogger.LOG.sessionAlreadyInvalidated(id);
+    }
+
+    @Override
+    @Deprecated
+    public void removeValue(String name) {
+        removeAttribute(name);
+    }
+
+    @Override
+    public void invalidate() {
+        throw ServletLogger.LOG.sessionAlreadyInvalidated(id);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @Override
+    public String toString() {
+        return "DestroyedHttpSession [id=" + id + "]";
+    }
+
+}
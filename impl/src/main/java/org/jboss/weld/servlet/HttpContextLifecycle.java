@@ -27,6 +27,7 @@ import org.jboss.weld.context.cache.RequestScopedCache;
 import org.jboss.weld.context.http.HttpRequestContext;
 import org.jboss.weld.context.http.HttpRequestContextImpl;
 import org.jboss.weld.context.http.HttpSessionContext;
+import org.jboss.weld.context.http.HttpSessionContextImpl;
 import org.jboss.weld.context.http.HttpSessionDestructionContext;
 import org.jboss.weld.event.FastEvent;
 import org.jboss.weld.literal.DestroyedLiteral;
@@ -79,6 +80,8 @@ public class HttpContextLifecycle implements Service {
 
     private final Container container;
 
+    private final SessionDestructionExecutor sessionDestructionExecutor;
+
     private static final ThreadLocal<Counter> nestedInvocationGuard = new ThreadLocal<HttpContextLifecycle.Counter>();
     private final boolean nestedInvocationGuardEnabled;
 
@@ -103,6 +106,7 @@ public class HttpContextLifecycle implements Service {
         this.servletContextService = beanManager.getServices().get(ServletContextService.class);
         this.nestedInvocationGuardEnabled = nestedInvocationGuardEnabled;
         this.container = Container.instance(beanManager);
+        this.sessionDestructionExecutor = beanManager.getServices().get(SessionDestructionExecutor.class);
     }
 
     private HttpSessionDestructionContext getSessionDestructionContext() {
@@ -112,7 +116,7 @@ public class HttpContextLifecycle implements Service {
         return sessionDestructionContextCache;
     }
 
-    private HttpSessionContext getSessionContext() {
+    protected HttpSessionContext getSessionContext() {
         if (sessionContextCache == null) {
             this.sessionContextCache = beanManager.instance().select(HttpSessionContext.class).get();
         }
@@ -149,6 +153,10 @@ public class HttpContextLifecycle implements Service {
         // Mark the session context and conversation contexts to destroy
         // instances when appropriate
         deactivateSessionDestructionContext(session);
+        if (sessionDestructionExecutor != null && getSessionContext() instanceof HttpSessionContextImpl) {
+            sessionDestroyedAsync(session);
+            return;
+        }
         boolean destroyed = getSessionContext().destroy(session);
         SessionHolder.clear();
         RequestScopedCache.endRequest();
@@ -166,6 +174,33 @@ public class HttpContextLifecycle implements Service {
         }
     }
 
+    private void sessionDestroyedAsync(final HttpSession session) {
+        final Runnable destruction;
+        try {
+            destruction = Reflections.<HttpSessionContextImpl> cast(getSessionContext()).detachForDestruction(session);
+        } finally {
+            SessionHolder.clear();
+            RequestScopedCache.endRequest();
+        }
+        if (destruction != null) {
+            /*
+             * The session timed out - destroy the instances and fire the @Destroyed(SessionScoped.class) event afterwards. The
+             * worker runs once the container has invalidated the session so the event payload is a copy captured here, on the
+             * container's thread. Neither the request nor the session context is active when the event is fired - the same
+             * applies to the synchronous destruction of a timed out session.
+             */
+            final HttpSession destroyedSession = new DestroyedHttpSession(session);
+            sessionDestructionExecutor.submit(destroyedSession.getId(), () -> {
+                destruction.run();
+                sessionDestroyedEvent.fire(destroyedSession);
+            });
+        } else if (getRequestContext() instanceof HttpRequestContextImpl) {
+            // the session is invalidated within a request and will be destroyed at the end of the request
+            HttpServletRequest request = Reflections.<HttpRequestContextImpl> cast(getRequestContext()).getHttpServletRequest();
+            request.setAttribute(HTTP_SESSION, session);
+        }
+    }
+
     private void deactivateSessionDestructionContext(HttpSession session) {
         HttpSessionDestructionContext context = getSessionDestructionContext();
         if (context.isActive()) {
@@ -0,0 +1,139 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.servlet;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.executor.DaemonThreadFactory;
+import org.jboss.weld.logging.ServletLogger;
+
+/**
+ * Destroys the session scoped instances of sessions which timed out outside of a request on a bounded pool of worker threads so
+ * that the container's session expiry thread is not held up by {@link javax.annotation.PreDestroy} callbacks.
+ * <p>
+ * If the queue is full, the task is executed by the submitting thread, i.e. the destruction falls back to the synchronous
+ * behavior. The worker threads are started lazily and terminated once they are idle.
+ * <p>
+ * The {@code @Destroyed(SessionScoped.class)} event is fired by the worker thread, after the instances are destroyed. By then
+ * the container has invalidated the session, therefore the event payload is a read-only copy of the session, captured when
+ * the container notified the listener. No request or session context is active on the worker thread.
+ *
+ * @see org.jboss.weld.SystemPropertiesConfiguration#getSessionDestructionThreadPoolSize()
+ */
+public class SessionDestructionExecutor implements Service {
+
+    private static final int QUEUE_CAPACITY = 10000;
+
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10L;
+
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder destroyedSessions;
+
+    private final LongAdder totalDestructionTime;
+
+    private final AtomicLong maxDestructionTime;
+
+    public SessionDestructionExecutor(int threadPoolSize) {
+        this.executor = new ThreadPoolExecutor(threadPoolSize, threadPoolSize, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(QUEUE_CAPACITY), new DaemonThreadFactory(new ThreadGroup("weld-session-destroyers"),
+                        "weld-session-destroyer-"), new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.destroyedSessions = new LongAdder();
+        this.totalDestructionTime = new LongAdder();
+        this.maxDestructionTime = new AtomicLong();
+    }
+
+    /**
+     * Schedules the destruction of a session.
+     *
+     * @param sessionId the id of the session, only used for logging
+     * @param destruction the task destroying the session scoped instances and firing the {@code @Destroyed(SessionScoped.class)} event
+     */
+    public void submit(final String sessionId, final Runnable destruction) {
+        final long submitted = System.nanoTime();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    destruction.run();
+                } catch (Throwable e) {
+                    ServletLogger.LOG.asyncSessionDestructionFailed(sessionId, e);
+                } finally {
+                    recordDestruction(System.nanoTime() - submitted);
+                }
+            }
+        });
+    }
+
+    private void recordDestruction(long time) {
+        destroyedSessions.increment();
+        totalDestructionTime.add(time);
+        long max = maxDestructionTime.get();
+        while (time > max && !maxDestructionTime.compareAndSet(max, time)) {
+            max = maxDestructionTime.get();
+        }
+    }
+
+    /**
+     * @return the number of sessions waiting for destruction
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return the number of sessions destroyed so far
+     */
+    public long getDestroyedSessionCount() {
+        return destroyedSessions.sum();
+    }
+
+    /**
+     * @return the average time between the submission and the completed destruction of a session, in milliseconds
+     */
+    public long getAverageDestructionTime() {
+        long count = destroyedSessions.sum();
+        return count == 0 ? 0L : TimeUnit.NANOSECONDS.toMillis(totalDestructionTime.sum() / count);
+    }
+
+    /**
+     * @return the longest time between the submission and the completed destruction of a session, in milliseconds
+     */
+    public long getMaxDestructionTime() {
+        return TimeUnit.NANOSECONDS.toMillis(maxDestructionTime.get());
+    }
+
+    @Override
+    public void cleanup() {
+        // let the pending destructions finish so that @PreDestroy callbacks are not lost
+        executor.shutdown();
+        try {
+            executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
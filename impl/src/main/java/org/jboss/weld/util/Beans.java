@@ -58,6 +58,7 @@ import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanAttributes;
 import javax.enterprise.inject.spi.Extension;
 import javax.enterprise.inject.spi.PassivationCapable;
+import javax.enterprise.inject.spi.Producer;
 import javax.inject.Inject;
 
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotated;
@@ -78,6 +79,8 @@ import org.jboss.weld.ejb.spi.EjbDescriptor;
 import org.jboss.weld.injection.MethodInjectionPoint;
 import org.jboss.weld.injection.FieldInjectionPoint;
 import org.jboss.weld.injection.ResourceInjection;
+import org.jboss.weld.injection.producer.AbstractMemberProducer;
+import org.jboss.weld.injection.producer.BasicInjectionTarget;
 import org.jboss.weld.interceptor.spi.model.InterceptionType;
 import org.jboss.weld.interceptor.util.InterceptionTypeRegistry;
 import org.jboss.weld.logging.BeanLogger;
@@ -163,6 +166,20 @@ public class Beans {
         }
     }
 
+    /**
+     * Indicates if a client proxy is required for a bean
+     *
+     * @param bean The bean to test
+     * @return True if a client proxy is required, false otherwise
+     */
+    public static boolean isProxyRequired(Bean<?> bean, BeanManagerImpl manager) {
+        if (bean instanceof RIBean<?>) {
+            return ((RIBean<?>) bean).isProxyRequired();
+        } else {
+            return manager.isNormalScope(bean.getScope());
+        }
+    }
+
     public static List<EnhancedAnnotatedMethod<?, ?>> getInterceptableMethods(EnhancedAnnotatedType<?> type) {
         List<EnhancedAnnotatedMethod<?, ?>> annotatedMethods = new ArrayList<EnhancedAnnotatedMethod<?, ?>>();
         for (EnhancedAnnotatedMethod<?, ?> annotatedMethod : type.getEnhancedMethods()) {
@@ -640,4 +657,20 @@ public class Beans {
         manager.getServices().get(SlimAnnotatedTypeStore.class).put(implementationClass.slim());
         return implementationClass;
     }
+
+    /**
+     * Indicates whether destroying an instance created by the given {@link Producer} may have an observable effect, i.e. whether
+     * a {@link javax.annotation.PreDestroy} callback, a {@link javax.annotation.PreDestroy} interceptor or a disposer method needs
+     * to be invoked. Producer implementations not known to Weld are always considered to require destruction.
+     */
+    public static boolean isDestructionRequired(Producer<?> producer) {
+        if (producer instanceof BasicInjectionTarget<?>) {
+            BasicInjectionTarget<?> injectionTarget = (BasicInjectionTarget<?>) producer;
+            return injectionTarget.getLifecycleCallbackInvoker().hasPreDestroyMethods() || injectionTarget.hasInterceptors();
+        }
+        if (producer instanceof AbstractMemberProducer<?, ?>) {
+            return ((AbstractMemberProducer<?, ?>) producer).getDisposalMethod() != null;
+        }
+        return true;
+    }
 }
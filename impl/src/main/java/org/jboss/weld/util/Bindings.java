@@ -42,14 +42,14 @@ public class Bindings {
         checkQualifier(qualifier1, store);
         checkQualifier(qualifier2, store);
 
-        QualifierInstance q1 = QualifierInstance.of(qualifier1, store);
-        QualifierInstance q2 = QualifierInstance.of(qualifier2, store);
+        QualifierInstance q1 = store.getQualifierInstance(qualifier1);
+        QualifierInstance q2 = store.getQualifierInstance(qualifier2);
         return q1.equals(q2);
     }
 
     public static int getQualifierHashCode(Annotation qualifier, MetaAnnotationStore store) {
         checkQualifier(qualifier, store);
-        return QualifierInstance.of(qualifier, store).hashCode();
+        return store.getQualifierInstance(qualifier).hashCode();
     }
 
     private static void checkQualifier(Annotation qualifier, MetaAnnotationStore store) {
@@ -77,14 +77,14 @@ public class Bindings {
         checkInterceptorBinding(qualifier1, store);
         checkInterceptorBinding(qualifier2, store);
 
-        QualifierInstance q1 = QualifierInstance.of(qualifier1, store);
-        QualifierInstance q2 = QualifierInstance.of(qualifier2, store);
+        QualifierInstance q1 = store.getQualifierInstance(qualifier1);
+        QualifierInstance q2 = store.getQualifierInstance(qualifier2);
         return q1.equals(q2);
     }
 
     public static int getInterceptorBindingHashCode(Annotation qualifier, MetaAnnotationStore store) {
         checkInterceptorBinding(qualifier, store);
-        return QualifierInstance.of(qualifier, store).hashCode();
+        return store.getQualifierInstance(qualifier).hashCode();
     }
 
     private static void checkInterceptorBinding(Annotation qualifier, MetaAnnotationStore store) {
@@ -26,17 +26,30 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
+import org.jboss.weld.SystemPropertiesConfiguration;
 import org.jboss.weld.bootstrap.spi.Metadata;
+import org.jboss.weld.executor.DaemonThreadFactory;
 import org.jboss.weld.metadata.FileMetadata;
 import org.jboss.weld.resources.ClassLoaderResourceLoader;
+import org.jboss.weld.resources.WeldClassLoaderResourceLoader;
 import org.jboss.weld.resources.spi.ResourceLoader;
 import org.jboss.weld.resources.spi.ResourceLoadingException;
+import org.jboss.weld.util.collections.ImmutableList;
 
 import edu.umd.cs.findbugs.annotations.SuppressWarnings;
 
@@ -52,6 +65,13 @@ import edu.umd.cs.findbugs.annotations.SuppressWarnings;
  * href="http://java.sun.com/javase/6/docs/api/java/util/ServiceLoader.html"
  * >java.util.ServiceLoader</a> and enhanced to support the {@link Metadata}
  * contract.
+ * <p/>
+ * If a service loader is created for a class loader, the content of the
+ * provider-configuration files is cached per class loader so that subsequent
+ * lookups do not read the files again. The providers are instantiated for each
+ * lookup though. A class loader which is no longer used is not retained by the
+ * cache. Lookups through a {@link ResourceLoader} are cached if the resource
+ * loader is backed by a fixed class loader.
  *
  * @author Pete Muir
  * @author <a href="mailto:dev@avalon.apache.org">Avalon Development Team</a>
@@ -65,6 +85,13 @@ public class ServiceLoader<S> implements Iterable<Metadata<S>> {
 
     private static final Logger log = Logger.getLogger("ServiceLoader");
 
+    /**
+     * The provider entries of the provider-configuration files, per class loader and provider-configuration file. The entries never reference the
+     * class loader.
+     */
+    private static final Map<ClassLoader, ConcurrentMap<String, List<ProviderEntry>>> PROVIDER_ENTRIES = Collections
+            .synchronizedMap(new WeakHashMap<ClassLoader, ConcurrentMap<String, List<ProviderEntry>>>());
+
     /**
      * Creates a new service loader for the given service type, using the current
      * thread's context class loader.
@@ -98,14 +125,30 @@ public class ServiceLoader<S> implements Iterable<Metadata<S>> {
         if (loader == null) {
             loader = service.getClassLoader();
         }
-        return new ServiceLoader<S>(service, new ClassLoaderResourceLoader(loader));
+        return new ServiceLoader<S>(service, new ClassLoaderResourceLoader(loader), loader);
     }
 
     public static <S> ServiceLoader<S> load(Class<S> service, ResourceLoader loader) {
         if (loader == null) {
             return load(service, service.getClassLoader());
         }
-        return new ServiceLoader<S>(service, loader);
+        return new ServiceLoader<S>(service, loader, getClassLoader(loader));
+    }
+
+    /**
+     * Other resource loaders, e.g. those delegating to the thread context class loader, may find different files for each lookup and are therefore not
+     * cached.
+     *
+     * @return the class loader the given resource loader always delegates to or <code>null</code> if not known
+     */
+    private static ClassLoader getClassLoader(ResourceLoader loader) {
+        if (loader.getClass() == ClassLoaderResourceLoader.class) {
+            return ((ClassLoaderResourceLoader) loader).getClassLoader();
+        }
+        if (loader.getClass() == WeldClassLoaderResourceLoader.class) {
+            return WeldClassLoaderResourceLoader.class.getClassLoader();
+        }
+        return null;
     }
 
     /**
@@ -136,11 +179,13 @@ public class ServiceLoader<S> implements Iterable<Metadata<S>> {
     private final String serviceFile;
     private Class<S> expectedType;
     private final ResourceLoader loader;
+    private final ClassLoader classLoader;
 
     private Set<Metadata<S>> providers;
 
-    private ServiceLoader(Class<S> service, ResourceLoader loader) {
+    private ServiceLoader(Class<S> service, ResourceLoader loader, ClassLoader classLoader) {
         this.loader = loader;
+        this.classLoader = classLoader;
         this.serviceFile = SERVICES + "/" + service.getName();
         this.expectedType = service;
     }
@@ -153,13 +198,78 @@ public class ServiceLoader<S> implements Iterable<Metadata<S>> {
      * done by a newly-created loader.
      * <p/>
      * This method is intended for use in situations in which new providers can
-     * be installed into a running Java virtual machine.
+     * be installed into a running Java virtual machine. The provider-configuration
+     * files are read again.
      */
     public void reload() {
-        providers = new HashSet<Metadata<S>>();
+        providers = loadProviders(true);
+    }
+
+    private Set<Metadata<S>> loadProviders(boolean reload) {
+        Set<Metadata<S>> providers = new HashSet<Metadata<S>>();
+        for (ProviderEntry entry : getProviderEntries(reload)) {
+            loadService(providers, entry.className, entry.file, entry.lineNumber);
+        }
+        return providers;
+    }
+
+    private List<ProviderEntry> getProviderEntries(boolean reload) {
+        if (classLoader == null) {
+            return readServiceFiles();
+        }
+        ConcurrentMap<String, List<ProviderEntry>> entries = PROVIDER_ENTRIES.computeIfAbsent(classLoader,
+                (key) -> new ConcurrentHashMap<String, List<ProviderEntry>>());
+        List<ProviderEntry> result = reload ? null : entries.get(serviceFile);
+        if (result == null) {
+            result = readServiceFiles();
+            entries.put(serviceFile, result);
+        }
+        return result;
+    }
+
+    private List<ProviderEntry> readServiceFiles() {
+        List<URL> serviceFiles = loadServiceFiles();
+        ImmutableList.Builder<ProviderEntry> builder = ImmutableList.builder();
+        if (SystemPropertiesConfiguration.INSTANCE.isServiceLoaderParallel() && serviceFiles.size() > 1) {
+            for (List<ProviderEntry> fileEntries : readServiceFilesConcurrently(serviceFiles)) {
+                builder.addAll(fileEntries);
+            }
+        } else {
+            for (URL serviceFile : serviceFiles) {
+                builder.addAll(readServiceFile(serviceFile));
+            }
+        }
+        return builder.build();
+    }
 
-        for (URL serviceFile : loadServiceFiles()) {
-            loadServiceFile(serviceFile);
+    /**
+     * The files are read by threads created by the calling thread so that they inherit its access control context, the providers are loaded in the
+     * calling thread afterwards. The threads are discarded once the files are read.
+     */
+    private static List<List<ProviderEntry>> readServiceFilesConcurrently(List<URL> serviceFiles) {
+        int threads = Math.min(serviceFiles.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new DaemonThreadFactory(new ThreadGroup("weld-service-loaders"),
+                "weld-service-loader-"));
+        try {
+            List<Future<List<ProviderEntry>>> futures = new ArrayList<Future<List<ProviderEntry>>>(serviceFiles.size());
+            for (URL serviceFile : serviceFiles) {
+                futures.add(executor.submit(() -> readServiceFile(serviceFile)));
+            }
+            List<List<ProviderEntry>> entries = new ArrayList<List<ProviderEntry>>(serviceFiles.size());
+            for (Future<List<ProviderEntry>> future : futures) {
+                entries.add(future.get());
+            }
+            return entries;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while reading services files", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
         }
     }
 
@@ -168,7 +278,8 @@ public class ServiceLoader<S> implements Iterable<Metadata<S>> {
     }
 
     @SuppressWarnings(value = "OS_OPEN_STREAM", justification = "False positive")
-    private void loadServiceFile(URL serviceFile) {
+    private static List<ProviderEntry> readServiceFile(URL serviceFile) {
+        List<ProviderEntry> entries = new ArrayList<ProviderEntry>();
         InputStream is = null;
         try {
             is = serviceFile.openStream();
@@ -179,9 +290,10 @@ public class ServiceLoader<S> implements Iterable<Metadata<S>> {
                 i++;
                 serviceClassName = trim(serviceClassName);
                 if (serviceClassName.length() > 0) {
-                    loadService(serviceClassName, serviceFile, i);
+                    entries.add(new ProviderEntry(serviceClassName, serviceFile, i));
                 }
             }
+            return entries;
         } catch (IOException e) {
             // FIXME: correct exception
             throw new RuntimeException("Could not read services file " + serviceFile);
@@ -197,7 +309,7 @@ public class ServiceLoader<S> implements Iterable<Metadata<S>> {
         }
     }
 
-    private String trim(String line) {
+    private static String trim(String line) {
         final int comment = line.indexOf('#');
 
         if (comment > -1) {
@@ -206,7 +318,7 @@ public class ServiceLoader<S> implements Iterable<Metadata<S>> {
         return line.trim();
     }
 
-    private void loadService(String serviceClassName, URL file, int lineNumber) {
+    private void loadService(Set<Metadata<S>> providers, String serviceClassName, URL file, int lineNumber) {
         Class<? extends S> serviceClass = loadClass(serviceClassName);
         if (serviceClass == null) {
             return;
@@ -294,7 +406,7 @@ public class ServiceLoader<S> implements Iterable<Metadata<S>> {
      */
     public Iterator<Metadata<S>> iterator() {
         if (providers == null) {
-            reload();
+            providers = loadProviders(false);
         }
         return providers.iterator();
     }
@@ -308,4 +420,21 @@ public class ServiceLoader<S> implements Iterable<Metadata<S>> {
     public String toString() {
         return "Services for " + serviceFile;
     }
+
+    private static final class ProviderEntry {
+
+        private final String className;
+
+        private final URL file;
+
+        private final int lineNumber;
+
+        private ProviderEntry(String className, URL file, int lineNumber) {
+            this.className = className;
+            this.file = file;
+            this.lineNumber = lineNumber;
+        }
+
+    }
+
 }
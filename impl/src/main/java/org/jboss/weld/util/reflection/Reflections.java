@@ -84,6 +84,10 @@ public class Reflections {
         return true;
     }
 
+    public static boolean isCacheable(Annotation annotation) {
+        return !isNonStaticInnerClass(annotation.getClass());
+    }
+
     public static boolean isCacheable(Annotation[] annotations) {
         for (Annotation qualifier : annotations) {
             Class<?> clazz = qualifier.getClass();
@@ -18,11 +18,17 @@ package org.jboss.weld.xml;
 
 import static org.jboss.weld.bootstrap.spi.BeansXml.EMPTY_BEANS_XML;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
 import javax.xml.parsers.ParserConfigurationException;
@@ -35,7 +41,6 @@ import org.jboss.weld.bootstrap.spi.BeanDiscoveryMode;
 import org.jboss.weld.bootstrap.spi.BeansXml;
 import org.jboss.weld.bootstrap.spi.Filter;
 import org.jboss.weld.bootstrap.spi.Metadata;
-import org.jboss.weld.exceptions.IllegalStateException;
 import org.jboss.weld.logging.XmlLogger;
 import org.jboss.weld.metadata.BeansXmlImpl;
 import org.jboss.weld.metadata.ScanningImpl;
@@ -47,7 +52,9 @@ import org.xml.sax.SAXNotSupportedException;
 /**
  * Simple parser for beans.xml
  * <p/>
- * This class is NOT threadsafe, and should only be called in a single thread
+ * This class is threadsafe so that the descriptors of multiple bean archives may be parsed concurrently. Trivial descriptors, i.e. a single
+ * <code>beans</code> element without any content, are read without the XML parser. Other descriptors are cached by their URL and content until a
+ * container is shut down. Subclasses always parse the descriptor, using their own {@link #getHandler(URL)}.
  *
  * @author Pete Muir
  * @author Ales Justin
@@ -56,6 +63,19 @@ public class BeansXmlParser {
 
     private static final InputSource[] EMPTY_INPUT_SOURCE_ARRAY = new InputSource[0];
 
+    private static final int BUFFER_SIZE = 4096;
+
+    private static final String DIGEST_ALGORITHM = "SHA-1";
+
+    private static final int CACHE_MAX_SIZE = 1000;
+
+    /**
+     * Parsed descriptors shared by all the parsers, keyed by the URL and the content digest, so that deployments sharing the same libraries do not
+     * parse the same descriptor again. The descriptors are parsed before a container exists, therefore the cache cannot be a container service and is
+     * cleared by {@link #clearCache()} instead.
+     */
+    private static final ConcurrentMap<String, BeansXml> CACHE = new ConcurrentHashMap<String, BeansXml>();
+
     private Function<URL, BeansXml> URL_TO_BEANS_XML_FUNCTION = BeansXmlParser.this::parse;
 
     private static Function<BeanDeploymentArchive, BeansXml> BEAN_ARCHIVE_TO_BEANS_XML_FUNCTION = archive -> {
@@ -68,12 +88,53 @@ public class BeansXmlParser {
     private static Function<BeansXml, BeansXml> BEANS_XML_IDENTITY_FUNCTION = beansXml -> beansXml;
 
     public BeansXml parse(final URL beansXml) {
-        SAXParserFactory factory = SAXParserFactory.newInstance();
-        factory.setValidating(!SystemPropertiesConfiguration.INSTANCE.isXmlValidationDisabled());
-        factory.setNamespaceAware(true);
         if (beansXml == null) {
             throw XmlLogger.LOG.loadError("unknown", null);
         }
+        byte[] content = read(beansXml);
+        if (content.length == 0) {
+            // The file is just acting as a marker file
+            return EMPTY_BEANS_XML;
+        }
+        if (getClass() != BeansXmlParser.class) {
+            // Subclasses may customize the handler
+            return parse(beansXml, content);
+        }
+        BeansXml trivial = TrivialBeansXmlReader.read(beansXml, content, isValidating());
+        if (trivial != null) {
+            return trivial;
+        }
+        String key = getCacheKey(beansXml, content);
+        if (key == null) {
+            return parse(beansXml, content);
+        }
+        BeansXml parsed = CACHE.get(key);
+        if (parsed == null) {
+            parsed = parse(beansXml, content);
+            // Just like a bounded ComputingCache we start over once the bound is reached
+            if (CACHE.size() >= CACHE_MAX_SIZE) {
+                CACHE.clear();
+            }
+            BeansXml previous = CACHE.putIfAbsent(key, parsed);
+            if (previous != null) {
+                parsed = previous;
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Discards all the cached descriptors. Called when a container is shut down so that the descriptors are not held for the lifetime of the class
+     * loader which loaded Weld.
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    private BeansXml parse(URL beansXml, byte[] content) {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setValidating(isValidating());
+        factory.setNamespaceAware(true);
         SAXParser parser;
         try {
             parser = factory.newSAXParser();
@@ -82,14 +143,8 @@ public class BeansXmlParser {
         } catch (ParserConfigurationException e) {
             throw XmlLogger.LOG.configurationError(e);
         }
-        InputStream beansXmlInputStream = null;
         try {
-            beansXmlInputStream = beansXml.openStream();
-            InputSource source = new InputSource(beansXmlInputStream);
-            if (source.getByteStream().available() == 0) {
-                // The file is just acting as a marker file
-                return EMPTY_BEANS_XML;
-            }
+            InputSource source = new InputSource(new ByteArrayInputStream(content));
             BeansXmlHandler handler = getHandler(beansXml);
 
             try {
@@ -110,14 +165,42 @@ public class BeansXmlParser {
             throw XmlLogger.LOG.loadError(beansXml, e);
         } catch (SAXException e) {
             throw XmlLogger.LOG.parsingError(beansXml, e);
-        } finally {
-            if (beansXmlInputStream != null) {
-                try {
-                    beansXmlInputStream.close();
-                } catch (IOException e) {
-                    throw new IllegalStateException(e);
-                }
+        }
+    }
+
+    private static byte[] read(URL beansXml) {
+        try (InputStream in = beansXml.openStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
             }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw XmlLogger.LOG.loadError(beansXml, e);
+        }
+    }
+
+    private static boolean isValidating() {
+        return !SystemPropertiesConfiguration.INSTANCE.isXmlValidationDisabled();
+    }
+
+    /**
+     * The parsed descriptor only depends on the URL and the content. The URL is part of the key because it is part of the descriptor.
+     *
+     * @return the cache key or <code>null</code> if the content digest cannot be computed
+     */
+    private static String getCacheKey(URL beansXml, byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(content);
+            StringBuilder key = new StringBuilder(beansXml.toExternalForm()).append('|');
+            for (byte b : digest) {
+                key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return null;
         }
     }
 
@@ -0,0 +1,310 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.xml;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jboss.weld.bootstrap.spi.BeanDiscoveryMode;
+import org.jboss.weld.bootstrap.spi.BeansXml;
+import org.jboss.weld.bootstrap.spi.Metadata;
+import org.jboss.weld.bootstrap.spi.Scanning;
+import org.jboss.weld.metadata.BeansXmlImpl;
+
+/**
+ * Reads the very common trivial beans.xml descriptors, i.e. a single <code>beans</code> element without any content, without running the XML parser.
+ *
+ * <p>
+ * Only the descriptors for which {@link BeansXmlParser} would produce the same result without reporting any problem are accepted. Anything else,
+ * e.g. a non-ASCII content, a DOCTYPE or an unknown attribute, is left to the parser.
+ * </p>
+ *
+ * @see BeansXmlParser
+ */
+final class TrivialBeansXmlReader {
+
+    private static final String XSI_URI = "http://www.w3.org/2001/XMLSchema-instance";
+
+    private static final String XML_DECLARATION_START = "<?xml";
+    private static final String XML_DECLARATION_END = "?>";
+    private static final String COMMENT_START = "<!--";
+    private static final String COMMENT_END = "-->";
+    private static final String ROOT_ELEMENT_START = "<beans";
+    private static final String ROOT_ELEMENT_END = "</beans>";
+    private static final String EMPTY_ELEMENT_END = "/>";
+
+    private static final String XMLNS = "xmlns";
+    private static final String XMLNS_PREFIX = "xmlns:";
+    private static final String SCHEMA_LOCATION_SUFFIX = ":schemaLocation";
+    private static final String VERSION_ATTRIBUTE_NAME = "version";
+    private static final String BEAN_DISCOVERY_MODE_ATTRIBUTE_NAME = "bean-discovery-mode";
+
+    // See the version attribute of beans_1_1.xsd
+    private static final Pattern VERSION_PATTERN = Pattern.compile("\\.?[0-9]+(\\.[0-9]+)*");
+    private static final Pattern ENCODING_PATTERN = Pattern.compile("encoding\\s*=\\s*[\"']([^\"']*)[\"']");
+
+    private static final int[] UTF_8_BOM = { 0xEF, 0xBB, 0xBF };
+
+    private final String content;
+
+    private int position;
+
+    private TrivialBeansXmlReader(String content) {
+        this.content = content;
+    }
+
+    /**
+     *
+     * @param url
+     * @param content
+     * @param validating
+     * @return the descriptor or <code>null</code> if the content is not trivial
+     */
+    static BeansXml read(URL url, byte[] content, boolean validating) {
+        String text = decode(content);
+        if (text == null) {
+            return null;
+        }
+        return new TrivialBeansXmlReader(text).read(url, validating);
+    }
+
+    private BeansXml read(URL url, boolean validating) {
+        if (startsWith(XML_DECLARATION_START)) {
+            int end = content.indexOf(XML_DECLARATION_END);
+            if (end < 0 || !isAsciiCompatibleEncoding(content.substring(0, end))) {
+                return null;
+            }
+            position = end + XML_DECLARATION_END.length();
+        }
+        if (!skipWhitespaceAndComments() || !startsWith(ROOT_ELEMENT_START)) {
+            return null;
+        }
+        position += ROOT_ELEMENT_START.length();
+        Map<String, String> attributes = readAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        if (startsWith(EMPTY_ELEMENT_END)) {
+            position += EMPTY_ELEMENT_END.length();
+        } else {
+            // readAttributes() stops at '/' or '>'
+            position++;
+            if (!skipWhitespaceAndComments() || !startsWith(ROOT_ELEMENT_END)) {
+                return null;
+            }
+            position += ROOT_ELEMENT_END.length();
+        }
+        if (!skipWhitespaceAndComments() || position != content.length()) {
+            return null;
+        }
+        return createBeansXml(url, attributes, validating);
+    }
+
+    private static BeansXml createBeansXml(URL url, Map<String, String> attributes, boolean validating) {
+        String namespace = null;
+        String version = null;
+        String discoveryMode = null;
+        String schemaLocationPrefix = null;
+        Map<String, String> prefixes = new HashMap<String, String>();
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            String name = attribute.getKey();
+            if (XMLNS.equals(name)) {
+                namespace = attribute.getValue();
+            } else if (name.startsWith(XMLNS_PREFIX)) {
+                prefixes.put(name.substring(XMLNS_PREFIX.length()), attribute.getValue());
+            } else if (VERSION_ATTRIBUTE_NAME.equals(name)) {
+                version = attribute.getValue();
+            } else if (BEAN_DISCOVERY_MODE_ATTRIBUTE_NAME.equals(name)) {
+                discoveryMode = attribute.getValue();
+            } else if (name.endsWith(SCHEMA_LOCATION_SUFFIX) && schemaLocationPrefix == null) {
+                schemaLocationPrefix = name.substring(0, name.length() - SCHEMA_LOCATION_SUFFIX.length());
+            } else {
+                return null;
+            }
+        }
+        if (schemaLocationPrefix != null && !XSI_URI.equals(prefixes.get(schemaLocationPrefix))) {
+            return null;
+        }
+        if (namespace != null && namespace.isEmpty()) {
+            namespace = null;
+        }
+        if (namespace != null && !BeansXmlHandler.JAVAEE_URIS.contains(namespace)) {
+            // The root element would not be recognized
+            return null;
+        }
+        BeanDiscoveryMode mode = BeanDiscoveryMode.ALL;
+        if (discoveryMode != null) {
+            mode = parseDiscoveryMode(discoveryMode);
+            if (mode == null) {
+                return null;
+            }
+        }
+        if (validating && namespace != null) {
+            // A descriptor without namespace is not validated at all
+            if (BeansXmlHandler.JAVAEE_LEGACY_URI.equals(namespace)) {
+                // beans_1_0.xsd does not declare any attribute
+                if (version != null || discoveryMode != null) {
+                    return null;
+                }
+            } else if (discoveryMode == null || version == null || !VERSION_PATTERN.matcher(version).matches()) {
+                // beans_1_1.xsd - bean-discovery-mode is required and the parser would supply the default version
+                return null;
+            }
+        }
+        return new BeansXmlImpl(Collections.<Metadata<String>> emptyList(), Collections.<Metadata<String>> emptyList(),
+                Collections.<Metadata<String>> emptyList(), Collections.<Metadata<String>> emptyList(), Scanning.EMPTY_SCANNING, url, mode, version);
+    }
+
+    private static BeanDiscoveryMode parseDiscoveryMode(String value) {
+        for (BeanDiscoveryMode mode : BeanDiscoveryMode.values()) {
+            if (mode.name().toLowerCase(Locale.ENGLISH).equals(value)) {
+                return mode;
+            }
+        }
+        return null;
+    }
+
+    /**
+     *
+     * @return the attributes or <code>null</code> if the start tag is not well-formed or an attribute value needs to be normalized
+     */
+    private Map<String, String> readAttributes() {
+        Map<String, String> attributes = new HashMap<String, String>();
+        while (true) {
+            boolean whitespace = skipWhitespace();
+            if (position >= content.length()) {
+                return null;
+            }
+            char c = content.charAt(position);
+            if (c == '>' || c == '/') {
+                return attributes;
+            }
+            if (!whitespace) {
+                return null;
+            }
+            int nameStart = position;
+            while (position < content.length() && isNameChar(content.charAt(position))) {
+                position++;
+            }
+            String name = content.substring(nameStart, position);
+            skipWhitespace();
+            if (name.isEmpty() || !startsWith("=")) {
+                return null;
+            }
+            position++;
+            skipWhitespace();
+            if (position >= content.length()) {
+                return null;
+            }
+            char quote = content.charAt(position);
+            if (quote != '"' && quote != '\'') {
+                return null;
+            }
+            int valueEnd = content.indexOf(quote, position + 1);
+            if (valueEnd < 0) {
+                return null;
+            }
+            String value = content.substring(position + 1, valueEnd);
+            position = valueEnd + 1;
+            if (!isPlainAttributeValue(value) || attributes.put(name, value) != null) {
+                return null;
+            }
+        }
+    }
+
+    private boolean skipWhitespaceAndComments() {
+        while (true) {
+            skipWhitespace();
+            if (!startsWith(COMMENT_START)) {
+                return true;
+            }
+            int end = content.indexOf(COMMENT_END, position + COMMENT_START.length());
+            // "--" must not occur within comments
+            if (end < 0 || content.indexOf("--", position + COMMENT_START.length()) != end) {
+                return false;
+            }
+            position = end + COMMENT_END.length();
+        }
+    }
+
+    private boolean skipWhitespace() {
+        int start = position;
+        while (position < content.length() && isWhitespace(content.charAt(position))) {
+            position++;
+        }
+        return position > start;
+    }
+
+    private boolean startsWith(String prefix) {
+        return content.startsWith(prefix, position);
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == '_' || c == ':' || c == '.';
+    }
+
+    private static boolean isPlainAttributeValue(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            // Entity references, '<' and whitespace other than spaces are subject to normalization or forbidden
+            if (c == '&' || c == '<' || (isWhitespace(c) && c != ' ')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAsciiCompatibleEncoding(String declaration) {
+        Matcher matcher = ENCODING_PATTERN.matcher(declaration);
+        if (!matcher.find()) {
+            return true;
+        }
+        String encoding = matcher.group(1).toUpperCase(Locale.ENGLISH);
+        return encoding.equals("UTF-8") || encoding.equals("US-ASCII") || encoding.equals("ISO-8859-1");
+    }
+
+    /**
+     *
+     * @return the content or <code>null</code> if it contains anything else than printable ASCII characters and whitespace
+     */
+    private static String decode(byte[] content) {
+        int offset = 0;
+        if (content.length >= UTF_8_BOM.length && (content[0] & 0xFF) == UTF_8_BOM[0] && (content[1] & 0xFF) == UTF_8_BOM[1]
+                && (content[2] & 0xFF) == UTF_8_BOM[2]) {
+            offset = UTF_8_BOM.length;
+        }
+        for (int i = offset; i < content.length; i++) {
+            byte b = content[i];
+            if (b < 0x20 && !isWhitespace((char) b) || b == 0x7F) {
+                // Includes all the non-ASCII bytes
+                return null;
+            }
+        }
+        return new String(content, offset, content.length - offset, StandardCharsets.US_ASCII);
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.bootstrap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.jboss.weld.bootstrap.timeline.BootstrapTimeline;
+import org.jboss.weld.bootstrap.timeline.BootstrapTimeline.BeanOperation;
+import org.jboss.weld.bootstrap.timeline.Measurement;
+import org.jboss.weld.bootstrap.timeline.TimelineEntry;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the aggregation and the JSON dump of {@link BootstrapTimeline}.
+ */
+public class BootstrapTimelineTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testEntriesAggregated() {
+        BootstrapTimeline timeline = new BootstrapTimeline("test", 2, null);
+        timeline.recordPhase("startInitialization", timeline.start());
+        timeline.recordPhase("deployBeans", timeline.start());
+        timeline.recordContainerLifecycleEvent("ProcessAnnotatedType", timeline.start());
+        timeline.recordContainerLifecycleEvent("ProcessAnnotatedType", timeline.start());
+
+        List<TimelineEntry> phases = timeline.getPhases();
+        assertEquals(2, phases.size());
+        assertEquals("startInitialization", phases.get(0).getName());
+        assertEquals("deployBeans", phases.get(1).getName());
+        assertEquals(1, timeline.getContainerLifecycleEvents().size());
+        assertEquals(2, timeline.getContainerLifecycleEvents().get(0).getCount());
+        assertTrue(timeline.getContainerLifecycleEvents().get(0).getWallTime() >= 0);
+    }
+
+    @Test
+    public void testSlowestBeans() throws InterruptedException {
+        BootstrapTimeline timeline = new BootstrapTimeline("test", 2, null);
+        timeline.recordBean(BeanOperation.VALIDATE, "fast", timeline.start());
+        record(timeline, "slow", 20);
+        record(timeline, "medium", 10);
+
+        List<TimelineEntry> slowest = timeline.getSlowestBeans(BeanOperation.VALIDATE);
+        assertEquals(2, slowest.size());
+        assertEquals("slow", slowest.get(0).getName());
+        assertEquals("medium", slowest.get(1).getName());
+        assertTrue(timeline.getSlowestBeans(BeanOperation.CREATE).isEmpty());
+    }
+
+    @Test
+    public void testFinish() throws IOException {
+        File dumpPath = folder.newFolder("dump");
+        BootstrapTimeline timeline = new BootstrapTimeline("test/\"app\"", 10, dumpPath);
+        timeline.recordPhase("validateBeans", timeline.start());
+        timeline.recordExtensionObserver("com.acme.FooExtension.observe(AfterBeanDiscovery)", timeline.start());
+        timeline.finish();
+        // no more measurements after the bootstrap
+        assertNull(timeline.start());
+        assertEquals(1, timeline.getPhases().size());
+
+        File[] files = dumpPath.listFiles();
+        assertEquals(1, files.length);
+        String json = new String(Files.readAllBytes(files[0].toPath()), StandardCharsets.UTF_8);
+        assertEquals(timeline.toJson(), json);
+        assertTrue(json, json.contains("\"contextId\": \"test/\\\"app\\\"\""));
+        assertTrue(json, json.contains("{ \"name\": \"validateBeans\", \"count\": 1, "));
+        assertTrue(json, json.contains("\"com.acme.FooExtension.observe(AfterBeanDiscovery)\""));
+        assertTrue(json, json.contains("\"proxy\": []"));
+    }
+
+    @Test
+    public void testAllocatedBytesMeasured() {
+        BootstrapTimeline timeline = new BootstrapTimeline("test", 2, null);
+        Measurement measurement = timeline.start();
+        byte[][] garbage = new byte[16][];
+        for (int i = 0; i < garbage.length; i++) {
+            garbage[i] = new byte[1024];
+        }
+        timeline.recordPhase("deployBeans", measurement);
+        // the test JVM supports the allocation measurement, which is read reflectively
+        long allocatedBytes = timeline.getPhases().get(0).getAllocatedBytes();
+        assertTrue("Allocated bytes: " + allocatedBytes + ", garbage: " + garbage.length, allocatedBytes >= 16 * 1024);
+    }
+
+    private static void record(BootstrapTimeline timeline, String bean, long millis) throws InterruptedException {
+        Measurement measurement = timeline.start();
+        Thread.sleep(millis);
+        timeline.recordBean(BeanOperation.VALIDATE, bean, measurement);
+    }
+
+}
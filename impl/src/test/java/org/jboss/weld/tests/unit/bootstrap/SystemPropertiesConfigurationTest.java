@@ -0,0 +1,67 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.bootstrap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Constructor;
+
+import org.jboss.weld.SystemPropertiesConfiguration;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the validation of the system properties by {@link SystemPropertiesConfiguration}. A new configuration is created for
+ * each test since {@link SystemPropertiesConfiguration#INSTANCE} reads the system properties only once.
+ */
+public class SystemPropertiesConfigurationTest {
+
+    @After
+    public void cleanup() {
+        System.clearProperty(SystemPropertiesConfiguration.SESSION_DIRTY_TRACKING);
+        System.clearProperty(SystemPropertiesConfiguration.SESSION_SINGLE_ATTRIBUTE);
+        System.clearProperty(SystemPropertiesConfiguration.BOOTSTRAP_EAGER_INITIALIZATION);
+    }
+
+    @Test
+    public void testSingleAttributeIgnoredWithDirtyTracking() throws Exception {
+        System.setProperty(SystemPropertiesConfiguration.SESSION_SINGLE_ATTRIBUTE, "true");
+        assertTrue(newConfiguration().isSessionSingleAttributeEnabled());
+        System.setProperty(SystemPropertiesConfiguration.SESSION_DIRTY_TRACKING, "true");
+        SystemPropertiesConfiguration configuration = newConfiguration();
+        assertTrue(configuration.isSessionDirtyTrackingEnabled());
+        assertFalse(configuration.isSessionSingleAttributeEnabled());
+    }
+
+    @Test
+    public void testInvalidEagerInitializationPatternIgnored() throws Exception {
+        System.setProperty(SystemPropertiesConfiguration.BOOTSTRAP_EAGER_INITIALIZATION, "com.acme.[Pool");
+        assertNull(newConfiguration().getBootstrapEagerInitializationPattern());
+        System.setProperty(SystemPropertiesConfiguration.BOOTSTRAP_EAGER_INITIALIZATION, "com.acme.*Pool");
+        assertEquals("com.acme.*Pool", newConfiguration().getBootstrapEagerInitializationPattern().pattern());
+    }
+
+    private static SystemPropertiesConfiguration newConfiguration() throws Exception {
+        Constructor<SystemPropertiesConfiguration> constructor = SystemPropertiesConfiguration.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return constructor.newInstance();
+    }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.servlet.http.HttpServletRequest;
+
+import org.jboss.weld.bean.StringBeanIdentifier;
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.context.beanstore.AttributeBeanStore;
+import org.jboss.weld.context.beanstore.LockStore;
+import org.jboss.weld.context.beanstore.SimpleNamingScheme;
+import org.jboss.weld.context.beanstore.http.LazySessionBeanStore;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.jboss.weld.servlet.SessionHolder;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests that an {@link AttributeBeanStore} with dirty tracking enabled only writes created and modified instances.
+ */
+public class AttributeBeanStoreDirtyTrackingTest {
+
+    private static final BeanIdentifier FOO = new StringBeanIdentifier("foo");
+    private static final BeanIdentifier BAR = new StringBeanIdentifier("bar");
+
+    @After
+    public void cleanup() {
+        SessionHolder.clear();
+    }
+
+    @Test
+    public void testOnlyModifiedInstancesWritten() {
+        Map<String, Object> storage = new HashMap<String, Object>();
+        TestBeanStore beanStore = new TestBeanStore(storage, true);
+        beanStore.attach();
+        beanStore.put(FOO, new TestInstance("foo"));
+        beanStore.put(BAR, new TestInstance("bar"));
+        beanStore.detach();
+        // created instances are written through
+        assertEquals(2, beanStore.writes.size());
+
+        // next request
+        beanStore = new TestBeanStore(storage, true);
+        beanStore.attach();
+        assertTrue(beanStore.contains(FOO));
+        assertTrue(beanStore.contains(BAR));
+        assertTrue(beanStore.markModified(FOO));
+        assertFalse(beanStore.markModified(new StringBeanIdentifier("baz")));
+        assertTrue(beanStore.writes.isEmpty());
+        beanStore.detach();
+        assertEquals(1, beanStore.writes.size());
+        assertEquals("WELD#foo", beanStore.writes.get(0));
+    }
+
+    @Test
+    public void testInstancesAddedWhileDetached() {
+        Map<String, Object> storage = new HashMap<String, Object>();
+        TestBeanStore beanStore = new TestBeanStore(storage, true);
+        beanStore.attach();
+        beanStore.put(FOO, new TestInstance("foo"));
+        beanStore.detach();
+        beanStore.put(BAR, new TestInstance("bar"));
+        beanStore.writes.clear();
+        // reattaching only writes the instance added while detached
+        beanStore.attach();
+        assertEquals(1, beanStore.writes.size());
+        assertEquals("WELD#bar", beanStore.writes.get(0));
+        beanStore.detach();
+        assertEquals(1, beanStore.writes.size());
+    }
+
+    @Test
+    public void testMarkModifiedDetached() {
+        Map<String, Object> storage = new HashMap<String, Object>();
+        TestBeanStore beanStore = new TestBeanStore(storage, true);
+        beanStore.attach();
+        beanStore.put(FOO, new TestInstance("foo"));
+        beanStore.detach();
+
+        // next request, the instance is marked before the bean store is attached
+        beanStore = new TestBeanStore(storage, true);
+        assertTrue(beanStore.markModified(FOO));
+        assertFalse(beanStore.markModified(BAR));
+        beanStore.attach();
+        assertEquals(1, beanStore.writes.size());
+        assertEquals("WELD#foo", beanStore.writes.get(0));
+    }
+
+    @Test
+    public void testLazySessionBeanStore() {
+        TestHttpSession session = new TestHttpSession();
+        HttpServletRequest request = session.createRequest();
+
+        // the first request creates the session
+        SessionHolder.requestInitialized(request);
+        LazySessionBeanStore beanStore = new LazySessionBeanStore(request, new SimpleNamingScheme("WELD"), true);
+        beanStore.attach();
+        beanStore.put(FOO, new TestInstance("foo"));
+        beanStore.detach();
+        SessionHolder.clear();
+        assertEquals(Collections.singletonList("WELD#foo"), session.writes);
+        session.writes.clear();
+
+        // the second request only marks the instance as modified
+        SessionHolder.requestInitialized(request);
+        beanStore = new LazySessionBeanStore(request, new SimpleNamingScheme("WELD"), true);
+        beanStore.attach();
+        assertTrue(beanStore.markModified(FOO));
+        assertTrue(session.writes.isEmpty());
+        beanStore.detach();
+        assertEquals(Collections.singletonList("WELD#foo"), session.writes);
+        session.writes.clear();
+
+        // the third request marks the instance before the bean store is attached
+        beanStore = new LazySessionBeanStore(request, new SimpleNamingScheme("WELD"), true);
+        assertTrue(beanStore.markModified(FOO));
+        beanStore.attach();
+        beanStore.detach();
+        assertEquals(Collections.singletonList("WELD#foo"), session.writes);
+    }
+
+    @Test
+    public void testDirtyTrackingDisabled() {
+        Map<String, Object> storage = new HashMap<String, Object>();
+        TestBeanStore beanStore = new TestBeanStore(storage, false);
+        beanStore.attach();
+        beanStore.put(FOO, new TestInstance("foo"));
+        beanStore.detach();
+        beanStore.writes.clear();
+        assertFalse(beanStore.markModified(FOO));
+        beanStore.attach();
+        assertEquals(1, beanStore.writes.size());
+    }
+
+    private static class TestBeanStore extends AttributeBeanStore {
+
+        private final Map<String, Object> storage;
+
+        private final List<String> writes = new ArrayList<String>();
+
+        TestBeanStore(Map<String, Object> storage, boolean dirtyTracking) {
+            super(new SimpleNamingScheme("WELD"), dirtyTracking);
+            this.storage = storage;
+        }
+
+        @Override
+        protected Object getAttribute(String prefixedId) {
+            return storage.get(prefixedId);
+        }
+
+        @Override
+        protected void removeAttribute(String prefixedId) {
+            storage.remove(prefixedId);
+        }
+
+        @Override
+        protected Collection<String> getAttributeNames() {
+            return new ArrayList<String>(storage.keySet());
+        }
+
+        @Override
+        protected void setAttribute(String prefixedId, Object instance) {
+            writes.add(prefixedId);
+            storage.put(prefixedId, instance);
+        }
+
+        @Override
+        protected LockStore getLockStore() {
+            return null;
+        }
+    }
+
+    private static class TestInstance implements ContextualInstance<String> {
+
+        private final String instance;
+
+        TestInstance(String instance) {
+            this.instance = instance;
+        }
+
+        @Override
+        public String getInstance() {
+            return instance;
+        }
+
+        @Override
+        public CreationalContext<String> getCreationalContext() {
+            return null;
+        }
+
+        @Override
+        public Contextual<String> getContextual() {
+            return null;
+        }
+    }
+}
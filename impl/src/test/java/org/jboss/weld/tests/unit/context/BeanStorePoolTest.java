@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+
+import org.jboss.weld.bean.StringBeanIdentifier;
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.context.beanstore.BeanStorePool;
+import org.jboss.weld.context.beanstore.MapBeanStore;
+import org.jboss.weld.context.beanstore.SimpleNamingScheme;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.junit.Test;
+
+/**
+ * Tests that {@link BeanStorePool} only recycles detached bean stores which do not hold any contextual instance.
+ */
+public class BeanStorePoolTest {
+
+    private static final BeanIdentifier FOO = new StringBeanIdentifier("foo");
+
+    @Test
+    public void testBeanStoreRecycled() {
+        BeanStorePool<MapBeanStore> pool = new BeanStorePool<MapBeanStore>(1);
+        Map<String, Object> firstRequest = new HashMap<String, Object>();
+        MapBeanStore beanStore = new MapBeanStore(new SimpleNamingScheme("WELD"), firstRequest);
+        beanStore.attach();
+        beanStore.put(FOO, new TestInstance());
+        assertEquals(1, firstRequest.size());
+        beanStore.clear();
+        beanStore.detach();
+        beanStore.reset(null);
+        assertTrue(pool.release(beanStore));
+
+        Map<String, Object> secondRequest = new HashMap<String, Object>();
+        MapBeanStore recycled = pool.acquire();
+        assertSame(beanStore, recycled);
+        recycled.reset(secondRequest);
+        recycled.attach();
+        assertFalse(recycled.contains(FOO));
+        recycled.put(FOO, new TestInstance());
+        assertEquals(1, secondRequest.size());
+        assertTrue(firstRequest.isEmpty());
+        assertNull(pool.acquire());
+    }
+
+    @Test
+    public void testLeakedBeanStoreNotRecycled() {
+        BeanStorePool<MapBeanStore> pool = new BeanStorePool<MapBeanStore>(1);
+        MapBeanStore beanStore = new MapBeanStore(new SimpleNamingScheme("WELD"), new HashMap<String, Object>());
+        beanStore.attach();
+        // still attached
+        assertFalse(pool.release(beanStore));
+        beanStore.put(FOO, new TestInstance());
+        beanStore.detach();
+        // still holds an instance
+        assertFalse(pool.release(beanStore));
+        assertNull(pool.acquire());
+    }
+
+    @Test
+    public void testCapturedBeanStoreNotRecycled() {
+        BeanStorePool<MapBeanStore> pool = new BeanStorePool<MapBeanStore>(1);
+        MapBeanStore beanStore = new MapBeanStore(new SimpleNamingScheme("WELD"), new HashMap<String, Object>());
+        beanStore.attach();
+        beanStore.disableRecycling();
+        beanStore.detach();
+        beanStore.reset(null);
+        assertFalse(beanStore.isRecyclable());
+        assertFalse(pool.release(beanStore));
+        assertNull(pool.acquire());
+    }
+
+    @Test
+    public void testPoolDisabled() {
+        BeanStorePool<MapBeanStore> pool = new BeanStorePool<MapBeanStore>(0);
+        assertFalse(pool.isEnabled());
+        assertFalse(pool.release(new MapBeanStore(new SimpleNamingScheme("WELD"), new HashMap<String, Object>())));
+        assertNull(pool.acquire());
+    }
+
+    private static class TestInstance implements ContextualInstance<String> {
+
+        @Override
+        public String getInstance() {
+            return "foo";
+        }
+
+        @Override
+        public CreationalContext<String> getCreationalContext() {
+            return null;
+        }
+
+        @Override
+        public Contextual<String> getContextual() {
+            return null;
+        }
+    }
+}
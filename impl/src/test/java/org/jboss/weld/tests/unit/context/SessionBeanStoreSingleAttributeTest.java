@@ -0,0 +1,197 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.servlet.http.HttpServletRequest;
+
+import org.jboss.weld.bean.StringBeanIdentifier;
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.context.beanstore.SimpleNamingScheme;
+import org.jboss.weld.context.beanstore.http.LazySessionBeanStore;
+import org.jboss.weld.servlet.SessionHolder;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the single attribute mode of the session bean stores.
+ */
+public class SessionBeanStoreSingleAttributeTest {
+
+    private static final String CONTAINER_SESSION_KEY = "org.jboss.weld.context.beanstore.http.Container";
+
+    @After
+    public void cleanup() {
+        SessionHolder.clear();
+    }
+
+    @Test
+    public void testPassivation() throws Exception {
+        TestHttpSession session = new TestHttpSession();
+        HttpServletRequest request = session.createRequest();
+        SessionHolder.requestInitialized(request);
+        LazySessionBeanStore beanStore = createBeanStore(request);
+        beanStore.attach();
+        beanStore.put(new StringBeanIdentifier("foo"), new TestInstance("foo"));
+        beanStore.put(new StringBeanIdentifier("bar"), new TestInstance("bar"));
+        beanStore.put(new StringBeanIdentifier("baz"), new TestInstance("baz"));
+        beanStore.detach();
+        SessionHolder.clear();
+        // a single attribute, set when the container is created and once again when the bean store is detached
+        assertEquals(1, session.attributes.size());
+        assertEquals(2, session.writes.size());
+
+        TestHttpSession activated = session.passivate();
+        request = activated.createRequest();
+        SessionHolder.requestInitialized(request);
+        beanStore = createBeanStore(request);
+        beanStore.attach();
+        ContextualInstance<String> instance = beanStore.get(new StringBeanIdentifier("foo"));
+        assertNotNull(instance);
+        assertEquals("foo", instance.getInstance());
+        assertEquals("baz", beanStore.<String> get(new StringBeanIdentifier("baz")).getInstance());
+        beanStore.detach();
+        // nothing was modified
+        assertEquals(0, activated.writes.size());
+    }
+
+    @Test
+    public void testConcurrentPuts() throws Exception {
+        TestHttpSession session = new TestHttpSession();
+        testConcurrentPuts(session, session.createRequest(), 2);
+    }
+
+    @Test
+    public void testConcurrentPutsWithSessionFacades() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            TestHttpSession session = new TestHttpSession();
+            testConcurrentPuts(session, session.createFacadeRequest(), 8);
+        }
+    }
+
+    @Test
+    public void testDirtyTrackingDisablesSingleAttribute() throws Exception {
+        TestHttpSession session = new TestHttpSession();
+        HttpServletRequest request = session.createRequest();
+        SessionHolder.requestInitialized(request);
+        LazySessionBeanStore beanStore = new LazySessionBeanStore(request, new SimpleNamingScheme("WELD"), true, true);
+        beanStore.attach();
+        beanStore.put(new StringBeanIdentifier("foo"), new TestInstance("foo"));
+        beanStore.put(new StringBeanIdentifier("bar"), new TestInstance("bar"));
+        beanStore.detach();
+        assertEquals(2, session.attributes.size());
+        assertNull(session.attributes.get(CONTAINER_SESSION_KEY));
+    }
+
+    private void testConcurrentPuts(TestHttpSession session, final HttpServletRequest request, final int requests) throws Exception {
+        // concurrent requests of an existing session, the container does not exist yet
+        request.getSession(true);
+        SessionHolder.clear();
+        final int instances = 100;
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try {
+            List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            for (int i = 0; i < requests; i++) {
+                final String prefix = "request" + i;
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        start.await();
+                        try {
+                            SessionHolder.requestInitialized(request);
+                            LazySessionBeanStore beanStore = createBeanStore(request);
+                            beanStore.attach();
+                            for (int j = 0; j < instances; j++) {
+                                beanStore.put(new StringBeanIdentifier(prefix + j), new TestInstance(prefix + j));
+                            }
+                            beanStore.detach();
+                        } finally {
+                            SessionHolder.clear();
+                        }
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        SessionHolder.requestInitialized(request);
+        try {
+            LazySessionBeanStore beanStore = createBeanStore(request);
+            beanStore.attach();
+            for (int i = 0; i < requests; i++) {
+                for (int j = 0; j < instances; j++) {
+                    assertEquals("request" + i + j, beanStore.<String> get(new StringBeanIdentifier("request" + i + j)).getInstance());
+                }
+            }
+        } finally {
+            SessionHolder.clear();
+        }
+        assertEquals(1, session.attributes.size());
+        assertNotNull(session.attributes.get(CONTAINER_SESSION_KEY));
+    }
+
+    private static LazySessionBeanStore createBeanStore(HttpServletRequest request) {
+        return new LazySessionBeanStore(request, new SimpleNamingScheme("WELD"), false, true);
+    }
+
+    private static class TestInstance implements ContextualInstance<String>, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String instance;
+
+        TestInstance(String instance) {
+            this.instance = instance;
+        }
+
+        @Override
+        public String getInstance() {
+            return instance;
+        }
+
+        @Override
+        public CreationalContext<String> getCreationalContext() {
+            return null;
+        }
+
+        @Override
+        public Contextual<String> getContextual() {
+            return null;
+        }
+    }
+}
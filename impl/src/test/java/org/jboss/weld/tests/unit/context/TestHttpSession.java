@@ -0,0 +1,139 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.context;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+
+import org.jboss.weld.servlet.SessionHolder;
+
+/**
+ * Backs the {@link HttpSession} and {@link HttpServletRequest} proxies used to test the session bean stores.
+ */
+class TestHttpSession {
+
+    final Map<String, Object> attributes = new ConcurrentHashMap<String, Object>();
+
+    final List<String> writes = Collections.synchronizedList(new ArrayList<String>());
+
+    private volatile HttpSession session;
+
+    // widens the window between reading a missing attribute and setting it
+    private volatile boolean slowMisses;
+
+    HttpServletRequest createRequest() {
+        return (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { HttpServletRequest.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getSession")) {
+                        synchronized (this) {
+                            if (session == null && (args == null || (Boolean) args[0])) {
+                                session = createSession();
+                                SessionHolder.sessionCreated(session);
+                            }
+                        }
+                        return session;
+                    }
+                    throw new UnsupportedOperationException(method.toString());
+                });
+    }
+
+    /**
+     * Like {@link #createRequest()} except that each invocation of <code>getSession()</code> returns a new {@link HttpSession}
+     * object backed by the same attributes, as some servlet containers do. Reading a missing attribute takes a while so that
+     * concurrent requests race for setting it.
+     */
+    HttpServletRequest createFacadeRequest() {
+        slowMisses = true;
+        return (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { HttpServletRequest.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getSession")) {
+                        synchronized (this) {
+                            if (session == null && (args == null || (Boolean) args[0])) {
+                                session = createSession();
+                                SessionHolder.sessionCreated(session);
+                            }
+                        }
+                        return session == null ? null : createSession();
+                    }
+                    throw new UnsupportedOperationException(method.toString());
+                });
+    }
+
+    /**
+     * Serializes and deserializes the attributes, as a servlet container does when passivating a session.
+     *
+     * @return the activated session
+     */
+    TestHttpSession passivate() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new HashMap<String, Object>(attributes));
+        }
+        TestHttpSession activated = new TestHttpSession();
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> attributes = (Map<String, Object>) in.readObject();
+            activated.attributes.putAll(attributes);
+        }
+        activated.session = activated.createSession();
+        return activated;
+    }
+
+    private HttpSession createSession() {
+        return (HttpSession) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { HttpSession.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getAttribute":
+                            Object value = attributes.get(args[0]);
+                            if (value == null && slowMisses) {
+                                Thread.sleep(10);
+                            }
+                            return value;
+                        case "setAttribute":
+                            writes.add((String) args[0]);
+                            attributes.put((String) args[0], args[1]);
+                            return null;
+                        case "removeAttribute":
+                            attributes.remove(args[0]);
+                            return null;
+                        case "getAttributeNames":
+                            return Collections.enumeration(new ArrayList<String>(attributes.keySet()));
+                        case "getId":
+                            return "session";
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.toString());
+                    }
+                });
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.jboss.weld.executor.CompositeTaskFactory;
+import org.jboss.weld.executor.FixedThreadPoolExecutorServices;
+import org.jboss.weld.executor.ForkJoinPoolExecutorServices;
+import org.jboss.weld.executor.IterativeWorkerTaskFactory;
+import org.jboss.weld.manager.api.ExecutorServices;
+import org.jboss.weld.manager.api.ExecutorServices.TaskFactory;
+import org.junit.Test;
+
+public class CompositeTaskFactoryTest {
+
+    @Test
+    public void testTasksCreatedInFactoryOrder() throws Exception {
+        List<String> results = new ArrayList<String>();
+        CompositeTaskFactory<String> factory = new CompositeTaskFactory<String>(new ConstantTaskFactory("a", "b"), new ConstantTaskFactory("c"),
+                new ConstantTaskFactory("d", "e"));
+        for (Callable<String> task : factory.createTasks(4)) {
+            results.add(task.call());
+        }
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"), results);
+    }
+
+    @Test
+    public void testPerItemTasks() throws Exception {
+        final List<String> processed = new ArrayList<String>();
+        CompositeTaskFactory<Void> factory = new CompositeTaskFactory<Void>(new IterativeWorkerTaskFactory<String>(Arrays.asList("a", "b", "c")) {
+            @Override
+            protected void doWork(String item) {
+                processed.add(item);
+            }
+        }, new TaskFactory<Void>() {
+            @Override
+            public List<Callable<Void>> createTasks(int threadPoolSize) {
+                return Collections.<Callable<Void>> singletonList(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        processed.add("d");
+                        return null;
+                    }
+                });
+            }
+        });
+        // a task for each item of the iterative factory and the usual tasks of the other one
+        List<Callable<Void>> tasks = factory.createPerItemTasks(2);
+        assertEquals(4, tasks.size());
+        for (Callable<Void> task : tasks) {
+            task.call();
+        }
+        assertEquals(Arrays.asList("a", "b", "c", "d"), processed);
+    }
+
+    @Test
+    public void testFailureOfFirstFactoryReported() {
+        testFailureOfFirstFactoryReported(new FixedThreadPoolExecutorServices(3));
+        testFailureOfFirstFactoryReported(new ForkJoinPoolExecutorServices(3));
+    }
+
+    private void testFailureOfFirstFactoryReported(ExecutorServices executor) {
+        try {
+            // the failure of the first factory is slower
+            executor.invokeAllAndCheckForExceptions(new CompositeTaskFactory<Void>(new FailingTaskFactory("first", 100), new FailingTaskFactory("second", 0)));
+            fail();
+        } catch (IllegalStateException expected) {
+            assertEquals("first", expected.getMessage());
+        } finally {
+            executor.cleanup();
+        }
+    }
+
+    private static class ConstantTaskFactory implements TaskFactory<String> {
+
+        private final String[] values;
+
+        ConstantTaskFactory(String... values) {
+            this.values = values;
+        }
+
+        @Override
+        public List<Callable<String>> createTasks(int threadPoolSize) {
+            List<Callable<String>> tasks = new ArrayList<Callable<String>>();
+            for (final String value : values) {
+                tasks.add(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        return value;
+                    }
+                });
+            }
+            return tasks;
+        }
+    }
+
+    private static class FailingTaskFactory extends IterativeWorkerTaskFactory<String> {
+
+        private final long delay;
+
+        FailingTaskFactory(String message, long delay) {
+            super(Collections.singleton(message));
+            this.delay = delay;
+        }
+
+        @Override
+        protected void doWork(String message) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException(message);
+        }
+    }
+
+}
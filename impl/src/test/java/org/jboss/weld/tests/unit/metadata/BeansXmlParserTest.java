@@ -0,0 +1,165 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.metadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.weld.bootstrap.spi.BeanDiscoveryMode;
+import org.jboss.weld.bootstrap.spi.BeansXml;
+import org.jboss.weld.xml.BeansXmlHandler;
+import org.jboss.weld.xml.BeansXmlParser;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+public class BeansXmlParserTest {
+
+    private static final String JAVAEE_ROOT = "<beans xmlns=\"http://xmlns.jcp.org/xml/ns/javaee\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" "
+            + "xsi:schemaLocation=\"http://xmlns.jcp.org/xml/ns/javaee http://xmlns.jcp.org/xml/ns/javaee/beans_1_1.xsd\"";
+
+    private static final String LEGACY_ROOT = "<beans xmlns=\"http://java.sun.com/xml/ns/javaee\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" "
+            + "xsi:schemaLocation=\"http://java.sun.com/xml/ns/javaee http://java.sun.com/xml/ns/javaee/beans_1_0.xsd\"";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final BeansXmlParser parser = new BeansXmlParser();
+
+    @Test
+    public void testEmptyBeansXml() throws IOException {
+        assertSame(BeansXml.EMPTY_BEANS_XML, parser.parse(write("empty.xml", "")));
+    }
+
+    @Test
+    public void testTrivialBeansXml() throws IOException {
+        assertTrivial(write("noNamespace.xml", "<beans/>"), BeanDiscoveryMode.ALL, null);
+        assertTrivial(write("noNamespaceMode.xml", "<beans bean-discovery-mode=\"none\"></beans>\n"), BeanDiscoveryMode.NONE, null);
+        assertTrivial(write("javaee.xml", "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<!-- License -->\n" + JAVAEE_ROOT
+                + "\n       version=\"1.1\" bean-discovery-mode=\"annotated\">\n    <!-- Nothing to see here -->\n</beans>\n"), BeanDiscoveryMode.ANNOTATED, "1.1");
+        assertTrivial(write("legacy.xml", LEGACY_ROOT + ">\r\n</beans>"), BeanDiscoveryMode.ALL, null);
+    }
+
+    @Test
+    public void testNonTrivialBeansXml() throws IOException {
+        // The parser supplies the default version
+        assertEquivalent(write("defaultVersion.xml", JAVAEE_ROOT + " bean-discovery-mode=\"all\"/>"));
+        // Element content
+        assertEquivalent(write("alternatives.xml", "<beans><alternatives><class>com.acme.Foo</class></alternatives></beans>"));
+    }
+
+    @Test
+    public void testBeansXmlCached() throws IOException {
+        File file = folder.newFile("beans.xml");
+        URL url = file.toURI().toURL();
+        Files.write(file.toPath(), "<beans><interceptors><class>com.acme.Foo</class></interceptors></beans>".getBytes(StandardCharsets.UTF_8));
+        BeansXml beansXml = parser.parse(url);
+        assertSame(beansXml, parser.parse(url));
+        assertSame(beansXml, new BeansXmlParser().parse(url));
+
+        // The same content at another location
+        File copy = folder.newFile("copy.xml");
+        Files.copy(file.toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        BeansXml copied = parser.parse(copy.toURI().toURL());
+        assertNotSame(beansXml, copied);
+        assertEquals(copy.toURI().toURL(), copied.getUrl());
+
+        // Modified content
+        Files.write(file.toPath(), "<beans><interceptors><class>com.acme.Bar</class></interceptors></beans>".getBytes(StandardCharsets.UTF_8));
+        BeansXml modified = parser.parse(url);
+        assertNotSame(beansXml, modified);
+        assertEquals("com.acme.Bar", modified.getEnabledInterceptors().get(0).getValue());
+    }
+
+    @Test
+    public void testCacheCleared() throws IOException {
+        URL url = write("cleared.xml", "<beans><decorators><class>com.acme.Foo</class></decorators></beans>");
+        BeansXml beansXml = parser.parse(url);
+        assertSame(beansXml, parser.parse(url));
+        BeansXmlParser.clearCache();
+        BeansXml parsed = parser.parse(url);
+        assertNotSame(beansXml, parsed);
+        assertEquals("com.acme.Foo", parsed.getEnabledDecorators().get(0).getValue());
+    }
+
+    private void assertTrivial(URL url, BeanDiscoveryMode mode, String version) {
+        BeansXml beansXml = parser.parse(url);
+        assertEquals(mode, beansXml.getBeanDiscoveryMode());
+        assertEquals(version, beansXml.getVersion());
+        // Trivial descriptors are not cached
+        assertNotSame(beansXml, parser.parse(url));
+        assertEquivalent(url);
+    }
+
+    /**
+     * Compares the result with the result of the full parsing and checks the full parsing does not report any problem.
+     */
+    private void assertEquivalent(URL url) {
+        final List<String> problems = new ArrayList<String>();
+        BeansXmlParser fullParser = new BeansXmlParser() {
+            @Override
+            protected BeansXmlHandler getHandler(URL beansXml) {
+                return new BeansXmlHandler(beansXml) {
+                    @Override
+                    public void warning(SAXParseException e) throws SAXException {
+                        problems.add(e.getMessage());
+                    }
+
+                    @Override
+                    public void error(SAXParseException e) throws SAXException {
+                        // The errors reported when there is no schema defined are ignored
+                        if (!e.getMessage().startsWith("cvc-elt.1")) {
+                            problems.add(e.getMessage());
+                        }
+                    }
+                };
+            }
+        };
+        BeansXml expected = fullParser.parse(url);
+        BeansXml actual = parser.parse(url);
+        assertEquals(expected.getUrl(), actual.getUrl());
+        assertEquals(expected.getBeanDiscoveryMode(), actual.getBeanDiscoveryMode());
+        assertEquals(expected.getVersion(), actual.getVersion());
+        assertEquals(expected.getEnabledAlternativeClasses().size(), actual.getEnabledAlternativeClasses().size());
+        assertEquals(expected.getEnabledAlternativeStereotypes().size(), actual.getEnabledAlternativeStereotypes().size());
+        assertEquals(expected.getEnabledDecorators().size(), actual.getEnabledDecorators().size());
+        assertEquals(expected.getEnabledInterceptors().size(), actual.getEnabledInterceptors().size());
+        assertEquals(expected.getScanning().getIncludes().size(), actual.getScanning().getIncludes().size());
+        assertEquals(expected.getScanning().getExcludes().size(), actual.getScanning().getExcludes().size());
+        assertTrue(problems.toString(), problems.isEmpty());
+    }
+
+    private URL write(String name, String content) throws IOException {
+        File file = folder.newFile(name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file.toURI().toURL();
+    }
+
+}
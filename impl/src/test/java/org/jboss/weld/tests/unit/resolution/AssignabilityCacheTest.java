@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.resolution;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import javax.enterprise.util.TypeLiteral;
+
+import org.jboss.weld.resolution.AssignabilityCache;
+import org.jboss.weld.resolution.AssignabilityRules;
+import org.jboss.weld.resolution.BeanTypeAssignabilityRules;
+import org.jboss.weld.util.reflection.ParameterizedTypeImpl;
+import org.junit.Test;
+
+/**
+ * Test for {@link AssignabilityCache}
+ */
+public class AssignabilityCacheTest {
+
+    private static class Foo<T extends Number> {
+    }
+
+    @Test
+    public <T extends Number> void testCachedResultsMatchBeanTypeRules() {
+        AssignabilityCache cache = new AssignabilityCache();
+        AssignabilityRules cached = cache.getBeanTypeAssignabilityRules();
+        AssignabilityRules rules = BeanTypeAssignabilityRules.instance();
+        Type[] types = new Type[] { List.class, Foo.class, int.class, Integer.class, new TypeLiteral<List<String>>() {
+        }.getType(), new TypeLiteral<List<? extends Number>>() {
+        }.getType(), new TypeLiteral<Foo<Integer>>() {
+        }.getType(), new TypeLiteral<Foo<T>>() {
+        }.getType(), new TypeLiteral<Foo<? super Integer>>() {
+        }.getType() };
+        // repeat to read the memoized results
+        for (int i = 0; i < 2; i++) {
+            for (Type required : types) {
+                for (Type bean : types) {
+                    assertEquals(required + " / " + bean, rules.matches(required, bean), cached.matches(required, bean));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testStructurallyEqualTypes() {
+        AssignabilityRules cached = new AssignabilityCache().getBeanTypeAssignabilityRules();
+        Type listOfStrings = new TypeLiteral<List<String>>() {
+        }.getType();
+        assertTrue(cached.matches(listOfStrings, new ParameterizedTypeImpl(List.class, new Type[] { String.class }, null)));
+        assertFalse(cached.matches(listOfStrings, new ParameterizedTypeImpl(List.class, new Type[] { Integer.class }, null)));
+        assertTrue(cached.matches(new ParameterizedTypeImpl(List.class, new Type[] { String.class }, null), listOfStrings));
+    }
+}
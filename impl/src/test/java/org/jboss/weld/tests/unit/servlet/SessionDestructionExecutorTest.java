@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.servlet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.servlet.SessionDestructionExecutor;
+import org.junit.Test;
+
+/**
+ * Tests that {@link SessionDestructionExecutor} performs the destructions on a worker thread and tracks them.
+ */
+public class SessionDestructionExecutorTest {
+
+    @Test
+    public void testDestructionsTracked() throws InterruptedException {
+        SessionDestructionExecutor executor = new SessionDestructionExecutor(2);
+        try {
+            final List<String> threads = new CopyOnWriteArrayList<String>();
+            final CountDownLatch latch = new CountDownLatch(3);
+            for (int i = 0; i < 3; i++) {
+                executor.submit("session" + i, () -> {
+                    threads.add(Thread.currentThread().getName());
+                    latch.countDown();
+                });
+            }
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            for (String thread : threads) {
+                assertTrue(thread, thread.startsWith("weld-session-destroyer-"));
+            }
+        } finally {
+            executor.cleanup();
+        }
+        assertEquals(3, executor.getDestroyedSessionCount());
+        assertEquals(0, executor.getQueueDepth());
+        assertTrue(executor.getMaxDestructionTime() >= executor.getAverageDestructionTime());
+    }
+
+    @Test
+    public void testFailedDestructionDoesNotStopExecutor() throws InterruptedException {
+        SessionDestructionExecutor executor = new SessionDestructionExecutor(1);
+        try {
+            final CountDownLatch latch = new CountDownLatch(1);
+            executor.submit("failing", () -> {
+                throw new IllegalStateException();
+            });
+            executor.submit("next", latch::countDown);
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.cleanup();
+        }
+        assertEquals(2, executor.getDestroyedSessionCount());
+    }
+
+}
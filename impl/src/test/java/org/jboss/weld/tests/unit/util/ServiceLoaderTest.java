@@ -0,0 +1,154 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.weld.bootstrap.spi.Metadata;
+import org.jboss.weld.resources.AbstractClassLoaderResourceLoader;
+import org.jboss.weld.resources.ClassLoaderResourceLoader;
+import org.jboss.weld.util.ServiceLoader;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ServiceLoaderTest {
+
+    private static final String SERVICE_FILE = "META-INF/services/" + Runnable.class.getName();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testProviderEntriesCached() throws IOException {
+        File root = folder.newFolder("root");
+        File serviceFile = new File(root, SERVICE_FILE);
+        serviceFile.getParentFile().mkdirs();
+        Files.write(serviceFile.toPath(), ("# Comment\n" + Alpha.class.getName() + "\n").getBytes(StandardCharsets.UTF_8));
+        CountingClassLoader classLoader = new CountingClassLoader(root);
+
+        List<Runnable> first = load(ServiceLoader.load(Runnable.class, classLoader));
+        List<Runnable> second = load(ServiceLoader.load(Runnable.class, classLoader));
+        assertEquals(1, first.size());
+        assertEquals(1, second.size());
+        assertEquals(Alpha.class, second.get(0).getClass());
+        // The providers are instantiated for each lookup but the files are only read once
+        assertNotSame(first.get(0), second.get(0));
+        assertEquals(1, classLoader.lookups.get());
+
+        // Reloading reads the files again
+        Files.write(serviceFile.toPath(), (Alpha.class.getName() + "\n" + Bravo.class.getName()).getBytes(StandardCharsets.UTF_8));
+        ServiceLoader<Runnable> loader = ServiceLoader.load(Runnable.class, classLoader);
+        assertEquals(1, load(loader).size());
+        loader.reload();
+        assertEquals(2, load(loader).size());
+        assertEquals(2, classLoader.lookups.get());
+        assertEquals(2, load(ServiceLoader.load(Runnable.class, classLoader)).size());
+
+        // Another class loader
+        CountingClassLoader otherClassLoader = new CountingClassLoader(root);
+        assertEquals(2, load(ServiceLoader.load(Runnable.class, otherClassLoader)).size());
+        assertEquals(1, otherClassLoader.lookups.get());
+    }
+
+    @Test
+    public void testResourceLoaderLookupsCached() throws IOException {
+        File root = folder.newFolder("resourceLoaderRoot");
+        File serviceFile = new File(root, SERVICE_FILE);
+        serviceFile.getParentFile().mkdirs();
+        Files.write(serviceFile.toPath(), Alpha.class.getName().getBytes(StandardCharsets.UTF_8));
+
+        // A class loader resource loader is cached per class loader
+        CountingClassLoader classLoader = new CountingClassLoader(root);
+        assertEquals(1, load(ServiceLoader.load(Runnable.class, new ClassLoaderResourceLoader(classLoader))).size());
+        assertEquals(1, load(ServiceLoader.load(Runnable.class, new ClassLoaderResourceLoader(classLoader))).size());
+        assertEquals(1, load(ServiceLoader.load(Runnable.class, classLoader)).size());
+        assertEquals(1, classLoader.lookups.get());
+
+        // Other resource loaders may resolve a different class loader for each lookup
+        final CountingClassLoader otherClassLoader = new CountingClassLoader(root);
+        AbstractClassLoaderResourceLoader resourceLoader = new AbstractClassLoaderResourceLoader() {
+
+            @Override
+            protected ClassLoader classLoader() {
+                return otherClassLoader;
+            }
+
+            @Override
+            public void cleanup() {
+            }
+        };
+        assertEquals(1, load(ServiceLoader.load(Runnable.class, resourceLoader)).size());
+        assertEquals(1, load(ServiceLoader.load(Runnable.class, resourceLoader)).size());
+        assertEquals(2, otherClassLoader.lookups.get());
+    }
+
+    private static List<Runnable> load(ServiceLoader<Runnable> loader) {
+        List<Runnable> providers = new ArrayList<Runnable>();
+        for (Metadata<Runnable> metadata : loader) {
+            providers.add(metadata.getValue());
+        }
+        return providers;
+    }
+
+    public static class Alpha implements Runnable {
+
+        @Override
+        public void run() {
+        }
+
+    }
+
+    public static class Bravo implements Runnable {
+
+        @Override
+        public void run() {
+        }
+
+    }
+
+    private static class CountingClassLoader extends URLClassLoader {
+
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        CountingClassLoader(File root) throws IOException {
+            super(new URL[] { root.toURI().toURL() }, ServiceLoaderTest.class.getClassLoader());
+        }
+
+        @Override
+        public Enumeration<URL> getResources(String name) throws IOException {
+            if (SERVICE_FILE.equals(name)) {
+                lookups.incrementAndGet();
+            }
+            return super.getResources(name);
+        }
+
+    }
+
+}
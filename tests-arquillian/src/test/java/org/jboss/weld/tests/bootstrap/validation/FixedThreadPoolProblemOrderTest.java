@@ -0,0 +1,49 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.bootstrap.validation;
+
+import javax.enterprise.inject.spi.DefinitionException;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.ShouldThrowException;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Both the decorator and the bean are broken. Decorators are validated before beans, so the definition error of the decorator is
+ * reported rather than the unsatisfied dependency of the bean even though both are validated concurrently.
+ */
+@RunWith(Arquillian.class)
+public class FixedThreadPoolProblemOrderTest {
+
+    @ShouldThrowException(DefinitionException.class)
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(BeanArchive.class).decorate(ProductDecorator.class)
+                .addClasses(Product.class, ProductImpl.class, ProductDecorator.class, Warehouse.class)
+                .addAsResource(new StringAsset("threadPoolSize=3\nthreadPoolType=FIXED"), "org.jboss.weld.executor.properties");
+    }
+
+    @Test
+    public void testDecoratorProblemReportedFirst() {
+    }
+}
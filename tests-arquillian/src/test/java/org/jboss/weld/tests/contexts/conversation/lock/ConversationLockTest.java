@@ -0,0 +1,157 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.conversation.lock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.context.ContextSnapshot;
+import org.jboss.weld.context.conversation.ConversationAccessStatistics;
+import org.jboss.weld.context.conversation.ConversationImpl;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests the fair locking and the rejection of requests waiting for a conversation, and the {@link ConversationAccessStatistics}.
+ * The concurrent requests are simulated by tasks which see the conversation context of the test thread.
+ */
+@RunWith(Arquillian.class)
+public class ConversationLockTest {
+
+    private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(ConversationLockTest.class.getPackage());
+    }
+
+    private ExecutorService executor;
+
+    @Before
+    public void init() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testRequestRejectedWhenTooManyWaiting(BeanManagerImpl manager) throws Exception {
+        final ConversationImpl conversation = new ConversationImpl(manager, false, 1);
+        ContextSnapshot snapshot = ContextSnapshot.capture(manager);
+        assertTrue(conversation.lock(0));
+        Future<Boolean> waiting;
+        try {
+            waiting = executor.submit(snapshot.wrapCallable(() -> conversation.lock(TIMEOUT) && conversation.unlock()));
+            awaitWaitingRequests(conversation, 1);
+            // the queue is full - the request is rejected without waiting
+            assertFalse(executor.submit(snapshot.wrapCallable(() -> conversation.lock(TIMEOUT))).get(TIMEOUT, TimeUnit.MILLISECONDS));
+            assertFalse(executor.submit(snapshot.wrapCallable(() -> conversation.lock(TIMEOUT))).get(TIMEOUT, TimeUnit.MILLISECONDS));
+        } finally {
+            conversation.unlock();
+        }
+        assertTrue(waiting.get(TIMEOUT, TimeUnit.MILLISECONDS));
+
+        ConversationAccessStatistics statistics = conversation.getAccessStatistics();
+        assertEquals(2, statistics.getRejectionCount());
+        assertEquals(2, statistics.getAcquisitionCount());
+        assertEquals(0, statistics.getTimeoutCount());
+    }
+
+    @Test
+    public void testTimeoutCounted(BeanManagerImpl manager) throws Exception {
+        final ConversationImpl conversation = new ConversationImpl(manager, false, 0);
+        ContextSnapshot snapshot = ContextSnapshot.capture(manager);
+        assertTrue(conversation.lock(0));
+        try {
+            assertFalse(executor.submit(snapshot.wrapCallable(() -> conversation.lock(10))).get(TIMEOUT, TimeUnit.MILLISECONDS));
+        } finally {
+            conversation.unlock();
+        }
+        ConversationAccessStatistics statistics = conversation.getAccessStatistics();
+        assertEquals(1, statistics.getTimeoutCount());
+        assertEquals(0, statistics.getRejectionCount());
+        assertEquals(1, statistics.getAcquisitionCount());
+    }
+
+    @Test
+    public void testFairLocking(BeanManagerImpl manager) throws Exception {
+        final ConversationImpl conversation = new ConversationImpl(manager, true, 0);
+        ContextSnapshot snapshot = ContextSnapshot.capture(manager);
+        final List<Integer> order = new CopyOnWriteArrayList<Integer>();
+        List<Future<Boolean>> requests = new ArrayList<Future<Boolean>>();
+        assertTrue(conversation.lock(0));
+        try {
+            for (int i = 0; i < 3; i++) {
+                final int request = i;
+                requests.add(executor.submit(snapshot.wrapCallable(() -> {
+                    if (!conversation.lock(TIMEOUT)) {
+                        return false;
+                    }
+                    try {
+                        order.add(request);
+                        return true;
+                    } finally {
+                        conversation.unlock();
+                    }
+                })));
+                // make sure the requests queue up in a known order
+                awaitWaitingRequests(conversation, i + 1);
+            }
+        } finally {
+            conversation.unlock();
+        }
+        for (Future<Boolean> request : requests) {
+            assertTrue(request.get(TIMEOUT, TimeUnit.MILLISECONDS));
+        }
+        // the requests acquired the conversation in the order they arrived
+        assertEquals(Arrays.asList(0, 1, 2), order);
+        assertEquals(4, conversation.getAccessStatistics().getAcquisitionCount());
+    }
+
+    private static void awaitWaitingRequests(ConversationImpl conversation, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (conversation.getWaitingRequestCount() < count) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Requests not waiting: " + conversation.getWaitingRequestCount());
+            }
+            Thread.sleep(5);
+        }
+    }
+
+}
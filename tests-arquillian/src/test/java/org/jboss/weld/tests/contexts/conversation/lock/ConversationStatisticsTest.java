@@ -0,0 +1,125 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.conversation.lock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.context.ContextSnapshot;
+import org.jboss.weld.context.conversation.ConversationAccessStatistics;
+import org.jboss.weld.context.conversation.ConversationImpl;
+import org.jboss.weld.context.conversation.ConversationStatistics;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests the {@link ConversationStatistics} obtained by injection.
+ */
+@RunWith(Arquillian.class)
+public class ConversationStatisticsTest {
+
+    private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(BeanArchive.class).addClass(ConversationStatisticsTest.class);
+    }
+
+    @Inject
+    private ConversationStatistics statistics;
+
+    private ExecutorService executor;
+
+    @Before
+    public void init() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testStatisticsOfLongRunningConversations(BeanManagerImpl manager) throws Exception {
+        long timeouts = statistics.getTotals().getTimeoutCount();
+        long rejections = statistics.getTotals().getRejectionCount();
+
+        final ConversationImpl conversation = new ConversationImpl(manager, false, 1);
+        assertFalse(statistics.getConversationIds().contains("statistics"));
+        conversation.begin("statistics");
+        try {
+            assertTrue(statistics.getConversationIds().contains("statistics"));
+            List<ConversationAccessStatistics> conversationStatistics = statistics.getAccessStatistics("statistics");
+            assertEquals(1, conversationStatistics.size());
+
+            ContextSnapshot snapshot = ContextSnapshot.capture(manager);
+            assertTrue(conversation.lock(0));
+            try {
+                // times out
+                assertFalse(executor.submit(snapshot.wrapCallable(() -> conversation.lock(10))).get(TIMEOUT, TimeUnit.MILLISECONDS));
+                executor.submit(snapshot.wrapCallable(() -> conversation.lock(TIMEOUT) && conversation.unlock()));
+                awaitWaitingRequests("statistics", 1);
+                // rejected, the queue is full
+                assertFalse(executor.submit(snapshot.wrapCallable(() -> conversation.lock(TIMEOUT))).get(TIMEOUT, TimeUnit.MILLISECONDS));
+            } finally {
+                conversation.unlock();
+            }
+            awaitWaitingRequests("statistics", 0);
+
+            ConversationAccessStatistics accessStatistics = conversationStatistics.get(0);
+            assertEquals(1, accessStatistics.getTimeoutCount());
+            assertEquals(1, accessStatistics.getRejectionCount());
+            assertEquals(timeouts + 1, statistics.getTotals().getTimeoutCount());
+            assertEquals(rejections + 1, statistics.getTotals().getRejectionCount());
+        } finally {
+            conversation.end();
+        }
+        // ended conversations are not enumerated, their counters are kept in the totals
+        assertFalse(statistics.getConversationIds().contains("statistics"));
+        assertTrue(statistics.getAccessStatistics("statistics").isEmpty());
+        assertEquals(timeouts + 1, statistics.getTotals().getTimeoutCount());
+    }
+
+    private void awaitWaitingRequests(String id, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (statistics.getWaitingRequestCount(id) != count) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Requests waiting: " + statistics.getWaitingRequestCount(id));
+            }
+            Thread.sleep(5);
+        }
+    }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.conversation.reaper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.context.conversation.ConversationImpl;
+import org.jboss.weld.context.conversation.ConversationMap;
+import org.jboss.weld.context.conversation.ConversationReaper;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.resources.SingleThreadScheduledExecutorServiceFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests {@link ConversationReaper} and the expiry index of {@link ConversationMap}.
+ */
+@RunWith(Arquillian.class)
+public class ConversationReaperTest {
+
+    private static final long LONG_TIMEOUT = TimeUnit.HOURS.toMillis(1);
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(ConversationReaperTest.class.getPackage());
+    }
+
+    private SingleThreadScheduledExecutorServiceFactory executorServiceFactory;
+
+    private ConversationReaper reaper;
+
+    private List<ConversationImpl> conversations;
+
+    @Before
+    public void setUp() {
+        executorServiceFactory = new SingleThreadScheduledExecutorServiceFactory();
+        // the periodic task never runs during the test, run() is invoked directly
+        reaper = new ConversationReaper(executorServiceFactory, LONG_TIMEOUT);
+        conversations = new ArrayList<ConversationImpl>();
+    }
+
+    @After
+    public void cleanup() {
+        reaper.cleanup();
+        executorServiceFactory.cleanup();
+        // begin() also registers the conversations with the active conversation context
+        for (ConversationImpl conversation : conversations) {
+            if (!conversation.isTransient()) {
+                conversation.end();
+            }
+        }
+    }
+
+    @Test
+    public void testExpiredConversationsEnded(BeanManagerImpl manager) throws InterruptedException {
+        ConversationMap map = new ConversationMap();
+        ConversationImpl expiring = begin(manager, map, "reaper-expiring", 1);
+        ConversationImpl living = begin(manager, map, "reaper-living", LONG_TIMEOUT);
+        ConversationImpl touched = begin(manager, map, "reaper-touched", 100);
+        reaper.register(map);
+        assertTrue(map.isReaped());
+
+        touched.setTimeout(LONG_TIMEOUT);
+        touched.touch();
+        map.touched(touched);
+        Thread.sleep(200);
+        reaper.run();
+
+        assertTrue(expiring.isTransient());
+        assertFalse(living.isTransient());
+        assertFalse(touched.isTransient());
+        // the ended conversation is destroyed by the next request of the session
+        assertEquals(3, map.size());
+        assertEquals(Collections.singletonList("reaper-expiring"), map.pollEnded(null));
+        assertEquals(2, map.size());
+        assertFalse(map.containsKey("reaper-expiring"));
+        assertTrue(map.pollEnded(null).isEmpty());
+    }
+
+    @Test
+    public void testLockedConversationNotEnded(BeanManagerImpl manager) throws Exception {
+        ConversationMap map = new ConversationMap();
+        final ConversationImpl locked = begin(manager, map, "reaper-locked", 1);
+        reaper.register(map);
+        assertTrue(locked.lock(0));
+        try {
+            Thread.sleep(50);
+            // the reaper runs on another thread, the conversation is in use
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                executor.submit(reaper).get();
+            } finally {
+                executor.shutdown();
+            }
+            assertFalse(locked.isTransient());
+        } finally {
+            locked.unlock();
+        }
+        // the conversation in use is checked again by the next run
+        Thread.sleep(10);
+        reaper.run();
+        assertTrue(locked.isTransient());
+        assertEquals(Collections.singletonList("reaper-locked"), map.pollEnded(null));
+    }
+
+    @Test
+    public void testConcurrentExpiry(BeanManagerImpl manager) throws Exception {
+        final int count = 200;
+        final ConversationMap map = new ConversationMap();
+        for (int i = 0; i < count; i++) {
+            begin(manager, map, "reaper-concurrent-" + i, 1);
+        }
+        reaper.register(map);
+        Thread.sleep(50);
+
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<List<String>>> results = new ArrayList<Future<List<String>>>();
+            for (int i = 0; i < 6; i++) {
+                final boolean reap = i % 2 == 0;
+                results.add(executor.submit(new Callable<List<String>>() {
+                    @Override
+                    public List<String> call() throws Exception {
+                        start.await();
+                        List<String> destroyed = new ArrayList<String>();
+                        for (int j = 0; j < 20; j++) {
+                            if (reap) {
+                                reaper.run();
+                            } else {
+                                // simulates the requests of the session
+                                destroyed.addAll(map.pollEnded(null));
+                            }
+                        }
+                        return destroyed;
+                    }
+                }));
+            }
+            start.countDown();
+            List<String> destroyed = new ArrayList<String>();
+            for (Future<List<String>> result : results) {
+                destroyed.addAll(result.get(10, TimeUnit.SECONDS));
+            }
+            reaper.run();
+            destroyed.addAll(map.pollEnded(null));
+
+            // every conversation is ended and destroyed exactly once
+            assertEquals(count, destroyed.size());
+            assertEquals(count, new HashSet<String>(destroyed).size());
+            assertTrue(map.isEmpty());
+            for (ConversationImpl conversation : conversations) {
+                assertTrue(conversation.isTransient());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private ConversationImpl begin(BeanManagerImpl manager, ConversationMap map, String id, long timeout) {
+        ConversationImpl conversation = new ConversationImpl(manager);
+        conversation.begin(id);
+        conversation.setTimeout(timeout);
+        conversation.touch();
+        conversations.add(conversation);
+        map.put(id, conversation);
+        return conversation;
+    }
+
+}
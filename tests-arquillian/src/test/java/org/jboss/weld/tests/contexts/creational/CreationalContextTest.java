@@ -30,6 +30,7 @@ import org.jboss.arquillian.junit.Arquillian;
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.BeanArchive;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.bean.builtin.InstanceImpl;
 import org.jboss.weld.context.WeldCreationalContext;
 import org.jboss.weld.context.api.ContextualInstance;
 import org.jboss.weld.util.reflection.Reflections;
@@ -52,7 +53,7 @@ public class CreationalContextTest {
         InjectedBean instance = bean.create(cc);
 
         WeldCreationalContext<InjectedBean> wcc = (WeldCreationalContext<InjectedBean>) cc;
-        assertEquals(4, wcc.getDependentInstances().size());
+        assertEquals(5, wcc.getDependentInstances().size());
 
         @SuppressWarnings("serial")
         Set<Class<?>> expectedDependentInstanceClasses = new HashSet<Class<?>>() {
@@ -61,6 +62,7 @@ public class CreationalContextTest {
                 add(ProductWithDisposer.class);
                 add(Bravo.class);
                 add(Delta.class);
+                add(InstanceImpl.class);
             }
         };
         Set<Class<?>> actualDependentInstanceClasses = new HashSet<Class<?>>();
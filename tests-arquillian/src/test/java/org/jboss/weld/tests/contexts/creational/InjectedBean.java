@@ -16,6 +16,7 @@
  */
 package org.jboss.weld.tests.contexts.creational;
 
+import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 
 @SuppressWarnings("unused")
@@ -52,4 +53,12 @@ public class InjectedBean {
     @Inject
     // retained within CreationalContext - because its dependency has disposer method
     private Delta dependency8;
+
+    @Inject
+    // not retained within CreationalContext - built-in beans do not require destruction
+    private Echo dependency9;
+
+    @Inject
+    // retained within CreationalContext - because instances obtained through Instance.get() need to be destroyed with it
+    private Instance<Alpha> dependency10;
 }
@@ -0,0 +1,156 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.request.lazy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.inject.Inject;
+import javax.servlet.http.HttpServletRequest;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.context.http.HttpRequestContext;
+import org.jboss.weld.context.http.LazyHttpRequestContextImpl;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.servlet.HttpContextLifecycle;
+import org.jboss.weld.servlet.spi.helpers.AcceptingHttpContextActivationFilter;
+import org.jboss.weld.util.reflection.Reflections;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests {@link LazyHttpRequestContextImpl} driven by {@link HttpContextLifecycle}. The lazy context is enabled by a system
+ * property, so the test passes it to the lifecycle directly instead of relying on the registered context.
+ */
+@RunWith(Arquillian.class)
+public class LazyHttpRequestContextTest {
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(LazyHttpRequestContextTest.class.getPackage());
+    }
+
+    @Inject
+    private BeanManagerImpl manager;
+
+    @Inject
+    private RequestObserver observer;
+
+    private LazyHttpRequestContextImpl context;
+
+    private HttpContextLifecycle lifecycle;
+
+    @Before
+    public void setUp() {
+        context = new LazyHttpRequestContextImpl(manager.getContextId());
+        lifecycle = new HttpContextLifecycle(manager, AcceptingHttpContextActivationFilter.INSTANCE, false, false, false, false) {
+            @Override
+            public HttpRequestContext getRequestContext() {
+                return context;
+            }
+        };
+        lifecycle.setConversationActivationEnabled(false);
+        observer.reset();
+        Counter.DESTROYED.clear();
+    }
+
+    @Test
+    public void testNoBeanStoreWithoutRequestScopedBean() {
+        Map<String, Object> attributes = new ConcurrentHashMap<String, Object>();
+        HttpServletRequest request = createRequest(attributes);
+
+        lifecycle.requestInitialized(request, null);
+        assertTrue(context.isActive());
+        assertFalse(context.isInitialized());
+        lifecycle.requestDestroyed(request);
+
+        assertFalse(context.isActive());
+        assertFalse(context.isInitialized());
+        // no bean store means no request attributes
+        assertTrue(attributes.isEmpty());
+        assertEquals(Arrays.asList("initialized", "destroyed"), observer.getEvents());
+    }
+
+    @Test
+    public void testBeanStoreCreatedOnFirstAccess() {
+        Map<String, Object> attributes = new ConcurrentHashMap<String, Object>();
+        HttpServletRequest request = createRequest(attributes);
+
+        lifecycle.requestInitialized(request, null);
+        assertFalse(context.isInitialized());
+        Bean<Counter> bean = Reflections.cast(manager.resolve(manager.getBeans(Counter.class)));
+        CreationalContext<Counter> creationalContext = manager.createCreationalContext(bean);
+        assertEquals(1, context.get(bean, creationalContext).increment());
+        assertEquals(2, context.get(bean, creationalContext).increment());
+        assertTrue(context.isInitialized());
+        assertFalse(attributes.isEmpty());
+        lifecycle.requestDestroyed(request);
+
+        assertFalse(context.isActive());
+        assertFalse(context.isInitialized());
+        assertEquals(Collections.singletonList(Counter.class.getName()), Counter.DESTROYED);
+        assertEquals(Arrays.asList("initialized", "destroyed"), observer.getEvents());
+    }
+
+    private static HttpServletRequest createRequest(final Map<String, Object> attributes) {
+        return (HttpServletRequest) Proxy.newProxyInstance(LazyHttpRequestContextTest.class.getClassLoader(), new Class<?>[] { HttpServletRequest.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        String name = method.getName();
+                        if ("getAttribute".equals(name)) {
+                            return attributes.get(args[0]);
+                        } else if ("setAttribute".equals(name)) {
+                            attributes.put((String) args[0], args[1]);
+                            return null;
+                        } else if ("removeAttribute".equals(name)) {
+                            attributes.remove(args[0]);
+                            return null;
+                        } else if ("getAttributeNames".equals(name)) {
+                            return Collections.enumeration(attributes.keySet());
+                        } else if ("hashCode".equals(name)) {
+                            return System.identityHashCode(proxy);
+                        } else if ("equals".equals(name)) {
+                            return proxy == args[0];
+                        } else if ("toString".equals(name)) {
+                            return "HttpServletRequest" + attributes.keySet();
+                        } else if (boolean.class.equals(method.getReturnType())) {
+                            return false;
+                        }
+                        // getSession() etc.
+                        return null;
+                    }
+                });
+    }
+
+}
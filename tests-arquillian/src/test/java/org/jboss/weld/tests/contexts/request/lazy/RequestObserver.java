@@ -0,0 +1,50 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.request.lazy;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Destroyed;
+import javax.enterprise.context.Initialized;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.Observes;
+import javax.servlet.http.HttpServletRequest;
+
+@ApplicationScoped
+public class RequestObserver {
+
+    private final List<String> events = new CopyOnWriteArrayList<String>();
+
+    void initialized(@Observes @Initialized(RequestScoped.class) HttpServletRequest request) {
+        events.add("initialized");
+    }
+
+    void destroyed(@Observes @Destroyed(RequestScoped.class) HttpServletRequest request) {
+        events.add("destroyed");
+    }
+
+    public List<String> getEvents() {
+        return events;
+    }
+
+    public void reset() {
+        events.clear();
+    }
+
+}
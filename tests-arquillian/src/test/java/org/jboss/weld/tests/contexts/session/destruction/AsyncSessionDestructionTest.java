@@ -0,0 +1,230 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.session.destruction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.inject.Inject;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.context.bound.BoundRequestContext;
+import org.jboss.weld.context.bound.BoundSessionContext;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.servlet.HttpContextLifecycle;
+import org.jboss.weld.servlet.SessionDestructionExecutor;
+import org.jboss.weld.servlet.spi.helpers.AcceptingHttpContextActivationFilter;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests the destruction of session scoped instances with {@link SessionDestructionExecutor} enabled. The executor is enabled by
+ * a system property, so the test registers it itself.
+ */
+@RunWith(Arquillian.class)
+public class AsyncSessionDestructionTest {
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(AsyncSessionDestructionTest.class.getPackage());
+    }
+
+    @Inject
+    private BeanManagerImpl manager;
+
+    @Inject
+    private SessionEvents events;
+
+    @Inject
+    private ShoppingCart cart;
+
+    private HttpContextLifecycle lifecycle;
+
+    @Before
+    public void setUp() {
+        if (!manager.getServices().contains(SessionDestructionExecutor.class)) {
+            manager.getServices().add(SessionDestructionExecutor.class, new SessionDestructionExecutor(1));
+        }
+        lifecycle = new HttpContextLifecycle(manager, AcceptingHttpContextActivationFilter.INSTANCE, false, false, false, false);
+        lifecycle.setConversationActivationEnabled(false);
+        events.reset();
+    }
+
+    @Test
+    public void testTimedOutSessionDestroyedByWorker() throws Exception {
+        final Map<String, Object> attributes = new ConcurrentHashMap<String, Object>();
+        final HttpSession session = createSession("timedOut", attributes);
+        request(session, false);
+        session.setAttribute("foo", "bar");
+
+        // the servlet container's expiry thread
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        Thread expiry = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    lifecycle.sessionDestroyed(session);
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            }
+        }, "session-expiry");
+        expiry.start();
+        expiry.join();
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        // the container invalidates the session once the listeners are notified
+        attributes.clear();
+
+        assertTrue(events.awaitDestroyed());
+        assertEquals(Arrays.asList("preDestroy", "destroyed"), events.getEvents());
+        for (String thread : events.getThreads()) {
+            assertTrue(thread, thread.startsWith("weld-session-destroyer-"));
+        }
+        // the event payload is a copy of the session
+        HttpSession destroyedSession = events.getDestroyedSession();
+        assertTrue(destroyedSession != session);
+        assertEquals("timedOut", destroyedSession.getId());
+        assertEquals("bar", destroyedSession.getAttribute("foo"));
+        try {
+            destroyedSession.setAttribute("foo", "baz");
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void testSessionInvalidatedWithinRequest() throws Exception {
+        HttpSession session = createSession("invalidated", new ConcurrentHashMap<String, Object>());
+        request(session, false);
+        // the instances are destroyed at the end of the request which invalidates the session
+        request(session, true);
+
+        assertEquals(Arrays.asList("preDestroy", "destroyed"), events.getEvents());
+        assertEquals(Arrays.asList(Thread.currentThread().getName(), Thread.currentThread().getName()), events.getThreads());
+        assertTrue(events.getDestroyedSession() == session);
+    }
+
+    private void request(HttpSession session, boolean invalidate) {
+        // the test thread has the bound contexts active, only the HTTP contexts may be active during the request
+        BoundRequestContext boundRequestContext = manager.instance().select(BoundRequestContext.class).get();
+        BoundSessionContext boundSessionContext = manager.instance().select(BoundSessionContext.class).get();
+        boundRequestContext.deactivate();
+        boundSessionContext.deactivate();
+        try {
+            HttpServletRequest request = createRequest(session);
+            lifecycle.requestInitialized(request, null);
+            cart.add();
+            if (invalidate) {
+                lifecycle.sessionDestroyed(session);
+                assertTrue(events.getEvents().isEmpty());
+            }
+            lifecycle.requestDestroyed(request);
+        } finally {
+            boundRequestContext.activate();
+            boundSessionContext.activate();
+        }
+    }
+
+    private static HttpSession createSession(final String id, final Map<String, Object> attributes) {
+        return (HttpSession) Proxy.newProxyInstance(AsyncSessionDestructionTest.class.getClassLoader(), new Class<?>[] { HttpSession.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        String name = method.getName();
+                        if ("getAttribute".equals(name)) {
+                            return attributes.get(args[0]);
+                        } else if ("setAttribute".equals(name)) {
+                            attributes.put((String) args[0], args[1]);
+                            return null;
+                        } else if ("removeAttribute".equals(name)) {
+                            attributes.remove(args[0]);
+                            return null;
+                        } else if ("getAttributeNames".equals(name)) {
+                            return Collections.enumeration(attributes.keySet());
+                        } else if ("getId".equals(name)) {
+                            return id;
+                        } else if ("hashCode".equals(name)) {
+                            return System.identityHashCode(proxy);
+                        } else if ("equals".equals(name)) {
+                            return proxy == args[0];
+                        } else if ("toString".equals(name)) {
+                            return "HttpSession[" + id + "]";
+                        } else if (boolean.class.equals(method.getReturnType())) {
+                            return false;
+                        } else if (long.class.equals(method.getReturnType())) {
+                            return 0L;
+                        } else if (int.class.equals(method.getReturnType())) {
+                            return 0;
+                        }
+                        return null;
+                    }
+                });
+    }
+
+    private static HttpServletRequest createRequest(final HttpSession session) {
+        final Map<String, Object> attributes = new ConcurrentHashMap<String, Object>();
+        return (HttpServletRequest) Proxy.newProxyInstance(AsyncSessionDestructionTest.class.getClassLoader(), new Class<?>[] { HttpServletRequest.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        String name = method.getName();
+                        if ("getSession".equals(name)) {
+                            return session;
+                        } else if ("getAttribute".equals(name)) {
+                            return attributes.get(args[0]);
+                        } else if ("setAttribute".equals(name)) {
+                            attributes.put((String) args[0], args[1]);
+                            return null;
+                        } else if ("removeAttribute".equals(name)) {
+                            attributes.remove(args[0]);
+                            return null;
+                        } else if ("getAttributeNames".equals(name)) {
+                            return Collections.enumeration(attributes.keySet());
+                        } else if ("hashCode".equals(name)) {
+                            return System.identityHashCode(proxy);
+                        } else if ("equals".equals(name)) {
+                            return proxy == args[0];
+                        } else if ("toString".equals(name)) {
+                            return "HttpServletRequest" + attributes.keySet();
+                        } else if (boolean.class.equals(method.getReturnType())) {
+                            return false;
+                        }
+                        return null;
+                    }
+                });
+    }
+
+}
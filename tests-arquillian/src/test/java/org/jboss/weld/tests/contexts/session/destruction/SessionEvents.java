@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.session.destruction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Destroyed;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.event.Observes;
+import javax.servlet.http.HttpSession;
+
+/**
+ * Records the destruction of session scoped instances and the {@code @Destroyed(SessionScoped.class)} events, together with
+ * the threads they happen on.
+ */
+@ApplicationScoped
+public class SessionEvents {
+
+    private final List<String> events = new ArrayList<String>();
+
+    private final List<String> threads = new ArrayList<String>();
+
+    private volatile HttpSession destroyedSession;
+
+    private volatile CountDownLatch destroyed = new CountDownLatch(1);
+
+    void onSessionDestroyed(@Observes @Destroyed(SessionScoped.class) HttpSession session) {
+        destroyedSession = session;
+        add("destroyed");
+        destroyed.countDown();
+    }
+
+    synchronized void add(String event) {
+        events.add(event);
+        threads.add(Thread.currentThread().getName());
+    }
+
+    public synchronized List<String> getEvents() {
+        return new ArrayList<String>(events);
+    }
+
+    public synchronized List<String> getThreads() {
+        return new ArrayList<String>(threads);
+    }
+
+    public HttpSession getDestroyedSession() {
+        return destroyedSession;
+    }
+
+    public boolean awaitDestroyed() throws InterruptedException {
+        return destroyed.await(10, TimeUnit.SECONDS);
+    }
+
+    public synchronized void reset() {
+        events.clear();
+        threads.clear();
+        destroyedSession = null;
+        destroyed = new CountDownLatch(1);
+    }
+
+}
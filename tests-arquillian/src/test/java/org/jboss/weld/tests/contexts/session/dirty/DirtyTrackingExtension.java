@@ -0,0 +1,47 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.session.dirty;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.AfterBeanDiscovery;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.Extension;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.context.http.HttpSessionContextImpl;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.serialization.BeanIdentifierIndex;
+
+/**
+ * Registers an HTTP session context with dirty tracking enabled. The context is only active while a test drives a request
+ * through it.
+ */
+public class DirtyTrackingExtension implements Extension {
+
+    private volatile HttpSessionContextImpl context;
+
+    void registerContext(@Observes AfterBeanDiscovery event, BeanManager beanManager) {
+        BeanManagerImpl manager = BeanManagerProxy.unwrap(beanManager);
+        context = new HttpSessionContextImpl(manager.getContextId(), manager.getServices().get(BeanIdentifierIndex.class), true);
+        event.addContext(context);
+    }
+
+    public HttpSessionContextImpl getContext() {
+        return context;
+    }
+
+}
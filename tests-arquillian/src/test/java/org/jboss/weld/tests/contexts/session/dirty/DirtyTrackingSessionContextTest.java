@@ -0,0 +1,201 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.session.dirty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.Extension;
+import javax.inject.Inject;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.context.DirtyTrackingContext;
+import org.jboss.weld.context.bound.BoundRequestContext;
+import org.jboss.weld.context.bound.BoundSessionContext;
+import org.jboss.weld.context.http.HttpSessionContext;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.servlet.HttpContextLifecycle;
+import org.jboss.weld.servlet.spi.helpers.AcceptingHttpContextActivationFilter;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests that an HTTP session context with dirty tracking enabled only writes the instances created or marked as modified
+ * to the session, and that {@link DirtyTrackingContext} is reachable through {@link BeanManagerImpl#getContext(Class)}.
+ */
+@RunWith(Arquillian.class)
+public class DirtyTrackingSessionContextTest {
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(DirtyTrackingSessionContextTest.class.getPackage())
+                .addAsServiceProvider(Extension.class, DirtyTrackingExtension.class);
+    }
+
+    @Inject
+    private DirtyTrackingExtension extension;
+
+    @Inject
+    private Cart cart;
+
+    @Test
+    public void testOnlyModifiedInstancesWritten(BeanManagerImpl manager) {
+        HttpContextLifecycle lifecycle = new HttpContextLifecycle(manager, AcceptingHttpContextActivationFilter.INSTANCE, false, false, false, false) {
+            @Override
+            protected HttpSessionContext getSessionContext() {
+                return extension.getContext();
+            }
+        };
+        lifecycle.setConversationActivationEnabled(false);
+        Bean<?> bean = manager.resolve(manager.getBeans(Cart.class));
+        List<String> writes = new ArrayList<String>();
+        HttpSession session = createSession(writes);
+
+        // the test thread has the bound contexts active, only the HTTP contexts may be active during the requests
+        BoundRequestContext boundRequestContext = manager.instance().select(BoundRequestContext.class).get();
+        BoundSessionContext boundSessionContext = manager.instance().select(BoundSessionContext.class).get();
+        boundRequestContext.deactivate();
+        boundSessionContext.deactivate();
+        try {
+            HttpServletRequest request = createRequest(session);
+            lifecycle.requestInitialized(request, null);
+            assertEquals(1, cart.add());
+            lifecycle.requestDestroyed(request);
+            // the new instance is written
+            assertEquals(1, count(writes));
+
+            request = createRequest(session);
+            lifecycle.requestInitialized(request, null);
+            assertEquals(2, cart.add());
+            lifecycle.requestDestroyed(request);
+            // not marked as modified
+            assertEquals(1, count(writes));
+
+            request = createRequest(session);
+            lifecycle.requestInitialized(request, null);
+            assertEquals(3, cart.add());
+            Context context = manager.getContext(SessionScoped.class);
+            assertTrue(context instanceof DirtyTrackingContext);
+            ((DirtyTrackingContext) context).markModified(bean);
+            lifecycle.requestDestroyed(request);
+            assertEquals(2, count(writes));
+        } finally {
+            boundRequestContext.activate();
+            boundSessionContext.activate();
+        }
+    }
+
+    private static int count(List<String> writes) {
+        int count = 0;
+        synchronized (writes) {
+            for (String name : writes) {
+                if (name.startsWith("WELD_S")) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static HttpSession createSession(final List<String> writes) {
+        final Map<String, Object> attributes = new ConcurrentHashMap<String, Object>();
+        return (HttpSession) Proxy.newProxyInstance(DirtyTrackingSessionContextTest.class.getClassLoader(), new Class<?>[] { HttpSession.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        String name = method.getName();
+                        if ("getAttribute".equals(name)) {
+                            return attributes.get(args[0]);
+                        } else if ("setAttribute".equals(name)) {
+                            synchronized (writes) {
+                                writes.add((String) args[0]);
+                            }
+                            attributes.put((String) args[0], args[1]);
+                            return null;
+                        } else if ("removeAttribute".equals(name)) {
+                            attributes.remove(args[0]);
+                            return null;
+                        } else if ("getAttributeNames".equals(name)) {
+                            return Collections.enumeration(attributes.keySet());
+                        } else if ("getId".equals(name)) {
+                            return "dirty";
+                        } else if ("hashCode".equals(name)) {
+                            return System.identityHashCode(proxy);
+                        } else if ("equals".equals(name)) {
+                            return proxy == args[0];
+                        } else if ("toString".equals(name)) {
+                            return "HttpSession" + attributes.keySet();
+                        } else if (boolean.class.equals(method.getReturnType())) {
+                            return false;
+                        }
+                        return null;
+                    }
+                });
+    }
+
+    private static HttpServletRequest createRequest(final HttpSession session) {
+        final Map<String, Object> attributes = new ConcurrentHashMap<String, Object>();
+        return (HttpServletRequest) Proxy.newProxyInstance(DirtyTrackingSessionContextTest.class.getClassLoader(), new Class<?>[] { HttpServletRequest.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        String name = method.getName();
+                        if ("getSession".equals(name)) {
+                            return session;
+                        } else if ("getAttribute".equals(name)) {
+                            return attributes.get(args[0]);
+                        } else if ("setAttribute".equals(name)) {
+                            attributes.put((String) args[0], args[1]);
+                            return null;
+                        } else if ("removeAttribute".equals(name)) {
+                            attributes.remove(args[0]);
+                            return null;
+                        } else if ("getAttributeNames".equals(name)) {
+                            return Collections.enumeration(attributes.keySet());
+                        } else if ("hashCode".equals(name)) {
+                            return System.identityHashCode(proxy);
+                        } else if ("equals".equals(name)) {
+                            return proxy == args[0];
+                        } else if ("toString".equals(name)) {
+                            return "HttpServletRequest" + attributes.keySet();
+                        } else if (boolean.class.equals(method.getReturnType())) {
+                            return false;
+                        }
+                        return null;
+                    }
+                });
+    }
+
+}
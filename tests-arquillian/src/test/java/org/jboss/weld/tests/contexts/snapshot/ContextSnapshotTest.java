@@ -0,0 +1,138 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.snapshot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ContextNotActiveException;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.context.ContextSnapshot;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests that tasks wrapped by a {@link ContextSnapshot} share the request scoped instances which existed at capture time with the
+ * capturing thread and with each other.
+ */
+@RunWith(Arquillian.class)
+public class ContextSnapshotTest {
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(ContextSnapshotTest.class.getPackage());
+    }
+
+    @Inject
+    BeanManager beanManager;
+
+    @Inject
+    Cart cart;
+
+    @Inject
+    Receipt receipt;
+
+    private ExecutorService executor;
+
+    @Before
+    public void init() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testExistingInstancesShared() throws Exception {
+        int id = cart.getId();
+        ContextSnapshot snapshot = ContextSnapshot.capture(beanManager);
+        assertFalse(snapshot.isEmpty());
+        assertEquals(id, executor.submit(snapshot.wrapCallable(() -> cart.getId())).get().intValue());
+        assertEquals(id, CompletableFuture.supplyAsync(snapshot.wrapSupplier(() -> cart.getId()), executor).get().intValue());
+        // the snapshot is detached once the task completes
+        assertFalse(executor.submit(() -> isRequestContextActive()).get());
+    }
+
+    @Test
+    public void testConcurrentTasksShareInstances() throws Exception {
+        int id = cart.getId();
+        ContextSnapshot snapshot = ContextSnapshot.capture(beanManager);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            // both tasks run at the same time on different threads
+            final CyclicBarrier barrier = new CyclicBarrier(2);
+            Callable<Integer> task = snapshot.wrapCallable(() -> {
+                barrier.await(10, TimeUnit.SECONDS);
+                return cart.getId();
+            });
+            Future<Integer> first = pool.submit(task);
+            Future<Integer> second = pool.submit(task);
+            assertEquals(id, first.get(10, TimeUnit.SECONDS).intValue());
+            assertEquals(id, second.get(10, TimeUnit.SECONDS).intValue());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInstancesCopiedAtCapture() throws Exception {
+        ContextSnapshot snapshot = ContextSnapshot.capture(beanManager);
+        // created by the capturing thread after the snapshot was taken
+        int id = cart.getId();
+        assertFalse(id == executor.submit(snapshot.wrapCallable(() -> cart.getId())).get().intValue());
+        assertEquals(id, cart.getId());
+    }
+
+    @Test
+    public void testNewInstancesDestroyedWithTask() throws Exception {
+        ContextSnapshot snapshot = ContextSnapshot.capture(beanManager);
+        int destroyed = Receipt.DESTROYED.get();
+        assertEquals("R-1", executor.submit(snapshot.wrapCallable(() -> receipt.getNumber())).get());
+        assertEquals(destroyed + 1, Receipt.DESTROYED.get());
+        assertTrue(isRequestContextActive());
+    }
+
+    private boolean isRequestContextActive() {
+        try {
+            return beanManager.getContext(RequestScoped.class).isActive();
+        } catch (ContextNotActiveException e) {
+            return false;
+        }
+    }
+}
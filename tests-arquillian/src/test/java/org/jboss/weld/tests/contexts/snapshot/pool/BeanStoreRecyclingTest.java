@@ -0,0 +1,137 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.snapshot.pool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.Extension;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.context.ContextSnapshot;
+import org.jboss.weld.context.beanstore.BoundBeanStore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests that the bean store captured by a {@link ContextSnapshot} is not recycled for the next request.
+ */
+@RunWith(Arquillian.class)
+public class BeanStoreRecyclingTest {
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(BeanStoreRecyclingTest.class.getPackage())
+                .addAsServiceProvider(Extension.class, PooledContextExtension.class);
+    }
+
+    @Inject
+    BeanManager beanManager;
+
+    @Inject
+    PooledContextExtension extension;
+
+    @Inject
+    Token token;
+
+    private ExecutorService executor;
+
+    @Before
+    public void init() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testBeanStoreRecycled() {
+        PooledRequestContext context = extension.getContext();
+        Map<String, Object> firstRequest = new HashMap<String, Object>();
+        BoundBeanStore first = beginRequest(context, firstRequest);
+        int id = token.getId();
+        endRequest(context, firstRequest);
+
+        Map<String, Object> secondRequest = new HashMap<String, Object>();
+        BoundBeanStore second = beginRequest(context, secondRequest);
+        try {
+            assertSame(first, second);
+            assertFalse(id == token.getId());
+        } finally {
+            endRequest(context, secondRequest);
+        }
+    }
+
+    @Test
+    public void testSnapshotOutlivesRequest() throws Exception {
+        PooledRequestContext context = extension.getContext();
+        Map<String, Object> firstRequest = new HashMap<String, Object>();
+        BoundBeanStore first = beginRequest(context, firstRequest);
+        int id = token.getId();
+        ContextSnapshot snapshot = ContextSnapshot.capture(beanManager, PooledScoped.class);
+        endRequest(context, firstRequest);
+
+        // the next request gets a new bean store
+        Map<String, Object> secondRequest = new HashMap<String, Object>();
+        BoundBeanStore second = beginRequest(context, secondRequest);
+        try {
+            assertNotSame(first, second);
+            int nextId = token.getId();
+            assertFalse(id == nextId);
+            // the snapshot still sees the instance of its own request
+            assertEquals(id, executor.submit(snapshot.wrapCallable(() -> token.getId())).get().intValue());
+            assertEquals(nextId, token.getId());
+        } finally {
+            endRequest(context, secondRequest);
+        }
+    }
+
+    private BoundBeanStore beginRequest(PooledRequestContext context, Map<String, Object> storage) {
+        context.associate(storage);
+        context.activate();
+        return context.getCurrentBeanStore();
+    }
+
+    private void endRequest(PooledRequestContext context, Map<String, Object> storage) {
+        try {
+            context.invalidate();
+            context.deactivate();
+        } finally {
+            context.dissociate(storage);
+        }
+    }
+
+}
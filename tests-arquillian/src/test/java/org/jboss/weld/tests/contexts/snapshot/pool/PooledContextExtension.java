@@ -0,0 +1,44 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.snapshot.pool;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.AfterBeanDiscovery;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.BeforeBeanDiscovery;
+import javax.enterprise.inject.spi.Extension;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+
+public class PooledContextExtension implements Extension {
+
+    private PooledRequestContext context;
+
+    void registerScope(@Observes BeforeBeanDiscovery event) {
+        event.addScope(PooledScoped.class, true, false);
+    }
+
+    void registerContext(@Observes AfterBeanDiscovery event, BeanManager manager) {
+        context = new PooledRequestContext(BeanManagerProxy.unwrap(manager).getContextId());
+        event.addContext(context);
+    }
+
+    public PooledRequestContext getContext() {
+        return context;
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.snapshot.pool;
+
+import java.lang.annotation.Annotation;
+
+import org.jboss.weld.context.beanstore.BoundBeanStore;
+import org.jboss.weld.context.bound.BoundRequestContextImpl;
+
+/**
+ * A bound request context which recycles its bean stores.
+ */
+public class PooledRequestContext extends BoundRequestContextImpl {
+
+    public PooledRequestContext(String contextId) {
+        super(contextId, 1);
+    }
+
+    @Override
+    public Class<? extends Annotation> getScope() {
+        return PooledScoped.class;
+    }
+
+    public BoundBeanStore getCurrentBeanStore() {
+        return getBeanStore();
+    }
+
+}
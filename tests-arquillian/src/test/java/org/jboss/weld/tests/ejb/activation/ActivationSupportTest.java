@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.ejb.activation;
+
+import static org.jboss.weld.tests.ejb.activation.CountingInterceptor.RESULT;
+import static org.junit.Assert.assertEquals;
+
+import javax.interceptor.InvocationContext;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.context.RequestContext;
+import org.jboss.weld.ejb.AbstractEJBRequestScopeActivationInterceptor;
+import org.jboss.weld.ejb.EJBRequestScopeActivationSupport;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests that {@link AbstractEJBRequestScopeActivationInterceptor} uses the {@link EJBRequestScopeActivationSupport} resolved
+ * during bootstrap instead of performing lookups on every invocation.
+ */
+@RunWith(Arquillian.class)
+public class ActivationSupportTest {
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(BeanArchive.class).addClass(CountingInterceptor.class);
+    }
+
+    @Test
+    public void testPreResolvedSupportUsed(BeanManagerImpl manager) throws Exception {
+        // this deployment has no EJB services - register the support as if it were resolved during bootstrap
+        manager.getServices().add(EJBRequestScopeActivationSupport.class,
+                new EJBRequestScopeActivationSupport(manager, manager.instance().select(RequestContext.class), null));
+        CountingInterceptor interceptor = new CountingInterceptor(manager);
+        InvocationContext invocation = CountingInterceptor.createInvocationContext();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(RESULT, interceptor.aroundInvoke(invocation));
+        }
+        // the support is looked up once, the request context checks do not need the bean manager
+        assertEquals(1, interceptor.getLookups());
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.ejb.activation;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.interceptor.InvocationContext;
+
+import org.jboss.weld.ejb.AbstractEJBRequestScopeActivationInterceptor;
+import org.jboss.weld.manager.BeanManagerImpl;
+
+/**
+ * Counts how many times the interceptor needs the bean manager, i.e. performs a lookup.
+ */
+class CountingInterceptor extends AbstractEJBRequestScopeActivationInterceptor {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String RESULT = "proceeded";
+
+    private final BeanManagerImpl manager;
+
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    CountingInterceptor(BeanManagerImpl manager) {
+        this.manager = manager;
+    }
+
+    @Override
+    protected BeanManagerImpl getBeanManager() {
+        lookups.incrementAndGet();
+        return manager;
+    }
+
+    int getLookups() {
+        return lookups.get();
+    }
+
+    static InvocationContext createInvocationContext() {
+        final Map<String, Object> contextData = new HashMap<String, Object>();
+        return (InvocationContext) Proxy.newProxyInstance(CountingInterceptor.class.getClassLoader(), new Class<?>[] { InvocationContext.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if ("proceed".equals(method.getName())) {
+                            return RESULT;
+                        } else if ("getContextData".equals(method.getName())) {
+                            return contextData;
+                        }
+                        return null;
+                    }
+                });
+    }
+
+}
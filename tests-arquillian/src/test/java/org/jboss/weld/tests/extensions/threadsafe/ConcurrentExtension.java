@@ -0,0 +1,57 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.extensions.threadsafe;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ProcessAnnotatedType;
+import javax.enterprise.inject.spi.ProcessBeanAttributes;
+
+import org.jboss.weld.bootstrap.ThreadSafeExtension;
+
+@ThreadSafeExtension
+public class ConcurrentExtension implements Extension {
+
+    private final Set<Class<?>> processedTypes = Collections.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>());
+
+    private final Set<String> observerThreads = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    void processAnnotatedType(@Observes ProcessAnnotatedType<?> event) {
+        observerThreads.add(Thread.currentThread().getName());
+        processedTypes.add(event.getAnnotatedType().getJavaClass());
+        if (Bravo.class.equals(event.getAnnotatedType().getJavaClass())) {
+            event.veto();
+        }
+    }
+
+    void processBeanAttributes(@Observes ProcessBeanAttributes<Charlie> event) {
+        observerThreads.add(Thread.currentThread().getName());
+        event.veto();
+    }
+
+    public Set<Class<?>> getProcessedTypes() {
+        return processedTypes;
+    }
+
+    public Set<String> getObserverThreads() {
+        return observerThreads;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.extensions.threadsafe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.Extension;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.bootstrap.ThreadSafeExtension;
+import org.jboss.weld.bootstrap.events.ContainerLifecycleEvents;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests that container lifecycle events are delivered to an extension annotated with {@link ThreadSafeExtension}.
+ */
+@RunWith(Arquillian.class)
+public class ThreadSafeExtensionTest {
+
+    @Inject
+    private ConcurrentExtension extension;
+
+    @Inject
+    private BeanManager beanManager;
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(ThreadSafeExtensionTest.class.getPackage())
+                .addAsServiceProvider(Extension.class, ConcurrentExtension.class);
+    }
+
+    @Test
+    public void testEventsDelivered() {
+        assertTrue(extension.getProcessedTypes().contains(Alpha.class));
+        assertTrue(extension.getProcessedTypes().contains(Bravo.class));
+        assertTrue(extension.getProcessedTypes().contains(Charlie.class));
+        assertEquals(1, beanManager.getBeans(Alpha.class).size());
+        // vetoed by ProcessAnnotatedType
+        assertEquals(0, beanManager.getBeans(Bravo.class).size());
+        // vetoed by ProcessBeanAttributes
+        assertEquals(0, beanManager.getBeans(Charlie.class).size());
+    }
+
+    @Test
+    public void testEventsDeliveredConcurrently(BeanManagerImpl manager) {
+        ContainerLifecycleEvents events = manager.getServices().get(ContainerLifecycleEvents.class);
+        assertTrue(events.isProcessAnnotatedTypeDeliveryConcurrent());
+        assertTrue(events.isProcessBeanAttributesDeliveryConcurrent());
+        // the serial path would notify the observers on the bootstrap thread
+        assertFalse(extension.getObserverThreads().isEmpty());
+        for (String thread : extension.getObserverThreads()) {
+            assertTrue(thread, thread.startsWith("weld-worker-"));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.instance.select;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.UnsatisfiedResolutionException;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.bean.builtin.InstanceImpl;
+import org.jboss.weld.bean.proxy.ProxyObject;
+import org.jboss.weld.literal.NamedLiteral;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests repeated programmatic lookup through {@link Instance#select(java.lang.annotation.Annotation...)}.
+ */
+@RunWith(Arquillian.class)
+public class InstanceSelectTest {
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(InstanceSelectTest.class.getPackage());
+    }
+
+    @Test
+    public void testRepeatedSelect(Instance<Plugin> instance) {
+        Plugin alpha = null;
+        for (int i = 0; i < 10; i++) {
+            Plugin plugin = instance.select(new NamedLiteral("alpha")).get();
+            assertEquals("alpha", plugin.getName());
+            assertTrue(plugin instanceof ProxyObject);
+            if (alpha != null) {
+                assertSame(alpha, plugin);
+            }
+            alpha = plugin;
+            assertEquals("bravo", instance.select(new NamedLiteral("bravo")).get().getName());
+        }
+    }
+
+    @Test
+    public void testDependentInstanceInjectionPoint(Instance<Plugin> instance) {
+        BravoPlugin bravo = instance.select(BravoPlugin.class, new NamedLiteral("bravo")).get();
+        InjectionPoint injectionPoint = bravo.getInjectionPoint();
+        assertEquals(BravoPlugin.class, injectionPoint.getType());
+        assertTrue(injectionPoint.getQualifiers().contains(new NamedLiteral("bravo")));
+    }
+
+    @Test
+    public void testUnsatisfiedSelect(Instance<Plugin> instance) {
+        Instance<Plugin> missing = instance.select(new NamedLiteral("charlie"));
+        assertTrue(missing.isUnsatisfied());
+        assertFalse(missing.isAmbiguous());
+        assertTrue(instance.isAmbiguous());
+        try {
+            missing.get();
+            fail();
+        } catch (UnsatisfiedResolutionException expected) {
+        }
+    }
+
+    @Test
+    public void testInstanceObtainedDuringBootstrapCaches(PluginRegistry registry) throws Exception {
+        Instance<Plugin> plugins = registry.getPlugins();
+        assertEquals("alpha", plugins.select(new NamedLiteral("alpha")).get().getName());
+        Field field = InstanceImpl.class.getDeclaredField("resolvedBeans");
+        field.setAccessible(true);
+        Object resolvedBeans = field.get(plugins);
+        Method get = resolvedBeans.getClass().getDeclaredMethod("get");
+        get.setAccessible(true);
+        assertNotNull(get.invoke(resolvedBeans));
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.lifecycle.hierarchy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.exceptions.WeldException;
+import org.jboss.weld.test.util.ActionSequence;
+import org.jboss.weld.test.util.Utils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Verifies that lifecycle callbacks declared across a class hierarchy are invoked in the correct order.
+ */
+@RunWith(Arquillian.class)
+public class LifecycleCallbackHierarchyTest {
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(LifecycleCallbackHierarchyTest.class.getPackage()).addClass(ActionSequence.class);
+    }
+
+    @Test
+    public void testCallbacksInvokedSuperclassFirst(BeanManager manager) {
+        ActionSequence.reset();
+        Bean<Dog> bean = Utils.getBean(manager, Dog.class);
+        CreationalContext<Dog> ctx = manager.createCreationalContext(bean);
+        Dog dog = bean.create(ctx);
+        bean.destroy(dog, ctx);
+        assertEquals(Arrays.asList("Animal.postConstruct", "Dog.postConstruct", "Animal.preDestroy", "Dog.preDestroy"), ActionSequence.getSequenceData());
+    }
+
+    @Test
+    public void testCallbackExceptionWrapped(BeanManager manager) {
+        Bean<Cat> bean = Utils.getBean(manager, Cat.class);
+        try {
+            bean.create(manager.createCreationalContext(bean));
+            fail();
+        } catch (WeldException expected) {
+            assertTrue(expected.getCause() instanceof IllegalStateException);
+            assertEquals("Cat.postConstruct", expected.getCause().getMessage());
+        }
+    }
+}
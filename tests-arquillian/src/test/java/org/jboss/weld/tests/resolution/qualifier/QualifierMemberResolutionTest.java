@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.resolution.qualifier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.metadata.cache.MetaAnnotationStore;
+import org.jboss.weld.util.cache.ComputingCache;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests that binding members of a qualifier declared by a non-public annotation type are correctly read and compared,
+ * and non-binding members ignored, during programmatic lookup.
+ */
+@RunWith(Arquillian.class)
+public class QualifierMemberResolutionTest {
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(QualifierMemberResolutionTest.class.getPackage());
+    }
+
+    @Inject
+    @Any
+    Instance<Warehouse> instance;
+
+    @Test
+    public void testBindingMembers() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals("eu", instance.select(new Region.Literal("eu", "comment " + i)).get().getRegion());
+            assertEquals("asia", instance.select(new Region.Literal("asia", "")).get().getRegion());
+            assertTrue(instance.select(new Region.Literal("africa", "")).isUnsatisfied());
+        }
+    }
+
+    @Test
+    public void testQualifierEquivalence(BeanManager beanManager) {
+        assertTrue(beanManager.areQualifiersEquivalent(new Region.Literal("eu", "foo"), new Region.Literal("eu", "bar")));
+        assertTrue(!beanManager.areQualifiersEquivalent(new Region.Literal("eu", "foo"), new Region.Literal("asia", "foo")));
+        assertEquals(beanManager.getQualifierHashCode(new Region.Literal("eu", "foo")), beanManager.getQualifierHashCode(new Region.Literal("eu", "bar")));
+    }
+
+    @Test
+    public void testDynamicQualifiersNotInterned(BeanManagerImpl beanManager) throws Exception {
+        MetaAnnotationStore store = beanManager.getServices().get(MetaAnnotationStore.class);
+        Field field = MetaAnnotationStore.class.getDeclaredField("qualifierInstanceCache");
+        field.setAccessible(true);
+        ComputingCache<?, ?> qualifierInstanceCache = (ComputingCache<?, ?>) field.get(store);
+        long size = qualifierInstanceCache.size();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(instance.select(new Region.Literal("region" + i, "")).isUnsatisfied());
+        }
+        // Programmatic lookup must not grow the unbounded cache
+        assertEquals(size, qualifierInstanceCache.size());
+    }
+}